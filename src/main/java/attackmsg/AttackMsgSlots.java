@@ -0,0 +1,18 @@
+package attackmsg;
+
+/**
+* This interface defines the values that fill the slots of an attack message template,
+* it is implemented by the AttackMsgGenerator class, based on the current attack.
+* 
+* @author      Keren Solomon
+*/
+public interface AttackMsgSlots {
+	
+	/**
+	 * This method returns the value of a slot.
+	 * 
+	 * @param slot  	one of the slots defined by the AttackMsgTemplate class.
+	 * @return String  	the name filling the slot.
+	 */
+	String getSlot(int slot);
+}
@@ -0,0 +1,109 @@
+package attackmsg;
+
+import static globals.Constants.*;
+
+/**
+* AttackMsgTemplate class defines the messages information sent between 
+* the client and the server when attack occurs.
+* The templates of a card are compiled once when the cards catalog is loaded,
+* one per attack state and message receiver, and are used by the AttackMsgGenerator class, when the 
+* server needs to inform clients with attack status and information.
+* The attack message will have a type - one of the following:
+* <ul>
+* <li>MSG_TYPE_LIST
+* <li>MSG_TYPE_SCREEN
+* <li>MSG_TYPE_TITLE
+* <li>MSG_TYPE_IMAGES
+* </ul>
+* Each of the types defines the visual representation in client side.
+* The attack message will also have a message string to display.
+* The message is built from pre-message + message + post-message,
+* while pre-message and post-message are optional slots, filled with the
+* name of the attacker / victim / card.
+* The pre and post codes of the catalog are resolved to slots when the template is compiled,
+* thus rendering a message is a single sized append, and a message with no slots is not built at all.
+* 
+* @author      Keren Solomon
+*/
+public final class AttackMsgTemplate {
+	public static final int SLOT_NONE 			= 0;
+	public static final int SLOT_ATTACKER 		= 1;
+	public static final int SLOT_VICTIM 		= 2;
+	public static final int SLOT_ATTACK_CARD 	= 3;
+	public static final int SLOT_HELPER_CARD 	= 4;
+	
+	private final int msgType;
+	private final int preSlot;
+	private final String msg;
+	private final int postSlot;
+	
+	private AttackMsgTemplate(int msgType, int preSlot, String msg, int postSlot) {
+		this.msgType = msgType;
+		this.preSlot = preSlot;
+		this.msg = String.valueOf(msg);
+		this.postSlot = postSlot;
+	}
+	
+	/**
+	 * This method compiles the template of a card string message.
+	 * A card name added before the message is the attack card, and after the message is the helper card.
+	 * 
+	 * @param msgType  				the type of the message.
+	 * @param preMsg  				the code of the addition before the message.
+	 * @param msg  					the message string.
+	 * @param postMsg  				the code of the addition after the message.
+	 * @return AttackMsgTemplate  	the compiled template.
+	 */
+	public static AttackMsgTemplate compile(int msgType, int preMsg, String msg, int postMsg) {
+		return new AttackMsgTemplate(msgType, toSlot(preMsg, SLOT_ATTACK_CARD), msg, toSlot(postMsg, SLOT_HELPER_CARD));
+	}
+	
+	private static int toSlot(int msgAddition, int cardSlot) {
+		switch (msgAddition) {
+		case MSG_ADD_ATT:
+			return SLOT_ATTACKER;
+		case MSG_ADD_VIC:
+			return SLOT_VICTIM;
+		case MSG_ADD_CARD:
+			return cardSlot;
+		default:
+			return SLOT_NONE;
+		}
+	}
+
+	public int getMsgType() {
+		return msgType;
+	}
+
+	public int getPreSlot() {
+		return preSlot;
+	}
+
+	public String getMsg() {
+		return msg;
+	}
+
+	public int getPostSlot() {
+		return postSlot;
+	}
+	
+	/**
+	 * This method renders the message string, filling the slots with the given values.
+	 * 
+	 * @param slots  	the values of the slots of the current attack.
+	 * @return String  	the message string.
+	 */
+	public String render(AttackMsgSlots slots) {
+		if (preSlot == SLOT_NONE && postSlot == SLOT_NONE) {
+			return msg;
+		}
+		String pre = (preSlot == SLOT_NONE) ? "" : String.valueOf(slots.getSlot(preSlot));
+		String post = (postSlot == SLOT_NONE) ? "" : String.valueOf(slots.getSlot(postSlot));
+		return new StringBuilder(pre.length() + msg.length() + post.length())
+				.append(pre)
+				.append(msg)
+				.append(post)
+				.toString();
+	}
+	
+}
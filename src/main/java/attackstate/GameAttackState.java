@@ -1,95 +1,155 @@
 package attackstate;
 
+import attackmsg.AttackMsgTemplate;
 import attackstate.interfaces.IAttackDefensable;
+import attackstate.interfaces.IAttackStatable;
 import attackstate.states.AbstractAttackState;
-import attackstate.states.DoAttack;
-import attackstate.states.FailedAttack;
-import attackstate.states.FinishAttack;
-import attackstate.states.NoAttack;
-import attackstate.states.PreAttack;
-import attackstate.states.SuccessAttack;
+import attackstate.states.AttackStates;
 import card.AbstractCard;
-import game.GameManager;
+import eventnotifications.IAttackNotifications;
 import game.players.Player;
 
 /**
-* This class manages the game attack states.
-* It is responsible for initiating the different states classes.
-* It initiate current state as No-attack state.
+* This class manages the attack states of a single game.
+* It holds the current state, initiated as No-attack state,
+* and the information of the attack in progress:
+* <ul>
+* <li>attacker - the player that started the attack
+* <li>victim - the player that is a victim to an attack
+* <li>attackCard - the card that started the attack
+* <li>helperCard - the card defended from the attack / the lost card as a result of the attack
+* <li>attackResult - whether the attack succeeded
+* </ul>
+* 
+* The attack states themselves hold no information and are shared by all the games,
+* each game creates its own GameAttackState, thus attacks of different games never mix.
 * 
 * This class defines APIs for accessing the attack states,
 * the current state and the attack information.
-* This APIs are called from AttackHandler class during the game.
+* This APIs are called from AttackHandler class during the game, and by the attack states.
 * 
 * @author      Keren Solomon
 */
 public class GameAttackState {
+	private AbstractAttackState current;
+	private Player attacker;
+	private Player victim;
+	private AbstractCard attackCard;
+	private AbstractCard helperCard;
+	private Boolean attackResult;
+	private IAttackNotifications notifications;
+	
 	public GameAttackState() {
-		AbstractAttackState.noAttack = new NoAttack();
-		AbstractAttackState.preAttack = new PreAttack();
-		AbstractAttackState.doAttack = new DoAttack();
-		AbstractAttackState.finishAttack = new FinishAttack();
-		AbstractAttackState.attackSucceeded = new SuccessAttack();
-		AbstractAttackState.attackFailed = new FailedAttack();
-		AbstractAttackState.current = AbstractAttackState.noAttack;
-		AbstractAttackState.current.enter();
+		setState(AttackStates.NO_ATTACK);
+	}
+	
+	/**
+	* This method moves the attack to the given state, and enters it.
+	* The registered notifications are informed of the change before the new state is entered.
+	* 
+	* @param  state  the next state of the attack.
+	*/
+	public void setState(AbstractAttackState state) {
+		current = state;
+		if (notifications != null) {
+			notifications.attackStateChanged(current.getStateId());
+		}
+		current.enter(this);
+	}
+	
+	public AbstractAttackState getState() {
+		return current;
 	}
 	
+	/**
+	* This method executes the current state of the attack.
+	*/
+	public void execute() {
+		current.execute(this);
+	}
+	
+	/**
+	* This method leaves the current state of the attack.
+	*/
+	public void leave() {
+		current.leave(this);
+	}
 	
 	public Boolean isAttackActive() {
-		return !(AbstractAttackState.current == AbstractAttackState.noAttack);
+		return !(current == AttackStates.NO_ATTACK);
 	}
 	
-	public AbstractAttackState getState() {
-		return AbstractAttackState.current;
+	/**
+	* This method returns the message information of the current state, for the given destination,
+	* as defined by the attack card.
+	* 
+	* @param  destination  		the destination of the message (victim/attacker/all).
+	* @return AttackMsgTemplate  	the message information.
+	*/
+	public AttackMsgTemplate getMsgTemplate(int destination) {
+		return ((IAttackStatable) attackCard).getTitle(current.getStateId(), destination);
+	}
+	
+	/**
+	* This method initiates all the attack values, called when no attack is in progress.
+	*/
+	public void clearAttackValues() {
+		attackCard = null;
+		attacker = null;
+		victim = null;
+		helperCard = null;
+		attackResult = false;
 	}
 
 	public Player getAttacker() {
-		return AbstractAttackState.current.getAttacker();
+		return attacker;
 	}
 	
 	public void setAttackResult(Boolean res) {
-		AbstractAttackState.current.setAttackRes(res);
+		attackResult = res;
 	}
 	
 	public Boolean getAttackResult() {
-		return AbstractAttackState.current.getAttackRes();
+		return attackResult;
 	}
 
 	public void setAttacker(Player attacker) {
-		AbstractAttackState.current.setAttacker(attacker);
+		this.attacker = attacker;
 	}
 
 	public Player getVictim() {
-		return AbstractAttackState.current.getVictim();
+		return victim;
 	}
 
 	public void setVictim(Player victim) {
-		AbstractAttackState.current.setVictim(victim);
+		this.victim = victim;
 	}
 
 	public AbstractCard getAttackCard() {
-		return AbstractAttackState.current.getAttackCard();
+		return attackCard;
 	}
 
 	public void setAttackCard(AbstractCard attackCard) {
-		AbstractAttackState.current.setAttackCard(attackCard);
+		this.attackCard = attackCard;
 	}
 
 	public AbstractCard getHelperCard() {
-		return AbstractAttackState.current.getHelperCard();
+		return helperCard;
 	}
 
 	public void setHelperCard(AbstractCard defenseCard) {
-		AbstractAttackState.current.setHelperCard(defenseCard);
+		this.helperCard = defenseCard;
 	}
 	
 	public Boolean victimDefended() {
 		return (((IAttackDefensable) getAttackCard()).defenseSucceeded(getHelperCard()));
 	}
 
+	public IAttackNotifications getNotifications() {
+		return notifications;
+	}
 
-	public void registerNotifications() {
-		AbstractAttackState.current.registerCallback(GameManager.getInstance());
+	public void registerNotifications(IAttackNotifications attackNotifications) {
+		notifications = attackNotifications;
 	}
 }
@@ -1,6 +1,6 @@
 package attackstate.interfaces;
 
-import attackmsg.AttackMsgInfo;
+import attackmsg.AttackMsgTemplate;
 
 /**
  * 
@@ -29,5 +29,5 @@ public interface IAttackStatable {
 	 * This method gets the relevant attack message information,
 	 * based on attack state and the destination (receiver of the message).
 	 */
-	AttackMsgInfo getTitle(int state, int destination);
+	AttackMsgTemplate getTitle(int state, int destination);
 }
@@ -0,0 +1,20 @@
+package attackstate.states;
+
+/**
+ * 
+ * This class holds the attack states.
+ * Each state is created once and shared by all the games, since the states hold no attack information.
+ * 
+ * @author      Keren Solomon
+ */
+public final class AttackStates {
+	public static final AbstractAttackState NO_ATTACK = new NoAttack();
+	public static final AbstractAttackState PRE_ATTACK = new PreAttack();
+	public static final AbstractAttackState DO_ATTACK = new DoAttack();
+	public static final AbstractAttackState FINISH_ATTACK = new FinishAttack();
+	public static final AbstractAttackState ATTACK_SUCCEEDED = new SuccessAttack();
+	public static final AbstractAttackState ATTACK_FAILED = new FailedAttack();
+	
+	private AttackStates() {
+	}
+}
@@ -2,6 +2,7 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_DO;
 
+import attackstate.GameAttackState;
 import attackstate.interfaces.IAttackStatable;
 
 /**
@@ -20,7 +21,7 @@ public class DoAttack extends AbstractAttackState {
 	 * When entering the Do-Attack state, debug is printed to logger.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] Do-Attack state");
 	}
 	
@@ -28,17 +29,16 @@ public class DoAttack extends AbstractAttackState {
 	 * When executing the Do-Attack state, the attack card is used and the attack occurs.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] Do-Attack state");
-		((IAttackStatable)attackCard).doAttack();
+		((IAttackStatable)attack.getAttackCard()).doAttack();
 	}
 
 	/**
 	 * When leaving the Do-Attack state, enter the next finish attack state.
 	 */
 	@Override
-	public void leave() {
-		current = finishAttack;
-		current.enter();
+	public void leave(GameAttackState attack) {
+		attack.setState(AttackStates.FINISH_ATTACK);
 	}
 }
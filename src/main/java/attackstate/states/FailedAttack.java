@@ -2,6 +2,7 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_FAIL;
 
+import attackstate.GameAttackState;
 import attackstate.interfaces.IAttackFailable;
 
 /**
@@ -21,7 +22,7 @@ public class FailedAttack extends AbstractAttackState {
 	 * When entering the Failed-Attack state, debug is printed to logger.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] Attack Failed state");
 	}
 	
@@ -30,18 +31,16 @@ public class FailedAttack extends AbstractAttackState {
 	 * use the attack card to complete the attack, call attack failed method.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] Attack Failed state");
-		((IAttackFailable)attackCard).attackFailed();
-		
+		((IAttackFailable)attack.getAttackCard()).attackFailed();
 	}
 
 	/**
 	 * When leaving the Failed-Attack state, enter the No-attack state.
 	 */
 	@Override
-	public void leave() {
-		current = noAttack;
-		current.enter();
+	public void leave(GameAttackState attack) {
+		attack.setState(AttackStates.NO_ATTACK);
 	}
 }
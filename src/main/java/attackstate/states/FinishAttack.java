@@ -2,6 +2,8 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_FIN;
 
+import attackstate.GameAttackState;
+
 /**
  * 
  * This class defines the Finish-Attack state.
@@ -19,7 +21,7 @@ public class FinishAttack extends AbstractAttackState {
 	 * When entering the Finish-Attack state, debug is printed to logger.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] finish-Attack state");
 	}
 	
@@ -29,28 +31,24 @@ public class FinishAttack extends AbstractAttackState {
 	 * call leave state.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] finish-Attack state");
 
-		setAttackResult();
-		leave();
+		leave(attack);
 	}
 	
 	/**
-	 * When leaving the Finish-Attack state, enter and execute the next state.
+	 * When leaving the Finish-Attack state, enter and execute the next state,
+	 * according to the attack result.
 	 */
 	@Override
-	public void leave() {
-		current.enter();
-		current.execute();
-	}
-	
-	private void setAttackResult() {
-		if (getAttackRes()) {
-			current = attackSucceeded;
+	public void leave(GameAttackState attack) {
+		if (attack.getAttackResult()) {
+			attack.setState(AttackStates.ATTACK_SUCCEEDED);
 		}
 		else {
-			current = attackFailed;
+			attack.setState(AttackStates.ATTACK_FAILED);
 		}
+		attack.execute();
 	}
 }
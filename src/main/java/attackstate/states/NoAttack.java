@@ -2,6 +2,7 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_NO;
 
+import attackstate.GameAttackState;
 import attackstate.interfaces.IAttackStatable;
 
 /**
@@ -21,47 +22,34 @@ public class NoAttack extends AbstractAttackState {
 	 * When entering the No-Attack state, all attack values are initiated to null.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] No-Attack state");
-		initAttackValues();
+		attack.clearAttackValues();
 	}
 	
 	/**
 	 * When executing the No-Attack state,
-	 * check if pre-attack action is needed to decide which is the next state,
 	 * call leave state.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] No-Attack state");
-		setStartState();
-		leave();
+		leave(attack);
 	}
 	
 	/**
-	 * When leaving the No-Attack state, enter and execute the next state.
+	 * When leaving the No-Attack state, enter and execute the next state,
+	 * pre-attack if pre-attack action is needed, otherwise do-attack.
 	 */
 	@Override
-	public void leave() {
-		current.enter();
-		current.execute();
-	}
-	
-	private void initAttackValues() {
-		attackCard = null;
-		attacker = null;
-		victim = null;
-		helperCard = null;
-		attackResult = false;
-	}
-	
-	private void setStartState() {
-		if (((IAttackStatable) attackCard).preAttackNeeded()) {
-			current = preAttack;
+	public void leave(GameAttackState attack) {
+		if (((IAttackStatable) attack.getAttackCard()).preAttackNeeded()) {
+			attack.setState(AttackStates.PRE_ATTACK);
 		}
 		else {
-			current = doAttack;
+			attack.setState(AttackStates.DO_ATTACK);
 		}
+		attack.execute();
 	}
 
 }
@@ -2,6 +2,8 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_PRE;
 
+import attackstate.GameAttackState;
+
 /**
  * 
  * This class defines the Pre-Attack state.
@@ -19,7 +21,7 @@ public class PreAttack extends AbstractAttackState {
 	 * When entering the Pre-Attack state, debug is printed to logger.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] Pre-Attack state");
 	}
 	
@@ -28,17 +30,16 @@ public class PreAttack extends AbstractAttackState {
 	 * an event is sent to the GameManager in order to get the victim of the attack.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] Pre-Attack state");
-		notifications.askVictimForAttack();
+		attack.getNotifications().askVictimForAttack();
 	}
 	
 	/**
 	 * When leaving the Pre-Attack state, enter the do-attack state.
 	 */
 	@Override
-	public void leave() {
-		current = doAttack;
-		current.enter();
+	public void leave(GameAttackState attack) {
+		attack.setState(AttackStates.DO_ATTACK);
 	}
 }
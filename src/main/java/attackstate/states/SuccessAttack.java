@@ -2,6 +2,7 @@ package attackstate.states;
 
 import static globals.Constants.CS_STATE_SUC;
 
+import attackstate.GameAttackState;
 import attackstate.interfaces.IAttackStatable;
 
 /**
@@ -21,7 +22,7 @@ public class SuccessAttack extends AbstractAttackState {
 	 * When entering the Success-Attack state, debug is printed to logger.
 	 */
 	@Override
-	public void enter() {
+	public void enter(GameAttackState attack) {
 		logger.info("Entering attack state [" + getStateId() + "] Attack Succeeded state");
 	}
 	
@@ -30,17 +31,16 @@ public class SuccessAttack extends AbstractAttackState {
 	 * use the attack card to complete the attack, call attack succeeded method.
 	 */
 	@Override
-	public void execute() {
+	public void execute(GameAttackState attack) {
 		logger.info("Executing attack state [" + getStateId() + "] Attack Succeeded state");
-		((IAttackStatable)attackCard).attackSucceeded();
+		((IAttackStatable)attack.getAttackCard()).attackSucceeded();
 	}
 
 	/**
 	 * When leaving the Success-Attack state, enter the No-attack state.
 	 */
 	@Override
-	public void leave() {
-		current = noAttack;
-		current.enter();
+	public void leave(GameAttackState attack) {
+		attack.setState(AttackStates.NO_ATTACK);
 	}
 }
@@ -12,6 +12,7 @@ import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import card.catalog.CardInfo;
 import card.implementation.attack.RiverCard;
 import card.implementation.attack.RockCard;
 import card.implementation.attack.TreeCard;
@@ -27,11 +28,9 @@ import card.implementation.special.BombCard;
 import card.implementation.special.HusbandCard;
 import card.implementation.special.SuperFlyingCard;
 import card.implementation.special.WifeCard;
-import database.entity.CardEntity;
 
 public class CardFactory {
 	private static final Logger logger = LogManager.getLogger(CardFactory.class);
-	private StealCard stealCard;
 
 	private static CardFactory factory_instance = null;
 
@@ -42,42 +41,34 @@ public class CardFactory {
 		return factory_instance;
 	}
 	  
-	public AbstractCard createCard(CardEntity cEntity, int id) {
-		String cardType = cEntity.getType();
+	public AbstractCard createCard(CardInfo cInfo, int id) {
+		String cardType = cInfo.getType();
 		logger.info("creating " + cardType);
 		
-		BiFunction<CardEntity, Integer, AbstractCard> supplier = cardsSupplier.get(cardType);
-		AbstractCard card = supplier.apply(cEntity, id);
-
-		if (TYPE_STEAL.equals(cardType)) {
-			stealCard = (StealCard) card;
-		}
+		BiFunction<CardInfo, Integer, AbstractCard> supplier = cardsSupplier.get(cardType);
+		AbstractCard card = supplier.apply(cInfo, id);
 		
 		logger.info("created" + card.getName());
 		return card;
 	}
 
-	public StealCard getStealCard() {
-		return stealCard;
-	}
-	
-	static BiFunction<CardEntity, Integer, AbstractCard> riverCardSupplier = RiverCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> rockCardSupplier = RockCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> treeCardSupplier = TreeCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> dogCardSupplier = DogCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> flyingCardSupplier = FlyingSheepCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> stickCardSupplier = StickCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> avalancheCardSupplier = AvalancheCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> cliffCardSupplier = CliffCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> pitCardSupplier = PitCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> regularCardSupplier = RegularCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> BombCardSupplier = BombCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> superCardSupplier = SuperFlyingCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> husbandCardSupplier = HusbandCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> wifeCardSupplier = WifeCard::new;
-	static BiFunction<CardEntity, Integer, AbstractCard> stealCardSupplier = StealCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> riverCardSupplier = RiverCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> rockCardSupplier = RockCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> treeCardSupplier = TreeCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> dogCardSupplier = DogCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> flyingCardSupplier = FlyingSheepCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> stickCardSupplier = StickCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> avalancheCardSupplier = AvalancheCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> cliffCardSupplier = CliffCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> pitCardSupplier = PitCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> regularCardSupplier = RegularCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> BombCardSupplier = BombCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> superCardSupplier = SuperFlyingCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> husbandCardSupplier = HusbandCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> wifeCardSupplier = WifeCard::new;
+	static BiFunction<CardInfo, Integer, AbstractCard> stealCardSupplier = StealCard::new;
 	
-	final static Map<String, BiFunction<CardEntity, Integer, AbstractCard>> cardsSupplier = new HashMap<>();
+	final static Map<String, BiFunction<CardInfo, Integer, AbstractCard>> cardsSupplier = new HashMap<>();
 	  static {
 		  cardsSupplier.put(TYPE_RIVER, riverCardSupplier);
 		  cardsSupplier.put(TYPE_ROCK, rockCardSupplier);
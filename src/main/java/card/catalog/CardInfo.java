@@ -0,0 +1,149 @@
+package card.catalog;
+
+import static globals.Constants.CS_STATE_NUM;
+import static globals.Constants.DEST_NUM;
+
+import java.util.Collections;
+import java.util.List;
+
+import attackmsg.AttackMsgTemplate;
+import message.CardRendering;
+
+/**
+* This class represents a single card type, as defined in the cards catalog.
+* The CardInfo class is a compact immutable copy of the card entity pulled from the database,
+* flattened together with its decoration and its string messages.
+*
+* A card info holds:
+* <ul>
+* <li>id - the card type identifier in the database
+* <li>type, name and value of the card
+* <li>mult and add - used to calculate the number of cards of this type in a game
+* <li>txtCol, img, frameImg, backImg and pointsImg - the card decoration
+* <li>strings - the string messages related to the card
+* </ul>
+*
+* The string messages are also compiled to attack message templates, kept in a table indexed by the attack state
+* and the message destination, built once when the catalog is loaded.
+* The card type is also rendered once when the catalog is loaded, the rendering is set before the catalog is used by any game.
+* The CardInfo of a card type is shared by all the cards of that type, in all the games.
+*
+* @author      Keren Solomon
+*/
+public final class CardInfo {
+	private final int id;
+	private final String type;
+	private final String name;
+	private final int value;
+	private final int mult;
+	private final int add;
+	private final int txtCol;
+	private final String img;
+	private final String frameImg;
+	private final String backImg;
+	private final String pointsImg;
+	private final List<CardStringInfo> strings;
+	private final AttackMsgTemplate[][] msgTable;
+	private CardRendering rendering;
+
+	public CardInfo(int id, String type, String name, int value, int mult, int add,
+			int txtCol, String img, String frameImg, String backImg, String pointsImg,
+			List<CardStringInfo> strings) {
+		this.id = id;
+		this.type = type;
+		this.name = name;
+		this.value = value;
+		this.mult = mult;
+		this.add = add;
+		this.txtCol = txtCol;
+		this.img = img;
+		this.frameImg = frameImg;
+		this.backImg = backImg;
+		this.pointsImg = pointsImg;
+		this.strings = Collections.unmodifiableList(strings);
+		this.msgTable = initMsgTable(strings);
+	}
+
+	public CardRendering getRendering() {
+		return rendering;
+	}
+
+	void setRendering(CardRendering rendering) {
+		this.rendering = rendering;
+	}
+
+	/**
+	* This method compiles the string messages of the card, and maps them by the attack state and the message receiver.
+	*
+	* @param strings  			the card related string messages.
+	* @return AttackMsgTemplate[][]	the messages table, indexed by state and destination.
+	*/
+	private static AttackMsgTemplate[][] initMsgTable(List<CardStringInfo> strings) {
+		AttackMsgTemplate[][] table = new AttackMsgTemplate[CS_STATE_NUM][DEST_NUM];
+		for (CardStringInfo string : strings) {
+			table[string.getState()][string.getDest()] =
+					AttackMsgTemplate.compile(string.getType(), string.getPre(), string.getString(), string.getPost());
+		}
+		return table;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	public int getMult() {
+		return mult;
+	}
+
+	public int getAdd() {
+		return add;
+	}
+
+	public int getTxtCol() {
+		return txtCol;
+	}
+
+	public String getImg() {
+		return img;
+	}
+
+	public String getFrameImg() {
+		return frameImg;
+	}
+
+	public String getBackImg() {
+		return backImg;
+	}
+
+	public String getPointsImg() {
+		return pointsImg;
+	}
+
+	public List<CardStringInfo> getStrings() {
+		return strings;
+	}
+
+	/**
+	* This method returns the message of the card for the given attack state and destination.
+	*
+	* @param state        	the int represents the attack state.
+	* @param destination  	the int represents the message receiver.
+	* @return AttackMsgTemplate	the message, or null if the card has no message for that state and destination.
+	*/
+	public AttackMsgTemplate getMsgTemplate(int state, int destination) {
+		return msgTable[state][destination];
+	}
+
+}
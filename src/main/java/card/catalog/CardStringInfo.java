@@ -0,0 +1,54 @@
+package card.catalog;
+
+/**
+* This class represents a single string message related to a card, as defined in the cards catalog.
+* The CardStringInfo class is a compact immutable copy of the string entity pulled from the database.
+*
+* Each string message has a type, the attack state in which it needs to appear,
+* a destination - who is receiving the attack message (the attacker / the victim / all players),
+* and optional pre and post additions to the message.
+*
+* @author      Keren Solomon
+*/
+public final class CardStringInfo {
+	private final int type;
+	private final int state;
+	private final int dest;
+	private final int pre;
+	private final String string;
+	private final int post;
+
+	public CardStringInfo(int type, int state, int dest, int pre, String string, int post) {
+		this.type = type;
+		this.state = state;
+		this.dest = dest;
+		this.pre = pre;
+		this.string = string;
+		this.post = post;
+	}
+
+	public int getType() {
+		return type;
+	}
+
+	public int getState() {
+		return state;
+	}
+
+	public int getDest() {
+		return dest;
+	}
+
+	public int getPre() {
+		return pre;
+	}
+
+	public String getString() {
+		return string;
+	}
+
+	public int getPost() {
+		return post;
+	}
+
+}
@@ -0,0 +1,92 @@
+package card.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import card.CardFactory;
+import database.entity.CardEntity;
+import database.entity.DecoreEntity;
+import database.entity.StringEntity;
+import message.CardRendering;
+
+/**
+* This class represents the cards catalog of the application - all the card types that can be used in a game.
+*
+* The catalog is loaded once from the database when the application starts,
+* the card entities are copied to compact immutable CardInfo objects, and the catalog is never changed after that.
+* Thus, the catalog is shared by all the games, and creating the cards of a new game
+* requires no database access.
+*
+* Each card type is rendered once when the catalog is created: a card of the type is created,
+* and its card information is encoded in every wire format, so the cards of all the games are written from it.
+*
+* @author      Keren Solomon
+*/
+public final class CardsCatalog {
+	private static final Logger logger = LogManager.getLogger(CardsCatalog.class);
+	private static final int PROTOTYPE_CARD_ID = 0;
+	private final List<CardInfo> cards;
+
+	private CardsCatalog(List<CardInfo> cards) {
+		this.cards = Collections.unmodifiableList(cards);
+	}
+
+	/**
+	* This method creates the catalog from the card entities pulled from the database.
+	* It must be called while the entities are still attached to an open entity manager.
+	*
+	* @param entities  		the list of cards entities.
+	* @return CardsCatalog 	the catalog holding a copy of the entities information.
+	*/
+	public static CardsCatalog fromEntities(List<CardEntity> entities) {
+		List<CardInfo> cards = new ArrayList<>(entities.size());
+		for (CardEntity entity : entities) {
+			CardInfo info = toCardInfo(entity);
+			renderCardType(info);
+			cards.add(info);
+		}
+		return new CardsCatalog(cards);
+	}
+
+	/**
+	* This method renders a card type, from the card information of a card of that type.
+	* A card type that fails to render is logged, its cards are serialized each time they are sent.
+	*
+	* @param info  	the card type.
+	*/
+	private static void renderCardType(CardInfo info) {
+		try {
+			info.setRendering(CardRendering.render(CardFactory.getInstance().createCard(info, PROTOTYPE_CARD_ID).createCardInfo()));
+		} catch (RuntimeException e) {
+			logger.error("failed rendering card type " + info.getType());
+			e.printStackTrace();
+		}
+	}
+
+	private static CardInfo toCardInfo(CardEntity entity) {
+		List<CardStringInfo> strings = new ArrayList<>(entity.getCardStrings().size());
+		for (StringEntity string : entity.getCardStrings()) {
+			strings.add(new CardStringInfo(string.getType(), string.getState(), string.getDest(),
+					string.getPre(), string.getString(), string.getPost()));
+		}
+
+		DecoreEntity decore = entity.getDecore();
+		return new CardInfo(entity.getId(), entity.getType(), entity.getName(),
+				entity.getValue(), entity.getMult(), entity.getAdd(),
+				decore.getTxtCol(), decore.getImg(), decore.getFrameImg(), decore.getBackImg(), decore.getPointsImg(),
+				strings);
+	}
+
+	public List<CardInfo> getCards() {
+		return cards;
+	}
+
+	public int getNumOfCardTypes() {
+		return cards.size();
+	}
+
+}
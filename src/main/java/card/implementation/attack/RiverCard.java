@@ -1,10 +1,7 @@
 package card.implementation.attack;
 
-import java.util.List;
-
+import card.catalog.CardInfo;
 import card.types.AbstractAttackCard;
-import database.entity.CardEntity;
-import database.entity.StringEntity;
 import game.players.Player;
 
 /**
@@ -27,17 +24,8 @@ import game.players.Player;
 */
 public class RiverCard extends AbstractAttackCard {
 	
-	public RiverCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg(),
-				cEntity.getCardStrings());
+	public RiverCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
@@ -1,7 +1,7 @@
 package card.implementation.attack;
 
+import card.catalog.CardInfo;
 import card.types.AbstractAttackCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -26,17 +26,8 @@ import game.players.Player;
 */
 public class RockCard extends AbstractAttackCard {
 	
-	public RockCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg(),
-				cEntity.getCardStrings());
+	public RockCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
@@ -1,11 +1,8 @@
 package card.implementation.attack;
 
-import java.util.List;
-
 import attackstate.interfaces.IAttackFailable;
+import card.catalog.CardInfo;
 import card.types.AbstractAttackCard;
-import database.entity.CardEntity;
-import database.entity.StringEntity;
 import game.players.Player;
 
 /**
@@ -36,17 +33,8 @@ import game.players.Player;
 */
 public class TreeCard extends AbstractAttackCard implements IAttackFailable {
 	
-	public TreeCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg(),
-				cEntity.getCardStrings());
+	public TreeCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 
 	/**
@@ -1,8 +1,8 @@
 package card.implementation.defense;
 
+import card.catalog.CardInfo;
 import card.interfaces.IDefenseCard;
 import card.types.AbstractPlayableCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -24,14 +24,8 @@ import game.players.Player;
 */
 public class DogCard extends AbstractPlayableCard implements IDefenseCard {
 	
-	public DogCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg());
+	public DogCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
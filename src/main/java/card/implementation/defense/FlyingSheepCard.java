@@ -1,8 +1,8 @@
 package card.implementation.defense;
 
+import card.catalog.CardInfo;
 import card.interfaces.IDefenseCard;
 import card.types.AbstractValueableCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -27,16 +27,8 @@ import game.players.Player;
 */
 public class FlyingSheepCard extends AbstractValueableCard implements IDefenseCard {
 	
-	public FlyingSheepCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg());
+	public FlyingSheepCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 
 	/**
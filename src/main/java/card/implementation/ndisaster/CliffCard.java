@@ -1,12 +1,9 @@
 package card.implementation.ndisaster;
 
-import java.util.List;
-
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import card.interfaces.IDefenseCard;
 import card.types.AbstractNDisasterCard;
-import database.entity.CardEntity;
-import database.entity.StringEntity;
 
 /**
 * This class represents the Cliff (nature disaster) Card.
@@ -25,12 +22,8 @@ import database.entity.StringEntity;
 */
 public class CliffCard extends AbstractNDisasterCard {
 
-	public CliffCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getImg(),
-				cEntity.getCardStrings());
+	public CliffCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
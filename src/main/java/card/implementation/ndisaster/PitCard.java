@@ -1,12 +1,9 @@
 package card.implementation.ndisaster;
 
-import java.util.List;
-
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import card.interfaces.IDefenseCard;
 import card.types.AbstractNDisasterCard;
-import database.entity.CardEntity;
-import database.entity.StringEntity;
 
 /**
 * This class represents the Pit (nature disaster) Card.
@@ -25,12 +22,8 @@ import database.entity.StringEntity;
 */
 public class PitCard extends AbstractNDisasterCard {
 	
-	public PitCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getImg(),
-				cEntity.getCardStrings());
+	public PitCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 
 	/**
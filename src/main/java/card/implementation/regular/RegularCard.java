@@ -2,11 +2,10 @@ package card.implementation.regular;
 
 
 import card.AbstractCard;
-import card.CardFactory;
+import card.catalog.CardInfo;
 import card.interfaces.ICoupledCard;
 import card.types.AbstractPlayableCard;
 import card.types.AbstractValueableCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -45,16 +44,8 @@ import game.players.Player;
 */
 public class RegularCard extends AbstractValueableCard implements ICoupledCard {
 	
-	public RegularCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg());
+	public RegularCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 
 	/**
@@ -103,15 +94,14 @@ public class RegularCard extends AbstractValueableCard implements ICoupledCard {
 	 * This method is called when there are 2 matching regular cards picked by a player.
 	 * In this case, the player is starting an attack - steal attack.
 	 * 
-	 * Get a new card of type Steal card from cards factory, this card will constitute the attack card.
-	 * Call an event to notify the GameManager class about the attack.
+	 * The steal card of the game will constitute the attack card.
+	 * Call an event to notify the GameHandler class about the attack.
 	 * 
 	 * @param player  the Player that picked the cards.
 	 * 
 	 */
 	@Override
 	public void doCouple(Player player) {
-		AbstractCard steal = CardFactory.getInstance().getStealCard();
-		cardNotifications.attackCardPicked(steal, player);
+		cardNotifications.regularCoupleCardsPicked(player);
 	}
 }
@@ -6,9 +6,9 @@ import java.util.function.Supplier;
 
 import attackstate.interfaces.IAttackDefensable;
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import card.interfaces.IDefenseCard;
 import card.types.AbstractAttackCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -38,17 +38,8 @@ import game.players.Player;
 */
 public class StealCard extends AbstractAttackCard implements IAttackDefensable {
 	
-	public StealCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg(),
-				cEntity.getValue(),
-				cEntity.getDecore().getPointsImg(),
-				cEntity.getCardStrings());
+	public StealCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
@@ -3,8 +3,8 @@ package card.implementation.special;
 import static card.types.AbstractOwnerableCard.cardFeatureType.FEATURE_TYPE_COOP;
 
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import card.types.AbstractOwnerableCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -29,14 +29,8 @@ import game.players.Player;
 */
 public class HusbandCard extends AbstractOwnerableCard {
 	
-	public HusbandCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg());
+	public HusbandCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 
 	@Override
@@ -3,8 +3,8 @@ package card.implementation.special;
 import static card.types.AbstractOwnerableCard.cardFeatureType.FEATURE_TYPE_WIN;
 
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import card.types.AbstractOwnerableCard;
-import database.entity.CardEntity;
 import game.players.Player;
 
 /**
@@ -26,14 +26,8 @@ import game.players.Player;
 */
 public class SuperFlyingCard extends AbstractOwnerableCard {
 
-	public SuperFlyingCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg());
+	public SuperFlyingCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	/**
@@ -3,9 +3,9 @@ package card.implementation.special;
 import static card.types.AbstractOwnerableCard.cardFeatureType.FEATURE_TYPE_COOP;
 
 import card.AbstractCard;
-import card.types.AbstractOwnerableCard;
+import card.catalog.CardInfo;
 import card.types.AbstractOwnerableCard.cardFeatureType;
-import database.entity.CardEntity;
+import card.types.AbstractOwnerableCard;
 import game.players.Player;
 
 /**
@@ -30,14 +30,8 @@ import game.players.Player;
 */
 public class WifeCard extends AbstractOwnerableCard {
 
-	public WifeCard(CardEntity cEntity, int gameId) {
-		super(cEntity.getId(),
-				gameId,
-				cEntity.getName(),
-				cEntity.getDecore().getTxtCol(),
-				cEntity.getDecore().getImg(),
-				cEntity.getDecore().getFrameImg(),
-				cEntity.getDecore().getBackImg());
+	public WifeCard(CardInfo cInfo, int gameId) {
+		super(cInfo, gameId);
 	}
 	
 	@Override
@@ -1,12 +1,9 @@
 package card.types;
 
-import java.util.List;
-import java.util.Map;
-
-import attackmsg.AttackMsgInfo;
+import attackmsg.AttackMsgTemplate;
 import attackstate.interfaces.IAttackStatable;
 import card.AbstractCard;
-import database.entity.StringEntity;
+import card.catalog.CardInfo;
 import game.players.Player;
 
 /**
@@ -37,11 +34,9 @@ import game.players.Player;
 * @author      Keren Solomon
 */
 public abstract class AbstractAttackCard extends AbstractValueableCard implements IAttackStatable {
-	private Map<Integer,Map<Integer,AttackMsgInfo>> cardStrings;
 	
-	public AbstractAttackCard(int typeId, int gameId, String name, int txtCol, String img, String frame, String back, int value, String points, List<StringEntity> strings) {
-		super(typeId, gameId, name, txtCol, img, frame, back, value, points);
-		cardStrings = initCardsStrings(strings);
+	public AbstractAttackCard(CardInfo catalogInfo, int gameId) {
+		super(catalogInfo, gameId);
 	}
 	
 	/**
@@ -66,8 +61,8 @@ public abstract class AbstractAttackCard extends AbstractValueableCard implement
 	 * 
 	 */
 	@Override
-	public AttackMsgInfo getTitle(int state, int destination) {
-		return cardStrings.get(state).get(destination);
+	public AttackMsgTemplate getTitle(int state, int destination) {
+		return getCatalogInfo().getMsgTemplate(state, destination);
 	}
 	
 }
@@ -2,17 +2,15 @@ package card.types;
 
 import static globals.Constants.CARD_DONT_END_TURN;
 
-import java.util.List;
-import java.util.Map;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import attackmsg.AttackMsgInfo;
+import attackmsg.AttackMsgTemplate;
 import attackstate.interfaces.IAttackDefensable;
 import attackstate.interfaces.IAttackStatable;
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import clientservershared.CardModel;
-import database.entity.StringEntity;
 import game.players.Player;
 
 /**
@@ -44,11 +42,9 @@ import game.players.Player;
 * @author      Keren Solomon
 */
 public abstract class AbstractNDisasterCard extends AbstractCard implements IAttackStatable, IAttackDefensable {
-	private Map<Integer,Map<Integer,AttackMsgInfo>> cardStrings;
 	
-	public AbstractNDisasterCard(int typeId, int gameId, String name, String img, List<StringEntity> strings) {
-		super(typeId, gameId, name, img);
-		cardStrings = initCardsStrings(strings);
+	public AbstractNDisasterCard(CardInfo catalogInfo, int gameId) {
+		super(catalogInfo, gameId);
 	}
 	
 	/**
@@ -119,12 +115,12 @@ public abstract class AbstractNDisasterCard extends AbstractCard implements IAtt
 	 * @param state  		the int represents the attack current state.
 	 * @param destination  	the int represents the message receiver.
 	 * 
-	 * @return  AttackMsgInfo	attack message information
+	 * @return  AttackMsgTemplate	attack message information
 	 * 
 	 */
 	@Override
-	public AttackMsgInfo getTitle(int state, int destination) {
-		return cardStrings.get(state).get(destination);
+	public AttackMsgTemplate getTitle(int state, int destination) {
+		return getCatalogInfo().getMsgTemplate(state, destination);
 	}
 	
 	/**
@@ -139,7 +135,7 @@ public abstract class AbstractNDisasterCard extends AbstractCard implements IAtt
 	}
 	
 	/**
-	 * This method is called when the server need to send the card information to the client,
+	 * This method is called when the card type is rendered, once the cards catalog is loaded,
 	 * thus using the shared structure CardModel containing the card information.
 	 * A new CardModel is created with the card information.
 	 * 
@@ -147,7 +143,7 @@ public abstract class AbstractNDisasterCard extends AbstractCard implements IAtt
 	 * 
 	 */
 	@Override
-		public CardModel getCardInfo() {
+		public CardModel createCardInfo() {
 			return new CardModel(getId(), getName(), getImg(), 0, null, null, null);
 		}
 }
@@ -1,5 +1,6 @@
 package card.types;
 
+import card.catalog.CardInfo;
 import card.interfaces.ICoupledCard;
 import game.players.Player;
 
@@ -26,8 +27,8 @@ import game.players.Player;
 public abstract class AbstractOwnerableCard extends AbstractPlayableCard implements ICoupledCard {
 	private String owner = null;
 	
-	public AbstractOwnerableCard(int typeId, int gameId, String name, int textColor, String img, String frame, String back) {
-		super(typeId, gameId, name, textColor, img, frame, back);
+	public AbstractOwnerableCard(CardInfo catalogInfo, int gameId) {
+		super(catalogInfo, gameId);
 	}
 	
 	/**
@@ -3,6 +3,7 @@ package card.types;
 import static globals.Constants.CARD_END_TURN;
 
 import card.AbstractCard;
+import card.catalog.CardInfo;
 import clientservershared.CardModel;
 import game.players.Player;
 
@@ -24,15 +25,9 @@ import game.players.Player;
 * @author      Keren Solomon
 */
 public abstract class AbstractPlayableCard extends AbstractCard {
-	private int textColor;
-	private String back;
-	private String frame;
 	
-	public AbstractPlayableCard(int typeId, int gameId, String name, int textColor, String img, String frame, String back) {
-		super(typeId, gameId, name, img);
-		this.textColor = textColor;
-		this.back = back;
-		this.frame = frame;
+	public AbstractPlayableCard(CardInfo catalogInfo, int gameId) {
+		super(catalogInfo, gameId);
 	}
 
 	/**
@@ -94,7 +89,7 @@ public abstract class AbstractPlayableCard extends AbstractCard {
 	}
 	
 	/**
-	 * This method is called when the server need to send the card information to the client,
+	 * This method is called when the card type is rendered, once the cards catalog is loaded,
 	 * thus using the shared structure CardModel containing the card information.
 	 * A new CardModel is created with the card information.
 	 * 
@@ -102,19 +97,19 @@ public abstract class AbstractPlayableCard extends AbstractCard {
 	 * 
 	 */
 	@Override
-	public CardModel getCardInfo() {
-		return new CardModel(getId(), getName(), getImg(), textColor, frame, back, null);
+	public CardModel createCardInfo() {
+		return new CardModel(getId(), getName(), getImg(), getTextColor(), getFrame(), getBack(), null);
 	}
 	
 	public int getTextColor() {
-		return textColor;
+		return getCatalogInfo().getTxtCol();
 	}
 
 	public String getBack() {
-		return back;
+		return getCatalogInfo().getBackImg();
 	}
 
 	public String getFrame() {
-		return frame;
+		return getCatalogInfo().getFrameImg();
 	}
 }
@@ -1,5 +1,6 @@
 package card.types;
 
+import card.catalog.CardInfo;
 import clientservershared.CardModel;
 import game.players.Player;
 
@@ -13,13 +14,9 @@ import game.players.Player;
 * @author      Keren Solomon
 */
 public abstract class AbstractValueableCard extends AbstractPlayableCard {
-	private int numOfPoints;
-	private String pointsImg;
 	
-	public AbstractValueableCard(int typeId, int gameId, String name, int textColor, String img, String frame, String back, int value, String pointsImg) {
-		super(typeId, gameId, name, textColor, img, frame, back);
-		numOfPoints = value;
-		this.pointsImg = pointsImg;
+	public AbstractValueableCard(CardInfo catalogInfo, int gameId) {
+		super(catalogInfo, gameId);
 	}
 	
 	/**
@@ -33,7 +30,7 @@ public abstract class AbstractValueableCard extends AbstractPlayableCard {
 	 * @return  true|false	true if the turn ended, otherwise false.
 	 */
 	public Boolean playCardFromDeck(Player player) {
-		player.addPointsToPlayerScore(numOfPoints);
+		player.addPointsToPlayerScore(getPoints());
 		return super.playCardFromDeck(player);
 	}
 	
@@ -45,22 +42,22 @@ public abstract class AbstractValueableCard extends AbstractPlayableCard {
 	 * 
 	 */
 	public void setCardUsed(Player player) {
-		player.dropPointsFromPlayerScore(numOfPoints);
+		player.dropPointsFromPlayerScore(getPoints());
 		super.setCardUsed(player);
 	}
 	
 	public int getPoints() {
-		return numOfPoints;
+		return getCatalogInfo().getValue();
 	}
 
 	public String getPointsImg() {
-		return pointsImg;
+		return getCatalogInfo().getPointsImg();
 	}
 
 	@Override
-	public CardModel getCardInfo() {
-		CardModel info = super.getCardInfo();
-		info.setPoints(pointsImg);
+	public CardModel createCardInfo() {
+		CardModel info = super.createCardInfo();
+		info.setPoints(getPointsImg());
 		return info;
 	}
 	
@@ -0,0 +1,119 @@
+package clientservershared;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+* This class represents the changes of the game state sent to a single player, since the previous delta.
+* Each delta is tagged with the version of the player's game state it brings the player to,
+* the game info sent to the player holds the version it represents, and the deltas continue from it.
+* A player that gets a delta whose version does not follow its own version missed a delta,
+* and should resume its session to get the state again.
+*
+* Only the changed parts are set, the parts that did not change are left null, and are not serialized.
+* The cards hold the net change of the hand: a card added and removed again within the delta is in neither list,
+* thus the order the cards were added and removed in does not matter.
+*/
+public class GameDelta {
+	private int version;
+	private List<CardModel> addedCards;
+	private List<Integer> removedCards;
+	private Map<String,Integer> scores;
+	private String currentPlayer;
+	private List<String> inactivePlayers;
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public List<CardModel> getAddedCards() {
+		return addedCards;
+	}
+
+	public void addCard(CardModel card) {
+		if (addedCards == null) {
+			addedCards = new ArrayList<>();
+		}
+		addedCards.add(card);
+	}
+
+	/**
+	* This method cancels a card that was added in this delta, once the card is removed again.
+	*
+	* @param  cardId  	the id of the removed card.
+	* @return Boolean  	true if the card was added in this delta, and no longer is, otherwise false.
+	*/
+	public Boolean cancelAddedCard(int cardId) {
+		if (addedCards == null || !addedCards.removeIf(card -> card.getId() == cardId)) {
+			return false;
+		}
+		if (addedCards.isEmpty()) {
+			addedCards = null;
+		}
+		return true;
+	}
+
+	public List<Integer> getRemovedCards() {
+		return removedCards;
+	}
+
+	public void removeCard(int cardId) {
+		if (removedCards == null) {
+			removedCards = new ArrayList<>();
+		}
+		removedCards.add(cardId);
+	}
+
+	/**
+	* This method cancels a card that was removed in this delta, once the card is added again.
+	*
+	* @param  cardId  	the id of the added card.
+	* @return Boolean  	true if the card was removed in this delta, and no longer is, otherwise false.
+	*/
+	public Boolean cancelRemovedCard(int cardId) {
+		if (removedCards == null || !removedCards.remove(Integer.valueOf(cardId))) {
+			return false;
+		}
+		if (removedCards.isEmpty()) {
+			removedCards = null;
+		}
+		return true;
+	}
+
+	public Map<String,Integer> getScores() {
+		return scores;
+	}
+
+	public void setScore(String playerId, int score) {
+		if (scores == null) {
+			scores = new LinkedHashMap<>();
+		}
+		scores.put(playerId, score);
+	}
+
+	public String getCurrentPlayer() {
+		return currentPlayer;
+	}
+
+	public void setCurrentPlayer(String currentPlayer) {
+		this.currentPlayer = currentPlayer;
+	}
+
+	public List<String> getInactivePlayers() {
+		return inactivePlayers;
+	}
+
+	public void setPlayerInactive(String playerId) {
+		if (inactivePlayers == null) {
+			inactivePlayers = new ArrayList<>();
+		}
+		inactivePlayers.add(playerId);
+	}
+
+}
@@ -7,6 +7,7 @@ public class GameInfo {
 	private List<PlayerModel> players;
 	private List<CardModel> cards;
 	private PlayerModel me;
+	private int version;
 	
 	public void setMyPlayer(PlayerModel me) {
 		this.me = me;
@@ -31,4 +32,13 @@ public class GameInfo {
 	public void setCards(List<CardModel> cards) {
 		this.cards = cards;
 	}
+
+	/* the version of the player's game state, the game deltas sent after this info continue from it */
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
 }
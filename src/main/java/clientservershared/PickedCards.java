@@ -19,6 +19,12 @@ public class PickedCards {
 		card2 = INVALID_CARD_IDX;
 		numPickedCards = MIN_PICKED_CARDS;
 	}
+	
+	public PickedCards(int card1, int card2, int numPickedCards) {
+		this.card1 = card1;
+		this.card2 = card2;
+		this.numPickedCards = numPickedCards;
+	}
 
 	public int getCard1() {
         return card1;
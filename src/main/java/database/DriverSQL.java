@@ -2,20 +2,21 @@ package database;
 
 import java.util.List;
 
+import card.catalog.CardsCatalog;
 import database.entity.CardEntity;
 import database.entity.CardsEntityManager;
 
 
 public class DriverSQL {
 	private CardsEntityManager cardsEntityManager;
-	private List<CardEntity> cardsInfo;
+	private CardsCatalog cardsCatalog;
 	
 	public DriverSQL() {
 		cardsEntityManager = new CardsEntityManager();
 	}
 	
-	public List<CardEntity> getCardsInfo() {
-		return cardsInfo;
+	public CardsCatalog getCardsCatalog() {
+		return cardsCatalog;
 	}
 
 	public void printCardDb() {
@@ -31,9 +32,17 @@ public class DriverSQL {
 		cardsEntityManager.disConnectFromDb();
 	}
 	
+	/**
+	 * This method loads the cards catalog from the database.
+	 * The entities are copied to the catalog before disconnecting,
+	 * the catalog is then used by all the games with no further database access.
+	 */
 	public void getCardsInfoFromDb() {
 		cardsEntityManager.connectToDb();
-		cardsInfo = cardsEntityManager.getCards();
+		List<CardEntity> cards = cardsEntityManager.getCards();
+		if (cards != null) {
+			cardsCatalog = CardsCatalog.fromEntities(cards);
+		}
 		cardsEntityManager.disConnectFromDb();
 	}
 	
@@ -11,12 +11,27 @@ import javax.persistence.Persistence;
 import javax.persistence.PersistenceContext;
 
 public class CardsEntityManager {
+	private static final String PERSISTENCE_UNIT = "cards_catalog";
+	private static EntityManagerFactory entityManagerFactory = null;
+	
 	@PersistenceContext
     private EntityManager entityManager;
 	
+	/**
+	 * This method returns the entity manager factory of the cards catalog.
+	 * The factory is expensive to build, thus it is created once and reused by all connections.
+	 * 
+	 * @return EntityManagerFactory  the factory of the cards catalog persistence unit.
+	 */
+	private static synchronized EntityManagerFactory getEntityManagerFactory() {
+		if (entityManagerFactory == null) {
+			entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+		}
+		return entityManagerFactory;
+	}
+	
 	public void connectToDb() {
-		EntityManagerFactory emf = Persistence.createEntityManagerFactory("cards_catalog");
-		entityManager = emf.createEntityManager();
+		entityManager = getEntityManagerFactory().createEntityManager();
 	}
 	
 	public void disConnectFromDb() {
@@ -2,4 +2,5 @@ package eventnotifications;
 
 public interface IAttackNotifications {
 	void askVictimForAttack();
+	void attackStateChanged(int stateId);
 }
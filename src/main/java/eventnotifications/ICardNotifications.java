@@ -29,6 +29,7 @@ public interface ICardNotifications {
 	void natureDisasterAttackSucceeded();
 	void natureDisasterAttackFailed();
 	
+	void regularCoupleCardsPicked(Player player);
 	void specialCoupleWinGame(Player player);
 	void specialCoupleShowCoopBtn();
 }
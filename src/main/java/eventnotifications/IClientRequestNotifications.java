@@ -9,6 +9,8 @@ public interface IClientRequestNotifications {
 	void onDealCardReq(String clientId);
 	void onPlayerPickedCards(String clientId, PickedCards cards);
 
-	void onAttackPlayerReq(String victimId);
+	void onAttackPlayerReq(String clientId, String victimId);
 	void onPlayerLostAttack(String clientId);
+
+	void onResumeSessionReq(String clientId, String token, int lastMsgSeq);
 }
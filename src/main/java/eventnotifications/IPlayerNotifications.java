@@ -4,4 +4,5 @@ public interface IPlayerNotifications {
 	void playerHandCardRemoved(String playerId, int cardId);
 	void playerHandCardAdded(String playerId, int cardId);
 	void playerHandUpdatePoints(String playerId, int numOfPoints);
+	void playerHandChanged(String playerId, int[] removedCardsIds, int numOfPoints);
 }
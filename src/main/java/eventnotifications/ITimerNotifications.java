@@ -0,0 +1,7 @@
+package eventnotifications;
+
+import game.timers.GameTimerType;
+
+public interface ITimerNotifications {
+	void onTimerExpired(GameTimerType type, int timerSeq);
+}
@@ -3,8 +3,10 @@ package game;
 import static globals.Constants.*;
 import clientservershared.GameOver.WinType;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -18,6 +20,7 @@ import org.apache.logging.log4j.Logger;
 
 import attackstate.GameAttackState;
 import card.AbstractCard;
+import card.types.AbstractOwnerableCard;
 import card.types.AbstractPlayableCard;
 import clientservershared.GameInfo;
 import clientservershared.GameOver;
@@ -29,9 +32,11 @@ import game.attacks.AttacksGenerator;
 import game.cards.CardsManager;
 import game.cards.Deck;
 import game.eventnotifier.EventNotifier;
+import game.journal.GameSnapshot;
+import game.journal.GameSnapshot.PlayerState;
 import game.players.Player;
 import game.players.PlayersManager;
-import game.turns.TurnsLinkedList;
+import game.turns.TurnsScheduler;
 import globals.Configs;
 
 /**
@@ -40,10 +45,10 @@ import globals.Configs;
 * This class is responsible for creating the game, starting the game and handling main steps
 * and operations in the game.
 * 
-* The Game class is created by the GameManager class when there is a new game request,
-* generates a password as an id, in which the players will use to join the game.
-* The Game class provides APIs for the GameManager use.
-* The GameManager listens to events coming from Game class regarding the ongoing game.
+* The Game class is created by the GameHandler class when there is a new game request,
+* the game is registered with a generated password, in which the players will use to join the game.
+* The Game class provides APIs for the GameHandler use.
+* The GameHandler listens to events coming from Game class and its components regarding the ongoing game.
 * 
 * The Game class makes use of other classes services, each of which is responsible for a different part of the game:
 * <ul>
@@ -61,6 +66,9 @@ import globals.Configs;
 * Once created, the Game class initiates each of the above classes as a member.
 * Thus, each game has it's own set of classes, concentrated and handled by the Game class.
 * 
+* While the game is running and no attack is in progress, the state of the game can be copied to a GameSnapshot,
+* and a game can be restored from a snapshot after a restart.
+* 
 * @author      Keren Solomon
 */
 public class Game {
@@ -69,10 +77,11 @@ public class Game {
 	private Boolean isGameCreated; 	// set when the game is created
 	private Boolean isGameActive; 	// set when the game starts
 	private String password;		// generated when game created
+	private GameHandler gameHandler;
 	
 	private PlayersManager playersManager;
     private Deck deck;
-    private TurnsLinkedList turns;
+    private TurnsScheduler turns;
     private AttackHandler attackHandler;
     private AttackMsgGenerator attackMsgGenerator;
     private AttacksGenerator attackGenerator;
@@ -86,7 +95,7 @@ public class Game {
 	
     /**
 	 * Creates a Game to represent the form of play in the application.
-	 * The class is created with no arguments, by the game manager class.
+	 * The class is created by the game handler class, which handles the events of this game.
 	 * 
 	 * The game is initiated with the 'is created' field as false, which will be set to true once a new game
 	 * request is made by one of the clients.
@@ -95,8 +104,11 @@ public class Game {
 	 * and the game starts.
 	 * 
 	 * The game class calls a method to initiate all members classes that will supply services to this class during the game.
+	 * 
+	 * @param gameHandler    	the GameHandler that handles the events of this game.
 	 */
-	public Game() {
+	public Game(GameHandler gameHandler) {
+		this.gameHandler = gameHandler;
 		isGameCreated = false;
         isGameActive = false;
         showCoopBtn = false;
@@ -110,13 +122,14 @@ public class Game {
 	*/
 	private void initMembers() {
 		configs = Configs.getInstance();
-        turns = new TurnsLinkedList();
+        turns = new TurnsScheduler();
         playersManager = new PlayersManager();
-        gameNotifier = new EventNotifier();
+        gameNotifier = new EventNotifier(gameHandler);
         gameOverInfo = new GameOver();
         GameAttackState attackState = new GameAttackState();
+        attackState.registerNotifications(gameHandler);
         attackMsgGenerator = new AttackMsgGenerator(attackState);
-    	attackHandler = new AttackHandler(attackState, playersManager, attackMsgGenerator, turns);
+    	attackHandler = new AttackHandler(attackState, playersManager, attackMsgGenerator, turns, gameHandler.getRandom());
     	attackGenerator = new AttacksGenerator(attackHandler);
     	attackResolver = new AttackResolver(attackHandler);
 	}
@@ -201,6 +214,14 @@ public class Game {
 		return cardsManager;
 	}
 
+	/**
+	* This method is a getter for the id of the current player turn.
+	* @return String the id of the player whose turn it is.
+	*/
+	public String getCurrentPlayerId() {
+		return turns.getCurrentPlayerId();
+	}
+
 	/**
 	* This method is responsible for creation of a new game.
 	* The method sets the number of players, initiates the cards classes, and sets the game as created.
@@ -210,12 +231,102 @@ public class Game {
 	public void createNewGame(int numPlayers) {
 		logger.info("A new game is created, with " + numPlayers + " players");
     	playersManager.setNumOfPlayers(numPlayers);
-    	deck = new Deck(numPlayers);
+    	deck = new Deck(numPlayers, gameHandler.getCardsCatalog(), gameHandler.getRandom(), gameHandler);
     	cardsManager = new CardsManager(deck);
     	attackHandler.setCardsManager(cardsManager);
     	isGameCreated = true;
     }
 	
+	/**
+	* This method returns whether the game is at a quiescent point:
+	* the game is running, and no attack is in progress.
+	* A snapshot of the game is only taken at a quiescent point.
+	* 
+	* @return true|false	true if the game is quiescent, otherwise false.
+	*/
+	public Boolean isQuiescent() {
+		return isGameActive && !attackHandler.isAttackActive();
+	}
+	
+	/**
+	* This method copies the state of the game to a new snapshot.
+	* It is called at a quiescent point, only the values that describe the game are copied.
+	* 
+	* @param journalSeq    	the sequence number of the next journal entry of the game.
+	* @return GameSnapshot 	the snapshot of the game.
+	*/
+	public GameSnapshot takeSnapshot(int journalSeq) {
+		GameSnapshot snapshot = new GameSnapshot();
+		snapshot.setJournalSeq(journalSeq);
+		snapshot.setRandomState(gameHandler.getRandom().getState());
+		snapshot.setNumOfPlayers(playersManager.getNumOfPlayers());
+		snapshot.setShowCoopBtn(showCoopBtn);
+		
+		for (Player player : playersManager.getPlayers()) {
+			snapshot.addPlayer(new PlayerState(player.getId(), player.getName(), player.getImg(), player.isActive(), player.getPlayerScore(), player.getHandCardsIds()));
+		}
+		
+		snapshot.setTurnsOrder(turns.getPlayersOrder());
+		snapshot.setCurrentPlayerId(turns.getCurrentPlayerId());
+		snapshot.setNumOfTurnSkips(turns.getNumOfSkips());
+		snapshot.setTurnReversed(turns.isReversed());
+		
+		snapshot.setDeckCards(deck.getDeckCards());
+		snapshot.setSpecialCardsIds(cardsManager.getSpecialCardsIds());
+		AbstractCard card;
+		for (int cardId = 0; (card = deck.getCard(cardId)) != null; cardId++) {
+			if (card instanceof AbstractOwnerableCard && ((AbstractOwnerableCard) card).getOwner() != null) {
+				snapshot.setCardOwner(cardId, ((AbstractOwnerableCard) card).getOwner());
+			}
+		}
+		return snapshot;
+	}
+	
+	/**
+	* This method restores a running game from the given snapshot.
+	* The game is created, the players are added and the cards are initiated as when the game started,
+	* then the state of each part of the game is replaced by the state kept in the snapshot.
+	* No event is triggered while restoring, the clients are updated once they reconnect.
+	* 
+	* @param snapshot    	the snapshot of the game.
+	*/
+	public void restoreSnapshot(GameSnapshot snapshot) {
+		logger.info("Restoring the game from a snapshot");
+		createNewGame(snapshot.getNumOfPlayers());
+		for (PlayerState state : snapshot.getPlayers()) {
+			playersManager.addActivePlayer(state.getId(), state.getName(), state.getImg());
+		}
+		
+		deck.initCards();
+		deck.restoreDeckCards(snapshot.getDeckCards());
+		for (PlayerState state : snapshot.getPlayers()) {
+			List<AbstractCard> hand = new ArrayList<>();
+			for (int cardId : state.getHand()) {
+				hand.add(deck.getCard(cardId));
+			}
+			playersManager.getPlayer(state.getId()).restoreState(state.isActive(), state.getScore(), hand);
+		}
+		
+		turns.addPlayers(snapshot.getTurnsOrder().stream().map(playersManager::getPlayer).collect(Collectors.toList()));
+		for (PlayerState state : snapshot.getPlayers()) {
+			if (!state.isActive()) {
+				turns.setPlayerNotActive(state.getId());
+				playersManager.setPlayerNotActive(playersManager.getPlayer(state.getId()));
+			}
+		}
+		turns.setCurrentPlayer(snapshot.getCurrentPlayerId());
+		turns.setNumOfSkips(snapshot.getNumOfTurnSkips());
+		turns.setReversed(snapshot.isTurnReversed());
+		
+		snapshot.getSpecialCardsIds().forEach(cardsManager::setSpecialCard);
+		snapshot.getCardsOwners().forEach((cardId, owner) -> ((AbstractOwnerableCard) deck.getCard(cardId)).setOwners(owner));
+		showCoopBtn = snapshot.getShowCoopBtn();
+		
+		isGameActive = true;
+		playersManager.registerPlayerNotifications(gameHandler);
+		gameHandler.getRandom().setState(snapshot.getRandomState());
+	}
+	
 	/**
 	* This method is responsible for starting the game.
 	* The method sets the number of players, initiates the cards, deals cards to each player,
@@ -232,7 +343,7 @@ public class Game {
     	isGameActive = true;
     	
     	turns.addPlayers(playersManager.getPlayers());
-    	playersManager.registerPlayerNotifications();
+    	playersManager.registerPlayerNotifications(gameHandler);
     	
     	logger.info("The game is starting...");
     }
@@ -259,6 +370,17 @@ public class Game {
     	return info;
     }
     
+    /**
+	* This method collects the necessary data needed for a player, with the current playing player of the game.
+	* It is called when the full game state is sent to a single player.
+    * 
+	* @param playerId    	the string represents the player's id.
+	* @return  GameInfo 	the GameInfo object that represents the player's information.
+	*/
+    public GameInfo getPlayerInfo(String playerId) {
+    	return getPlayerInfo(playerId, turns.getCurrentPlayerId());
+    }
+    
     /**
 	* This method is responsible for collecting the necessary data needed for the game,
 	* including each player's information and general game information.
@@ -562,8 +684,7 @@ public class Game {
 	*/
     private void playerLostGame(Player victim) {
     	turns.setPlayerNotActive(victim.getId());
-    	victim.setActive(false);
-    	playersManager.decreaseNumOfActivePlayers();
+    	playersManager.setPlayerNotActive(victim);
     	gameNotifier.lostGame(victim.getId());
     }
     
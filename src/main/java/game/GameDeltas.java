@@ -0,0 +1,120 @@
+package game;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import clientservershared.CardModel;
+import clientservershared.GameDelta;
+
+/**
+* This class collects the changes of the game state, as deltas to be sent to the players of a single game.
+*
+* The game state is sent to each player in full once, when the game starts,
+* after that, the changes made while handling the game events are added to the pending delta of each affected player:
+* the changes of the player's hand are added to the player only, while the changes of the scores, the turn
+* and the active players are added to every player.
+* The pending deltas are sent together, so all the changes of a batch of events reach a player in a single message.
+*
+* Each player has its own version of the game state, incremented with each delta sent to the player,
+* thus a player never sees a gap in its versions unless a delta was lost.
+* The class is not thread safe, it is only accessed by the game executor of its game.
+*
+* @author      Keren Solomon
+*/
+public class GameDeltas {
+	private Map<String,Integer> versions;
+	private Map<String,GameDelta> pending;
+
+	public GameDeltas() {
+		this.versions = new HashMap<>();
+		this.pending = new LinkedHashMap<>();
+	}
+
+	private GameDelta pendingDelta(String playerId) {
+		return pending.computeIfAbsent(playerId, id -> new GameDelta());
+	}
+
+	public Boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	/**
+	* This method adds a card to the hand of the player in its pending delta,
+	* a card removed earlier in the same delta is only taken out of the removed cards, since the player still holds it.
+	*
+	* @param  playerId  the id of the player.
+	* @param  card  	the added card.
+	*/
+	public void cardAdded(String playerId, CardModel card) {
+		GameDelta delta = pendingDelta(playerId);
+		if (!delta.cancelRemovedCard(card.getId())) {
+			delta.addCard(card);
+		}
+	}
+
+	/**
+	* This method removes a card from the hand of the player in its pending delta,
+	* a card added earlier in the same delta is only taken out of the added cards, since the player never got it.
+	*
+	* @param  playerId  the id of the player.
+	* @param  cardId  	the id of the removed card.
+	*/
+	public void cardRemoved(String playerId, int cardId) {
+		GameDelta delta = pendingDelta(playerId);
+		if (!delta.cancelAddedCard(cardId)) {
+			delta.removeCard(cardId);
+		}
+	}
+
+	public void scoreChanged(List<String> playersIds, String playerId, int score) {
+		for (String id : playersIds) {
+			pendingDelta(id).setScore(playerId, score);
+		}
+	}
+
+	public void turnChanged(List<String> playersIds, String currentPlayer) {
+		for (String id : playersIds) {
+			pendingDelta(id).setCurrentPlayer(currentPlayer);
+		}
+	}
+
+	public void playerLost(List<String> playersIds, String playerId) {
+		for (String id : playersIds) {
+			pendingDelta(id).setPlayerInactive(playerId);
+		}
+	}
+
+	/**
+	* This method tags each pending delta with the next version of its player, and passes it to the given send function.
+	* The pending deltas are cleared before they are sent, so the send function may send the full state instead.
+	*
+	* @param  send  the function that sends a delta to a player.
+	*/
+	public void flush(BiConsumer<String,GameDelta> send) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		Map<String,GameDelta> deltas = pending;
+		pending = new LinkedHashMap<>();
+		deltas.forEach((playerId, delta) -> {
+			delta.setVersion(versions.merge(playerId, 1, Integer::sum));
+			send.accept(playerId, delta);
+		});
+	}
+
+	/**
+	* This method is called once the full game state is sent to the player.
+	* The pending delta of the player is dropped, since its changes are part of the full state.
+	*
+	* @param  playerId  the id of the player.
+	* @return int  		the version of the player's game state, the following deltas continue from it.
+	*/
+	public int fullStateSent(String playerId) {
+		pending.remove(playerId);
+		return versions.getOrDefault(playerId, 0);
+	}
+
+}
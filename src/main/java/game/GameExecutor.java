@@ -0,0 +1,102 @@
+package game;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import serverConnections.PendingClients;
+
+/**
+* This class represents the mailbox of a single game.
+* The GameExecutor class runs all the events of its game one after the other, in the order they were submitted.
+*
+* The events are added to the mailbox from any thread, and the mailbox is drained by a single task
+* at a time on the shared games thread pool, thus the game state is never accessed by two threads at once,
+* and needs no locks. Different games are drained in parallel by the different threads of the pool.
+*
+* The pending clients of the game are bound to the thread while it drains the mailbox,
+* so the clients the game sends messages to are flushed by this game only.
+*
+* The mailbox is drained in batches, after each batch the given batch handler is called,
+* and the task is rescheduled if more events are waiting, so a busy game does not hold a pool thread forever.
+*
+* @author      Keren Solomon
+*/
+public class GameExecutor implements Executor {
+	private static final Logger logger = LogManager.getLogger(GameExecutor.class);
+	private static final int MAX_BATCH_SIZE = 64;
+
+	private Executor pool;
+	private PendingClients pendingClients;
+	private Runnable batchHandler;
+	private Queue<Runnable> mailbox;
+	private AtomicBoolean isScheduled;
+
+	/**
+	 * Creates a GameExecutor to run the events of a single game.
+	 *
+	 * @param pool    			the shared thread pool running the games.
+	 * @param pendingClients    the clients the game sent messages to, flushed by the batch handler.
+	 * @param batchHandler    	the Runnable called after each batch of events, used to flush the game messages.
+	 */
+	public GameExecutor(Executor pool, PendingClients pendingClients, Runnable batchHandler) {
+		this.pool = pool;
+		this.pendingClients = pendingClients;
+		this.batchHandler = batchHandler;
+		this.mailbox = new ConcurrentLinkedQueue<>();
+		this.isScheduled = new AtomicBoolean(false);
+	}
+
+	/**
+	* This method adds an event to the mailbox of the game,
+	* and schedules the mailbox to be drained if it is not already scheduled.
+	* It may be called from any thread.
+	*
+	* @param  event  the Runnable that handles the event.
+	*/
+	@Override
+	public void execute(Runnable event) {
+		mailbox.offer(event);
+		schedule();
+	}
+
+	private void schedule() {
+		if (isScheduled.compareAndSet(false, true)) {
+			pool.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		Runnable event;
+		int numOfEvents = 0;
+		pendingClients.bind();
+		try {
+			while (numOfEvents < MAX_BATCH_SIZE && (event = mailbox.poll()) != null) {
+				runEvent(event);
+				numOfEvents++;
+			}
+			runEvent(batchHandler);
+		} finally {
+			pendingClients.unbind();
+		}
+
+		isScheduled.set(false);
+		if (!mailbox.isEmpty()) {
+			schedule();
+		}
+	}
+
+	private void runEvent(Runnable event) {
+		try {
+			event.run();
+		} catch (RuntimeException e) {
+			logger.error("failed handling game event");
+			e.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,1117 @@
+package game;
+
+import static globals.Constants.ALL_PLAYERS_JOINED;
+import static globals.Constants.CS_STATE_FIN;
+import static globals.Constants.DEST_NUM;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import card.AbstractCard;
+import card.catalog.CardsCatalog;
+import clientservershared.AttackMsg;
+import clientservershared.CardModel;
+import clientservershared.GameInfo;
+import clientservershared.GameOver;
+import clientservershared.PickedCards;
+import eventnotifications.IAttackNotifications;
+import eventnotifications.ICardNotifications;
+import eventnotifications.IClientRequestNotifications;
+import eventnotifications.IGameNotifications;
+import eventnotifications.IPlayerNotifications;
+import eventnotifications.ITimerNotifications;
+import game.attacks.AttackDispatch;
+import game.journal.GameJournal;
+import game.journal.GameSnapshot;
+import game.players.Player;
+import game.timers.GameTimerType;
+import game.timers.GameTimers;
+import game.timers.TimingWheel;
+import serverConnections.PendingClients;
+import serverConnections.SocketHandler;
+
+/**
+* The GameHandler class is the managing unit of a single game,
+* it is created by the GameManager class once a client requests to create a new game,
+* and is registered in the game registry with a generated password.
+* 
+* The GameHandler holds the Game member that runs the game, and uses the socket handler
+* to send the game messages to the players of this game only.
+* 
+* The game handler implements multiple interfaces:
+* <ul>
+* <li>IGameNotifications - game events
+* <li>ICardNotifications - cards events
+* <li>IPlayerNotifications - players events
+* <li>IClientRequestNotifications - requests of the clients in this game, routed by the GameManager
+* <li>IAttackNotifications - attacks events
+* <li>ITimerNotifications - expired timers of this game
+* </ul>
+* The components of the game are registered to the game handler of their own game,
+* thus the events of different games never mix.
+* 
+* All the requests of the game are run by the game executor, one after the other,
+* thus the game is only accessed by a single thread at a time.
+* 
+* All the randomness of the game is drawn from the game random generator, created with the seed of the game.
+* When the game is journaled, each request is passed to the game journal before it is handled,
+* and each change of the game state is journaled once it happens,
+* thus the game can be replayed offline, and plays exactly the same.
+* A journaled game is periodically snapshotted at a quiescent point, once a batch of events is handled,
+* so the game can be restored after a restart from its latest snapshot and the journal entries that follow it.
+* 
+* Once the game starts, the full game state is sent to each player once, after that the changes of the state
+* (the player's hand, the scores, the turn and the active players) are collected while the events are handled,
+* and are sent as a single versioned delta per player, before any other message and once the batch of events is handled.
+* A player that missed messages gets the full state instead of its delta.
+* 
+* Each player that joins the game gets a session token, the player resumes its session with the token after a lost connection,
+* and gets the messages it missed, or the full state of the game in case they are no longer kept.
+* 
+* The game does not wait for its players forever, a server side timer is armed each time the game waits for a player:
+* for all the players to join, for the current player to play its turn, and for the victim of an attack to defend itself.
+* An expired timer is journaled as a request and acts on the game as the player would have,
+* the lobby is closed, the turn ends, or the victim loses the attack.
+* 
+* @author      Keren Solomon
+*/
+public class GameHandler implements IGameNotifications, ICardNotifications, IPlayerNotifications, IClientRequestNotifications, IAttackNotifications, ITimerNotifications {
+	private static final Logger logger = LogManager.getLogger(GameHandler.class);
+	
+	private String gameId;
+	private Game game;
+	private SocketHandler socketsHandler;
+	private GameRegistry registry;
+	private GameExecutor executor;
+	private PendingClients pendingClients;
+	private CardsCatalog cardsCatalog;
+	private GameRandom random;
+	private GameJournal journal;
+	private GameDeltas deltas;
+	private GameTimers timers;
+	private String creatorId;
+	private String restoredPassword;
+	private Map<String,String> restoredTokens;
+	
+	/**
+	 * Creates a Game Handler to run a single game, and handle its events.
+	 * The class is created by the game manager, once a client requests a new game.
+	 * 
+	 * @param gameId    		the string represents the id of the game.
+	 * @param socketsHandler    the SocketHandler used to send messages to the players.
+	 * @param registry    		the GameRegistry in which the game is registered.
+	 * @param gamesPool    		the shared thread pool on which the game events are run.
+	 * @param cardsCatalog    	the CardsCatalog the cards of the game are created from.
+	 * @param seed    			the seed of the game random generator.
+	 */
+	public GameHandler(String gameId, SocketHandler socketsHandler, GameRegistry registry, Executor gamesPool, CardsCatalog cardsCatalog, long seed) {
+		logger.info("game " + gameId + " created with seed " + seed);
+		this.gameId = gameId;
+		this.cardsCatalog = cardsCatalog;
+		this.random = new GameRandom(seed);
+		this.socketsHandler = socketsHandler;
+		this.registry = registry;
+		this.journal = GameJournal.DISABLED;
+		this.deltas = new GameDeltas();
+		this.restoredTokens = Collections.emptyMap();
+		this.pendingClients = new PendingClients();
+		this.executor = new GameExecutor(gamesPool, pendingClients, this::onEventsBatchHandled);
+		this.timers = new GameTimers(this::execute, this);
+		this.game = new Game(this);
+	}
+	
+	/**
+	* This method is a getter for the game id.
+	* @return  gameId 	the string represents the game id.
+	*/
+	public String getGameId() {
+		return gameId;
+	}
+	
+	/**
+	* This method is a getter for the game password.
+	* @return  password 	the string represents the game password.
+	*/
+	public String getPassword() {
+		return game.getPassword();
+	}
+	
+	/**
+	* This method is a getter for the id of the client that created the game.
+	* @return  creatorId 	the string represents the id of the creating client, or null if the game was not created yet.
+	*/
+	public String getCreatorId() {
+		return creatorId;
+	}
+	
+	/**
+	* This method is a getter for the cards catalog of the game.
+	* @return  CardsCatalog 	the catalog the cards of the game are created from.
+	*/
+	public CardsCatalog getCardsCatalog() {
+		return cardsCatalog;
+	}
+	
+	/**
+	* This method is a getter for the random generator of the game.
+	* @return  GameRandom 	the generator all the randomness of the game is drawn from.
+	*/
+	public GameRandom getRandom() {
+		return random;
+	}
+	
+	/**
+	* This method is a getter for the seed of the game.
+	* @return  long 	the seed the game random generator was created with.
+	*/
+	public long getSeed() {
+		return random.getSeed();
+	}
+	
+	/**
+	* This method sets the journal of the game, each following event of the game is journaled.
+	* @param  journal 	the GameJournal the events of the game are appended to.
+	*/
+	public void setJournal(GameJournal journal) {
+		this.journal = journal;
+	}
+	
+	/**
+	* This method sets the timing wheel the timers of the game are scheduled on, the timers that are armed are started.
+	* A replayed game has no wheel, its timers expire only as they were journaled.
+	* It is called before the game handles its first event, or by the game executor once a restored game replayed its journal.
+	* @param  wheel 	the TimingWheel of the application.
+	*/
+	public void setTimerWheel(TimingWheel wheel) {
+		timers.setWheel(wheel);
+	}
+	
+	/**
+	* This method sets the password the game was registered with before a restart,
+	* the game is registered with the same password once it is created again.
+	* @param  password 	the password of the restored game.
+	*/
+	public void setRestoredPassword(String password) {
+		this.restoredPassword = password;
+	}
+	
+	/**
+	* This method sends the pending game deltas to the players.
+	* It is called once a batch of events is handled, and before any other message is sent,
+	* so the players get the messages in the order the game made them.
+	* A player that missed messages gets the full game state instead.
+	*/
+	private void sendDeltas() {
+		deltas.flush((playerId, delta) -> {
+			if (socketsHandler.hasClientFallenBehind(playerId)) {
+				sendFullState(playerId);
+			}
+			else {
+				socketsHandler.sendClientGameDelta(playerId, delta);
+			}
+		});
+	}
+	
+	/**
+	* This method sends the full game state to the player, along with the version of the player's state,
+	* the pending changes of the player are dropped, since they are part of the sent state.
+	* In case the game did not start yet, the number of players that joined so far is sent.
+	* 
+	* @param playerId  	the id of the player.
+	*/
+	private void sendFullState(String playerId) {
+		if (game.isGameActive()) {
+			GameInfo info = game.getPlayerInfo(playerId);
+			info.setVersion(deltas.fullStateSent(playerId));
+			socketsHandler.sendClientGameInfo(playerId, info);
+		}
+		else {
+			socketsHandler.sendClientGameStart(playerId, game.allPlayersJoined());
+		}
+	}
+	
+	/**
+	* This method sets the session tokens the players of a restored or replayed game were given,
+	* each player is given the same token once it joins the game again.
+	* @param  tokens 	the session tokens mapped by the players ids.
+	*/
+	public void setRestoredSessions(Map<String,String> tokens) {
+		this.restoredTokens = tokens;
+	}
+	
+	/**
+	* This method is called by the game executor, once it handled a batch of events of this game.
+	* A snapshot of the game is taken if one is due and the game is at a quiescent point.
+	* Taking the snapshot only copies the game state, a few hundred values, the snapshot is encoded and written by the journal flusher.
+	* The game deltas of the batch are sent, the messages of the batch are written to the clients of this game only,
+	* and the journal entries are handed to the journal writer.
+	*/
+	private void onEventsBatchHandled() {
+		sendDeltas();
+		if (journal.isSnapshotDue() && game.isQuiescent()) {
+			journal.snapshot(game.takeSnapshot(journal.getSeq()));
+		}
+		pendingClients.flush();
+		journal.flush();
+	}
+	
+	/**
+	* This method restores the game from the given snapshot, after a restart.
+	* The game is registered with its password, and the players are bound to the game,
+	* so their requests are routed to it once they reconnect.
+	* 
+	* @param snapshot  	the latest snapshot of the game.
+	* @param password  	the password the game was registered with.
+	*/
+	public void restoreSnapshot(GameSnapshot snapshot, String password) {
+		game.restoreSnapshot(snapshot);
+		if (game.isGameActive()) {
+			timers.arm(GameTimerType.TURN);
+		}
+		game.setPassword(registry.addGame(this, password));
+		for (String clientId : getPlayersIds()) {
+			registry.bindClient(clientId, this);
+			Optional.ofNullable(restoredTokens.get(clientId))
+				.ifPresent(token -> socketsHandler.openSession(clientId, token));
+		}
+	}
+	
+	/**
+	* This method is a getter for the Game object.
+	* @return Game 	the object represents the game run by this handler.
+	*/
+	public Game getGame() {
+		return game;
+	}
+	
+	/**
+	* This method submits an event to the game executor.
+	* The events of the game are run one after the other, in the order they were submitted.
+	* 
+	* @param event  the Runnable that handles the event.
+	*/
+	public void execute(Runnable event) {
+		executor.execute(event);
+	}
+	
+	/**
+	* This method returns the ids of all the players in the game.
+	* The game messages are sent to this list of players.
+	* 
+	* @return List<String>  the list of the players IDs.
+	*/
+	public List<String> getPlayersIds() {
+		return game.getPlayersManager().getPlayersIds();
+	}
+	
+	/**
+	* This method is called once a request is made by one of the clients.
+	* 
+	* it is responsible for handling the request - creating a new game:
+	* by calling the game member create game method.
+	* 
+	* The game is registered in the game registry, which generates a unique password for the game.
+	* 
+	* Then, sending a message response to the requesting client, with the generated password.
+	* 
+	* @param clientId  		the string represents the id of the requesting client/player.
+	* @param numOfPlayers  	the int represents the number of players in the new game. 
+	*/
+	private void createNewGameHandler(String clientId, int numOfPlayers) {
+		creatorId = clientId;
+		game.createNewGame(numOfPlayers);
+		String password = registry.addGame(this, restoredPassword);
+		game.setPassword(password);
+		journal.gamePassword(password);
+		timers.arm(GameTimerType.LOBBY);
+		socketsHandler.sendClientGamePassword(clientId, password);
+	}
+	
+	/**
+	* This method is event implementation,
+	* the event is defined in the IClientRequestNotifications interface,
+	* it is called by the GameManager class,
+	* once a client requests to start a new game, right after this game handler is created.
+	* 
+	* It is responsible for checking if the game not already exists,
+	* and call the create new game method to handle the request.
+	* 
+	* @param clientId  		the string represents the id of the requesting client/player.
+	* @param numOfPlayers  	the int represents the number of players in the new game. 
+	*/
+	@Override
+	public void onNewGameRequest(String clientId, int numOfPlayers) {
+		journal.onNewGameRequest(clientId, numOfPlayers);
+		if (game.isGameCreated()) {
+			socketsHandler.sendClientGameExist(clientId);
+		}
+		else {
+			createNewGameHandler(clientId, numOfPlayers);
+		}
+	}
+	
+	/**
+	* This method is called once all players joined the game.
+	* 
+	* It is responsible for handling the request - starting the game:
+	* by calling the game member start game method,
+	* registering to current game events,
+	* collecting all the initiated data needed per each player,
+	* and sending a message to inform all related clients that the game starts.
+	*/
+	private void startNewGameHandler() {
+		logger.info("Starting the game");
+		timers.disarm(GameTimerType.LOBBY);
+		game.startGame();
+		timers.arm(GameTimerType.TURN);
+		socketsHandler.sendBroadcastStartGame(getPlayersIds());
+		
+		Map<String,GameInfo> playersInfo = game.getGameInfo();
+		for (String id : playersInfo.keySet()) {
+			playersInfo.get(id).setVersion(deltas.fullStateSent(id));
+			socketsHandler.sendClientGameInfo(id, playersInfo.get(id));
+		}
+
+		logger.info("******Game Started******");
+	}
+
+	/**
+	* This method is event implementation,
+	* the event is defined in the IGameNotifications interface,
+	* it is called by the Game class,
+	* each time a new player is added to the current game.
+	* 
+	* It is responsible for updating all related clients with the new
+	* number of active players in game, so they will know that a new
+	* player just joined.
+	* 
+	* In case that all players joined the game, the game is starting.
+	* 
+	* @param numOfPlayers  	the int represents the number of active players in the game. 
+	*/
+	@Override
+	public void onNumberOfActivePlayersChanged(int numOfPlayers) {
+		if (ALL_PLAYERS_JOINED == game.allPlayersJoined()) {
+			startNewGameHandler();
+		}
+		else
+		{
+			logger.info("Sending broadcast with number of active players");
+			socketsHandler.sendBroadcastNumActivePlayers(getPlayersIds(), numOfPlayers);
+		}
+	}
+	
+	/**
+	* This method is called once a player requested to join the game.
+	* it is responsible for handling the attempts of players to join a game:
+	* try to add the player by calling the game member add active player method.
+	* 
+	* If succeeded, bind the client to this game in the game registry, inform the clientHandler thread with it's player id,
+	* and send a message response to the requesting client, saying the game is starting.
+	* 
+	* If failed, send a message response to the requesting client, saying the gale is already full.
+	* 
+	* @param clientId  	the string represents the id of the requesting client/player.
+	* @param name  		the String represents the player name.
+	* @param img  		the String represents the player profile image.
+	*/
+	private void joinGameHandler(String clientId, String name, String img) {
+		if (game.addActivePlayer(clientId, name, img)) {
+			registry.bindClient(clientId, this);
+			socketsHandler.setClientActive(clientId);
+			openSession(clientId);
+			
+			// if this is the last player added - no need to send msg
+			int joined = game.allPlayersJoined();
+			if (joined != ALL_PLAYERS_JOINED ) {
+				socketsHandler.sendClientGameStart(clientId, joined);
+			}
+		}
+		else {
+			socketsHandler.sendClientGameFull(clientId);
+		}
+	}
+	
+	/**
+	* This method opens the session of a player that joined the game.
+	* The player is given a newly generated token, or the token it was given before in case the game is restored.
+	* 
+	* @param clientId  	the string represents the id of the player.
+	*/
+	private void openSession(String clientId) {
+		String token = Optional.ofNullable(restoredTokens.get(clientId)).orElseGet(registry::generateSessionToken);
+		journal.sessionOpened(clientId, token);
+		socketsHandler.openSession(clientId, token);
+	}
+	
+	/**
+	* This method is event implementation,
+	* the event is defined in the IClientRequestNotifications interface,
+	* it is called by the GameManager class,
+	* each time a player wants to join the game, once the given password is matched to this game.
+	* 
+	* It is responsible for checking the validation of the given password,
+	* if the password matched the game, the join game method is called.
+	* otherwise, inform the client that the password is invalid.
+	* 
+	* @param clientId  	the string represents the id of the requesting client/player.
+	* @param password  	the String represents the given game password.
+	* @param name  		the String represents the player name.
+	* @param img  		the String represents the player profile image.
+	*/
+	@Override
+	public void onJoinGameRequest(String clientId, String password, String name, String img) {
+		journal.onJoinGameRequest(clientId, password, name, img);
+		if (password.equals(game.getPassword())) {
+			joinGameHandler(clientId, name, img);
+		}
+		else {
+			socketsHandler.sendClientPasswordInvalid(clientId);
+		}
+	}
+	
+	/**
+	* This method is responsible for sending an attack message to a client.
+	* 
+	* An attack message can be sent to one of three destinations:
+	* <ul>
+	* <li>DEST_VICTIM - send the message to the victim of the attack.
+	* <li>DEST_ATTACKER - send the message to the attacker.
+	* <li>DEST_ALL - send the message to all clients (may exclude the victim / attacker).
+	* </ul>
+	* 
+	* This method gets the dispatch of a resolved attack outcome, holding a message per destination.
+	* It walks the three destinations in order, and for each destination that has a message,
+	* calls the socket handler to send the message to the receivers of that destination.
+	* 
+	* @param dispatch  	the AttackDispatch holding the messages and their receivers.
+	*/
+	private void sendAttackMsg(AttackDispatch dispatch) {
+		sendDeltas();
+		for (int destination = 0; destination < DEST_NUM; destination++) {
+			AttackMsg msg = dispatch.getMsg(destination);
+			if (msg != null) {
+				socketsHandler.sendClientsAttackMsg(dispatch.getRecipients(destination), dispatch.getNumOfRecipients(destination), msg);
+			}
+		}
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IPlayerNotifications interface,
+	* it is called by the Player class, each time a player loses a card.
+	* 
+	* A player can lose it's card in one of the following cases:
+	* <ul>
+	* <li> used the card
+	* <li> victim to a steal attack (coudn't defend himself).
+	* <li> victim to a rock attack
+	* </ul>
+	* 
+	* It is responsible for adding the removed card to the game delta of the client/player,
+	* to update the screen with the cards in hand.
+	* 
+	* @param clientId  	the string represents the id of the requesting client/player.
+	* @param cardId  	the id of the removed card.
+	*/
+	@Override
+	public void playerHandCardRemoved(String clientId, int cardId) {
+		journal.handCardRemoved(clientId, cardId);
+		deltas.cardRemoved(clientId, cardId);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the IPlayerNotifications interface,
+	* it is called by the Player class, each time a player have a new card in hand.
+	* 
+	* A player can get a new card in one of the following cases:
+	* <ul>
+	* <li> get card from deck
+	* <li> defeated another player in a steal attack
+	* </ul>
+	* 
+	* It is responsible for adding the new card to the game delta of the client/player,
+	* to update the screen with the cards in hand.
+	* 
+	* @param clientId  	the string represents the id of the requesting client/player.
+	* @param cardId  	the id of the added card.
+	*/
+	@Override
+	public void playerHandCardAdded(String clientId, int cardId) {
+		journal.handCardAdded(clientId, cardId);
+		CardModel card = game.getCardsManager().getCardInfo(cardId);
+		deltas.cardAdded(clientId, card);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the IPlayerNotifications interface,
+	* it is called by the Player class, each time a player lost/win a valuable card.
+	* 
+	* It is responsible for adding the player's new score value to the game delta of all players in the game,
+	* to update the screen with the player's new score value.
+	* 
+	* @param clientId  	  the string represents the id of the requesting client/player.
+	* @param numOfPoints  the updated score value.
+	*/
+	@Override
+	public void playerHandUpdatePoints(String clientId, int numOfPoints) {
+		deltas.scoreChanged(getPlayersIds(), clientId, numOfPoints);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the IPlayerNotifications interface,
+	* it is called by the Player class, when a few cards are removed from the player's hand at once.
+	* 
+	* A player loses all it's cards but the defense card, when it defends itself with a flying sheep card.
+	* 
+	* It is responsible for adding the removed cards to the game delta of the client/player,
+	* and the player's new score value to the game delta of all players in the game, once for all the removed cards.
+	* 
+	* @param clientId  		the string represents the id of the client/player.
+	* @param cardsIds  		the IDs of the removed cards.
+	* @param numOfPoints  	the updated score value.
+	*/
+	@Override
+	public void playerHandChanged(String clientId, int[] cardsIds, int numOfPoints) {
+		for (int cardId : cardsIds) {
+			journal.handCardRemoved(clientId, cardId);
+			deltas.cardRemoved(clientId, cardId);
+		}
+		deltas.scoreChanged(getPlayersIds(), clientId, numOfPoints);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the AbstractOwnerableCard class, each time a player get a special card from deck.
+	* 
+	* It is responsible for updating the game member with the new card owner.
+	* 
+	* @param id  the int represents the card id.
+	*/
+	@Override
+	public void onGotFromDeckSpecial(int id) {
+		game.setSpecialCard(id);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IGameNotifications interface,
+	* it is called by the Game class, each time a player ends it's turn.
+	* 
+	* It is responsible for adding the current player turn to the game delta of all players in the game,
+	* and for arming the turn timer of the new current player.
+	* 
+	* @param currentPlayer  the String represents the id of the current playing player.
+	*/
+	@Override
+	public void onCurrentPlayerChanged(String currentPlayer) {
+		journal.turnChanged(currentPlayer);
+		timers.arm(GameTimerType.TURN);
+		deltas.turnChanged(getPlayersIds(), currentPlayer);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IGameNotifications interface,
+	* it is called by the Game class, each time a card used.
+	* 
+	* It is responsible for sending a message to all player in the game,
+	* with the used card information,
+	* so the players screen will update the 'used cards' pile.
+	* 
+	* @param card  the CardModel contains the used card information.
+	*/
+	@Override
+	public void onCardUsed(CardModel card) {
+		journal.cardUsed(card.getId());
+		sendDeltas();
+		socketsHandler.sendBroadcastAddToUsedPile(getPlayersIds(), card);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IGameNotifications interface,
+	* it is called by the Game class, when a player win the game.
+	* 
+	* It is responsible for sending a message to all player in the game,
+	* with the information about the winning and losing players,
+	* so the players screen will update the game over screen.
+	* Then, the timers of the game are disarmed, the game is removed from the game registry, and the journal of the game is closed.
+	* 
+	* @param info  the GameOver contains the information about the ended game.
+	*/
+	@Override
+	public void onPlayerWinGame(GameOver info) {
+		timers.disarmAll();
+		sendDeltas();
+		socketsHandler.sendBroadcastGameOver(getPlayersIds(), info);
+		registry.removeGame(this);
+		socketsHandler.closeSessions(getPlayersIds());
+		journal.gameOver();
+		journal.close();
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the IGameNotifications interface,
+	* it is called by the Game class, when a player loses the game.
+	* 
+	* It is responsible for marking the player as not active in the game delta of all players in the game,
+	* so the players screen will mark the player as not active,
+	* and sending a message to the losing player, to change its screen to game over screen.
+	* 
+	* @param playerId  the String represents the id of the losing player.
+	*/
+	@Override
+	public void onPlayerLostGame(String playerId) {
+		journal.playerLost(playerId);
+		deltas.playerLost(getPlayersIds(), playerId);
+		sendDeltas();
+		socketsHandler.sendClientLostGame(playerId);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the steal card or by one of the nature disaster cards, when an attack starts.
+	* 
+	* It is responsible for sending a message to all players in the game,
+	* to inform them with the attack, and for arming the defense timer of the victim.
+	*/
+	@Override
+	public void notifyAttackOnPlayer() {
+		sendAttackMsg(game.getAttackHandler().notifyDefensableAttack());
+		timers.arm(GameTimerType.DEFENSE);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the pre-attack state class, when a steal / rock attack starts,
+	* in order to get the victim of the attack.
+	* 
+	* It is responsible for sending a message to the attacker, asking him who he wants to attack.
+	*/
+	@Override
+	public void askVictimForAttack() {
+		sendAttackMsg(game.getAttackHandler().askVictimForAttack());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IAttackNotifications interface,
+	* it is called by the game attack state, each time the attack moves to another state.
+	* 
+	* It is responsible for journaling the new state of the attack.
+	* The victim is only waited for in the finish state, once the attack moves on the defense timer is disarmed.
+	* 
+	* @param stateId  the int represents the id of the new attack state.
+	*/
+	@Override
+	public void attackStateChanged(int stateId) {
+		journal.attackStateChanged(stateId);
+		if (stateId != CS_STATE_FIN) {
+			timers.disarm(GameTimerType.DEFENSE);
+		}
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the rock card, when the do-attack state is executed.
+	* 
+	* It is responsible for invoking the game method that handles the attack,
+	* and then call finish attack success method, as the rock attack ended successfully.
+	*/
+	@Override
+	public void doRockAttack() {
+		logger.debug("doing rock attack");
+		game.getAttackGenerator().doRockAttack();
+		game.getAttackHandler().finishAttackSuc();
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the rock card, when the success-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information.
+	*/
+	@Override
+	public void rockAttackSucceeded() {
+		logger.debug("rock attack succeeded");
+		sendAttackMsg(game.getAttackResolver().rockAttackSucceeded());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the steal card, when the success-attack state is executed.
+	* 
+	* It is responsible for invoking the game method that handles the attack,
+	* and then to inform the relevant players with the attack information.
+	*/
+	@Override
+	public void stealAttackSucceeded() {
+		logger.debug("steal attack succeeded");
+		if (game.getAttackGenerator().doStealAttack()) {
+			// true - special card
+			game.showCoopButtonIfNeeded();
+		}
+		sendAttackMsg(game.getAttackResolver().stealAttackSucceeded());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the steal card, when the failed-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information.
+	*/
+	@Override
+	public void stealAttackFailed() {
+		logger.debug("steal attack failed");
+		sendAttackMsg(game.getAttackResolver().stealAttackFailed());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the river card, when the do-attack state is executed.
+	* 
+	* It is responsible for invoking the game method that handles the attack,
+	* and then call finish attack success method, as the river attack ended successfully.
+	*/
+	@Override
+	public void doRiverAttack() {
+		logger.debug("doing river attack");
+		game.getAttackGenerator().doRiverAttack();
+		game.getAttackHandler().finishAttackSuc();
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the river card, when the success-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information.
+	*/
+	@Override
+	public void riverAttackSucceeded() {
+		sendAttackMsg(game.getAttackResolver().riverAttackSucceeded());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the tree card, when the do-attack state is executed.
+	* 
+	* It is responsible for invoking the game method that handles the attack,
+	* and then call finish attack success method, as the tree attack ended successfully.
+	*/
+	@Override
+	public void doTreeAttack() {
+		logger.debug("doing tree attack");
+		game.getAttackGenerator().doTreeAttack();
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the tree card, when the success-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information.
+	*/
+	@Override
+	public void treeAttackSucceeded() {
+		logger.debug("tree attack succeeded");
+		sendAttackMsg(game.getAttackResolver().treeAttackSucceeded());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the tree card, when the failed-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information.
+	*/
+	@Override
+	public void treeAttackFailed() {
+		logger.debug("tree attack failed");
+		sendAttackMsg(game.getAttackResolver().treeAttackFailed());
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by one of the nature disaster cards, when the success-attack state is executed.
+	* 
+	* It is responsible for invoking the game method that handles the attack,
+	* inform the relevant players with the attack information, and call the game method playerLoseGame
+	* with the victim player as an argument, this will set the player as not active.
+	*/
+	@Override
+	public void natureDisasterAttackSucceeded() {
+		logger.debug("nature disaster attack succeeded");
+		Player victim = game.getAttackGenerator().doNatureDisasterAttack();
+		sendAttackMsg(game.getAttackResolver().natureDisasterAttackSucceeded());
+		game.playerLoseGame(victim);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by one of the nature disaster cards, when the failed-attack state is executed.
+	* 
+	* It is responsible for informing the relevant players with the attack information,
+	* and then call the game method end turn.
+	*/
+	@Override
+	public void natureDisasterAttackFailed() {
+		logger.debug("nature disaster attack failed");
+		sendAttackMsg(game.getAttackResolver().natureDisasterAttackFailed());
+		game.endTurn();
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IClientRequestNotifications interface,
+	* it is called by the Message Handler class, that handles the clients requests.
+	* 
+	* In this case, one of the players in the game requested to play one or two of his hand cards.
+	* It is responsible for invoking the game method to handle the picked cards.
+	* 
+	* @param clientId  the String represents the id of the requesting client.
+	* @param cards     the PickedCards object contains the information about the picked cards.
+	*/
+	@Override
+	public void onPlayerPickedCards(String clientId, PickedCards cards) {
+		journal.onPlayerPickedCards(clientId, cards);
+		game.handlePickedCards(clientId, cards);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IClientRequestNotifications interface,
+	* it is called by the Message Handler class, that handles the clients requests.
+	* 
+	* In this case, one of the players in the game requested to attack another player.
+	* It is responsible for invoking the game method to handle the request and start the attack on another player.
+	* 
+	* @param clientId  the String represents the id of the attacking client.
+	* @param victimId  the String represents the id of the player to attack.
+	*/
+	@Override
+	public void onAttackPlayerReq(String clientId, String victimId) {
+		journal.onAttackPlayerReq(clientId, victimId);
+		game.getAttackGenerator().startAttackOnOtherPlayer(game.getPlayersManager().getPlayer(victimId));
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IClientRequestNotifications interface,
+	* it is called by the Message Handler class, that handles the clients requests.
+	* 
+	* In this case, one of the players in the game requested to get a new card from the deck.
+	* It is responsible for invoking the game method to handle the request and pull a card from the deck and add it to
+	* the player's hand.
+	* 
+	* @param clientId  the String represents the requesting client.
+	*/
+	@Override
+	public void onDealCardReq(String clientId) {
+		journal.onDealCardReq(clientId);
+		game.getCardFromDeck(clientId);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IClientRequestNotifications interface,
+	* it is called by the Message Handler class, that handles the clients requests.
+	* 
+	* In this case, one of the players in the game, which was under attack, hadn't managed to defend himself during
+	* the 10 seconds - thus losing the attack.
+	* It is responsible for invoking the game method to handle the case.
+	* The request is ignored when no victim is waited for, i.e. the defense timer already expired.
+	* 
+	* @param clientId  the String represents the losing client.
+	*/
+	@Override
+	public void onPlayerLostAttack(String clientId) {
+		journal.onPlayerLostAttack(clientId);
+		if (timers.isArmed(GameTimerType.DEFENSE)) {
+			game.getAttackHandler().noDefenseCardPicked();
+		}
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the card class (which is of type attack card) when a player chose to play this card.
+	* 
+	* It is responsible for invoking the game method to handle the picked card case.
+	* 
+	* @param card    the AbstractCard represents the picked attack card.
+	* @param player  the Player that picked the card.
+	*/
+	@Override
+	public void attackCardPicked(AbstractCard card, Player player) {
+		game.attackCardPicked(card, player);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the dog card or by the stick card, when a player chose to play this card.
+	* 
+	* It is responsible for invoking the game method to handle the picked card case.
+	* 
+	* @param card    the AbstractCard represents the picked defense card.
+	* @param player  the Player that picked the card.
+	*/
+	@Override
+	public void defenseCardPicked(AbstractCard card, Player player) {
+		game.getAttackHandler().defenseCardPicked(card, player);
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the flying sheep card, when a player chose to play this card.
+	* 
+	* It is responsible for invoking the game method to handle the picked card case.
+	* 
+	* @param card    the AbstractCard represents the flying sheep picked defense card.
+	* @param player  the Player that picked the card.
+	*/
+	@Override
+	public void defenseCardPickedFlyingSheep(AbstractCard card, Player player) {
+		game.getAttackHandler().defenseCardFlyingSheepPicked(card, player);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by one of the nature disaster cards, when pulled from the deck.
+	* 
+	* It is responsible for invoking the game method to start the attack.
+	* 
+	* @param card    the AbstractCard represents the nature disaster attack card.
+	* @param player  the Player that got the card from deck.
+	*/
+	@Override
+	public void startNatureDisasterAttack(AbstractCard card, Player player) {
+		game.getAttackGenerator().startNatureDisasterAttack(card, player);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the regular card, when a player picked two matching regular cards.
+	* 
+	* It is responsible for invoking the game method to start a steal attack,
+	* using the steal card of this game as the attack card.
+	* 
+	* @param player  the Player that picked the cards.
+	*/
+	@Override
+	public void regularCoupleCardsPicked(Player player) {
+		game.attackCardPicked(game.getCardsManager().getStealCard(), player);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the super flying card or the nuclear bomb card, when one of the players used the
+	* couple - super flying sheep card and the nuclear bomb card, which picking both cards gives the player victory.
+	* 
+	* It is responsible for invoking the game method to end the game with the player as the winner.
+	* 
+	* @param player  the Player that picked the cards.
+	*/
+	@Override
+	public void specialCoupleWinGame(Player player) {
+		game.playerWinGame(player);
+	}
+
+	/**
+	* This method is event implementation, the event is defined in the ICardNotifications interface,
+	* it is called by the flying husband card or the flying wife card, when one of the players chose to play the card.
+	* 
+	* It is responsible for invoking a game method to handle the case of cooperation between two players.
+	* This is not yet implemented.
+	*/
+	@Override
+	public void specialCoupleShowCoopBtn() {
+		// TODO: implement coop button
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the IClientRequestNotifications interface,
+	* it is called by the GameManager class, once a new connection requests to resume the session of a player in this game.
+	* 
+	* The new connection takes the place of the lost connection of the player, and the messages the player missed are sent again.
+	* In case the missed messages are no longer kept, the full state of the game is sent to the player.
+	* The pending game deltas are sent first, so the missed messages include them.
+	* 
+	* @param clientId  		the String represents the id of the new connection.
+	* @param token  		the String represents the token of the resumed session.
+	* @param lastMsgSeq  	the number of the last message the player received.
+	*/
+	@Override
+	public void onResumeSessionReq(String clientId, String token, int lastMsgSeq) {
+		String playerId = socketsHandler.getSessionClientId(token);
+		if (playerId == null) {
+			socketsHandler.sendClientResumeFailed(clientId);
+		}
+		else {
+			sendDeltas();
+			if (!socketsHandler.resumeSession(clientId, token, lastMsgSeq)) {
+				sendFullState(playerId);
+			}
+		}
+	}
+	
+	/**
+	* This method is event implementation, the event is defined in the ITimerNotifications interface,
+	* it is called by the game executor, once a timer of this game expired on the timing wheel.
+	* 
+	* A timer that was disarmed or armed again after it expired is ignored.
+	* 
+	* @param type  		the type of the expired timer.
+	* @param timerSeq  	the sequence number the timer was armed with.
+	*/
+	@Override
+	public void onTimerExpired(GameTimerType type, int timerSeq) {
+		if (timers.isCurrent(type, timerSeq)) {
+			timerExpired(type);
+		}
+	}
+	
+	/**
+	* This method handles an expired timer of the game, it is called once the timer expired,
+	* or by the game replayer, once the journaled expiry of the timer is replayed.
+	* 
+	* The expiry is journaled as a request of the player the game waited for, and acts on the game as the player would have:
+	* <ul>
+	* <li>LOBBY - not all the players joined the game in time, the game is closed, and the clients waiting for it are told so.
+	* <li>TURN - the current player did not play in time, its turn ends, unless an attack is running, then the turn is waited for again.
+	* <li>DEFENSE - the victim did not defend itself in time, and loses the attack.
+	* </ul>
+	* 
+	* @param type  	the type of the expired timer.
+	*/
+	public void timerExpired(GameTimerType type) {
+		if (!timers.isArmed(type)) {
+			return;
+		}
+		timers.disarm(type);
+		switch (type) {
+		case LOBBY:
+			logger.info("game " + gameId + " closed, not all the players joined in time");
+			journal.timerExpired(gameId, type.getCode());
+			List<String> waitingClients = new ArrayList<>(getPlayersIds());
+			Optional.ofNullable(creatorId).filter(id -> !waitingClients.contains(id)).ifPresent(waitingClients::add);
+			socketsHandler.sendBroadcastGameClosed(waitingClients);
+			registry.removeGame(this);
+			socketsHandler.closeSessions(getPlayersIds());
+			journal.gameOver();
+			journal.close();
+			break;
+		case TURN:
+			journal.timerExpired(game.getCurrentPlayerId(), type.getCode());
+			if (game.getAttackHandler().isAttackActive()) {
+				timers.arm(GameTimerType.TURN);
+			}
+			else {
+				logger.info("turn of player " + game.getCurrentPlayerId() + " timed out");
+				game.endTurn();
+			}
+			break;
+		case DEFENSE:
+			journal.timerExpired(game.getAttackHandler().getVictim(), type.getCode());
+			logger.info("victim did not defend itself in time");
+			game.getAttackHandler().noDefenseCardPicked();
+			break;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package game;
+
+/**
+* This class is the random generator of a single game.
+* All the randomness of a game (shuffling the deck, picking a random card of a player) is drawn from it,
+* thus a game that is run again with the same seed and the same requests, plays exactly the same.
+*
+* The generator implements the SplitMix64 algorithm, its whole state is a single long value,
+* that can be read and restored, and drawing a number allocates nothing.
+* The class is not thread safe, it is only accessed by the game executor of its game.
+*
+* @author      Keren Solomon
+*/
+public class GameRandom {
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final long seed;
+	private long state;
+
+	/**
+	 * Creates a GameRandom with the given seed.
+	 *
+	 * @param seed    	the seed of the game, the same seed generates the same sequence of numbers.
+	 */
+	public GameRandom(long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long getState() {
+		return state;
+	}
+
+	public void setState(long state) {
+		this.state = state;
+	}
+
+	/**
+	* This method returns the next random long value.
+	*
+	* @return long  	the random value.
+	*/
+	public long nextLong() {
+		long z = (state += GOLDEN_GAMMA);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	* This method returns a random value between 0 (inclusive) and the given bound (exclusive).
+	* Values that would bias the result towards the low numbers are rejected.
+	*
+	* @param  bound  	the upper bound, must be positive.
+	* @return int  		the random value.
+	*/
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive: " + bound);
+		}
+		int bits;
+		int value;
+		do {
+			bits = (int) (nextLong() >>> 33);
+			value = bits % bound;
+		} while (bits - value + (bound - 1) < 0);
+		return value;
+	}
+
+}
@@ -0,0 +1,220 @@
+package game;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class is the registry of all the games running in the application.
+*
+* Each game is registered with a generated game id and a generated password,
+* the password is sent to the client that created the game, and is used by the players to join it.
+*
+* The games are kept in a fixed number of shards, each shard holds the games whose password hashes to it,
+* and is guarded by its own lock, thus creating and joining games on different shards never wait for each other.
+*
+* Once a player joins a game, the player's client id is bound to the game,
+* so every following request of the client is routed to its game with a single map lookup.
+*
+* @author      Keren Solomon
+*/
+public class GameRegistry {
+	private static final Logger logger = LogManager.getLogger(GameRegistry.class);
+	private static final int PASSWORD_BOUND = 100000;
+	private static final String PASSWORD_FORMAT = "%05d";
+
+	private Shard[] shards;
+	private int shardsMask;
+	private Map<String,GameHandler> clientToGame;
+
+	/**
+	 * This class represents a single shard of the registry,
+	 * holding the games whose password is mapped to this shard.
+	 */
+	private static class Shard {
+		private final Map<String,GameHandler> passwordToGame = new HashMap<>();
+	}
+
+	/**
+	 * Creates a GameRegistry to hold the games in the application.
+	 * The number of shards is the power of two that is at least twice the number of available processors.
+	 */
+	public GameRegistry() {
+		int numOfShards = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+		shards = new Shard[numOfShards];
+		for (int i = 0; i < numOfShards; i++) {
+			shards[i] = new Shard();
+		}
+		shardsMask = numOfShards - 1;
+		clientToGame = new ConcurrentHashMap<>();
+	}
+
+	private Shard getShard(String password) {
+		int hash = password.hashCode();
+		return shards[(hash ^ (hash >>> 16)) & shardsMask];
+	}
+
+	/**
+	* This method generates a new unique game id.
+	*
+	* @return String  the generated game id.
+	*/
+	public String generateGameId() {
+		return UUID.randomUUID().toString();
+	}
+
+	/**
+	* This method generates a new unique session token, given to a player that joined a game.
+	*
+	* @return String  the generated session token.
+	*/
+	public String generateSessionToken() {
+		return UUID.randomUUID().toString();
+	}
+
+	/**
+	* This method registers a new game, with a newly generated password.
+	* A password is generated until one that is not used by a running game is found.
+	*
+	* @param gameHandler  the handler of the new game.
+	* @return String      the password of the registered game.
+	*/
+	public String addGame(GameHandler gameHandler) {
+		while (true) {
+			String password = String.format(PASSWORD_FORMAT, ThreadLocalRandom.current().nextInt(PASSWORD_BOUND));
+			if (registerGame(gameHandler, password)) {
+				return password;
+			}
+		}
+	}
+
+	/**
+	* This method registers a game with the given password, used when a game is restored or replayed.
+	* In case no password is given, or the password is used by another running game, a new password is generated.
+	*
+	* @param gameHandler  the handler of the game.
+	* @param password     the password the game was registered with before, or null.
+	* @return String      the password of the registered game.
+	*/
+	public String addGame(GameHandler gameHandler, String password) {
+		if (password != null && registerGame(gameHandler, password)) {
+			return password;
+		}
+		return addGame(gameHandler);
+	}
+
+	/**
+	* This method registers a game with the given password.
+	*
+	* @param gameHandler  the handler of the game.
+	* @param password     the password of the game.
+	* @return Boolean     true if the game was registered, false if the password is used by another running game.
+	*/
+	public Boolean registerGame(GameHandler gameHandler, String password) {
+		Shard shard = getShard(password);
+		synchronized (shard) {
+			if (shard.passwordToGame.containsKey(password)) {
+				return false;
+			}
+			shard.passwordToGame.put(password, gameHandler);
+		}
+		logger.info("game " + gameHandler.getGameId() + " registered");
+		return true;
+	}
+
+	/**
+	* This method returns the game that matches the given password.
+	*
+	* @param password      the password given by the client.
+	* @return GameHandler  the handler of the game, or null if there is no such game.
+	*/
+	public GameHandler getGameByPassword(String password) {
+		if (password == null) {
+			return null;
+		}
+		Shard shard = getShard(password);
+		synchronized (shard) {
+			return shard.passwordToGame.get(password);
+		}
+	}
+
+	/**
+	* This method binds a client to the game it joined,
+	* every following request of this client is routed to that game.
+	*
+	* @param clientId     the string represents the id of the client.
+	* @param gameHandler  the handler of the game the client joined.
+	*/
+	public void bindClient(String clientId, GameHandler gameHandler) {
+		clientToGame.put(clientId, gameHandler);
+	}
+
+	/**
+	* This method binds a client to a new game it creates, unless the client is already bound to a game.
+	* The new game is created only once the client is found unbound, and the check and the binding are a single atomic operation,
+	* so a repeated new game request of a client that is already in a game costs nothing,
+	* and two new game requests of the same client that are handled at once never create two games.
+	*
+	* @param clientId     the string represents the id of the client.
+	* @param createGame   the Supplier that creates the handler of the new game.
+	* @return GameHandler the handler of the new game, or null if the client is already bound to a game.
+	*/
+	public GameHandler bindClientToNewGame(String clientId, Supplier<GameHandler> createGame) {
+		GameHandler[] newGame = new GameHandler[1];
+		clientToGame.computeIfAbsent(clientId, id -> newGame[0] = createGame.get());
+		return newGame[0];
+	}
+
+	/**
+	* This method returns the game the given client joined.
+	*
+	* @param clientId      the string represents the id of the client.
+	* @return GameHandler  the handler of the game, or null if the client is not in a game.
+	*/
+	public GameHandler getGameByClient(String clientId) {
+		return clientToGame.get(clientId);
+	}
+
+	/**
+	* This method removes a game from the registry, along with the bindings of its players and of the client that created it.
+	* It is called when the game is over.
+	*
+	* @param gameHandler  the handler of the removed game.
+	*/
+	public void removeGame(GameHandler gameHandler) {
+		String password = gameHandler.getPassword();
+		Shard shard = getShard(password);
+		synchronized (shard) {
+			shard.passwordToGame.remove(password, gameHandler);
+		}
+		for (String clientId : gameHandler.getPlayersIds()) {
+			clientToGame.remove(clientId, gameHandler);
+		}
+		Optional.ofNullable(gameHandler.getCreatorId())
+			.ifPresent(clientId -> clientToGame.remove(clientId, gameHandler));
+		logger.info("game " + gameHandler.getGameId() + " removed");
+	}
+
+	/**
+	* This method returns the number of running games.
+	*
+	* @return int  the number of registered games.
+	*/
+	public int getNumOfGames() {
+		int numOfGames = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				numOfGames += shard.passwordToGame.size();
+			}
+		}
+		return numOfGames;
+	}
+
+}
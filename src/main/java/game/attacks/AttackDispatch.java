@@ -0,0 +1,79 @@
+package game.attacks;
+
+import static globals.Constants.*;
+
+import java.util.Arrays;
+
+import clientservershared.AttackMsg;
+
+/**
+* This class holds the attack messages of a resolved attack outcome, along with the receivers of each message.
+*
+* The messages are kept in a fixed size array, indexed by the destination of the message (victim/attacker/all),
+* and the receivers of each destination are written to an array that is kept between the attacks.
+* A single dispatch is created per game, by the attack handler, and is filled again by each resolved outcome,
+* thus the content is valid only until the next outcome of the game is resolved.
+*
+* @author      Keren Solomon
+*/
+public class AttackDispatch {
+	private final AttackMsg[] msgs;
+	private final String[][] recipients;
+	private final int[] numOfRecipients;
+
+	/**
+	 * Creates an empty attack dispatch.
+	 * It is created by the AttackHandler class.
+	 */
+	AttackDispatch() {
+		msgs = new AttackMsg[DEST_NUM];
+		recipients = new String[DEST_NUM][];
+		numOfRecipients = new int[DEST_NUM];
+	}
+
+	void clear() {
+		Arrays.fill(msgs, null);
+		Arrays.fill(numOfRecipients, 0);
+	}
+
+	/**
+	* This method returns the receivers array of the given destination, to be filled by the attack handler.
+	* The array is replaced by a larger one only if it is shorter than the given capacity.
+	*
+	* @param  destination  	the destination of the message (victim/attacker/all).
+	* @param  capacity  	the number of receivers the array should hold.
+	* @return String[]  	the receivers array of the destination.
+	*/
+	String[] getRecipientsArray(int destination, int capacity) {
+		String[] ids = recipients[destination];
+		if (ids == null || ids.length < capacity) {
+			ids = new String[capacity];
+			recipients[destination] = ids;
+		}
+		return ids;
+	}
+
+	void setMsg(int destination, AttackMsg msg, int numOfIds) {
+		msgs[destination] = msg;
+		numOfRecipients[destination] = numOfIds;
+	}
+
+	/**
+	* This method returns the message routed to the given destination.
+	*
+	* @param  destination  	the destination of the message (victim/attacker/all).
+	* @return AttackMsg  	the message, or null if the outcome sends nothing to this destination.
+	*/
+	public AttackMsg getMsg(int destination) {
+		return msgs[destination];
+	}
+
+	public String[] getRecipients(int destination) {
+		return recipients[destination];
+	}
+
+	public int getNumOfRecipients(int destination) {
+		return numOfRecipients[destination];
+	}
+
+}
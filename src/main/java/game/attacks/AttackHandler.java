@@ -2,10 +2,7 @@ package game.attacks;
 
 import static globals.Constants.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -20,10 +17,12 @@ import card.AbstractCard;
 import card.implementation.regular.StealCard;
 import card.types.AbstractOwnerableCard;
 import card.types.AbstractPlayableCard;
+import clientservershared.AttackMsg;
+import game.GameRandom;
 import game.cards.CardsManager;
 import game.players.Player;
 import game.players.PlayersManager;
-import game.turns.TurnsLinkedList;
+import game.turns.TurnsScheduler;
 
 /**
 * This class represents the attack handler, the class that deals with the attacks in the game.
@@ -41,6 +40,9 @@ import game.turns.TurnsLinkedList;
 * </ul>
 * each of the members is initiated by the Game class and sent to this class when it is created.
 * 
+* The outcomes of the attacks are resolved by the attack outcomes table, into a single dispatch kept by the handler,
+* that is filled again by each resolved outcome.
+* 
 * @author      Keren Solomon
 */
 public class AttackHandler {
@@ -49,7 +51,9 @@ public class AttackHandler {
 	private PlayersManager playersManager;
 	private AttackMsgGenerator msgGenerator;
 	private CardsManager cardsManager;
-	private TurnsLinkedList turns;
+	private TurnsScheduler turns;
+	private GameRandom random;
+	private AttackDispatch dispatch;
 	
 	/**
 	 * Creates an attack handler to handle the attacks in the game.
@@ -62,25 +66,28 @@ public class AttackHandler {
 	 * @param msgGenerator    	represents the AttackMsgGenerator that generates attack messages
 	 * 							that the server sends to the clients during the attacks.
 	 * @param cardsManager    	represents the CardsManager that handles the attack card and the defense card of the attack.
-	 * @param turns    			represents the TurnsLinkedList that handles the turns in game.
+	 * @param turns    			represents the TurnsScheduler that handles the turns in game.
+	 * @param random    		represents the GameRandom of the game, used to pick random cards during attacks.
 	 */
 	public AttackHandler(GameAttackState attackState, 
 			PlayersManager playersManager, 
 			AttackMsgGenerator msgGenerator, 
-			TurnsLinkedList turns) {
+			TurnsScheduler turns,
+			GameRandom random) {
 		this.attackState = attackState;
 		this.playersManager = playersManager;
 		this.msgGenerator = msgGenerator;
 		this.turns = turns;
-		attackState.registerNotifications();
+		this.random = random;
+		this.dispatch = new AttackDispatch();
 	}
 	
 	public void nextAttackState() {
-    	attackState.getState().leave();
+    	attackState.leave();
     }
 	
 	public void executeState() {
-    	attackState.getState().execute();
+    	attackState.execute();
     }
 	
     public void setCardsManager(CardsManager cardsManager) {
@@ -100,11 +107,11 @@ public class AttackHandler {
     }
     
     public Player getPlayerVictim() {
-    	return attackState.getState().getVictim();
+    	return attackState.getVictim();
     }
     
     public Player getPlayerAttacker() {
-    	return attackState.getState().getAttacker();
+    	return attackState.getAttacker();
     }
     
     public String getAttacker() {
@@ -135,7 +142,7 @@ public class AttackHandler {
     	return (attackState.getVictim().getId().equals(player.getId()));
     }
     
-    private Boolean isAttackActive() {
+    public Boolean isAttackActive() {
     	return attackState.isAttackActive();
     }
     
@@ -151,32 +158,68 @@ public class AttackHandler {
 		return msgGenerator;
 	}
 
-	public Map<Integer, AttackMsgWrapper> notifyDefensableAttack() {
-		Map<Integer, AttackMsgWrapper> destToMsgMap = new HashMap<>(DEST_NUM);
-		
-		String victim = getVictim();
-		destToMsgMap.put(DEST_VICTIM, new AttackMsgWrapper(victim, msgGenerator.getMsgVicAttNotify()));
-		destToMsgMap.put(DEST_ALL, new AttackMsgWrapper(playersManager.getActivePlayersIds(victim), msgGenerator.getMsgAllAttNotify()));
-
-		nextAttackState();
-		return destToMsgMap;
+	public AttackDispatch notifyDefensableAttack() {
+		return resolve(AttackOutcome.ATTACK_NOTIFIED);
 	}
 	
-	public Map<Integer, AttackMsgWrapper> askVictimForAttack() {
-		Map<Integer, AttackMsgWrapper> destToMsgMap = new HashMap<>(DEST_NUM);
+	public AttackDispatch askVictimForAttack() {
+		return resolve(AttackOutcome.VICTIM_REQUESTED);
+	}
+	
+	/**
+	* This method resolves an outcome of the attack, and moves the attack to its next state.
+	* 
+	* Each route of the outcome is walked in order, the message of the route is generated from the current
+	* attack state, and the receivers of the message are written to the destination of the route in the game dispatch.
+	* 
+	* @param  outcome  		the outcome of the attack, as defined by the attack outcomes table.
+	* @return AttackDispatch  	the dispatch holding the messages, valid until the next outcome is resolved.
+	*/
+	public AttackDispatch resolve(AttackOutcome outcome) {
+		dispatch.clear();
+		for (AttackRoute route : outcome.getRoutes()) {
+			AttackMsg msg = msgGenerator.generateMsg(route, getRouteList(route.getList()));
+			int destination = route.getRecipients().getDestination();
+			String[] ids = dispatch.getRecipientsArray(destination, playersManager.getNumOfPlayers());
+			dispatch.setMsg(destination, msg, fillRecipients(route.getRecipients(), ids));
+		}
 		
-		String attackerId = getAttacker();
-		destToMsgMap.put(DEST_ATTACKER, new AttackMsgWrapper(attackerId, msgGenerator.getMsgPreAttack(playersManager.getActivePlayersIds(attackerId))));
-
 		nextAttackState();
-		return destToMsgMap;
+		return dispatch;
+	}
+	
+	private List<String> getRouteList(AttackRoute.ListRole list) {
+		switch (list) {
+		case SPECIAL_CARDS_OWNERS:
+			return getSpecialCardsOwners();
+		case ACTIVE_PLAYERS_BUT_ATTACKER:
+			return playersManager.getActivePlayersIds(getAttacker());
+		default:
+			return null;
+		}
+	}
+	
+	private int fillRecipients(AttackRoute.Recipients recipients, String[] ids) {
+		switch (recipients) {
+		case VICTIM:
+			ids[0] = getVictim();
+			return 1;
+		case ATTACKER:
+			ids[0] = getAttacker();
+			return 1;
+		case ALL_BUT_VICTIM:
+			return playersManager.fillActivePlayersIds(ids, getVictim(), null);
+		case ALL_BUT_ATTACKER:
+			return playersManager.fillActivePlayersIds(ids, getAttacker(), null);
+		case ALL_BUT_BOTH:
+			return playersManager.fillActivePlayersIds(ids, getVictim(), getAttacker());
+		default:
+			return playersManager.fillActivePlayersIds(ids, null, null);
+		}
 	}
 	
 	public AbstractCard getPlayerRandomCard(Player victim) {
-    	Random rand = new Random();
-    	int max = victim.getNumOfCards()-1;
-    	int min = 0;
-		int randomCardIndex = min + rand.nextInt(max-min);
+		int randomCardIndex = random.nextInt(victim.getNumOfCards());
 		return victim.getCardInIndex(randomCardIndex);
     }
     
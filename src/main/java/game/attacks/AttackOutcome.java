@@ -0,0 +1,61 @@
+package game.attacks;
+
+import static globals.Constants.*;
+import static game.attacks.AttackRoute.withImg;
+import static game.attacks.AttackRoute.withList;
+import static game.attacks.AttackRoute.withTwoImg;
+import static game.attacks.AttackRoute.ImgRole.ATTACK_CARD;
+import static game.attacks.AttackRoute.ImgRole.HELPER_CARD;
+import static game.attacks.AttackRoute.ListRole.ACTIVE_PLAYERS_BUT_ATTACKER;
+import static game.attacks.AttackRoute.ListRole.SPECIAL_CARDS_OWNERS;
+import static game.attacks.AttackRoute.Recipients.*;
+
+/**
+* This enum is the table of the attack outcomes, per each kind of attack and its result.
+*
+* Each outcome holds the routes of the attack messages sent when the attack reaches it,
+* in the order they are sent: the victim first, then the attacker, then the rest of the players.
+* The attack handler resolves an outcome by walking its routes,
+* instead of each outcome building its own map of messages and lists of receivers.
+*
+* @author      Keren Solomon
+*/
+public enum AttackOutcome {
+	ATTACK_NOTIFIED(
+			withImg(VICTIM, DEST_VICTIM, ATTACK_CARD),
+			withImg(ALL_BUT_VICTIM, DEST_ALL, ATTACK_CARD)),
+	VICTIM_REQUESTED(
+			withList(ATTACKER, DEST_ATTACKER, ACTIVE_PLAYERS_BUT_ATTACKER)),
+	ROCK_SUCCEEDED(
+			withTwoImg(VICTIM, DEST_VICTIM, ATTACK_CARD, HELPER_CARD),
+			withImg(ALL_BUT_VICTIM, DEST_ALL, ATTACK_CARD)),
+	STEAL_SUCCEEDED(
+			withTwoImg(VICTIM, DEST_VICTIM, ATTACK_CARD, HELPER_CARD),
+			withTwoImg(ATTACKER, DEST_ATTACKER, ATTACK_CARD, HELPER_CARD),
+			withImg(ALL_BUT_BOTH, DEST_ALL, ATTACK_CARD)),
+	STEAL_FAILED(
+			withTwoImg(ALL, DEST_ALL, HELPER_CARD, ATTACK_CARD)),
+	RIVER_SUCCEEDED(
+			withImg(ATTACKER, DEST_ALL, ATTACK_CARD)),
+	TREE_SUCCEEDED(
+			withList(ATTACKER, DEST_ATTACKER, SPECIAL_CARDS_OWNERS),
+			withImg(ALL_BUT_ATTACKER, DEST_ALL, ATTACK_CARD)),
+	TREE_FAILED(
+			withImg(ATTACKER, DEST_ATTACKER, ATTACK_CARD),
+			withImg(ALL_BUT_ATTACKER, DEST_ALL, ATTACK_CARD)),
+	NATURE_DISASTER_SUCCEEDED(
+			withImg(ALL, DEST_ALL, ATTACK_CARD)),
+	NATURE_DISASTER_FAILED(
+			withTwoImg(ALL, DEST_ALL, HELPER_CARD, ATTACK_CARD));
+
+	private final AttackRoute[] routes;
+
+	private AttackOutcome(AttackRoute... routes) {
+		this.routes = routes;
+	}
+
+	AttackRoute[] getRoutes() {
+		return routes;
+	}
+
+}
@@ -0,0 +1,111 @@
+package game.attacks;
+
+import static globals.Constants.*;
+
+/**
+* This class represents a single row of the attack outcomes table,
+* it describes one attack message sent when an attack reaches an outcome.
+*
+* Each route defines:
+* <ul>
+* <li>recipients - the players that receive the message, and the destination slot the message is routed through.
+* <li>template - the destination whose message template of the attack card is rendered (victim/attacker/all).
+* <li>mainImg, secImg - the cards of the attack whose images are shown in the message.
+* <li>list - the list shown in the message, if any.
+* </ul>
+* Note that the template destination is not always the destination of the recipients,
+* i.e. the river attack renders the template written for all players, and sends it to the attacker only.
+*
+* The routes are created once, by the AttackOutcome enum.
+*
+* @author      Keren Solomon
+*/
+final class AttackRoute {
+
+	/**
+	 * The players that receive an attack message.
+	 */
+	enum Recipients {
+		VICTIM(DEST_VICTIM),
+		ATTACKER(DEST_ATTACKER),
+		ALL(DEST_ALL),
+		ALL_BUT_VICTIM(DEST_ALL),
+		ALL_BUT_ATTACKER(DEST_ALL),
+		ALL_BUT_BOTH(DEST_ALL);
+
+		private final int destination;
+
+		private Recipients(int destination) {
+			this.destination = destination;
+		}
+
+		int getDestination() {
+			return destination;
+		}
+	}
+
+	/**
+	 * The card of the attack whose image is shown in an attack message.
+	 */
+	enum ImgRole {
+		NONE,
+		ATTACK_CARD,
+		HELPER_CARD
+	}
+
+	/**
+	 * The list shown in an attack message.
+	 */
+	enum ListRole {
+		NONE,
+		SPECIAL_CARDS_OWNERS,
+		ACTIVE_PLAYERS_BUT_ATTACKER
+	}
+
+	private final Recipients recipients;
+	private final int template;
+	private final ImgRole mainImg;
+	private final ImgRole secImg;
+	private final ListRole list;
+
+	private AttackRoute(Recipients recipients, int template, ImgRole mainImg, ImgRole secImg, ListRole list) {
+		this.recipients = recipients;
+		this.template = template;
+		this.mainImg = mainImg;
+		this.secImg = secImg;
+		this.list = list;
+	}
+
+	static AttackRoute withImg(Recipients recipients, int template, ImgRole mainImg) {
+		return new AttackRoute(recipients, template, mainImg, ImgRole.NONE, ListRole.NONE);
+	}
+
+	static AttackRoute withTwoImg(Recipients recipients, int template, ImgRole mainImg, ImgRole secImg) {
+		return new AttackRoute(recipients, template, mainImg, secImg, ListRole.NONE);
+	}
+
+	static AttackRoute withList(Recipients recipients, int template, ListRole list) {
+		return new AttackRoute(recipients, template, ImgRole.NONE, ImgRole.NONE, list);
+	}
+
+	Recipients getRecipients() {
+		return recipients;
+	}
+
+	int getTemplate() {
+		return template;
+	}
+
+	ImgRole getMainImg() {
+		return mainImg;
+	}
+
+	ImgRole getSecImg() {
+		return secImg;
+	}
+
+	ListRole getList() {
+		return list;
+	}
+
+}
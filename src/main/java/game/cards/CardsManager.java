@@ -46,6 +46,15 @@ public class CardsManager {
 		this.deck = deck;
 	}
 
+	/**
+	 * This method returns the steal card of the game.
+	 * 
+	 * @return  AbstractCard	the steal card, used as the attack card of a steal attack.
+	 */
+	public AbstractCard getStealCard() {
+		return deck.getStealCard();
+	}
+
 	/**
 	 * This method is called when a players got a special card from the deck,
 	 * the special card now have owners, thus add the card to the special cards list.
@@ -81,6 +90,16 @@ public class CardsManager {
 	 * 
 	 * @return  true|false	true if the card is special, otherwise false.
 	 */
+    /**
+     * This method returns the ids of the special cards pulled from the deck, in the order they were pulled.
+     * It is used to take a snapshot of the game.
+     * 
+     * @return List<Integer>  the ids of the special cards.
+     */
+    public List<Integer> getSpecialCardsIds() {
+    	return specialCards.stream().map(mapCardId).collect(Collectors.toList());
+    }
+    
     public Boolean isCardSpecial(int id) {
     	return specialCards.stream()
     			.map(mapCardId)
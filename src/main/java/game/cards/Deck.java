@@ -2,26 +2,23 @@ package game.cards;
 
 import static globals.Constants.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import card.AbstractCard;
 import card.CardFactory;
+import card.catalog.CardInfo;
+import card.catalog.CardsCatalog;
 import card.implementation.regular.StealCard;
-import database.entity.CardEntity;
-import game.GameManager;
+import eventnotifications.ICardNotifications;
+import game.GameRandom;
 
 /**
 * This class represents the game deck of cards.
@@ -35,11 +32,15 @@ import game.GameManager;
 * Each time a player pulls a card from the deck, the card is marked as used,
 * and removed from the deck.
 * 
-* The deck itself is represented by a list of cards IDs.
-* The class also holds a HashMap containing all cards in the game, the cards are
-* the values in the map, and are mapped by their IDs.
+* The deck itself is represented by an array of cards IDs, the top of the deck is at index numOfCards - 1,
+* thus pulling a card, adding the disaster cards and shuffling never allocate memory.
+* The deck is shuffled with the Fisher-Yates algorithm, using the random generator of the game.
+* The class also holds an array containing all cards in the game, indexed by their IDs.
 * When creating the cards for the game, the Deck class is using the CardsFactory
-* class to create the cards.
+* class to create the cards, based on the cards catalog loaded once from the database.
+* 
+* The steal card is not part of the deck, it is kept by the class to be used as the attack card,
+* when a player picks a couple of regular cards.
 * 
 * The class also maintain a few more values:
 * <ul>
@@ -57,10 +58,15 @@ import game.GameManager;
 public class Deck {
 	private static final Logger logger = LogManager.getLogger(Deck.class);
 	private CardFactory cardsFactory;
+	private CardsCatalog cardsCatalog;
+	private ICardNotifications cardNotifications;
+	private AbstractCard stealCard;
 
-	private Map<Integer,AbstractCard> allCards;
-	private List<Integer> deck;
-	private List<Integer> disasterCards;
+	private AbstractCard[] allCards;
+	private int[] deck;
+	private int[] disasterCards;
+	private int numOfDisasterCards;
+	private GameRandom random;
 
 	private int totalNumOfCards;
 	private int numOfCards;
@@ -69,19 +75,27 @@ public class Deck {
 	/**
 	 * Creates a Deck to handle the operations related to cards initiation
 	 * and the deck maintenance.
-	 * The Deck class is created with the number of players in game.
+	 * The Deck class is created with the number of players in game, the cards catalog,
+	 * the random generator of the game, and the handler of the game cards events.
 	 * 
-	 * The lists are initiated as empty lists, and number of cards is initiated to 0.
+	 * The arrays are allocated once the cards are created, and number of cards is initiated to 0.
 	 * Also getting an instance of the card factory.
 	 * 
-	 * @param numOfPlayers    represents the number of players in the game.
+	 * @param numOfPlayers    		represents the number of players in the game.
+	 * @param cardsCatalog    		represents the catalog of the card types the game cards are created from.
+	 * @param random    			represents the random generator of the game, used to shuffle the deck.
+	 * @param cardNotifications    	represents the callback that handles the events of the cards in this game.
 	 */
-	public Deck(int numOfPlayers) {
+	public Deck(int numOfPlayers, CardsCatalog cardsCatalog, GameRandom random, ICardNotifications cardNotifications) {
 		cardsFactory = CardFactory.getInstance();
+		this.cardsCatalog = cardsCatalog;
+		this.cardNotifications = cardNotifications;
 
-		allCards = new HashMap<>();
-		deck = new ArrayList<>();
-		disasterCards = new ArrayList<>();
+		allCards = new AbstractCard[0];
+		deck = new int[0];
+		disasterCards = new int[0];
+		numOfDisasterCards = 0;
+		this.random = random;
 
 		numPlayers = numOfPlayers;
 		numOfCards = NO_CARDS_IN_DECK;
@@ -95,10 +109,23 @@ public class Deck {
 	 * 
 	 * @param id    the id of the requested card.
 	 * 
-	 * @return  AbstractCard	the requested card.
+	 * @return  AbstractCard	the requested card, or null if there is no card with that id.
 	 */
 	public AbstractCard getCard(int id) {
-		return allCards.get(id);
+		if (id < 0 || id >= totalNumOfCards) {
+			return null;
+		}
+		return allCards[id];
+	}
+
+	/**
+	 * This method returns the steal card of the game,
+	 * used as the attack card when a player picks a couple of regular cards.
+	 * 
+	 * @return  AbstractCard	the steal card.
+	 */
+	public AbstractCard getStealCard() {
+		return stealCard;
 	}
 
 	/**
@@ -111,9 +138,30 @@ public class Deck {
 		if (isDeckEmpty.get()) {
 			return null;
 		}
-		return allCards.get(removeCardFromDeck());
+		return allCards[removeCardFromDeck()];
 	}
 	
+	/**
+	 * This method returns a copy of the ids of the cards left in the deck, from the bottom to the top of the deck.
+	 * It is used to take a snapshot of the game.
+	 * 
+	 * @return  int[]	the ids of the cards in the deck.
+	 */
+	public int[] getDeckCards() {
+		return Arrays.copyOf(deck, numOfCards);
+	}
+
+	/**
+	 * This method replaces the cards left in the deck with the given cards.
+	 * It is used to restore a game from a snapshot, after the cards are initiated.
+	 * 
+	 * @param cards    the ids of the cards in the deck, from the bottom to the top of the deck.
+	 */
+	public void restoreDeckCards(int[] cards) {
+		System.arraycopy(cards, 0, deck, 0, cards.length);
+		numOfCards = cards.length;
+	}
+
 	/**
 	 * This method is responsible for shuffling the deck of cards.
 	 * It is used after creating the cards and inserting them to the deck,
@@ -121,11 +169,11 @@ public class Deck {
 	 *  
 	 */
 	public void shuffle() {
-		for (int i = 0; i<numOfCards; i++) {
-			int pos = i + randomValue.apply(i);
-			int tmp = deck.get(pos);
-			deck.set(pos, deck.get(i));
-			deck.set(i, tmp);
+		for (int i = numOfCards - 1; i > 0; i--) {
+			int pos = random.nextInt(i + 1);
+			int tmp = deck[pos];
+			deck[pos] = deck[i];
+			deck[i] = tmp;
 		}
 	}
 
@@ -138,8 +186,7 @@ public class Deck {
 	 */
 	private void addCardToDeck(AbstractCard card) {
 		logger.info("Add to deck " + card.getName() + ", index = " + card.getId());
-		deck.add(card.getId());
-		numOfCards++;
+		deck[numOfCards++] = card.getId();
 	}
 
 	/**
@@ -149,40 +196,44 @@ public class Deck {
 	 * @return  lastCardId	the int represents the the removed card id.
 	 */
 	private int removeCardFromDeck() {
-		int lastCardId = deck.get(numOfCards-1);
-		deck.remove(numOfCards-1);
-		numOfCards--;
-		return lastCardId;
+		return deck[--numOfCards];
 	}
 
 	/**
 	 * This method is a helper method for the cards initiation.
-	 * It is responsible for handling each card entity, process it's data and convert it
+	 * It is responsible for handling each card info, process it's data and convert it
 	 * to a card (each card has it's type), by calling the cards factory create card method.
 	 * 
-	 * The playable cards are added to the deck, and the nature disaster cards are kept in a list.
+	 * The playable cards are added to the deck, and the nature disaster cards are kept aside.
 	 * 
-	 * @param cards    the list of cards entities.
+	 * @param cards    the list of cards information from the catalog.
 	 * 
 	 */
-	private void initCardHelper(List<CardEntity> cards) {
+	private void initCardHelper(List<CardInfo> cards) {
 		logger.debug("Initiating cards");
 		int numToCreate;
+		int numOfCardsInGame = countCards(cards);
+		allCards = new AbstractCard[numOfCardsInGame];
+		deck = new int[numOfCardsInGame];
+		disasterCards = new int[numOfCardsInGame];
 		
-		for (CardEntity cardEntity : cards) {
+		for (CardInfo cardInfo : cards) {
 			
-			numToCreate = getNumCardsToCreate.apply(cardEntity.getMult(), cardEntity.getAdd());
+			numToCreate = getNumCardsToCreate.apply(cardInfo.getMult(), cardInfo.getAdd());
 			while (numToCreate > 0) {
-				AbstractCard card = cardsFactory.createCard(cardEntity,	totalNumOfCards);
-				card.registerCallback(GameManager.getInstance());
-				allCards.put(totalNumOfCards, card);
+				AbstractCard card = cardsFactory.createCard(cardInfo, totalNumOfCards);
+				card.registerCallback(cardNotifications);
+				allCards[totalNumOfCards] = card;
 				totalNumOfCards++;
 
 				if (!isPlayableCard.test(card)) {
-					disasterCards.add(card.getId());
+					disasterCards[numOfDisasterCards++] = card.getId();
 				}
 				
-				if (isStealCard.negate().and(isPlayableCard).test(card)) {
+				if (isStealCard.test(card)) {
+					stealCard = card;
+				}
+				else if (isPlayableCard.test(card)) {
 					addCardToDeck(card);
 				}
 				
@@ -191,22 +242,36 @@ public class Deck {
 		}
 	}
 
+	/**
+	 * This method counts the number of cards that will be created for the game.
+	 * 
+	 * @param cards    the list of cards information from the catalog.
+	 * 
+	 * @return  int	the number of cards in the game.
+	 */
+	private int countCards(List<CardInfo> cards) {
+		int numOfCardsInGame = 0;
+		for (CardInfo cardInfo : cards) {
+			numOfCardsInGame += getNumCardsToCreate.apply(cardInfo.getMult(), cardInfo.getAdd());
+		}
+		return numOfCardsInGame;
+	}
+
 	/**
 	 * This method is responsible for the cards initiation.
 	 * 
-	 * It is using the data from the database, represented by a list of entities,
-	 * and calling a helper method to handle each entity.
+	 * It is using the cards catalog, represented by a list of cards information,
+	 * and calling a helper method to handle each card type.
+	 * No database access is needed, the catalog is loaded once when the application starts.
 	 * 
 	 * when done - shuffle the deck.
 	 * 
 	 */
 	public void initCards() {
-		List<CardEntity> cards = GameManager.getInstance().getCardsInfo();
-
-		Optional.ofNullable(cards)
+		Optional.ofNullable(cardsCatalog)
 		.ifPresentOrElse(
-				cardslist -> {
-					initCardHelper(cards);
+				catalog -> {
+					initCardHelper(catalog.getCards());
 				},
 				() -> logger.error("Could't get cards from database"));
 
@@ -216,13 +281,13 @@ public class Deck {
 	/**
 	 * This method is responsible for adding the disaster cards to the deck.
 	 * It is called after all players are getting their cards and the game is
-	 * about to start.
+	 * about to start, the deck is shuffled right after.
+	 * The cards are added on top of the deck, in place.
 	 * 
 	 */
 	public void addDisasterCards() {
-		numOfCards += disasterCards.size();
-		deck = Stream.concat(disasterCards.stream(), deck.stream())
-				.collect(Collectors.toList());
+		System.arraycopy(disasterCards, 0, deck, numOfCards, numOfDisasterCards);
+		numOfCards += numOfDisasterCards;
 	}
 
 	/**
@@ -245,13 +310,6 @@ public class Deck {
 	private Predicate<AbstractCard> isStealCard = card -> 
 			card.getName().equals(StealCard.stealCardNameSupplier.get());
 	
-	/**
-	* A Function that generates a random value.
-	* 
-	*/
-	private	Function<Integer, Integer> randomValue = (index) ->
-			(int)Math.floor(Math.random() * (numOfCards-index));
-		
 	/**
 	* A Predicate that indicates if a card is playable card.
 	* 
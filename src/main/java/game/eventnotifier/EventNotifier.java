@@ -8,13 +8,12 @@ import org.apache.logging.log4j.Logger;
 import clientservershared.CardModel;
 import clientservershared.GameOver;
 import eventnotifications.IGameNotifications;
-import game.GameManager;
 
 /**
 * This class is responsible for managing the Game events.
 * The events are defined in the IGameNotifications interface.
 * 
-* This class has a gameNotificationsCallback member, that represents the GameManager as
+* This class has a gameNotificationsCallback member, that represents the GameHandler of the game as
 * a callback class that listens to the game events and handles it.
 * 
 * The events in this class are triggered by the Game class.
@@ -25,8 +24,8 @@ public class EventNotifier {
 	private static final Logger logger = LogManager.getLogger(EventNotifier.class);
 	private IGameNotifications gameNotificationsCallback;
 
-	public EventNotifier() {
-		gameNotificationsCallback = (IGameNotifications)GameManager.getInstance();
+	public EventNotifier(IGameNotifications gameNotifications) {
+		gameNotificationsCallback = gameNotifications;
 	}
 	
 	private void notifyGameEvent(Runnable callback) {
@@ -0,0 +1,459 @@
+package game.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import clientservershared.PickedCards;
+import eventnotifications.IClientRequestNotifications;
+
+/**
+* This class is the append only journal of a single game.
+* Every client request of the game, and every change of the game state, is appended to the journal as a binary entry.
+* The journal is read back by the JournalReader, to replay the game or to analyze it.
+*
+* Each entry is made of:
+* <ul>
+* <li>type - 1 byte, the code of the event type
+* <li>seq - 4 bytes, the sequence number of the entry in the game
+* <li>length - 4 bytes, the length of the fields
+* <li>fields - the fields of the event, as defined by the event type
+* </ul>
+*
+* The entries are encoded into a preallocated buffer, on the game thread.
+* Once the game executor handled a batch of events, or the buffer is full,
+* the buffer is handed to the journal writer, and a free buffer is taken instead,
+* thus appending an entry allocates nothing but the encoded strings.
+* When no buffer is free at a flush the entries are kept until the next flush, and when the buffer is full
+* and the writer did not free any buffer yet, a new buffer is allocated, so the game does not wait for the writer.
+* Such back-pressure is counted and logged, the buffers the writer frees are kept up to a bound, so a burst grows the ring only once.
+* Only once the writer is behind by a bounded number of buffers the game waits for it, so a stuck disk does not exhaust the memory.
+*
+* The game journal implements the IClientRequestNotifications interface,
+* the game handler passes each request to the journal before handling it.
+* The journal is accessed only by the game executor of its game.
+* A game that is not journaled uses the DISABLED journal, which ignores all the events.
+*
+* Every given number of client requests, a snapshot of the game is due. The game handler takes the snapshot
+* once the game is at a quiescent point, and passes it to the journal, to be written by the journal writer.
+* A game restored after a restart resumes its journal, the new entries continue the sequence of the old ones.
+*
+* @author      Keren Solomon
+*/
+public class GameJournal implements IClientRequestNotifications {
+	private static final Logger logger = LogManager.getLogger(GameJournal.class);
+	public static final GameJournal DISABLED = new GameJournal();
+
+	static final int ENTRY_HEADER_SIZE = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+	static final int ENTRY_LENGTH_OFFSET = Byte.BYTES + Integer.BYTES;
+	/**
+	 * The version of the game rules, written at the start of each journal.
+	 * It is bumped whenever a change of the rules makes the same requests play a different game, so older records are told apart:
+	 * <ul>
+	 * <li>1 - the first version, a player that kept only its flying sheeps lost the points of each removed valuable card twice
+	 * <li>2 - a player that keeps only its flying sheeps loses the points of each removed valuable card once
+	 * </ul>
+	 */
+	public static final int RULES_VERSION = 2;
+	public static final int FIRST_RULES_VERSION = 1;
+	private static final int NUM_OF_BUFFERS = 2;
+	private static final int MAX_FREE_BUFFERS = 8;
+	private static final int MAX_BUFFERS_IN_WRITER = 64;
+	private static final byte[] EMPTY_STRING = new byte[0];
+
+	private Boolean isEnabled;
+	private JournalWriter writer;
+	private JournalSegments segments;
+	private int bufferSize;
+	private ByteBuffer buffer;
+	private BlockingQueue<ByteBuffer> freeBuffers;
+	private AtomicInteger numOfBuffersInWriter;
+	private Map<String,byte[]> encodedIds;
+	private int seq;
+	private int requestsSinceSnapshot;
+	private int numOfBackPressures;
+
+	private GameJournal() {
+		this.isEnabled = false;
+	}
+
+	private GameJournal(String gameId, JournalWriter writer, int bufferSize, int seq) {
+		this.isEnabled = true;
+		this.writer = writer;
+		this.segments = writer.openSegments(gameId);
+		this.bufferSize = bufferSize;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.freeBuffers = new LinkedBlockingQueue<>();
+		for (int i = 1; i < NUM_OF_BUFFERS; i++) {
+			freeBuffers.offer(ByteBuffer.allocate(bufferSize));
+		}
+		this.numOfBuffersInWriter = new AtomicInteger(0);
+		this.encodedIds = new HashMap<>();
+		this.seq = seq;
+		this.requestsSinceSnapshot = 0;
+		this.numOfBackPressures = 0;
+	}
+
+	/**
+	 * Creates a GameJournal to journal the events of a single game.
+	 * The first entry of the journal holds the game id and the seed of the game, followed by the version of the game rules.
+	 *
+	 * @param gameId    	the id of the game.
+	 * @param seed    		the seed of the game random generator.
+	 * @param writer    	the JournalWriter that writes the journal to its segment files.
+	 * @param bufferSize    the size in bytes of each of the journal buffers.
+	 */
+	public GameJournal(String gameId, long seed, JournalWriter writer, int bufferSize) {
+		this(gameId, writer, bufferSize, 0);
+
+		byte[] id = encode(gameId);
+		begin(JournalEventType.GAME_CREATED, sizeOf(id) + Long.BYTES);
+		putString(id);
+		buffer.putLong(seed);
+		appendInt(JournalEventType.GAME_RULES, RULES_VERSION);
+	}
+
+	/**
+	 * This method creates a GameJournal that continues the journal of a game restored after a restart.
+	 *
+	 * @param gameId    	the id of the game.
+	 * @param nextSeq    	the sequence number of the next entry, following the last entry of the journal.
+	 * @param writer    	the JournalWriter that writes the journal to its segment files.
+	 * @param bufferSize    the size in bytes of each of the journal buffers.
+	 * @return GameJournal 	the resumed journal.
+	 */
+	public static GameJournal resume(String gameId, int nextSeq, JournalWriter writer, int bufferSize) {
+		return new GameJournal(gameId, writer, bufferSize, nextSeq);
+	}
+
+	public int getSeq() {
+		return seq;
+	}
+
+	/**
+	* This method returns whether a snapshot of the game is due,
+	* the configured number of client requests were journaled since the last snapshot.
+	*
+	* @return Boolean  	true if a snapshot should be taken.
+	*/
+	public Boolean isSnapshotDue() {
+		return isEnabled && requestsSinceSnapshot >= writer.getSnapshotInterval();
+	}
+
+	/**
+	* This method hands the given snapshot to the journal writer.
+	* The entries appended before the snapshot are handed to the writer first, even if the writer did not free a buffer yet,
+	* so the journal never holds a snapshot that is ahead of its entries.
+	*
+	* @param  snapshot  the snapshot of the game, taken at the current sequence number.
+	*/
+	public void snapshot(GameSnapshot snapshot) {
+		if (!isEnabled) {
+			return;
+		}
+		requestsSinceSnapshot = 0;
+		if (buffer.position() > 0) {
+			handOff(takeFreeBuffer());
+		}
+		writer.writeSnapshot(segments, snapshot);
+	}
+
+	private static byte[] encode(String value) {
+		return (value == null) ? EMPTY_STRING : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	* This method returns the encoded bytes of a client id.
+	* The ids of the clients are encoded once per game, since they are part of most entries.
+	*/
+	private byte[] encodeId(String id) {
+		return encodedIds.computeIfAbsent(id, GameJournal::encode);
+	}
+
+	private static int sizeOf(byte[] string) {
+		return Integer.BYTES + string.length;
+	}
+
+	/**
+	* This method writes the header of a new entry to the buffer.
+	* In case the buffer has no room for the entry, the buffer is flushed first.
+	* An entry that is larger than a whole buffer is written to a buffer of its own.
+	*
+	* @param  type  			the type of the event.
+	* @param  fieldsLength  	the length in bytes of the fields of the entry.
+	*/
+	private void begin(JournalEventType type, int fieldsLength) {
+		int entryLength = ENTRY_HEADER_SIZE + fieldsLength;
+		if (buffer.remaining() < entryLength) {
+			if (buffer.position() > 0) {
+				handOff(takeFreeBuffer());
+			}
+			if (buffer.remaining() < entryLength) {
+				recycle(buffer);
+				buffer = ByteBuffer.allocate(entryLength);
+			}
+		}
+		buffer.put(type.getCode());
+		buffer.putInt(seq++);
+		buffer.putInt(fieldsLength);
+		if (type.isClientRequest()) {
+			requestsSinceSnapshot++;
+		}
+	}
+
+	private void putString(byte[] string) {
+		buffer.putInt(string.length);
+		buffer.put(string);
+	}
+
+	private void appendId(JournalEventType type, String id) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(id);
+		begin(type, sizeOf(encodedId));
+		putString(encodedId);
+	}
+
+	private void appendIdAndInt(JournalEventType type, String id, int value) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(id);
+		begin(type, sizeOf(encodedId) + Integer.BYTES);
+		putString(encodedId);
+		buffer.putInt(value);
+	}
+
+	private void appendInt(JournalEventType type, int value) {
+		if (!isEnabled) {
+			return;
+		}
+		begin(type, Integer.BYTES);
+		buffer.putInt(value);
+	}
+
+	/**
+	* This method hands the entries appended since the last flush to the journal writer.
+	* It is called by the game handler once the game executor handled a batch of events.
+	* In case the writer is still writing the previous buffers, the entries are handed with the next flush.
+	*/
+	public void flush() {
+		if (!isEnabled || buffer.position() == 0) {
+			return;
+		}
+		ByteBuffer free = freeBuffers.poll();
+		if (free != null) {
+			handOff(free);
+		}
+	}
+
+	private void handOff(ByteBuffer free) {
+		ByteBuffer data = buffer;
+		buffer = free;
+		data.flip();
+		numOfBuffersInWriter.incrementAndGet();
+		writer.write(segments, data, this::written);
+	}
+
+	/**
+	* This method returns the number of times the buffer of the journal was full while the writer had not freed any buffer,
+	* which means the writer does not keep up with the game.
+	*
+	* @return int  the number of back-pressure events since the journal was opened.
+	*/
+	public int getNumOfBackPressures() {
+		return numOfBackPressures;
+	}
+
+	/**
+	* This method takes a buffer freed by the writer, or allocates a new buffer in case the writer did not free any yet,
+	* so the game thread does not wait for the writer. The first back-pressure event, and every 64th after it, is logged.
+	* In case the writer did not write the bounded number of buffers handed to it, the game thread waits for it.
+	*/
+	private ByteBuffer takeFreeBuffer() {
+		ByteBuffer free = freeBuffers.poll();
+		if (free != null) {
+			return free;
+		}
+		if ((numOfBackPressures++ & 63) == 0) {
+			logger.warn("journal writer does not keep up, " + numOfBuffersInWriter.get() + " journal buffers waiting, in " + segments.getDir());
+		}
+		if (numOfBuffersInWriter.get() < MAX_BUFFERS_IN_WRITER) {
+			return ByteBuffer.allocate(bufferSize);
+		}
+		try {
+			return freeBuffers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return ByteBuffer.allocate(bufferSize);
+		}
+	}
+
+	/**
+	* This method is called by the flusher thread once a buffer handed to the writer is written.
+	*/
+	private void written(ByteBuffer data) {
+		numOfBuffersInWriter.decrementAndGet();
+		recycle(data);
+	}
+
+	/**
+	* This method keeps a written buffer to be used again.
+	* Buffers of the regular size are kept to be used again, up to a bound, an oversized buffer is dropped.
+	* It is also called by the game thread, with a free buffer that is too small for an oversized entry.
+	*/
+	private void recycle(ByteBuffer data) {
+		if (data.capacity() == bufferSize && freeBuffers.size() < MAX_FREE_BUFFERS) {
+			data.clear();
+			freeBuffers.offer(data);
+		}
+	}
+
+	/**
+	* This method flushes the journal and closes it, it is called once the game is over.
+	* Events that are sent after the journal is closed are ignored.
+	*/
+	public void close() {
+		if (!isEnabled) {
+			return;
+		}
+		if (buffer.position() > 0) {
+			handOff(ByteBuffer.allocate(0));
+		}
+		writer.close(segments);
+		isEnabled = false;
+	}
+
+	public void gamePassword(String password) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedPassword = encode(password);
+		begin(JournalEventType.GAME_PASSWORD, sizeOf(encodedPassword));
+		putString(encodedPassword);
+	}
+
+	public void sessionOpened(String clientId, String token) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(clientId);
+		byte[] encodedToken = encode(token);
+		begin(JournalEventType.SESSION_OPENED, sizeOf(encodedId) + sizeOf(encodedToken));
+		putString(encodedId);
+		putString(encodedToken);
+	}
+
+	@Override
+	public void onNewGameRequest(String clientId, int numOfPlayers) {
+		appendIdAndInt(JournalEventType.REQ_NEW_GAME, clientId, numOfPlayers);
+	}
+
+	@Override
+	public void onJoinGameRequest(String clientId, String password, String name, String img) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(clientId);
+		byte[] encodedPassword = encode(password);
+		byte[] encodedName = encode(name);
+		byte[] encodedImg = encode(img);
+		begin(JournalEventType.REQ_JOIN_GAME, sizeOf(encodedId) + sizeOf(encodedPassword) + sizeOf(encodedName) + sizeOf(encodedImg));
+		putString(encodedId);
+		putString(encodedPassword);
+		putString(encodedName);
+		putString(encodedImg);
+	}
+
+	@Override
+	public void onPlayerPickedCards(String clientId, PickedCards cards) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(clientId);
+		begin(JournalEventType.REQ_PICKED_CARDS, sizeOf(encodedId) + 3 * Integer.BYTES);
+		putString(encodedId);
+		buffer.putInt(cards.getCard1());
+		buffer.putInt(cards.getCard2());
+		buffer.putInt(cards.getNumOfPickedCards());
+	}
+
+	@Override
+	public void onAttackPlayerReq(String clientId, String victimId) {
+		if (!isEnabled) {
+			return;
+		}
+		byte[] encodedId = encodeId(clientId);
+		byte[] encodedVictimId = encodeId(victimId);
+		begin(JournalEventType.REQ_ATTACK_PLAYER, sizeOf(encodedId) + sizeOf(encodedVictimId));
+		putString(encodedId);
+		putString(encodedVictimId);
+	}
+
+	@Override
+	public void onDealCardReq(String clientId) {
+		appendId(JournalEventType.REQ_DEAL_CARD, clientId);
+	}
+
+	@Override
+	public void onPlayerLostAttack(String clientId) {
+		appendId(JournalEventType.REQ_LOSE_ATTACK, clientId);
+	}
+
+	/**
+	* Resuming a session replaces the connection of a player, and does not change the game, thus it is not journaled.
+	*/
+	@Override
+	public void onResumeSessionReq(String clientId, String token, int lastMsgSeq) {
+	}
+
+	/**
+	* An expired server side timer acts on the game as a request of the player the game waited for, thus it is journaled as a request.
+	*
+	* @param playerId  	the id of the player the timer waited for, the game id for the lobby timer.
+	* @param timerCode  the code of the timer type.
+	*/
+	public void timerExpired(String playerId, int timerCode) {
+		appendIdAndInt(JournalEventType.REQ_TIMER_EXPIRED, playerId, timerCode);
+	}
+
+	public void handCardAdded(String playerId, int cardId) {
+		appendIdAndInt(JournalEventType.HAND_CARD_ADDED, playerId, cardId);
+	}
+
+	public void handCardRemoved(String playerId, int cardId) {
+		appendIdAndInt(JournalEventType.HAND_CARD_REMOVED, playerId, cardId);
+	}
+
+	public void cardUsed(int cardId) {
+		appendInt(JournalEventType.CARD_USED, cardId);
+	}
+
+	public void turnChanged(String playerId) {
+		appendId(JournalEventType.TURN_CHANGED, playerId);
+	}
+
+	public void attackStateChanged(int stateId) {
+		appendInt(JournalEventType.ATTACK_STATE_CHANGED, stateId);
+	}
+
+	public void playerLost(String playerId) {
+		appendId(JournalEventType.PLAYER_LOST, playerId);
+	}
+
+	public void gameOver() {
+		if (!isEnabled) {
+			return;
+		}
+		begin(JournalEventType.GAME_OVER, 0);
+	}
+
+}
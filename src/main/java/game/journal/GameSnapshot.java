@@ -0,0 +1,386 @@
+package game.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+* This class represents a snapshot of the state of a single game.
+*
+* A snapshot is taken by the game thread at a quiescent point - the game is running and no attack is in progress,
+* thus the state of the game is fully described by a small set of values:
+* <ul>
+* <li>the state of the game random generator
+* <li>the players - their details, whether they still play, their score and the ids of the cards in their hand
+* <li>the order of the turns, the current player, the number of next players to skip and the direction of the turns
+* <li>the ids of the cards left in the deck
+* <li>the special cards pulled from the deck, and the owners of the ownerable cards
+* </ul>
+* Taking the snapshot copies these values only, the snapshot is encoded and written by the journal flusher thread,
+* so the game is not stalled by the encoding or the disk.
+*
+* The snapshot also holds the sequence number of the next journal entry,
+* a game is restored by applying the snapshot and replaying the journal entries that follow it.
+*
+* @author      Keren Solomon
+*/
+public class GameSnapshot {
+	private static final int FORMAT_VERSION = 2;
+	private static final int BLOCKED_FORMAT_VERSION = 1;
+
+	private int journalSeq;
+	private long randomState;
+	private int numOfPlayers;
+	private Boolean showCoopBtn;
+	private List<PlayerState> players;
+	private List<String> turnsOrder;
+	private String currentPlayerId;
+	private int numOfTurnSkips;
+	private Boolean isTurnReversed;
+	private int[] deckCards;
+	private List<Integer> specialCardsIds;
+	private Map<Integer,String> cardsOwners;
+
+	/**
+	 * This class represents the state of a single player in the snapshot.
+	 */
+	public static final class PlayerState {
+		private final String id;
+		private final String name;
+		private final String img;
+		private final Boolean isActive;
+		private final int score;
+		private final int[] hand;
+
+		public PlayerState(String id, String name, String img, Boolean isActive, int score, int[] hand) {
+			this.id = id;
+			this.name = name;
+			this.img = img;
+			this.isActive = isActive;
+			this.score = score;
+			this.hand = hand;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getImg() {
+			return img;
+		}
+
+		public Boolean isActive() {
+			return isActive;
+		}
+
+		public int getScore() {
+			return score;
+		}
+
+		public int[] getHand() {
+			return hand.clone();
+		}
+	}
+
+	public GameSnapshot() {
+		players = new ArrayList<>();
+		turnsOrder = new ArrayList<>();
+		specialCardsIds = new ArrayList<>();
+		cardsOwners = new LinkedHashMap<>();
+		deckCards = new int[0];
+		showCoopBtn = false;
+		numOfTurnSkips = 0;
+		isTurnReversed = false;
+	}
+
+	public int getJournalSeq() {
+		return journalSeq;
+	}
+
+	public void setJournalSeq(int journalSeq) {
+		this.journalSeq = journalSeq;
+	}
+
+	public long getRandomState() {
+		return randomState;
+	}
+
+	public void setRandomState(long randomState) {
+		this.randomState = randomState;
+	}
+
+	public int getNumOfPlayers() {
+		return numOfPlayers;
+	}
+
+	public void setNumOfPlayers(int numOfPlayers) {
+		this.numOfPlayers = numOfPlayers;
+	}
+
+	public Boolean getShowCoopBtn() {
+		return showCoopBtn;
+	}
+
+	public void setShowCoopBtn(Boolean showCoopBtn) {
+		this.showCoopBtn = showCoopBtn;
+	}
+
+	public List<PlayerState> getPlayers() {
+		return Collections.unmodifiableList(players);
+	}
+
+	public void addPlayer(PlayerState player) {
+		players.add(player);
+	}
+
+	public List<String> getTurnsOrder() {
+		return Collections.unmodifiableList(turnsOrder);
+	}
+
+	public void setTurnsOrder(List<String> turnsOrder) {
+		this.turnsOrder = new ArrayList<>(turnsOrder);
+	}
+
+	public String getCurrentPlayerId() {
+		return currentPlayerId;
+	}
+
+	public void setCurrentPlayerId(String currentPlayerId) {
+		this.currentPlayerId = currentPlayerId;
+	}
+
+	public int getNumOfTurnSkips() {
+		return numOfTurnSkips;
+	}
+
+	public void setNumOfTurnSkips(int numOfTurnSkips) {
+		this.numOfTurnSkips = numOfTurnSkips;
+	}
+
+	public Boolean isTurnReversed() {
+		return isTurnReversed;
+	}
+
+	public void setTurnReversed(Boolean isTurnReversed) {
+		this.isTurnReversed = isTurnReversed;
+	}
+
+	public int[] getDeckCards() {
+		return deckCards.clone();
+	}
+
+	public void setDeckCards(int[] deckCards) {
+		this.deckCards = deckCards;
+	}
+
+	public List<Integer> getSpecialCardsIds() {
+		return Collections.unmodifiableList(specialCardsIds);
+	}
+
+	public void setSpecialCardsIds(List<Integer> specialCardsIds) {
+		this.specialCardsIds = new ArrayList<>(specialCardsIds);
+	}
+
+	public Map<Integer,String> getCardsOwners() {
+		return Collections.unmodifiableMap(cardsOwners);
+	}
+
+	public void setCardOwner(int cardId, String owner) {
+		cardsOwners.put(cardId, owner);
+	}
+
+	/**
+	* This method encodes the snapshot to its binary format.
+	*
+	* @return byte[]  	the encoded snapshot.
+	*/
+	public byte[] encode() {
+		SnapshotEncoder out = new SnapshotEncoder();
+		out.putInt(FORMAT_VERSION);
+		out.putInt(journalSeq);
+		out.putLong(randomState);
+		out.putInt(numOfPlayers);
+		out.putBoolean(showCoopBtn);
+
+		out.putInt(players.size());
+		for (PlayerState player : players) {
+			out.putString(player.id);
+			out.putString(player.name);
+			out.putString(player.img);
+			out.putBoolean(player.isActive);
+			out.putInt(player.score);
+			out.putInts(player.hand);
+		}
+
+		out.putInt(turnsOrder.size());
+		for (String playerId : turnsOrder) {
+			out.putString(playerId);
+		}
+		out.putString(currentPlayerId);
+		out.putInt(numOfTurnSkips);
+		out.putBoolean(isTurnReversed);
+
+		out.putInts(deckCards);
+		out.putInt(specialCardsIds.size());
+		for (int cardId : specialCardsIds) {
+			out.putInt(cardId);
+		}
+		out.putInt(cardsOwners.size());
+		for (Map.Entry<Integer,String> owner : cardsOwners.entrySet()) {
+			out.putInt(owner.getKey());
+			out.putString(owner.getValue());
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	* This method decodes a snapshot from its binary format.
+	*
+	* @param  data  		the encoded snapshot.
+	* @return GameSnapshot  the decoded snapshot.
+	* @throws       		IOException if the data is not a snapshot of a known version.
+	*/
+	public static GameSnapshot decode(ByteBuffer data) throws IOException {
+		try {
+			int version = data.getInt();
+			if (version != FORMAT_VERSION && version != BLOCKED_FORMAT_VERSION) {
+				throw new IOException("unknown snapshot version " + version);
+			}
+			GameSnapshot snapshot = new GameSnapshot();
+			snapshot.setJournalSeq(data.getInt());
+			snapshot.setRandomState(data.getLong());
+			snapshot.setNumOfPlayers(data.getInt());
+			snapshot.setShowCoopBtn(getBoolean(data));
+
+			int numOfPlayers = data.getInt();
+			for (int i = 0; i < numOfPlayers; i++) {
+				snapshot.addPlayer(new PlayerState(getString(data), getString(data), getString(data),
+						getBoolean(data), data.getInt(), getInts(data)));
+			}
+
+			int numOfTurns = data.getInt();
+			for (int i = 0; i < numOfTurns; i++) {
+				snapshot.turnsOrder.add(getString(data));
+			}
+			snapshot.setCurrentPlayerId(getString(data));
+			if (version == BLOCKED_FORMAT_VERSION) {
+				snapshot.setNumOfTurnSkips(getBoolean(data) ? 1 : 0);
+			}
+			else {
+				snapshot.setNumOfTurnSkips(data.getInt());
+				snapshot.setTurnReversed(getBoolean(data));
+			}
+
+			snapshot.setDeckCards(getInts(data));
+			int numOfSpecialCards = data.getInt();
+			for (int i = 0; i < numOfSpecialCards; i++) {
+				snapshot.specialCardsIds.add(data.getInt());
+			}
+			int numOfOwners = data.getInt();
+			for (int i = 0; i < numOfOwners; i++) {
+				snapshot.setCardOwner(data.getInt(), getString(data));
+			}
+			return snapshot;
+		} catch (RuntimeException e) {
+			throw new IOException("snapshot is corrupted", e);
+		}
+	}
+
+	/**
+	* This method reads the snapshot of the game from the given journal directory.
+	*
+	* @param  journalDir  	the directory of the game journal.
+	* @return GameSnapshot  the snapshot of the game, or null if no snapshot was taken.
+	* @throws       		IOException if the snapshot could not be read.
+	*/
+	public static GameSnapshot readFrom(Path journalDir) throws IOException {
+		Path file = journalDir.resolve(JournalSegments.SNAPSHOT_FILE);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+	}
+
+	private static Boolean getBoolean(ByteBuffer data) {
+		return data.get() != 0;
+	}
+
+	private static String getString(ByteBuffer data) {
+		byte[] string = new byte[data.getInt()];
+		data.get(string);
+		return new String(string, StandardCharsets.UTF_8);
+	}
+
+	private static int[] getInts(ByteBuffer data) {
+		int[] values = new int[data.getInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = data.getInt();
+		}
+		return values;
+	}
+
+	/**
+	 * This class encodes the snapshot fields to a growing byte buffer.
+	 */
+	private static class SnapshotEncoder {
+		private static final int INITIAL_SIZE = 1024;
+		private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_SIZE);
+
+		private void ensureRemaining(int length) {
+			if (buffer.remaining() < length) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+				buffer.flip();
+				larger.put(buffer);
+				buffer = larger;
+			}
+		}
+
+		void putInt(int value) {
+			ensureRemaining(Integer.BYTES);
+			buffer.putInt(value);
+		}
+
+		void putLong(long value) {
+			ensureRemaining(Long.BYTES);
+			buffer.putLong(value);
+		}
+
+		void putBoolean(Boolean value) {
+			ensureRemaining(Byte.BYTES);
+			buffer.put((byte) (value ? 1 : 0));
+		}
+
+		void putString(String value) {
+			byte[] string = (value == null) ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+			putInt(string.length);
+			ensureRemaining(string.length);
+			buffer.put(string);
+		}
+
+		void putInts(int[] values) {
+			putInt(values.length);
+			for (int value : values) {
+				putInt(value);
+			}
+		}
+
+		byte[] toByteArray() {
+			byte[] data = new byte[buffer.position()];
+			buffer.flip();
+			buffer.get(data);
+			return data;
+		}
+	}
+
+}
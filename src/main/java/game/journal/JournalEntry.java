@@ -0,0 +1,53 @@
+package game.journal;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+* This class represents a single entry read from the game journal.
+* The entry holds the type of the event, its sequence number in the game,
+* and the values of its fields, in the order defined by the event type.
+*
+* @author      Keren Solomon
+*/
+public final class JournalEntry {
+	private final JournalEventType type;
+	private final int seq;
+	private final List<Object> params;
+
+	public JournalEntry(JournalEventType type, int seq, List<Object> params) {
+		this.type = type;
+		this.seq = seq;
+		this.params = Collections.unmodifiableList(params);
+	}
+
+	public JournalEventType getType() {
+		return type;
+	}
+
+	public int getSeq() {
+		return seq;
+	}
+
+	public List<Object> getParams() {
+		return params;
+	}
+
+	public String getString(int index) {
+		return (String) params.get(index);
+	}
+
+	public int getInt(int index) {
+		return (Integer) params.get(index);
+	}
+
+	public long getLong(int index) {
+		return (Long) params.get(index);
+	}
+
+	@Override
+	public String toString() {
+		return seq + " " + type + " " + params;
+	}
+
+}
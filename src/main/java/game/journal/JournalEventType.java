@@ -0,0 +1,146 @@
+package game.journal;
+
+import static game.journal.JournalField.INT;
+import static game.journal.JournalField.LONG;
+import static game.journal.JournalField.STRING;
+
+/**
+* This enum defines the types of the events written to the game journal.
+* Each type has a unique code, written as the first byte of the entry,
+* and the list of fields its entry is made of, in the order they are written.
+*
+* The code 0 is never used, since the unwritten part of a journal segment is filled with zeros,
+* thus reading a 0 code marks the end of the journal.
+* Codes must never be changed or reused, so old journals can still be read.
+*
+* @author      Keren Solomon
+*/
+public enum JournalEventType {
+	/**
+	 * Fields: game id, seed
+	 */
+	GAME_CREATED(1, STRING, LONG),
+	/**
+	 * Fields: password
+	 */
+	GAME_PASSWORD(2, STRING),
+	/**
+	 * Fields: client id, number of players
+	 */
+	REQ_NEW_GAME(3, STRING, INT),
+	/**
+	 * Fields: client id, password, name, image
+	 */
+	REQ_JOIN_GAME(4, STRING, STRING, STRING, STRING),
+	/**
+	 * Fields: client id, first card id, second card id, number of picked cards
+	 */
+	REQ_PICKED_CARDS(5, STRING, INT, INT, INT),
+	/**
+	 * Fields: client id, victim id
+	 */
+	REQ_ATTACK_PLAYER(6, STRING, STRING),
+	/**
+	 * Fields: client id
+	 */
+	REQ_DEAL_CARD(7, STRING),
+	/**
+	 * Fields: client id
+	 */
+	REQ_LOSE_ATTACK(8, STRING),
+	/**
+	 * Fields: player id, card id
+	 */
+	HAND_CARD_ADDED(9, STRING, INT),
+	/**
+	 * Fields: player id, card id
+	 */
+	HAND_CARD_REMOVED(10, STRING, INT),
+	/**
+	 * Fields: card id
+	 */
+	CARD_USED(11, INT),
+	/**
+	 * Fields: player id
+	 */
+	TURN_CHANGED(12, STRING),
+	/**
+	 * Fields: attack state id
+	 */
+	ATTACK_STATE_CHANGED(13, INT),
+	/**
+	 * Fields: player id
+	 */
+	PLAYER_LOST(14, STRING),
+	/**
+	 * Fields: none
+	 */
+	GAME_OVER(15),
+	/**
+	 * Fields: player id, session token
+	 */
+	SESSION_OPENED(16, STRING, STRING),
+	/**
+	 * Fields: id of the player the timer waited for (the game id for the lobby timer), timer type code
+	 */
+	REQ_TIMER_EXPIRED(17, STRING, INT),
+	/**
+	 * Fields: version of the game rules the game is played by, journals written before it was added have version 1
+	 */
+	GAME_RULES(18, INT);
+
+	private static final JournalEventType[] typesByCode = new JournalEventType[19];
+
+	static {
+		for (JournalEventType type : values()) {
+			typesByCode[type.code] = type;
+		}
+	}
+
+	private final byte code;
+	private final JournalField[] fields;
+
+	JournalEventType(int code, JournalField... fields) {
+		this.code = (byte) code;
+		this.fields = fields;
+	}
+
+	public byte getCode() {
+		return code;
+	}
+
+	public JournalField[] getFields() {
+		return fields.clone();
+	}
+
+	JournalField getField(int index) {
+		return fields[index];
+	}
+
+	int getNumOfFields() {
+		return fields.length;
+	}
+
+	/**
+	* This method returns whether the event is a request of a client.
+	* An expired server side timer acts on the game as the request of the player it waited for, thus it is a request as well.
+	*
+	* @return Boolean  	true if the event is a client request.
+	*/
+	public Boolean isClientRequest() {
+		return (this.compareTo(REQ_NEW_GAME) >= 0 && this.compareTo(REQ_LOSE_ATTACK) <= 0) || this == REQ_TIMER_EXPIRED;
+	}
+
+	/**
+	* This method returns the type that matches the given code.
+	*
+	* @param  code  				the code read from the journal.
+	* @return JournalEventType  	the matching type, or null if the code is unknown.
+	*/
+	public static JournalEventType fromCode(byte code) {
+		if (code <= 0 || code >= typesByCode.length) {
+			return null;
+		}
+		return typesByCode[code];
+	}
+}
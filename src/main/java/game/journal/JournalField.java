@@ -0,0 +1,17 @@
+package game.journal;
+
+/**
+* This enum defines the types of the fields an entry of the game journal is made of.
+* <ul>
+* <li>INT - 4 bytes
+* <li>LONG - 8 bytes
+* <li>STRING - 4 bytes of length, followed by the UTF-8 bytes of the string
+* </ul>
+*
+* @author      Keren Solomon
+*/
+public enum JournalField {
+	INT,
+	LONG,
+	STRING
+}
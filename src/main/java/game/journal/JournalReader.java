@@ -0,0 +1,104 @@
+package game.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class reads the journal of a single game back from its segment files.
+*
+* The segments are read in order, each segment holds whole entries only.
+* Reading a segment stops at the first 0 type code - the unwritten part of the segment,
+* or at an entry that was not fully written, in case the application stopped while writing the journal,
+* and continues with the next segment.
+* Entries of an unknown type are skipped, using the length written in their header.
+*
+* @author      Keren Solomon
+*/
+public class JournalReader {
+	private static final Logger logger = LogManager.getLogger(JournalReader.class);
+
+	private JournalReader() {
+	}
+
+	/**
+	* This method reads all the entries of the journal in the given directory.
+	*
+	* @param  journalDir  			the directory of the game journal.
+	* @return List<JournalEntry>  	the entries of the journal, in the order they were written.
+	* @throws       				IOException if the journal could not be read.
+	*/
+	public static List<JournalEntry> read(Path journalDir) throws IOException {
+		List<Path> segmentFiles;
+		try (Stream<Path> files = Files.list(journalDir)) {
+			segmentFiles = files
+					.filter(file -> file.getFileName().toString().endsWith(JournalSegments.SEGMENT_SUFFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+
+		List<JournalEntry> entries = new ArrayList<>();
+		for (Path file : segmentFiles) {
+			readEntries(ByteBuffer.wrap(Files.readAllBytes(file)), entries);
+		}
+		return entries;
+	}
+
+	private static void readEntries(ByteBuffer journal, List<JournalEntry> entries) {
+		while (journal.remaining() >= GameJournal.ENTRY_HEADER_SIZE) {
+			byte code = journal.get();
+			if (code == 0) {
+				break;
+			}
+			int seq = journal.getInt();
+			int fieldsLength = journal.getInt();
+			if (fieldsLength < 0 || fieldsLength > journal.remaining()) {
+				logger.warn("journal entry " + seq + " was not fully written, skipped the rest of the segment");
+				break;
+			}
+
+			ByteBuffer fields = journal.slice();
+			fields.limit(fieldsLength);
+			journal.position(journal.position() + fieldsLength);
+
+			JournalEventType type = JournalEventType.fromCode(code);
+			if (type == null) {
+				logger.warn("journal entry " + seq + " has an unknown type " + code + ", skipped");
+				continue;
+			}
+			entries.add(new JournalEntry(type, seq, readFields(type, fields)));
+		}
+	}
+
+	private static List<Object> readFields(JournalEventType type, ByteBuffer fields) {
+		List<Object> params = new ArrayList<>(type.getNumOfFields());
+		for (int i = 0; i < type.getNumOfFields(); i++) {
+			switch (type.getField(i)) {
+			case INT:
+				params.add(fields.getInt());
+				break;
+			case LONG:
+				params.add(fields.getLong());
+				break;
+			case STRING:
+				byte[] string = new byte[fields.getInt()];
+				fields.get(string);
+				params.add(new String(string, StandardCharsets.UTF_8));
+				break;
+			default:
+				break;
+			}
+		}
+		return params;
+	}
+
+}
@@ -0,0 +1,190 @@
+package game.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class represents the segment files of a single game journal.
+*
+* The journal is written to a directory per game, as a sequence of fixed size segment files.
+* Each segment is preallocated and memory mapped once created, and the data is copied to the mapped segment,
+* thus appending to the journal costs no system call. An entry is never split between two segments:
+* once the next entry does not fit the current segment, the segment is forced to the disk,
+* and the next segment is created. The journal writer also forces the current segment on a schedule. The rest of the previous segment is left filled with zeros.
+* A journal that is resumed after a restart continues with a new segment, after the existing ones.
+*
+* The latest snapshot of the game is kept in the same directory, it is written to a temporary file first,
+* and then moved over the previous snapshot, so a snapshot is never read half written.
+*
+* The class is only accessed by the journal flusher thread.
+* In case writing the journal fails, the failure is logged once, and the rest of the journal is dropped,
+* the game itself is not affected.
+*
+* @author      Keren Solomon
+*/
+class JournalSegments {
+	private static final Logger logger = LogManager.getLogger(JournalSegments.class);
+	static final String SEGMENT_SUFFIX = ".seg";
+	static final String SNAPSHOT_FILE = "snapshot.snap";
+	private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+	private static final int UNKNOWN_SEGMENT_INDEX = -1;
+	private static final String SEGMENT_FORMAT = "%08d" + SEGMENT_SUFFIX;
+
+	private Path dir;
+	private int segmentSize;
+	private int segmentIndex;
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+	private Boolean isFailed;
+	private Boolean isDirty;
+
+	JournalSegments(Path dir, int segmentSize) {
+		this.dir = dir;
+		this.segmentSize = segmentSize;
+		this.segmentIndex = UNKNOWN_SEGMENT_INDEX;
+		this.isFailed = false;
+		this.isDirty = false;
+	}
+
+	Path getDir() {
+		return dir;
+	}
+
+	/**
+	* This method copies the entries in the given buffer to the journal, entry by entry.
+	*
+	* @param  data  the buffer holding the encoded journal entries.
+	*/
+	void append(ByteBuffer data) {
+		if (isFailed) {
+			return;
+		}
+		try {
+			while (data.hasRemaining()) {
+				int entryLength = GameJournal.ENTRY_HEADER_SIZE + data.getInt(data.position() + GameJournal.ENTRY_LENGTH_OFFSET);
+				if (segment == null || segment.remaining() < entryLength) {
+					nextSegment(entryLength);
+				}
+				ByteBuffer entry = data.duplicate();
+				entry.limit(entry.position() + entryLength);
+				segment.put(entry);
+				isDirty = true;
+				data.position(data.position() + entryLength);
+			}
+		} catch (IOException e) {
+			isFailed = true;
+			logger.error("failed writing the journal to " + dir + ", the rest of the journal is dropped");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	* This method closes the current segment and maps the next one.
+	* A segment is at least large enough to hold the given entry.
+	*/
+	private void nextSegment(int entryLength) throws IOException {
+		closeSegment();
+		Files.createDirectories(dir);
+		if (segmentIndex == UNKNOWN_SEGMENT_INDEX) {
+			segmentIndex = countSegments();
+		}
+		Path file = dir.resolve(String.format(SEGMENT_FORMAT, segmentIndex++));
+		channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, entryLength));
+	}
+
+	private int countSegments() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return (int) files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).count();
+		}
+	}
+
+	/**
+	* This method replaces the snapshot of the game with the given encoded snapshot.
+	*
+	* @param  snapshot  the encoded snapshot.
+	*/
+	void writeSnapshot(byte[] snapshot) {
+		try {
+			Files.createDirectories(dir);
+			Path tempFile = dir.resolve(SNAPSHOT_TEMP_FILE);
+			Files.write(tempFile, snapshot);
+			Files.move(tempFile, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.error("failed writing the snapshot to " + dir);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	* This method forces the current segment to the disk, in case it was written to since it was last forced.
+	*/
+	void force() {
+		if (segment != null && isDirty) {
+			segment.force();
+			isDirty = false;
+		}
+	}
+
+	private void closeSegment() throws IOException {
+		if (segment != null) {
+			segment.force();
+			isDirty = false;
+			channel.close();
+			segment = null;
+			channel = null;
+		}
+	}
+
+	/**
+	* This method moves the journal directory into the given archive directory,
+	* or deletes the journal in case there is no archive directory. It is called once the journal is closed.
+	*
+	* @param  archiveDir  the directory the journal is moved to, or null to delete the journal.
+	*/
+	void archive(Path archiveDir) {
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		try {
+			if (archiveDir != null) {
+				Files.createDirectories(archiveDir);
+				Files.move(dir, archiveDir.resolve(dir.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+			}
+			else {
+				try (Stream<Path> files = Files.list(dir)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						Files.delete(file);
+					}
+				}
+				Files.delete(dir);
+			}
+		} catch (IOException e) {
+			logger.error("failed archiving the journal in " + dir);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	* This method forces the written data to the disk, and closes the current segment.
+	*/
+	void close() {
+		try {
+			closeSegment();
+		} catch (IOException e) {
+			logger.error("failed closing the journal in " + dir);
+			e.printStackTrace();
+		}
+	}
+
+}
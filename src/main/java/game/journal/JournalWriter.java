@@ -0,0 +1,146 @@
+package game.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class writes the journals of all the games to their segment files.
+*
+* The journal writer runs a single background thread, the flusher.
+* The games hand their filled buffers to the writer, and keep running while the flusher copies
+* the buffers to the memory mapped segments, thus the game thread never waits for the disk.
+* The buffers of a single game are written in the order they were handed.
+*
+* Durability: a journal entry reaches the memory mapped segment once its batch of events is handled and the flusher wrote it,
+* from then on it survives a crash of the server process, since the mapped pages belong to the operating system.
+* The segments written to since the previous force are forced to the disk every force interval, and once a segment is full or closed,
+* thus a crash of the machine loses up to the force interval of entries. A force interval of 0 forces on rollover and close only.
+*
+* Once a game is over, its journal is moved to the archive directory, or deleted if there is none,
+* thus the journals directory holds only the journals of the running games, the ones restored on startup.
+*
+* @author      Keren Solomon
+*/
+public class JournalWriter {
+	private static final Logger logger = LogManager.getLogger(JournalWriter.class);
+	private static final String FLUSHER_THREAD_NAME = "journal-flusher";
+
+	private Path journalsDir;
+	private Path archiveDir;
+	private int segmentSize;
+	private int snapshotInterval;
+	private ScheduledExecutorService flusher;
+	private Set<JournalSegments> openSegments;
+
+	/**
+	 * Creates a JournalWriter to write the games journals.
+	 *
+	 * @param journalsDir    	the directory the journals are written to, a directory per game.
+	 * @param archiveDir    	the directory the journals of finished games are moved to, null to delete them.
+	 * @param segmentSize    	the size in bytes of a single segment file.
+	 * @param snapshotInterval  the number of client requests between two snapshots of a game.
+	 * @param forceInterval  	the interval in milliseconds the written segments are forced to the disk in, 0 to force on rollover and close only.
+	 */
+	public JournalWriter(Path journalsDir, Path archiveDir, int segmentSize, int snapshotInterval, int forceInterval) {
+		logger.info("writing games journals to " + journalsDir + (archiveDir != null ? ", archiving to " + archiveDir : ""));
+		this.journalsDir = journalsDir;
+		this.archiveDir = archiveDir;
+		this.segmentSize = segmentSize;
+		this.snapshotInterval = snapshotInterval;
+		this.openSegments = new HashSet<>();
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, FLUSHER_THREAD_NAME);
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (forceInterval > 0) {
+			flusher.scheduleWithFixedDelay(this::forceSegments, forceInterval, forceInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	* This method forces the segments written to since the previous force to the disk, it is run by the flusher thread.
+	*/
+	private void forceSegments() {
+		openSegments.forEach(JournalSegments::force);
+	}
+
+	public Path getJournalsDir() {
+		return journalsDir;
+	}
+
+	public int getSnapshotInterval() {
+		return snapshotInterval;
+	}
+
+	/**
+	* This method returns the segments of the journal of the given game.
+	* No file is created until data is written.
+	*
+	* @param  gameId  			the id of the game.
+	* @return JournalSegments  	the segments of the game journal.
+	*/
+	JournalSegments openSegments(String gameId) {
+		return new JournalSegments(journalsDir.resolve(gameId), segmentSize);
+	}
+
+	/**
+	* This method hands a filled buffer to the flusher thread, to be written to the given segments.
+	* Once written, the buffer is passed to the given recycle function, so it can be used again.
+	*
+	* @param  segments  the segments of the game journal.
+	* @param  data  	the buffer holding the encoded entries, ready to be read.
+	* @param  recycle  	the function called with the buffer once written.
+	*/
+	void write(JournalSegments segments, ByteBuffer data, Consumer<ByteBuffer> recycle) {
+		flusher.execute(() -> {
+			segments.append(data);
+			openSegments.add(segments);
+			recycle.accept(data);
+		});
+	}
+
+	/**
+	* This method hands a snapshot of a game to the flusher thread, to be encoded and written next to the game journal.
+	*
+	* @param  segments  the segments of the game journal.
+	* @param  snapshot  the snapshot of the game.
+	*/
+	void writeSnapshot(JournalSegments segments, GameSnapshot snapshot) {
+		flusher.execute(() -> segments.writeSnapshot(snapshot.encode()));
+	}
+
+	/**
+	* This method closes the given segments of a game that is over, once all the buffers handed before are written,
+	* and then archives the journal of the game.
+	*
+	* @param  segments  the segments of the game journal.
+	*/
+	void close(JournalSegments segments) {
+		flusher.execute(() -> {
+			openSegments.remove(segments);
+			segments.close();
+			segments.archive(archiveDir);
+		});
+	}
+
+	/**
+	* This method archives the journal of a game that is over, found in the journals directory on startup,
+	* such as a journal of a game that was over before the journals were archived.
+	*
+	* @param  journalDir  the directory of the game journal.
+	*/
+	public void archive(Path journalDir) {
+		flusher.execute(() -> new JournalSegments(journalDir, segmentSize).archive(archiveDir));
+	}
+
+}
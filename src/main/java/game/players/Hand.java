@@ -0,0 +1,192 @@
+package game.players;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import card.AbstractCard;
+
+/**
+* This class represents the hand of a player, the cards the player holds.
+*
+* The IDs of the cards are kept in an array, in the first size places, along with the cards themselves in a matching array.
+* The position of each card in the arrays is kept in an index array, indexed by the card id,
+* thus finding and removing a card takes a constant time: the last card of the hand is moved to the place of the removed card.
+* Therefore the order of the cards in the hand is the order they were added in, until a card is removed.
+*
+* The arrays grow when needed, and are never shrunk, a hand that was filled once does not allocate memory again.
+* The class is not thread safe, it is only accessed by the game executor of its game.
+*
+* @author      Keren Solomon
+*/
+public class Hand {
+	private static final int INITIAL_CAPACITY = 8;
+	private static final int NOT_IN_HAND = -1;
+
+	private int[] cardsIds;
+	private AbstractCard[] cards;
+	private int[] positions;
+	private int size;
+
+	/**
+	 * Creates an empty Hand.
+	 */
+	public Hand() {
+		cardsIds = new int[INITIAL_CAPACITY];
+		cards = new AbstractCard[INITIAL_CAPACITY];
+		positions = new int[0];
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	* This method checks whether the card with the given id is in the hand.
+	*
+	* @param  cardId    the id of the card.
+	* @return Boolean	true if the card is in the hand, otherwise false.
+	*/
+	public Boolean contains(int cardId) {
+		return getPosition(cardId) != NOT_IN_HAND;
+	}
+
+	/**
+	* This method gets the card in the given position of the hand.
+	*
+	* @param  index    		the position of the card, between 0 and the size of the hand.
+	* @return AbstractCard	the card in the given position.
+	*/
+	public AbstractCard getCard(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index + ", hand size " + size);
+		}
+		return cards[index];
+	}
+
+	/**
+	* This method adds a card at the end of the hand, the card is not added if it is already in the hand.
+	*
+	* @param  card    	the card to add.
+	* @return Boolean	true if the card was added, false if it is already in the hand.
+	*/
+	public Boolean add(AbstractCard card) {
+		int cardId = card.getId();
+		if (contains(cardId)) {
+			return false;
+		}
+		if (size == cardsIds.length) {
+			cardsIds = Arrays.copyOf(cardsIds, size * 2);
+			cards = Arrays.copyOf(cards, size * 2);
+		}
+		if (cardId >= positions.length) {
+			int length = positions.length;
+			positions = Arrays.copyOf(positions, Math.max(cardId + 1, length * 2));
+			Arrays.fill(positions, length, positions.length, NOT_IN_HAND);
+		}
+		cardsIds[size] = cardId;
+		cards[size] = card;
+		positions[cardId] = size++;
+		return true;
+	}
+
+	/**
+	* This method removes the card with the given id from the hand,
+	* the last card of the hand takes the place of the removed card.
+	*
+	* @param  cardId    the id of the card to remove.
+	* @return Boolean	true if the card was removed, false if it is not in the hand.
+	*/
+	public Boolean remove(int cardId) {
+		int position = getPosition(cardId);
+		if (position == NOT_IN_HAND) {
+			return false;
+		}
+		int last = --size;
+		if (position != last) {
+			cardsIds[position] = cardsIds[last];
+			cards[position] = cards[last];
+			positions[cardsIds[position]] = position;
+		}
+		cards[last] = null;
+		positions[cardId] = NOT_IN_HAND;
+		return true;
+	}
+
+	/**
+	* This method removes all the cards from the hand, except of the card with the given id,
+	* and fills the given array with the removed cards.
+	* It is the batch form of the remove method, the caller notifies the change of the hand once for all the removed cards.
+	*
+	* @param  cardId    	the id of the card to keep.
+	* @param  removed    	the array to fill with the removed cards, it must hold at least the size of the hand.
+	* @return int			the number of removed cards written to the array.
+	*/
+	public int removeAllExcept(int cardId, AbstractCard[] removed) {
+		int numOfRemoved = 0;
+		int keptPosition = NOT_IN_HAND;
+		for (int index = 0; index < size; index++) {
+			if (cardsIds[index] == cardId) {
+				keptPosition = index;
+			}
+			else {
+				removed[numOfRemoved++] = cards[index];
+				positions[cardsIds[index]] = NOT_IN_HAND;
+			}
+		}
+		int newSize = 0;
+		if (keptPosition != NOT_IN_HAND) {
+			cardsIds[0] = cardId;
+			cards[0] = cards[keptPosition];
+			positions[cardId] = 0;
+			newSize = 1;
+		}
+		Arrays.fill(cards, newSize, size, null);
+		size = newSize;
+		return numOfRemoved;
+	}
+
+	/**
+	* This method replaces the cards of the hand with the given cards, in the given order.
+	* It is used to restore a game from a snapshot.
+	*
+	* @param  restoredCards    the cards of the hand.
+	*/
+	public void restore(List<AbstractCard> restoredCards) {
+		clear();
+		for (AbstractCard card : restoredCards) {
+			add(card);
+		}
+	}
+
+	/**
+	* This method returns the IDs of the cards in the hand, in the hand order.
+	*
+	* @return int[]	a copy of the IDs of the cards.
+	*/
+	public int[] getCardsIds() {
+		return Arrays.copyOf(cardsIds, size);
+	}
+
+	/**
+	* This method returns the cards in the hand, in the hand order.
+	*
+	* @return List<AbstractCard>	an immutable copy of the cards.
+	*/
+	public List<AbstractCard> getCards() {
+		return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(cards, size)));
+	}
+
+	private void clear() {
+		for (int index = 0; index < size; index++) {
+			positions[cardsIds[index]] = NOT_IN_HAND;
+		}
+		Arrays.fill(cards, 0, size, null);
+		size = 0;
+	}
+
+	private int getPosition(int cardId) {
+		return (cardId >= 0 && cardId < positions.length) ? positions[cardId] : NOT_IN_HAND;
+	}
+}
@@ -1,16 +1,13 @@
 package game.players;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import card.AbstractCard;
-import card.types.AbstractPlayableCard;
 import card.types.AbstractValueableCard;
 import eventnotifications.IPlayerNotifications;
-import game.GameManager;
 
 /**
 * This class represents a player in the game.
@@ -23,7 +20,8 @@ import game.GameManager;
 * <li>img - represents the player image.
 * <li>score - this int value holds the score of the player during the game.
 * <li>isActive - this boolean represents the status of the player in the game.
-* <li>hand - a list of cards that represents the player hand.
+* <li>seat - this int value is the seat of the player, given by the players manager when the player joins the game.
+* <li>hand - the cards the player holds, kept as an array of the cards IDs, with a constant time removal.
 * </ul>
 * 
 * Each player is created with an id, name and image values, and it is not changeable.
@@ -39,8 +37,9 @@ public class Player {
 	private final String img;
 	private Boolean isActive;
 	private int score;
+	private int seat;
 	
-	private List<AbstractCard> hand;
+	private Hand hand;
 	private IPlayerNotifications playerNotifications;
 	
 	/**
@@ -48,7 +47,7 @@ public class Player {
 	 * The Player class is created with a player id, a name and an image.
 	 * 
 	 * The player status is set to 'active', the score is initiated to 0,
-	 * and the hand list is initiated as an empty list.
+	 * and the hand is initiated as an empty hand.
 	 * 
 	 * @param playerId    the string represents the player's id.
 	 * @param name    	  the string represents the player's name.
@@ -61,15 +60,30 @@ public class Player {
 		
 		isActive = true;
 		score = 0;
-		hand = new ArrayList<AbstractCard>();
+		hand = new Hand();
 	}
 	
 	/**
-	* This method registers the game manager as a callback handler to this player events.
+	* This method registers the game handler as a callback handler to this player events.
     * 
+	* @param   playerNotifications    	the handler of the events of the players in the game.
 	*/
-	public void registerCallback () {
-    	this.playerNotifications = GameManager.getInstance();
+	/**
+	 * This method restores the state of the player from a snapshot of the game.
+	 * No event is triggered, since the clients are updated once they reconnect.
+	 * 
+	 * @param active  	whether the player is still playing.
+	 * @param score  	the score of the player.
+	 * @param cards  	the cards in the player's hand.
+	 */
+	public void restoreState(Boolean active, int score, List<AbstractCard> cards) {
+		this.isActive = active;
+		this.score = score;
+		this.hand.restore(cards);
+	}
+	
+	public void registerCallback (IPlayerNotifications playerNotifications) {
+    	this.playerNotifications = playerNotifications;
     }
 	
 	/**
@@ -85,13 +99,14 @@ public class Player {
 	
 	/**
 	* This method removes a card from the player's hand.
-	* then, notify the client with the new removed card.
+	* then, notify the client with the new removed card, in case it was in the hand.
     * 
 	* @param   card    	the card to be removed from hand.
 	*/
 	public void removeCardFromPlayerHand(AbstractCard card) {
-		hand.remove(card);
-		notifyPlayerEventRemoveCard(card);
+		if (hand.remove(card.getId())) {
+			notifyPlayerEventRemoveCard(card);
+		}
 	}
 	
 	/**
@@ -122,11 +137,21 @@ public class Player {
 	
 	/**
 	* This method returns the player's hand list of cards.
+	* The list is an immutable copy, it is used to send the full state of the player.
     * 
 	* @return  List<AbstractCard> that represents the player's hand cards.
 	*/
 	public List<AbstractCard> getHand() {
-		return hand;
+		return hand.getCards();
+	}
+	
+	/**
+	* This method returns the IDs of the cards in the player's hand, in the hand order.
+    * 
+	* @return  int[] the IDs of the player's hand cards.
+	*/
+	public int[] getHandCardsIds() {
+		return hand.getCardsIds();
 	}
 	
 	/**
@@ -165,6 +190,19 @@ public class Player {
 		return hand.size();
 	}
 
+	/**
+	* This method returns the seat of the player, given by the players manager when the player joined the game.
+    * 
+	* @return  int	the seat of the player.
+	*/
+	public int getSeat() {
+		return seat;
+	}
+	
+	void setSeat(int seat) {
+		this.seat = seat;
+	}
+
 	/**
 	* This method returns the player's status.
     * 
@@ -192,49 +230,31 @@ public class Player {
 		return img;
 	}
 
-	/**
-	* This method is a helper method for the removeAllExceptFlyingSheepCards method.
-	* It is responsible for removing all the cards from player's hand, except of 
-	* the cards which are of type 'flying sheep' cards.
-	* 
-	* This method is is called recursively until the only card remained in the player's hand
-	* is the flying sheep defense card.
-	* 
-	* @param   cardId    	the int represents the index of the defense card.
-	* @param   index    	the int represents the running index of the checked card.
-	*/
-	private void removeAllExceptFlyingSheepCardsHelper(int cardId, int index) {
-		if (hand.size() == 1) {
-			return;
-		}
-		
-		if (hand.get(index).getId() == cardId) {
-			removeAllExceptFlyingSheepCardsHelper(cardId, index+1);
-		}
-		else {
-			AbstractCard c = hand.get(index);
-			((AbstractPlayableCard) c).setCardUsed(this);
-			removeCardFromPlayerHand(c);
-			if (c instanceof AbstractValueableCard) {
-				dropPointsFromPlayerScore(((AbstractValueableCard) c).getPoints());
-			}
-			removeAllExceptFlyingSheepCardsHelper(cardId, index);
-		}
-	}
-	
 	/**
 	* This method is responsible for removing all the cards from player's hand, except of 
-	* the cards which are of type 'flying sheep' cards.
+	* the flying sheep defense card.
 	* 
 	* This method is called when the player got a nature disaster card from deck, and
 	* used the flying sheep card to defend himself.
 	* 
-	* This method is calling a helper method - removeAllExceptFlyingSheepCardsHelper.
+	* The cards are removed from the hand at once, the points of the removed valueable cards are dropped from the score,
+	* and a single event is triggered with all the removed cards and the new score.
     * 
-	* @param   cardId    	the int represents the index of the defense card.
+	* @param   cardId    	the int represents the id of the defense card.
 	*/
 	public void removeAllExceptFlyingSheeps(int cardId) {
-		removeAllExceptFlyingSheepCardsHelper(cardId, 0);
+		AbstractCard[] removed = new AbstractCard[hand.size()];
+		int numOfRemoved = hand.removeAllExcept(cardId, removed);
+		int[] removedIds = new int[numOfRemoved];
+		for (int i = 0; i < numOfRemoved; i++) {
+			removedIds[i] = removed[i].getId();
+			if (removed[i] instanceof AbstractValueableCard) {
+				score -= ((AbstractValueableCard) removed[i]).getPoints();
+			}
+		}
+		if (numOfRemoved > 0) {
+			notifyPlayerEventHandChanged(removedIds, score);
+		}
 	}
 
 	/**
@@ -244,7 +264,7 @@ public class Player {
 	* @return  AbstractCard that represents the card in the given index.
 	*/
 	public AbstractCard getCardInIndex(int index) {
-		return hand.get(index);
+		return hand.getCard(index);
 	}
 	
 	/**
@@ -277,6 +297,22 @@ public class Player {
     	}
     }
     
+    /**
+	* This method is responsible for triggering the event in case a few cards were removed at once
+	* from the player's hand.
+    * 
+	* @param   removedIds    	the IDs of the removed cards.
+	* @param   points    		the int represents the updated number of points.
+	*/
+    private void notifyPlayerEventHandChanged(int[] removedIds, int points) {
+    	if (playerNotifications != null) {
+    		playerNotifications.playerHandChanged(playerId, removedIds, points);
+    	}
+    	else {
+    		logger.error("callback is null");
+    	}
+    }
+    
     /**
 	* This method is responsible for triggering the event in case that the player's score is updated.
     * 
@@ -1,27 +1,46 @@
 package game.players;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiPredicate;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import clientservershared.PlayerModel;
+import eventnotifications.IPlayerNotifications;
 
 /**
 * This class is responsible for managing the Game players.
-* The class maintain a HashMap with the players as the values, mapped by their IDs.
+*
+* Each player gets a seat once joining the game, the seats are numbered in the order the players joined.
+* The class maintain an array with the players indexed by their seats, and a bit mask of the seats of the active players,
+* thus including or excluding players from a query is a bit operation on the mask.
+* The players are also mapped by their IDs, to find the player of a client request.
+*
+* The lists of the players returned by this class are immutable, they are kept between the calls,
+* and are rebuilt only when a player joins the game or stops being active.
 * 
 * This class suggest a set of APIs, players related, used by the Game class.
 * 
 * @author      Keren Solomon
 */
 public class PlayersManager {
+	private static final int MAX_SEATS = Long.SIZE;
+
     private Map<String,Player> idToPlayersMap;
+    private Player[] seats;
+    private int numOfSeats;
+    private long activeMask;
 	private int numOfPlayers;
     private int numOfActivePlayers;
+
+    private List<Player> players;
+    private List<String> playersIds;
+    private List<Player> activePlayers;
+    private long activePlayersMask;
+    private List<List<String>> activeIdsByExcludedSeat;
+    private long activeIdsMask;
     
     /**
 	 * Creates a PlayersManager to handle the players in the game.
@@ -31,14 +50,22 @@ public class PlayersManager {
     	numOfPlayers = 0;
         numOfActivePlayers = 0;
         idToPlayersMap = new HashMap<>();
+        seats = new Player[0];
+        numOfSeats = 0;
+        activeMask = 0;
+        activeIdsByExcludedSeat = Collections.emptyList();
+        updateSeatsLists();
 	}
     
     /**
-	* This method registers the game manager as a callback handler to all the players events.
+	* This method registers the game handler as a callback handler to all the players events.
     * 
+	* @param   playerNotifications    	the handler of the events of the players in the game.
 	*/
-    public void registerPlayerNotifications() {
-    	idToPlayersMap.values().forEach(player -> player.registerCallback());
+    public void registerPlayerNotifications(IPlayerNotifications playerNotifications) {
+    	for (int seat = 0; seat < numOfSeats; seat++) {
+    		seats[seat].registerCallback(playerNotifications);
+    	}
 	}
     
     /**
@@ -51,12 +78,18 @@ public class PlayersManager {
 	}
 	
 	/**
-	* This method decreases the number of the active players in the game.
-	* It is called when a player loses the game.
+	* This method marks the given player as not active, and decreases the number of the active players in the game.
+	* It is called when a player loses the game, or when a game with a player that lost is restored.
     * 
+	* @param player    the player that is not active anymore.
 	*/
-	public void decreaseNumOfActivePlayers() {
-		this.numOfActivePlayers--;
+	public void setPlayerNotActive(Player player) {
+		player.setActive(false);
+		long seatBit = 1L << player.getSeat();
+		if ((activeMask & seatBit) != 0) {
+			activeMask &= ~seatBit;
+			numOfActivePlayers--;
+		}
 	}
 
 	/**
@@ -65,8 +98,18 @@ public class PlayersManager {
     * 
 	* @param numOfPlayers    the int represents the number of players.
 	*/
+	public int getNumOfPlayers() {
+		return numOfPlayers;
+	}
+	
 	public void setNumOfPlayers(int numOfPlayers) {
+		if (numOfPlayers > MAX_SEATS) {
+			throw new IllegalArgumentException("a game can have at most " + MAX_SEATS + " players: " + numOfPlayers);
+		}
 		this.numOfPlayers = numOfPlayers;
+		if (seats.length < numOfPlayers) {
+			seats = Arrays.copyOf(seats, numOfPlayers);
+		}
 	}
 	
 	/**
@@ -90,93 +133,103 @@ public class PlayersManager {
 	}
 	
 	/**
-	* This method gets a list of the players in the game.
+	* This method gets a list of the players in the game, ordered by their seats.
     * 
 	* @return  List<Player> list that represents the players in the game.
 	*/
 	public List<Player> getPlayers() {
-		return idToPlayersMap.values().stream().toList();
+		return players;
 	}
 	
 	/**
-	* This method gets a list of players IDs.
+	* This method gets a list of players IDs, ordered by the players seats.
     * 
 	* @return  List<String> list that represents the IDs of players in the game.
 	*/
 	public List<String> getPlayersIds() {
-		return idToPlayersMap.values().stream().map(id).toList();
+		return playersIds;
 	}
 	
 	/**
 	* This method gets a list of the active players in the game.
+	* The list is rebuilt only if a player stopped being active since the previous call.
     * 
 	* @return  List<Player> list that represents the active players in the game.
 	*/
 	public List<Player> getActivePlayers() {
-		return idToPlayersMap.values()
-				.stream()
-				.filter(isActive)
-				.collect(Collectors.toList());
-    }
-	
-	/**
-	* This method gets a list of the active players IDs.
-    * 
-	* @return  List<String> list that represents the IDs of the active players in the game.
-	*/
-	public List<String> getActivePlayersIds() {
-		return idToPlayersMap.values()
-				.stream()
-				.filter(isActive)
-				.map(id)
-				.collect(Collectors.toList());
+		if (activePlayersMask != activeMask) {
+			List<Player> list = new ArrayList<>(Long.bitCount(activeMask));
+			for (long mask = activeMask; mask != 0; mask &= mask - 1) {
+				list.add(seats[Long.numberOfTrailingZeros(mask)]);
+			}
+			activePlayers = Collections.unmodifiableList(list);
+			activePlayersMask = activeMask;
+		}
+		return activePlayers;
     }
 	
 	/**
 	* This method gets a list of the active players IDs, except of the id of the given player.
-	* This is used when the server needs to send an attack message to clients,
-	* except of the attacker / victim client.
+	* This is used when the server asks the attacker to pick the victim of the attack.
+	* The lists are kept per excluded seat, and are rebuilt only if a player joined or stopped being active since they were built.
     * 
     * @param playerId    the player id to exclude from the list.
-	* @return  List<String> list that represents the IDs of the active players in the game.
+	* @return  List<String> immutable list that represents the IDs of the active players in the game.
 	*/
 	public List<String> getActivePlayersIds(String playerId) {
-		Predicate<Player> includedAndActive = isActive
-				.and(player -> included.test(player, playerId));
-		
-		return idToPlayersMap.values()
-				.stream()
-				.filter(includedAndActive)
-				.map(id)
-				.collect(Collectors.toList());
+		if (activeIdsMask != activeMask || activeIdsByExcludedSeat.size() != numOfSeats + 1) {
+			activeIdsByExcludedSeat = new ArrayList<>(Collections.nCopies(numOfSeats + 1, null));
+			activeIdsMask = activeMask;
+		}
+		Player excluded = playerId == null ? null : idToPlayersMap.get(playerId);
+		int index = excluded == null ? numOfSeats : excluded.getSeat();
+		List<String> ids = activeIdsByExcludedSeat.get(index);
+		if (ids == null) {
+			long mask = activeMask & ~getSeatBit(playerId);
+			String[] activeIds = new String[Long.bitCount(mask)];
+			for (int i = 0; mask != 0; mask &= mask - 1) {
+				activeIds[i++] = seats[Long.numberOfTrailingZeros(mask)].getId();
+			}
+			ids = Collections.unmodifiableList(Arrays.asList(activeIds));
+			activeIdsByExcludedSeat.set(index, ids);
+		}
+		return ids;
     }
 	
 	/**
-	* This method gets a list of the active players IDs, except of the IDs of the given players.
-	* This is used when the server needs to send an attack message to clients,
-	* except of both the attacker and victim clients.
+	* This method fills the given array with the active players IDs, except of the IDs of the given players.
+	* This is used to route an attack message to its receivers,
+	* without creating a new list per each message.
     * 
-    * @param playerA    the player A id to exclude from the list.
-    * @param playerB    the player B id to exclude from the list.
-	* @return  List<String> list that represents the IDs of the active players in the game.
+    * @param ids    	the array to fill, it must hold at least the number of players in the game.
+    * @param playerA    the player A id to exclude, or null.
+    * @param playerB    the player B id to exclude, or null.
+	* @return  int  	the number of IDs written to the array.
 	*/
-	public List<String> getActivePlayersIds(String playerA, String playerB) {
-		Predicate<Player> includedAndActive = isActive
-				.and(player -> included.test(player, playerA))
-				.and(player -> included.test(player, playerB));
-		
-		return idToPlayersMap.values()
-				.stream()
-				.filter(includedAndActive)
-				.map(id)
-				.collect(Collectors.toList());
+	public int fillActivePlayersIds(String[] ids, String playerA, String playerB) {
+		int numOfIds = 0;
+		for (long mask = activeMask & ~(getSeatBit(playerA) | getSeatBit(playerB)); mask != 0; mask &= mask - 1) {
+			ids[numOfIds++] = seats[Long.numberOfTrailingZeros(mask)].getId();
+		}
+		return numOfIds;
     }
 	
+	/**
+	* This method returns the bit of the seat of the given player in the seats masks.
+    *
+    * @param playerId    the player id, or null.
+	* @return  long  	the bit of the player seat, or 0 if there is no such player.
+	*/
+	private long getSeatBit(String playerId) {
+		Player player = playerId == null ? null : idToPlayersMap.get(playerId);
+		return player == null ? 0 : 1L << player.getSeat();
+	}
+
 	/**
 	* This function tries to add a new player:
 	* the player is added only if the number of active players is less than
 	* the number of players allowed in this game.
-	* in this case - add the player to the players hashmap,
+	* in this case - the player takes the next seat, and is added to the players hashmap,
 	* player id as a key, and the player as a related value.
 	*
 	* @param playerId  	the string represents the player id.
@@ -186,7 +239,7 @@ public class PlayersManager {
 	* @return  true|false	true if the player added, otherwise false.
 	*/
 	public Boolean addActivePlayer(String playerId, String name, String img) {
-    	if (numOfActivePlayers < numOfPlayers) {
+    	if (numOfActivePlayers < numOfPlayers && numOfSeats < numOfPlayers) {
     		numOfActivePlayers++;
     		addPlayer(new Player(playerId, name, img));
     		return true;
@@ -195,12 +248,31 @@ public class PlayersManager {
     }
 	
 	/**
-	* This method adds a new player to the game list of players.
+	* This method adds a new player to the game list of players, in the next free seat.
     * 
     * @param player    the new player to add.
 	*/
 	private void addPlayer(Player player) {
+		int seat = numOfSeats++;
+		player.setSeat(seat);
+		seats[seat] = player;
+		activeMask |= 1L << seat;
 		idToPlayersMap.put(player.getId(), player);
+		updateSeatsLists();
+	}
+
+	/**
+	* This method rebuilds the immutable lists of the seated players, it is called when a player joins the game.
+	*/
+	private void updateSeatsLists() {
+		List<Player> seated = Arrays.asList(Arrays.copyOf(seats, numOfSeats));
+		String[] seatedIds = new String[numOfSeats];
+		for (int seat = 0; seat < numOfSeats; seat++) {
+			seatedIds[seat] = seats[seat].getId();
+		}
+		players = Collections.unmodifiableList(seated);
+		playersIds = Collections.unmodifiableList(Arrays.asList(seatedIds));
+		activePlayersMask = ~activeMask;
 	}
 	
 	/**
@@ -226,11 +298,13 @@ public class PlayersManager {
 	* @return  List<PlayerModel>	the list represents the other player in the game and their information.
 	*/
 	public List<PlayerModel> getPlayersModels(String id, String current) {
-		return idToPlayersMap.values()
-				.stream()
-				.filter(player -> id != player.getId())
-				.map(player -> new PlayerModel(player, current))
-				.collect(Collectors.toList());
+		List<PlayerModel> models = new ArrayList<>(numOfSeats);
+		for (int seat = 0; seat < numOfSeats; seat++) {
+			if (!seats[seat].getId().equals(id)) {
+				models.add(new PlayerModel(seats[seat], current));
+			}
+		}
+		return models;
 	}
 
 	/**
@@ -251,22 +325,4 @@ public class PlayersManager {
 		return new PlayerModel(idToPlayersMap.get(playerId), current);
 	}
 	
-	/**
-	* A Predicate that indicates if a player is active.
-	* 
-	*/
-	static Predicate<Player> isActive = player -> player.isActive();
-	
-	/**
-	* A Function that gets a player and returns it's id.
-	* 
-	*/
-	static Function<Player,String> id = player -> player.getId();
-	
-	/**
-	* A BiPredicate that gets a player and an id, and indicates if the player's id equals the given id.
-	* 
-	*/
-	static BiPredicate<Player, String> included = (player, excludeId) -> player.getId() != excludeId;
-	
 }
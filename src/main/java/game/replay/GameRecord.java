@@ -0,0 +1,148 @@
+package game.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import game.journal.GameJournal;
+import game.journal.JournalEntry;
+import game.journal.JournalEventType;
+import game.journal.JournalReader;
+
+/**
+* This class represents the record of a single game, as read from the game journal.
+* Since all the randomness of a game is drawn from the game random generator,
+* the seed of the game, its password and the ordered list of the client requests are enough to play the game again.
+* The session tokens given to the players are kept as well, so the players can resume their sessions in a restored game.
+* The record holds the version of the game rules the game was played by, a game of older rules may not play the same again.
+*
+* @author      Keren Solomon
+*/
+public class GameRecord {
+	private String gameId;
+	private long seed;
+	private int rulesVersion;
+	private String password;
+	private List<JournalEntry> requests;
+	private Map<String,String> sessionTokens;
+
+	public GameRecord(String gameId, long seed) {
+		this.gameId = gameId;
+		this.seed = seed;
+		this.rulesVersion = GameJournal.FIRST_RULES_VERSION;
+		this.requests = new ArrayList<>();
+		this.sessionTokens = new HashMap<>();
+	}
+
+	public String getGameId() {
+		return gameId;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getRulesVersion() {
+		return rulesVersion;
+	}
+
+	public void setRulesVersion(int rulesVersion) {
+		this.rulesVersion = rulesVersion;
+	}
+
+	/**
+	* This method checks whether the game was played by the current game rules,
+	* a game played by older rules may play differently once replayed, such as with different scores.
+	*
+	* @return Boolean  true if the game was recorded with the current rules version, otherwise false.
+	*/
+	public Boolean isCurrentRules() {
+		return rulesVersion == GameJournal.RULES_VERSION;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public void addRequest(JournalEntry request) {
+		requests.add(request);
+	}
+
+	public List<JournalEntry> getRequests() {
+		return Collections.unmodifiableList(requests);
+	}
+
+	public void addSessionToken(String clientId, String token) {
+		sessionTokens.put(clientId, token);
+	}
+
+	public Map<String,String> getSessionTokens() {
+		return Collections.unmodifiableMap(sessionTokens);
+	}
+
+	/**
+	* This method returns the ids of all the clients that sent requests in the game,
+	* in the order of their first request.
+	*
+	* @return Set<String>  the clients ids.
+	*/
+	public Set<String> getClientsIds() {
+		Set<String> clientsIds = new LinkedHashSet<>();
+		for (JournalEntry request : requests) {
+			clientsIds.add(request.getString(0));
+		}
+		return clientsIds;
+	}
+
+	/**
+	* This method reads the record of a game from its journal.
+	*
+	* @param  journalDir  	the directory of the game journal.
+	* @return GameRecord  	the record of the game.
+	* @throws       		IOException if the journal could not be read, or it does not start with the game creation.
+	*/
+	public static GameRecord readFrom(Path journalDir) throws IOException {
+		return fromEntries(JournalReader.read(journalDir), journalDir);
+	}
+
+	/**
+	* This method builds the record of a game from the entries of its journal.
+	*
+	* @param  entries  		the entries of the game journal.
+	* @param  journalDir  	the directory of the game journal.
+	* @return GameRecord  	the record of the game.
+	* @throws       		IOException if the journal does not start with the game creation.
+	*/
+	static GameRecord fromEntries(List<JournalEntry> entries, Path journalDir) throws IOException {
+		if (entries.isEmpty() || entries.get(0).getType() != JournalEventType.GAME_CREATED) {
+			throw new IOException("journal in " + journalDir + " does not start with the game creation");
+		}
+		GameRecord record = new GameRecord(entries.get(0).getString(0), entries.get(0).getLong(1));
+		for (JournalEntry entry : entries) {
+			if (entry.getType() == JournalEventType.GAME_RULES) {
+				record.setRulesVersion(entry.getInt(0));
+			}
+			else if (entry.getType() == JournalEventType.GAME_PASSWORD) {
+				record.setPassword(entry.getString(0));
+			}
+			else if (entry.getType() == JournalEventType.SESSION_OPENED) {
+				record.addSessionToken(entry.getString(0), entry.getString(1));
+			}
+			else if (entry.getType().isClientRequest()) {
+				record.addRequest(entry);
+			}
+		}
+		return record;
+	}
+
+}
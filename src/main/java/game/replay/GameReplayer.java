@@ -0,0 +1,131 @@
+package game.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import card.catalog.CardsCatalog;
+import clientservershared.PickedCards;
+import game.GameHandler;
+import game.GameRegistry;
+import game.journal.GameJournal;
+import game.journal.JournalEntry;
+import game.timers.GameTimerType;
+import serverConnections.SocketHandler;
+
+/**
+* This class replays a recorded game offline, with no connections and no database access.
+*
+* The game is created with the recorded game id and seed, and is registered with the recorded password and session tokens,
+* then each recorded request is handled by the game, in the recorded order, on the calling thread.
+* A game played by older game rules is replayed by the current rules, and is reported, since it may play differently.
+* The messages the game sends to the clients are collected, in the order they are written to each client,
+* so they can be compared with the transcript of an earlier replay of the same game.
+*
+* @author      Keren Solomon
+*/
+public class GameReplayer {
+	private static final Logger logger = LogManager.getLogger(GameReplayer.class);
+
+	private CardsCatalog cardsCatalog;
+
+	/**
+	 * Creates a GameReplayer to replay recorded games.
+	 *
+	 * @param cardsCatalog    	the CardsCatalog the cards of the replayed games are created from.
+	 */
+	public GameReplayer(CardsCatalog cardsCatalog) {
+		this.cardsCatalog = cardsCatalog;
+	}
+
+	/**
+	* This method replays the given game record.
+	*
+	* @param  record  			the record of the game to replay.
+	* @return List<String>  	the messages sent by the game, each prefixed by the id of the receiving client.
+	*/
+	public List<String> replay(GameRecord record) {
+		if (!record.isCurrentRules()) {
+			logger.warn("game " + record.getGameId() + " was played by rules version " + record.getRulesVersion()
+					+ ", it is replayed by rules version " + GameJournal.RULES_VERSION + " and may play differently");
+		}
+		List<String> outputs = new ArrayList<>();
+		SocketHandler socketsHandler = new SocketHandler();
+		for (String clientId : record.getClientsIds()) {
+			socketsHandler.addClient(new ReplayClientHandler(clientId, socketsHandler, outputs));
+		}
+
+		GameHandler gameHandler = new GameHandler(record.getGameId(), socketsHandler, new GameRegistry(), Runnable::run, cardsCatalog, record.getSeed());
+		gameHandler.setRestoredPassword(record.getPassword());
+		gameHandler.setRestoredSessions(record.getSessionTokens());
+
+		for (JournalEntry request : record.getRequests()) {
+			gameHandler.execute(() -> replayRequest(gameHandler, request));
+		}
+		return outputs;
+	}
+
+	/**
+	* This method passes a recorded request to the game, as it was passed by the game manager.
+	* It is used by the game restorer as well, to replay the journal tail of a restored game.
+	*
+	* @param  gameHandler  	the handler of the replayed game.
+	* @param  request  		the journal entry of the request.
+	*/
+	static void replayRequest(GameHandler gameHandler, JournalEntry request) {
+		String clientId = request.getString(0);
+		switch (request.getType()) {
+		case REQ_NEW_GAME:
+			gameHandler.onNewGameRequest(clientId, request.getInt(1));
+			break;
+		case REQ_JOIN_GAME:
+			gameHandler.onJoinGameRequest(clientId, request.getString(1), request.getString(2), request.getString(3));
+			break;
+		case REQ_PICKED_CARDS:
+			gameHandler.onPlayerPickedCards(clientId, new PickedCards(request.getInt(1), request.getInt(2), request.getInt(3)));
+			break;
+		case REQ_ATTACK_PLAYER:
+			gameHandler.onAttackPlayerReq(clientId, request.getString(1));
+			break;
+		case REQ_DEAL_CARD:
+			gameHandler.onDealCardReq(clientId);
+			break;
+		case REQ_LOSE_ATTACK:
+			gameHandler.onPlayerLostAttack(clientId);
+			break;
+		case REQ_TIMER_EXPIRED:
+			gameHandler.timerExpired(GameTimerType.fromCode(request.getInt(1)));
+			break;
+		default:
+			logger.error("journal entry " + request.getSeq() + " is not a client request");
+			break;
+		}
+	}
+
+	/**
+	* This method replays the given game record, and compares the sent messages with the expected messages.
+	*
+	* @param  record  		the record of the game to replay.
+	* @param  expected  	the messages sent by an earlier replay of the game, each prefixed by the id of the receiving client.
+	* @return Boolean  		true if the replayed game sent exactly the expected messages.
+	*/
+	public Boolean verify(GameRecord record, List<String> expected) {
+		List<String> outputs = replay(record);
+		int numOfMsgs = Math.min(outputs.size(), expected.size());
+		for (int i = 0; i < numOfMsgs; i++) {
+			if (!outputs.get(i).equals(expected.get(i))) {
+				logger.error("replay of game " + record.getGameId() + " differs at message " + i
+						+ ", expected: " + expected.get(i) + ", actual: " + outputs.get(i));
+				return false;
+			}
+		}
+		if (outputs.size() != expected.size()) {
+			logger.error("replay of game " + record.getGameId() + " sent " + outputs.size() + " messages, expected " + expected.size());
+			return false;
+		}
+		return true;
+	}
+
+}
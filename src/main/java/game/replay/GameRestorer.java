@@ -0,0 +1,162 @@
+package game.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import card.catalog.CardsCatalog;
+import game.GameHandler;
+import game.GameRegistry;
+import game.journal.GameJournal;
+import game.journal.GameSnapshot;
+import game.journal.JournalEntry;
+import game.journal.JournalEventType;
+import game.journal.JournalReader;
+import game.journal.JournalWriter;
+import game.timers.TimingWheel;
+import serverConnections.SocketHandler;
+
+/**
+* This class restores the games that were running when the application stopped.
+*
+* It is called once when the application starts, before clients are accepted.
+* Each game journal that does not end with the game over is restored:
+* <ul>
+* <li>the game is created with its recorded game id and seed
+* <li>in case a snapshot was taken, the game is restored from the snapshot,
+*     otherwise the game is created again from its first request
+* <li>the requests journaled after the snapshot are replayed
+* <li>the journal of the game is resumed, and the game continues to run
+* <li>the timers that are armed are started again with their full duration
+* </ul>
+* The game is registered with its recorded password, and its players are bound to it with their recorded session tokens,
+* the messages sent while restoring are dropped, since the clients did not reconnect yet.
+* Once a player resumes its session, the full state of the game is sent to the player.
+*
+* @author      Keren Solomon
+*/
+public class GameRestorer {
+	private static final Logger logger = LogManager.getLogger(GameRestorer.class);
+
+	private SocketHandler socketsHandler;
+	private GameRegistry registry;
+	private Executor gamesPool;
+	private TimingWheel timingWheel;
+	private CardsCatalog cardsCatalog;
+	private JournalWriter journalWriter;
+	private int journalBufferSize;
+
+	/**
+	 * Creates a GameRestorer to restore the games journaled by the given journal writer.
+	 *
+	 * @param socketsHandler    	the SocketHandler used to send messages to the players.
+	 * @param registry    			the GameRegistry in which the restored games are registered.
+	 * @param gamesPool    			the shared thread pool on which the game events are run.
+	 * @param timingWheel    		the TimingWheel the timers of the restored games are scheduled on.
+	 * @param cardsCatalog    		the CardsCatalog the cards of the games are created from.
+	 * @param journalWriter    		the JournalWriter that wrote the journals, and writes the resumed journals.
+	 * @param journalBufferSize    	the size in bytes of each of the journal buffers.
+	 */
+	public GameRestorer(SocketHandler socketsHandler, GameRegistry registry, Executor gamesPool, TimingWheel timingWheel, CardsCatalog cardsCatalog,
+			JournalWriter journalWriter, int journalBufferSize) {
+		this.socketsHandler = socketsHandler;
+		this.registry = registry;
+		this.gamesPool = gamesPool;
+		this.timingWheel = timingWheel;
+		this.cardsCatalog = cardsCatalog;
+		this.journalWriter = journalWriter;
+		this.journalBufferSize = journalBufferSize;
+	}
+
+	/**
+	* This method restores all the games found in the journals directory.
+	*
+	* @return int  the number of restored games.
+	*/
+	public int restoreGames() {
+		Path journalsDir = journalWriter.getJournalsDir();
+		if (!Files.isDirectory(journalsDir)) {
+			return 0;
+		}
+		int numOfGames = 0;
+		try (Stream<Path> dirs = Files.list(journalsDir)) {
+			Iterator<Path> journalDirs = dirs.filter(Files::isDirectory).sorted().iterator();
+			while (journalDirs.hasNext()) {
+				if (restoreGame(journalDirs.next())) {
+					numOfGames++;
+				}
+			}
+		} catch (IOException e) {
+			logger.error("failed listing the games journals in " + journalsDir);
+			e.printStackTrace();
+		}
+		logger.info("restored " + numOfGames + " games");
+		return numOfGames;
+	}
+
+	/**
+	* This method restores a single game from its journal directory.
+	* The restore and each of the replayed requests are run by the game executor, as any other event of the game,
+	* thus a request that failed when it was first handled fails alone again, without stopping the restore.
+	*
+	* @param  journalDir  	the directory of the game journal.
+	* @return Boolean  		true if the game is restored, false if the game is over or its journal could not be read.
+	*/
+	private Boolean restoreGame(Path journalDir) {
+		List<JournalEntry> entries;
+		GameRecord record;
+		GameSnapshot snapshot;
+		try {
+			entries = JournalReader.read(journalDir);
+			record = GameRecord.fromEntries(entries, journalDir);
+			snapshot = GameSnapshot.readFrom(journalDir);
+		} catch (IOException e) {
+			logger.error("failed reading the journal in " + journalDir + ", the game is not restored");
+			e.printStackTrace();
+			return false;
+		}
+
+		JournalEntry lastEntry = entries.get(entries.size() - 1);
+		if (lastEntry.getType() == JournalEventType.GAME_OVER) {
+			journalWriter.archive(journalDir);
+			return false;
+		}
+		if (record.getPassword() == null) {
+			return false;
+		}
+
+		if (!record.isCurrentRules()) {
+			logger.warn("game " + record.getGameId() + " was played by rules version " + record.getRulesVersion()
+					+ ", it continues by rules version " + GameJournal.RULES_VERSION);
+		}
+		logger.info("restoring game " + record.getGameId() + (snapshot != null ? " from snapshot" : " from its first request"));
+		GameHandler gameHandler = new GameHandler(record.getGameId(), socketsHandler, registry, gamesPool, cardsCatalog, record.getSeed());
+		gameHandler.setRestoredSessions(record.getSessionTokens());
+		int tailSeq = 0;
+		if (snapshot != null) {
+			gameHandler.execute(() -> gameHandler.restoreSnapshot(snapshot, record.getPassword()));
+			tailSeq = snapshot.getJournalSeq();
+		}
+		else {
+			gameHandler.setRestoredPassword(record.getPassword());
+		}
+
+		for (JournalEntry request : record.getRequests()) {
+			if (request.getSeq() >= tailSeq) {
+				gameHandler.execute(() -> GameReplayer.replayRequest(gameHandler, request));
+			}
+		}
+		gameHandler.execute(() -> gameHandler.setJournal(
+				GameJournal.resume(record.getGameId(), lastEntry.getSeq() + 1, journalWriter, journalBufferSize)));
+		gameHandler.execute(() -> gameHandler.setTimerWheel(timingWheel));
+		return true;
+	}
+
+}
@@ -0,0 +1,50 @@
+package game.replay;
+
+import java.util.List;
+
+import message.EncodedMsg;
+import serverConnections.AbstractClientHandler;
+import serverConnections.OutboundQueue;
+import serverConnections.SocketHandler;
+
+/**
+* This class represents a client of a replayed game.
+* The ReplayClientHandler class has no connection, the messages sent to the client
+* are collected to the given list of outputs, each prefixed by the id of the client.
+*
+* @author      Keren Solomon
+*/
+public class ReplayClientHandler extends AbstractClientHandler {
+	private static final String SEPARATOR = " ";
+
+	private List<String> outputs;
+
+	/**
+	 * Creates a ReplayClientHandler to collect the messages sent to a client of a replayed game.
+	 *
+	 * @param id    			the string represents the id of the recorded client.
+	 * @param socketHandler    	the SocketHandler of the replayed game.
+	 * @param outputs    		the list the messages sent to the client are added to.
+	 */
+	public ReplayClientHandler(String id, SocketHandler socketHandler, List<String> outputs) {
+		super(id, socketHandler);
+		this.outputs = outputs;
+	}
+
+	@Override
+	protected void flush() {
+		OutboundQueue outbound = getOutbound();
+		EncodedMsg msg;
+		int numOfMsgs = 0;
+		while ((msg = outbound.poll()) != null) {
+			outputs.add(getClientId() + SEPARATOR + msg.getJson());
+			numOfMsgs++;
+		}
+		outbound.release(numOfMsgs);
+	}
+
+	@Override
+	public void close() {
+	}
+
+}
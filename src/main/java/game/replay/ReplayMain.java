@@ -0,0 +1,97 @@
+package game.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import card.catalog.CardsCatalog;
+import database.DriverSQL;
+
+/**
+* This class is the entry point of the offline game replay.
+*
+* Usage: ReplayMain <journal directory> [transcript file] [iterations]
+* <ul>
+* <li>journal directory - the directory of the game journal, written when games journaling is enabled.
+* <li>transcript file - the messages sent by the game, one per line, each prefixed by the id of the receiving client.
+*     If the file does not exist, the first replay saves the messages it sends to it, as the golden transcript of the game.
+*     Otherwise the replayed messages are verified against it, and the replay exits with status 1 if they differ.
+* <li>iterations - the number of times the game is replayed, used to measure the replay throughput.
+* </ul>
+*
+* With no transcript file, the messages sent by the replayed game are printed, in the format of the transcript.
+* The cards catalog is loaded once from the database, before the game is replayed.
+*
+* @author      Keren Solomon
+*/
+public class ReplayMain {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("usage: ReplayMain <journal directory> [transcript file] [iterations]");
+			return;
+		}
+		GameRecord record = GameRecord.readFrom(Paths.get(args[0]));
+		Path transcript = null;
+		if (args.length > 1) {
+			transcript = Paths.get(args[1]);
+		}
+		int iterations = 1;
+		if (args.length > 2) {
+			iterations = Integer.parseInt(args[2]);
+		}
+
+		DriverSQL database = new DriverSQL();
+		database.getCardsInfoFromDb();
+		CardsCatalog cardsCatalog = database.getCardsCatalog();
+		GameReplayer replayer = new GameReplayer(cardsCatalog);
+
+		if (transcript == null) {
+			for (String msg : replayer.replay(record)) {
+				System.out.println(msg);
+			}
+		}
+		else if (!checkTranscript(replayer, record, transcript)) {
+			System.out.println("replay differs from the transcript " + transcript);
+			System.exit(1);
+		}
+
+		if (iterations > 1) {
+			measureThroughput(replayer, record, iterations);
+		}
+	}
+
+	/**
+	* This method replays the given game record, and checks the sent messages against the transcript of the game.
+	* If the transcript does not exist yet, the sent messages are saved to it, to verify the next replays against.
+	*
+	* @param  replayer  	the replayer of the game.
+	* @param  record  		the record of the game to replay.
+	* @param  transcript  	the path of the transcript file of the game.
+	* @return Boolean  		true if the transcript is saved, or the replayed game sent exactly the messages of the transcript.
+	*/
+	static Boolean checkTranscript(GameReplayer replayer, GameRecord record, Path transcript) throws IOException {
+		if (Files.exists(transcript)) {
+			List<String> expected = Files.readAllLines(transcript, StandardCharsets.UTF_8);
+			return replayer.verify(record, expected);
+		}
+		Files.write(transcript, replayer.replay(record), StandardCharsets.UTF_8);
+		System.out.println("saved the transcript of game " + record.getGameId() + " to " + transcript);
+		return true;
+	}
+
+	private static void measureThroughput(GameReplayer replayer, GameRecord record, int iterations) {
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			replayer.replay(record);
+		}
+		long elapsed = System.nanoTime() - start;
+		long numOfRequests = (long) iterations * record.getRequests().size();
+		System.out.println("replayed " + iterations + " games, " + numOfRequests + " requests in " + elapsed / 1000000 + " ms, "
+				+ (numOfRequests * 1000000000L / Math.max(elapsed, 1)) + " requests per second");
+	}
+
+}
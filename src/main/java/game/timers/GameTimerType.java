@@ -0,0 +1,58 @@
+package game.timers;
+
+import globals.Constants;
+
+/**
+* This enum defines the types of the server side timers of a game.
+* Each type has a unique code, written to the game journal when the timer expires,
+* and the configuration key of its duration.
+*
+* Codes must never be changed or reused, so old journals can still be replayed.
+*
+* @author      Keren Solomon
+*/
+public enum GameTimerType {
+	/**
+	 * The time a created game waits for all its players to join.
+	 */
+	LOBBY(1, Constants.LOBBY_TIMEOUT),
+	/**
+	 * The time a player has to play its turn.
+	 */
+	TURN(2, Constants.TURN_TIMEOUT),
+	/**
+	 * The time the victim of an attack has to defend itself.
+	 */
+	DEFENSE(3, Constants.DEFENSE_TIMEOUT);
+
+	private final int code;
+	private final String durationKey;
+
+	GameTimerType(int code, String durationKey) {
+		this.code = code;
+		this.durationKey = durationKey;
+	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public String getDurationKey() {
+		return durationKey;
+	}
+
+	/**
+	* This method returns the type that matches the given code.
+	*
+	* @param  code  			the code read from the journal.
+	* @return GameTimerType  	the matching type, or null if the code is unknown.
+	*/
+	public static GameTimerType fromCode(int code) {
+		for (GameTimerType type : values()) {
+			if (type.code == code) {
+				return type;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,126 @@
+package game.timers;
+
+import java.util.concurrent.Executor;
+
+import eventnotifications.ITimerNotifications;
+import globals.Configs;
+
+/**
+* This class holds the server side timers of a single game.
+*
+* Each type of timer is armed when the game starts waiting for a player (to join, to play its turn, to defend itself),
+* and is disarmed once the player did so. Arming a timer again replaces the previous timer of that type.
+* The timers are only accessed by the game executor of the game.
+*
+* Whether each timer is armed is part of the game state, it is kept even when the game has no timing wheel,
+* i.e. while the game is replayed, thus the game acts the same whether it is run or replayed.
+* Only when a wheel is set, the armed timers are scheduled on the wheel, and the expired timers are handed to the game executor.
+* Each arming gets a new sequence number, an expired timer whose sequence number is no longer the current one
+* was disarmed or replaced after it expired, and is ignored by the game.
+*
+* A timer whose configured duration is 0 is armed, but is never scheduled.
+*
+* @author      Keren Solomon
+*/
+public class GameTimers {
+	private static final int NUM_OF_TYPES = GameTimerType.values().length;
+
+	private final Executor gameExecutor;
+	private final ITimerNotifications timerNotifications;
+	private final Boolean[] isArmed;
+	private final int[] seqs;
+	private final WheelTimeout[] timeouts;
+	private final long[] durations;
+	private TimingWheel wheel;
+
+	/**
+	 * Creates the timers of a game, with no timing wheel.
+	 *
+	 * @param gameExecutor    		the executor of the game, the expired timers are run by it.
+	 * @param timerNotifications    the handler of the expired timers of the game.
+	 */
+	public GameTimers(Executor gameExecutor, ITimerNotifications timerNotifications) {
+		this.gameExecutor = gameExecutor;
+		this.timerNotifications = timerNotifications;
+		this.isArmed = new Boolean[NUM_OF_TYPES];
+		this.seqs = new int[NUM_OF_TYPES];
+		this.timeouts = new WheelTimeout[NUM_OF_TYPES];
+		this.durations = new long[NUM_OF_TYPES];
+		for (int i = 0; i < NUM_OF_TYPES; i++) {
+			isArmed[i] = false;
+		}
+	}
+
+	/**
+	* This method sets the timing wheel the timers are scheduled on, and schedules the armed timers with their full duration.
+	* It is called once a new game is created, or once a restored game finished replaying its journal.
+	*
+	* @param wheel  	the timing wheel of the application.
+	*/
+	public void setWheel(TimingWheel wheel) {
+		this.wheel = wheel;
+		Configs configs = Configs.getInstance();
+		for (GameTimerType type : GameTimerType.values()) {
+			durations[type.ordinal()] = configs.getIntProperty(type.getDurationKey());
+			if (isArmed[type.ordinal()]) {
+				schedule(type);
+			}
+		}
+	}
+
+	public Boolean isArmed(GameTimerType type) {
+		return isArmed[type.ordinal()];
+	}
+
+	/**
+	* This method returns whether the given sequence number is of the currently armed timer of the given type.
+	*
+	* @param  type  		the type of the timer.
+	* @param  timerSeq  	the sequence number the timer was armed with.
+	* @return Boolean  		true if the timer is armed and was not replaced since.
+	*/
+	public Boolean isCurrent(GameTimerType type, int timerSeq) {
+		return isArmed[type.ordinal()] && seqs[type.ordinal()] == timerSeq;
+	}
+
+	/**
+	* This method arms a timer of the given type, replacing the armed timer of that type, if any.
+	*
+	* @param type  	the type of the timer.
+	*/
+	public void arm(GameTimerType type) {
+		disarm(type);
+		isArmed[type.ordinal()] = true;
+		schedule(type);
+	}
+
+	/**
+	* This method disarms the timer of the given type, an expired timer of that type is ignored once handled.
+	*
+	* @param type  	the type of the timer.
+	*/
+	public void disarm(GameTimerType type) {
+		int index = type.ordinal();
+		isArmed[index] = false;
+		seqs[index]++;
+		if (timeouts[index] != null) {
+			timeouts[index].cancel();
+			timeouts[index] = null;
+		}
+	}
+
+	public void disarmAll() {
+		for (GameTimerType type : GameTimerType.values()) {
+			disarm(type);
+		}
+	}
+
+	private void schedule(GameTimerType type) {
+		int index = type.ordinal();
+		if (wheel == null || durations[index] <= 0) {
+			return;
+		}
+		int timerSeq = seqs[index];
+		timeouts[index] = wheel.schedule(gameExecutor, () -> timerNotifications.onTimerExpired(type, timerSeq), durations[index]);
+	}
+}
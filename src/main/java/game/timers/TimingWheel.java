@@ -0,0 +1,202 @@
+package game.timers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class is the timer service of all the games, a hashed timing wheel driven by a single thread.
+*
+* The wheel is an array of buckets, each bucket holds the timeouts that expire in its tick.
+* Every tick the wheel thread moves one bucket forward, and expires the timeouts of that bucket,
+* a timeout that is more than a whole round away keeps the number of rounds left, and waits for the wheel to come around.
+* Thus scheduling and cancelling a timer takes a constant time, no matter how many timers are running,
+* and thousands of games share a single thread, instead of a scheduled task per each timer.
+*
+* Timeouts are scheduled from any thread into a queue, and are moved to their buckets by the wheel thread on the next tick.
+* An expired timeout does not run its task on the wheel thread, the task is handed to the executor given when it was scheduled,
+* the games hand their timers to their own game executor, so the game state is still only accessed by the game.
+* A timeout expires up to a single tick after its deadline.
+*
+* @author      Keren Solomon
+*/
+public class TimingWheel {
+	private static final Logger logger = LogManager.getLogger(TimingWheel.class);
+	private static final int MAX_TIMEOUTS_PER_TICK = 100000;
+
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Queue<WheelTimeout> pendingTimeouts;
+	private final Thread worker;
+	private volatile Boolean isRunning;
+	private volatile long startTime;
+	private long tick;
+
+	/**
+	 * This class represents a single bucket of the wheel, a doubly linked list of the timeouts that expire in its tick.
+	 * It is only accessed by the wheel thread.
+	 */
+	private static final class Bucket {
+		private WheelTimeout head;
+		private WheelTimeout tail;
+
+		void add(WheelTimeout timeout) {
+			if (head == null) {
+				head = timeout;
+			}
+			else {
+				tail.next = timeout;
+				timeout.prev = tail;
+			}
+			tail = timeout;
+		}
+
+		/**
+		 * This method expires the timeouts of the bucket whose round came, and unlinks them along with the cancelled ones.
+		 */
+		void expire() {
+			WheelTimeout timeout = head;
+			while (timeout != null) {
+				WheelTimeout next = timeout.next;
+				if (timeout.remainingRounds <= 0 || timeout.isCancelled()) {
+					remove(timeout);
+					timeout.expire();
+				}
+				else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		private void remove(WheelTimeout timeout) {
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			}
+			else {
+				head = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			else {
+				tail = timeout.prev;
+			}
+			timeout.next = null;
+			timeout.prev = null;
+		}
+	}
+
+	/**
+	 * Creates a TimingWheel with the given tick duration and number of buckets.
+	 * The number of buckets is rounded up to a power of two.
+	 *
+	 * @param tickMillis    	the duration of a single tick in milliseconds.
+	 * @param ticksPerWheel    	the number of buckets in the wheel.
+	 */
+	public TimingWheel(long tickMillis, int ticksPerWheel) {
+		if (tickMillis <= 0 || ticksPerWheel <= 0) {
+			throw new IllegalArgumentException("tick and wheel size must be positive: " + tickMillis + ", " + ticksPerWheel);
+		}
+		int numOfBuckets = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+		if (ticksPerWheel == 1) {
+			numOfBuckets = 1;
+		}
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+		this.wheel = new Bucket[numOfBuckets];
+		for (int i = 0; i < numOfBuckets; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = numOfBuckets - 1;
+		this.pendingTimeouts = new ConcurrentLinkedQueue<>();
+		this.isRunning = false;
+		this.worker = new Thread(this::run, "timing-wheel");
+		this.worker.setDaemon(true);
+	}
+
+	/**
+	* This method starts the wheel thread.
+	*/
+	public void start() {
+		startTime = System.nanoTime();
+		isRunning = true;
+		worker.start();
+		logger.info("timing wheel started with " + wheel.length + " buckets of " + TimeUnit.NANOSECONDS.toMillis(tickNanos) + " ms");
+	}
+
+	/**
+	* This method stops the wheel thread, the timeouts that did not expire yet are dropped.
+	*/
+	public void stop() {
+		isRunning = false;
+		worker.interrupt();
+	}
+
+	/**
+	* This method schedules a task to be handed to the given executor once the given delay passed.
+	* It may be called from any thread.
+	*
+	* @param  executor  		the executor that runs the task, i.e. the executor of the game.
+	* @param  task  			the task to run once the timer expires.
+	* @param  delayMillis  		the delay in milliseconds.
+	* @return WheelTimeout  	the timeout, used to cancel the timer.
+	*/
+	public WheelTimeout schedule(Executor executor, Runnable task, long delayMillis) {
+		long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+		WheelTimeout timeout = new WheelTimeout(executor, task, deadline);
+		pendingTimeouts.offer(timeout);
+		return timeout;
+	}
+
+	private void run() {
+		while (isRunning) {
+			if (!waitForNextTick()) {
+				break;
+			}
+			transferPendingTimeouts();
+			wheel[(int) (tick & mask)].expire();
+			tick++;
+		}
+	}
+
+	/**
+	* This method sleeps until the end of the current tick.
+	*
+	* @return Boolean  	false if the wheel was stopped while waiting.
+	*/
+	private Boolean waitForNextTick() {
+		long tickEnd = tickNanos * (tick + 1);
+		long sleepNanos;
+		while ((sleepNanos = tickEnd - (System.nanoTime() - startTime)) > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(sleepNanos);
+			} catch (InterruptedException e) {
+				if (!isRunning) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	* This method moves the newly scheduled timeouts to their buckets.
+	* A timeout whose deadline already passed is put in the current bucket, and expires on this tick.
+	*/
+	private void transferPendingTimeouts() {
+		WheelTimeout timeout;
+		for (int i = 0; i < MAX_TIMEOUTS_PER_TICK && (timeout = pendingTimeouts.poll()) != null; i++) {
+			if (timeout.isCancelled()) {
+				continue;
+			}
+			long expiryTick = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+			wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package game.timers;
+
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+* This class represents a single timer scheduled on the timing wheel.
+*
+* The timeout is linked in the bucket of the wheel it expires in, and is only accessed by the wheel thread,
+* except of the cancelled flag, that may be set by any thread.
+* A cancelled timeout is unlinked from its bucket the next time the bucket is visited.
+*
+* @author      Keren Solomon
+*/
+public final class WheelTimeout {
+	private static final Logger logger = LogManager.getLogger(WheelTimeout.class);
+
+	private final Executor executor;
+	private final Runnable task;
+	final long deadline;
+	long remainingRounds;
+	WheelTimeout next;
+	WheelTimeout prev;
+	private volatile Boolean isCancelled;
+
+	WheelTimeout(Executor executor, Runnable task, long deadline) {
+		this.executor = executor;
+		this.task = task;
+		this.deadline = deadline;
+		this.isCancelled = false;
+	}
+
+	/**
+	* This method cancels the timeout, its task is not run if it did not expire yet.
+	* A task that is already handed to its executor is still run, thus the task must check that it is still relevant.
+	* It may be called from any thread.
+	*/
+	public void cancel() {
+		isCancelled = true;
+	}
+
+	public Boolean isCancelled() {
+		return isCancelled;
+	}
+
+	/**
+	* This method hands the task to its executor, it is called by the wheel thread once the timeout expired.
+	*/
+	void expire() {
+		if (isCancelled) {
+			return;
+		}
+		try {
+			executor.execute(task);
+		} catch (RuntimeException e) {
+			logger.error("failed handing an expired timer to its executor");
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package game.turns;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import game.players.Player;
+
+/**
+* This class is responsible for handling players turns.
+* This class is a ring implementation, where the players are kept in an array, in the order of their turns,
+* and the players that still play are kept as a bit mask of their places in the ring.
+*
+* The class has a member current which holds, during the game, the place of the current player turn.
+* Finding the next player is a bit operation: the active places after the current one are masked,
+* and the lowest of them is found with Long.numberOfTrailingZeros, if there is none, the ring wraps around to the lowest active place.
+* Thus the next turn is found in a constant time, with no allocation, no matter how many players are not active.
+*
+* The turns can be changed in the following ways:
+* <ul>
+* <li>skip - the next players should not get their turn, i.e. when there was a river attack, skip the next available player.
+* <li>reverse - the turns are moving in the opposite direction.
+* </ul>
+* The time limit of a turn is not kept here, it is a TURN timer of the game timers, armed again each time the current player changes.
+*
+* A game can have at most 64 players, the width of the mask.
+*
+* @author      Keren Solomon
+*/
+public class TurnsScheduler {
+	private static final int MAX_PLAYERS = Long.SIZE;
+	private static final int NO_PLAYER = -1;
+
+	private String[] ring;
+	private int numOfPlayers;
+	private long activeMask;
+	private int current;
+	private int numOfSkips;
+	private Boolean isReversed;
+	private List<String> playersOrder;
+
+	public TurnsScheduler() {
+		ring = new String[0];
+		numOfPlayers = 0;
+		activeMask = 0;
+		current = NO_PLAYER;
+		numOfSkips = 0;
+		isReversed = false;
+		playersOrder = Collections.emptyList();
+	}
+
+	public String getCurrentPlayerId() {
+		return ring[current];
+	}
+
+	public Boolean isBlocked() {
+		return numOfSkips > 0;
+	}
+
+	public int getNumOfSkips() {
+		return numOfSkips;
+	}
+
+	public Boolean isReversed() {
+		return isReversed;
+	}
+
+	/**
+	 * This method returns the ids of the players in the order of their turns, starting from the first player.
+	 * It is used to take a snapshot of the game, the list is immutable.
+	 *
+	 * @return List<String>  the ids of the players.
+	 */
+	public List<String> getPlayersOrder() {
+		return playersOrder;
+	}
+
+	/**
+	 * This method sets the current player, it is used to restore a game from a snapshot.
+	 *
+	 * @param playerId  the id of the current player.
+	 */
+	public void setCurrentPlayer(String playerId) {
+		current = getPlace(playerId);
+	}
+
+	/**
+	 * This method is called by the Game class, when the game is about to start.
+	 * The ids of the players are kept in the ring in the order of the given list, all of them are active.
+	 *
+	 * This method sets the current player as the first player.
+	 *
+	 * @param players  the list of players in the game.
+	 *
+	 */
+	public void addPlayers(List<Player> players) {
+		/* Note: the game can have minimum 2 players */
+		if (players.size() > MAX_PLAYERS) {
+			throw new IllegalArgumentException("turns can be scheduled for at most " + MAX_PLAYERS + " players: " + players.size());
+		}
+		numOfPlayers = players.size();
+		ring = new String[numOfPlayers];
+		for (int place = 0; place < numOfPlayers; place++) {
+			ring[place] = players.get(place).getId();
+		}
+		activeMask = numOfPlayers == MAX_PLAYERS ? -1L : (1L << numOfPlayers) - 1;
+		playersOrder = Collections.unmodifiableList(Arrays.asList(ring.clone()));
+		current = 0;
+	}
+
+	/**
+	 * This method is called in one of two cases:
+	 * when there is a river attack in game, set to true, as the next player should be blocked.
+	 * when the attack ended, player turn was skipped, set to false, as no longer need to block players.
+	 *
+	 * @param state  the boolean that indicates whether the next player is blocked.
+	 *
+	 */
+	public void setBlocked(Boolean state) {
+		numOfSkips = state ? 1 : 0;
+	}
+
+	/**
+	 * This method sets the number of the next active players that do not get their turn,
+	 * once the current player finishes its turn.
+	 *
+	 * @param numOfSkips  the number of players to skip, 0 to skip none.
+	 */
+	public void setNumOfSkips(int numOfSkips) {
+		this.numOfSkips = numOfSkips;
+	}
+
+	/**
+	 * This method sets the direction of the turns.
+	 *
+	 * @param isReversed  true if the turns move in the opposite direction of the players order.
+	 */
+	public void setReversed(Boolean isReversed) {
+		this.isReversed = isReversed;
+	}
+
+	/**
+	 * This method is called when a player loses the game, his state needs to be set to not active.
+	 *
+	 * @param playerId  the id of the player that his status needs to be changed.
+	 *
+	 */
+	public void setPlayerNotActive(String playerId) {
+		int place = getPlace(playerId);
+		if (place != NO_PLAYER) {
+			activeMask &= ~(1L << place);
+		}
+	}
+
+	/**
+	 * This method is called by the Game class, when a player finishes it's turn.
+	 *
+	 * The method gets the next player available in the ring, and then skips the next available players
+	 * as many times as set, the skips are cleared once used.
+	 */
+	public void nextPlayerTurn() {
+		int next = getNextActivePlace(current);
+		for (; numOfSkips > 0; numOfSkips--) {
+			next = getNextActivePlace(next);
+		}
+		current = next;
+	}
+
+	/**
+	 * This method is a helper method for the nextPlayerTurn, it's purpose is to find the
+	 * next available player in the ring, in the current direction of the turns.
+	 *
+	 * The active places after the given place (or before it, when the turns are reversed) are masked,
+	 * and the nearest of them is returned, if there is none, the nearest active place from the other end of the ring is returned.
+	 * In case no player is active, the given place is returned.
+	 *
+	 * @param fromPlace  the place in the ring to start check from.
+	 *
+	 * @return  int	  	 the place of the next active player found.
+	 */
+	private int getNextActivePlace(int fromPlace) {
+		if (activeMask == 0) {
+			return fromPlace;
+		}
+		if (isReversed) {
+			long before = activeMask & ((1L << fromPlace) - 1);
+			long mask = before != 0 ? before : activeMask;
+			return Long.SIZE - 1 - Long.numberOfLeadingZeros(mask);
+		}
+		long after = fromPlace == Long.SIZE - 1 ? 0 : activeMask & (-1L << (fromPlace + 1));
+		return Long.numberOfTrailingZeros(after != 0 ? after : activeMask);
+	}
+
+	private int getPlace(String playerId) {
+		for (int place = 0; place < numOfPlayers; place++) {
+			if (ring[place].equals(playerId)) {
+				return place;
+			}
+		}
+		return NO_PLAYER;
+	}
+}
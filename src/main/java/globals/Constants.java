@@ -9,11 +9,38 @@ public class Constants {
 
 	/* Server Connection */
 	public static final String PORT = "port";
+	public static final String CONNECTION_MODE = "connectionMode";
+	public static final String READ_BUFFER_SIZE = "readBufferSize";
+	public static final String MAX_MSG_LENGTH = "maxMsgLength";
+	public static final String OUTBOUND_HIGH_WATER_MARK = "outboundHighWaterMark";
+	public static final String OUTBOUND_OVERFLOW_POLICY = "outboundOverflowPolicy";
+	public static final String WRITER_THREADS = "writerThreads";
+	
+	public static final String CONNECTION_MODE_NIO = "nio";
+	public static final String CONNECTION_MODE_POOL = "pool";
+	public static final String CONNECTION_MODE_VIRTUAL = "virtual";
+	
+	public static final String OVERFLOW_POLICY_DISCONNECT = "disconnect";
+	public static final String OVERFLOW_POLICY_DROP = "drop";
 	
 	/* Game */
+	public static final String GAME_THREADS 		= "gameThreads";
+	public static final String JOURNAL_GAMES 		= "journalGames";
+	public static final String JOURNALS_DIR 		= "journalsDir";
+	public static final String JOURNALS_ARCHIVE_DIR = "journalsArchiveDir";
+	public static final String JOURNAL_SEGMENT_SIZE = "journalSegmentSize";
+	public static final String JOURNAL_BUFFER_SIZE 	= "journalBufferSize";
+	public static final String JOURNAL_FORCE_INTERVAL = "journalForceInterval";
+	public static final String SNAPSHOT_INTERVAL 	= "snapshotInterval";
+	public static final String SESSION_BUFFER_SIZE 	= "sessionBufferSize";
 	public static final String HAND_NUM_CARDS 		= "numOfCardsInHand";
 	public static final String INVALID_CARD_ID 		= "invalidCardId";
 	public static final String MIN_PLAYERS 			= "minimumPlayers";
+	public static final String TIMER_TICK 			= "timerTick";
+	public static final String TIMER_WHEEL_SIZE 	= "timerWheelSize";
+	public static final String LOBBY_TIMEOUT 		= "lobbyTimeout";
+	public static final String TURN_TIMEOUT 		= "turnTimeout";
+	public static final String DEFENSE_TIMEOUT 		= "defenseTimeout";
 	public static final int    ALL_PLAYERS_JOINED 	= 0;
 	
 	public static final int NO_PICKED_CARDS 		= 0;
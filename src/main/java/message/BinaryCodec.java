@@ -0,0 +1,520 @@
+package message;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import clientservershared.AttackMsg;
+import clientservershared.CardModel;
+import clientservershared.GameDelta;
+import clientservershared.GameInfo;
+import clientservershared.GameOver;
+import clientservershared.PlayerModel;
+
+/**
+* This class encodes and decodes the messages of the binary format.
+* It is a singleton class, it holds no state of a single message, thus it is shared by all the connections.
+*
+* A frame is made of the length of the rest of the frame, the ordinal of the MsgTypeEnum type of the message,
+* and the parameters of the message, one after the other.
+* Every number, including the lengths and the ordinals, is written as a varint - 7 bits per byte,
+* with the high bit set on all the bytes but the last, so small numbers take a single byte.
+*
+* Each value starts with a tag byte, followed by its content:
+* <ul>
+* <li>TAG_INT - a zigzag varint, so small negative numbers are small as well
+* <li>TAG_STRING - the length of the UTF-8 bytes, and the bytes
+* <li>TAG_ID - the number of an interned client id, see the WireIds class
+* <li>TAG_ID_DEF - the number of an interned client id, followed by the id as a string, it teaches the client the number
+* <li>TAG_LIST, TAG_MAP - the number of items, and the items (keys and values of a map)
+* <li>the shared models - the fields of the model in the order they are declared, each as a value
+* </ul>
+* The shared models are written as part of the frame, and not as json strings inside the message.
+*
+* @author      Keren Solomon
+*/
+public class BinaryCodec {
+	private static final int TAG_NULL 			= 0;
+	private static final int TAG_INT 			= 1;
+	private static final int TAG_STRING 		= 2;
+	private static final int TAG_ID 			= 3;
+	private static final int TAG_ID_DEF 		= 4;
+	private static final int TAG_LIST 			= 5;
+	private static final int TAG_MAP 			= 6;
+	private static final int TAG_TRUE 			= 7;
+	private static final int TAG_FALSE 			= 8;
+	private static final int TAG_CARD 			= 16;
+	private static final int TAG_PLAYER 		= 17;
+	private static final int TAG_GAME_INFO 		= 18;
+	private static final int TAG_ATTACK_MSG 	= 19;
+	private static final int TAG_GAME_OVER 		= 20;
+	private static final int TAG_GAME_DELTA 	= 21;
+	private static final int TAG_PICKED_CARDS 	= 22;
+
+	private static final int VARINT_BITS = 7;
+	private static final int VARINT_MASK = 0x7F;
+	private static final int VARINT_MORE = 0x80;
+	private static final int MAX_VARINT_BYTES = 5;
+	private static final int INITIAL_FRAME_SIZE = 64;
+	private static final MsgTypeEnum[] msgTypes = MsgTypeEnum.values();
+
+	private static BinaryCodec binaryCodecInstance = null;
+
+	private WireIds wireIds;
+
+	private BinaryCodec() {
+		wireIds = WireIds.getInstance();
+	}
+
+	public static synchronized BinaryCodec getInstance() {
+		if (binaryCodecInstance == null) {
+			binaryCodecInstance = new BinaryCodec();
+		}
+		return binaryCodecInstance;
+	}
+
+	/**
+	* This class collects the bytes of a single frame.
+	*/
+	private static class FrameWriter {
+		private byte[] bytes = new byte[INITIAL_FRAME_SIZE];
+		private int length = 0;
+
+		private void ensure(int numOfBytes) {
+			if (length + numOfBytes > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + numOfBytes));
+			}
+		}
+
+		void writeByte(int b) {
+			ensure(1);
+			bytes[length++] = (byte) b;
+		}
+
+		void writeVarInt(int value) {
+			ensure(MAX_VARINT_BYTES);
+			while ((value & ~VARINT_MASK) != 0) {
+				bytes[length++] = (byte) ((value & VARINT_MASK) | VARINT_MORE);
+				value >>>= VARINT_BITS;
+			}
+			bytes[length++] = (byte) value;
+		}
+
+		void writeBytes(byte[] value) {
+			writeVarInt(value.length);
+			writeRaw(value);
+		}
+
+		void writeRaw(byte[] value) {
+			ensure(value.length);
+			System.arraycopy(value, 0, bytes, length, value.length);
+			length += value.length;
+		}
+
+		byte[] toBytes() {
+			return Arrays.copyOf(bytes, length);
+		}
+
+		byte[] toFrame() {
+			FrameWriter frame = new FrameWriter();
+			frame.bytes = new byte[length + MAX_VARINT_BYTES];
+			frame.writeVarInt(length);
+			System.arraycopy(bytes, 0, frame.bytes, frame.length, length);
+			return Arrays.copyOf(frame.bytes, frame.length + length);
+		}
+	}
+
+	/**
+	* This class reads the values of a single frame.
+	*/
+	private static class FrameReader {
+		private final byte[] bytes;
+		private int position;
+		private final int end;
+
+		FrameReader(byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			this.position = offset;
+			this.end = offset + length;
+		}
+
+		int readByte() {
+			if (position >= end) {
+				throw new IllegalArgumentException("binary frame ended in the middle of a value");
+			}
+			return bytes[position++] & 0xFF;
+		}
+
+		int readVarInt() {
+			int value = 0;
+			for (int shift = 0; shift < MAX_VARINT_BYTES * VARINT_BITS; shift += VARINT_BITS) {
+				int b = readByte();
+				value |= (b & VARINT_MASK) << shift;
+				if ((b & VARINT_MORE) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("binary frame holds a malformed varint");
+		}
+
+		Boolean hasNext() {
+			return position < end;
+		}
+
+		String readString() {
+			int length = readVarInt();
+			if (length > end - position) {
+				throw new IllegalArgumentException("binary frame ended in the middle of a string");
+			}
+			String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+	}
+
+	/**
+	* This method encodes a message as a binary frame, prefixed by its length.
+	* The id of the client sent with the start game message is defined, so the client learns its own number.
+	*
+	* @param  type  	the type of the message.
+	* @param  params  	the parameters of the message.
+	* @return byte[]  	the encoded frame.
+	*/
+	public byte[] encode(MsgTypeEnum type, Object[] params) {
+		FrameWriter out = new FrameWriter();
+		out.writeVarInt(type.ordinal());
+		for (int i = 0; i < params.length; i++) {
+			if (i == 0 && type == MsgTypeEnum.SERVER_REP_START_GAME) {
+				writeIdDefinition(out, (String) params[i]);
+			}
+			else {
+				writeValue(out, params[i]);
+			}
+		}
+		return out.toFrame();
+	}
+
+	private static int zigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private void writeInt(FrameWriter out, int value) {
+		out.writeByte(TAG_INT);
+		out.writeVarInt(zigZag(value));
+	}
+
+	private void writeString(FrameWriter out, String value) {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+		int handle = wireIds.getHandle(value);
+		if (handle != WireIds.NOT_INTERNED) {
+			out.writeByte(TAG_ID);
+			out.writeVarInt(handle);
+		}
+		else {
+			out.writeByte(TAG_STRING);
+			out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private void writeIdDefinition(FrameWriter out, String id) {
+		int handle = wireIds.getHandle(id);
+		if (handle == WireIds.NOT_INTERNED) {
+			writeString(out, id);
+			return;
+		}
+		out.writeByte(TAG_ID_DEF);
+		out.writeVarInt(handle);
+		out.writeBytes(id.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBoolean(FrameWriter out, Boolean value) {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+		}
+		else {
+			out.writeByte(value ? TAG_TRUE : TAG_FALSE);
+		}
+	}
+
+	private void writeValue(FrameWriter out, Object value) {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+		}
+		else if (value instanceof Integer) {
+			writeInt(out, (Integer) value);
+		}
+		else if (value instanceof String) {
+			writeString(out, (String) value);
+		}
+		else if (value instanceof Boolean) {
+			writeBoolean(out, (Boolean) value);
+		}
+		else if (value instanceof Enum) {
+			writeInt(out, ((Enum<?>) value).ordinal());
+		}
+		else if (value instanceof List) {
+			writeList(out, (List<?>) value);
+		}
+		else if (value instanceof Map) {
+			writeMap(out, (Map<?,?>) value);
+		}
+		else if (value instanceof CardModel) {
+			writeCard(out, (CardModel) value);
+		}
+		else if (value instanceof PlayerModel) {
+			writePlayer(out, (PlayerModel) value);
+		}
+		else if (value instanceof GameInfo) {
+			writeGameInfo(out, (GameInfo) value);
+		}
+		else if (value instanceof AttackMsg) {
+			writeAttackMsg(out, (AttackMsg) value);
+		}
+		else if (value instanceof GameOver) {
+			writeGameOver(out, (GameOver) value);
+		}
+		else if (value instanceof GameDelta) {
+			writeGameDelta(out, (GameDelta) value);
+		}
+		else {
+			throw new IllegalArgumentException("no binary encoding for " + value.getClass().getName());
+		}
+	}
+
+	private void writeList(FrameWriter out, List<?> list) {
+		if (list == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+		out.writeByte(TAG_LIST);
+		out.writeVarInt(list.size());
+		for (Object item : list) {
+			writeValue(out, item);
+		}
+	}
+
+	private void writeMap(FrameWriter out, Map<?,?> map) {
+		if (map == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+		out.writeByte(TAG_MAP);
+		out.writeVarInt(map.size());
+		for (Map.Entry<?,?> entry : map.entrySet()) {
+			writeValue(out, entry.getKey());
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private void writeCard(FrameWriter out, CardModel card) {
+		out.writeByte(TAG_CARD);
+		writeInt(out, card.getId());
+		if (card instanceof RenderedCardModel) {
+			out.writeRaw(((RenderedCardModel) card).getRendering().getBinaryFields());
+		}
+		else {
+			writeCardFields(out, card);
+		}
+	}
+
+	private void writeCardFields(FrameWriter out, CardModel card) {
+		writeString(out, card.getName());
+		writeString(out, card.getImg());
+		writeInt(out, card.getTxtColor());
+		writeString(out, card.getFrame());
+		writeString(out, card.getBack());
+		writeString(out, card.getPoints());
+	}
+
+	/**
+	* This method encodes the fields of a card that follow its id, used to render a card type once.
+	*
+	* @param  card  	the card information of a card of the rendered type.
+	* @return byte[]  	the encoded fields.
+	*/
+	byte[] encodeCardFields(CardModel card) {
+		FrameWriter out = new FrameWriter();
+		writeCardFields(out, card);
+		return out.toBytes();
+	}
+
+	private void writePlayer(FrameWriter out, PlayerModel player) {
+		if (player == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+		out.writeByte(TAG_PLAYER);
+		writeIdDefinition(out, player.getPlayerId());
+		writeString(out, player.getPlayerName());
+		writeInt(out, player.getScore());
+		writeString(out, player.getImg());
+		writeBoolean(out, player.getIsActive());
+		writeBoolean(out, player.getMyTurn());
+	}
+
+	private void writeGameInfo(FrameWriter out, GameInfo info) {
+		out.writeByte(TAG_GAME_INFO);
+		writeList(out, info.getPlayers());
+		writeList(out, info.getCards());
+		writePlayer(out, info.getMyPlayer());
+		writeInt(out, info.getVersion());
+	}
+
+	private void writeAttackMsg(FrameWriter out, AttackMsg msg) {
+		out.writeByte(TAG_ATTACK_MSG);
+		writeInt(out, msg.getMsgType());
+		writeString(out, msg.getMsgString());
+		writeList(out, msg.getList());
+		writeString(out, msg.getMainImg());
+		writeString(out, msg.getSecImg());
+	}
+
+	private void writeGameOver(FrameWriter out, GameOver info) {
+		out.writeByte(TAG_GAME_OVER);
+		writeString(out, info.getWinnerId());
+		writeString(out, info.getWinnerName());
+		writeInt(out, info.getWinnerPoints());
+		writeValue(out, info.getWinReason());
+	}
+
+	private void writeGameDelta(FrameWriter out, GameDelta delta) {
+		out.writeByte(TAG_GAME_DELTA);
+		writeInt(out, delta.getVersion());
+		writeList(out, delta.getAddedCards());
+		writeList(out, delta.getRemovedCards());
+		writeMap(out, delta.getScores());
+		writeString(out, delta.getCurrentPlayer());
+		writeList(out, delta.getInactivePlayers());
+	}
+
+	/**
+	* This method decodes a request frame sent by a client, without its length prefix,
+	* into the typed fields of the given request object. Params the request type does not define are ignored.
+	*
+	* @param  frame  	the array holding the frame.
+	* @param  offset  	the index of the first byte of the frame, after its length prefix.
+	* @param  length  	the length of the frame.
+	* @param  request  	the request object to decode into, its previous values are cleared.
+	* @throws       	IllegalArgumentException if the frame is malformed.
+	*/
+	public void decodeRequest(byte[] frame, int offset, int length, ClientRequest request) {
+		FrameReader in = new FrameReader(frame, offset, length);
+		int ordinal = in.readVarInt();
+		request.clear();
+		request.setType((ordinal < msgTypes.length) ? msgTypes[ordinal] : MsgTypeEnum.UNKNOWN_TYPE);
+
+		switch (request.getType()) {
+		case CLIENT_REQ_NEW_GAME:
+			request.setNumOfPlayers(readInt(in));
+			break;
+
+		case CLIENT_REQ_JOIN_GAME:
+			request.setPassword(readString(in));
+			request.setName(readString(in));
+			request.setImg(readString(in));
+			if (in.hasNext()) {
+				request.setReceivesDeltas(readBoolean(in));
+			}
+			break;
+
+		case CLIENT_REQ_PICKED_CARDS:
+			expectTag(in, TAG_PICKED_CARDS);
+			request.setPickedCards(readInt(in), readInt(in), readInt(in));
+			break;
+
+		case CLIENT_REQ_ATTACK_REP_VICTIM:
+			request.setVictimId(readString(in));
+			break;
+
+		case CLIENT_REQ_RESUME_SESSION:
+			request.setToken(readString(in));
+			request.setLastMsgSeq(readInt(in));
+			if (in.hasNext()) {
+				request.setReceivesDeltas(readBoolean(in));
+			}
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	private void expectTag(FrameReader in, int expectedTag) {
+		int tag = in.readByte();
+		if (tag != expectedTag) {
+			throw new IllegalArgumentException("unexpected value tag " + tag + " in a request frame, expected " + expectedTag);
+		}
+	}
+
+	private int readInt(FrameReader in) {
+		expectTag(in, TAG_INT);
+		return unZigZag(in.readVarInt());
+	}
+
+	private Boolean readBoolean(FrameReader in) {
+		int tag = in.readByte();
+		switch (tag) {
+		case TAG_NULL:
+		case TAG_FALSE:
+			return false;
+		case TAG_TRUE:
+			return true;
+		default:
+			throw new IllegalArgumentException("unexpected value tag " + tag + " in a request frame, expected a boolean");
+		}
+	}
+
+	private String readString(FrameReader in) {
+		int tag = in.readByte();
+		switch (tag) {
+		case TAG_NULL:
+			return null;
+		case TAG_STRING:
+			return in.readString();
+		case TAG_ID:
+			return wireIds.getId(in.readVarInt());
+		case TAG_ID_DEF:
+			in.readVarInt();
+			return in.readString();
+		default:
+			throw new IllegalArgumentException("unexpected value tag " + tag + " in a request frame, expected a string");
+		}
+	}
+
+	/**
+	* This method reads the length prefix of the next frame from a blocking stream.
+	*
+	* @param  in  	the stream of the connection.
+	* @return int  	the length of the frame, or -1 if the stream ended before the frame.
+	* @throws       IOException if the stream failed, or ended in the middle of the length.
+	*/
+	public static int readFrameLength(InputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < MAX_VARINT_BYTES * VARINT_BITS; shift += VARINT_BITS) {
+			int b = in.read();
+			if (b < 0) {
+				if (shift == 0) {
+					return -1;
+				}
+				throw new EOFException("stream ended in the middle of a frame length");
+			}
+			value |= (b & VARINT_MASK) << shift;
+			if ((b & VARINT_MORE) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed frame length");
+	}
+
+}
@@ -0,0 +1,69 @@
+package message;
+
+import clientservershared.CardModel;
+
+/**
+* This class holds the encoding of a single card type, rendered once when the cards catalog is loaded.
+*
+* All the fields of a card but its id are taken from the catalog, and never change,
+* thus the fields of a card type are encoded once in each wire format, with the id left out.
+* When a card is written, its id is spliced in front of the encoded fields of its type,
+* the id is the first field of a card in both formats.
+*
+* @author      Keren Solomon
+*/
+public final class CardRendering {
+	private static final String JSON_ID_PREFIX = "{\"id\":";
+
+	private final CardModel prototype;
+	private final String jsonFields;
+	private final byte[] binaryFields;
+
+	private CardRendering(CardModel prototype, String jsonFields, byte[] binaryFields) {
+		this.prototype = prototype;
+		this.jsonFields = jsonFields;
+		this.binaryFields = binaryFields;
+	}
+
+	/**
+	* This method renders a card type, from the card information of a card of that type.
+	*
+	* @param  prototype  		the card information of a card of the rendered type.
+	* @return CardRendering  	the rendered card type.
+	* @throws       			IllegalStateException if the json of the card does not start with its id.
+	*/
+	public static CardRendering render(CardModel prototype) {
+		String json = MessageConvertor.getInstance().cardToJson(prototype);
+		String idPrefix = JSON_ID_PREFIX + prototype.getId();
+		if (!json.startsWith(idPrefix)) {
+			throw new IllegalStateException("card json does not start with the card id: " + json);
+		}
+		return new CardRendering(prototype,
+				json.substring(idPrefix.length()),
+				BinaryCodec.getInstance().encodeCardFields(prototype));
+	}
+
+	public CardModel getPrototype() {
+		return prototype;
+	}
+
+	/**
+	* This method returns the json of a card of this type.
+	*
+	* @param  id  		the id of the card in the game.
+	* @return String  	the json of the card.
+	*/
+	public String toJson(int id) {
+		return JSON_ID_PREFIX + id + jsonFields;
+	}
+
+	/**
+	* This method returns the binary encoding of the fields that follow the id of a card of this type.
+	*
+	* @return byte[]  	the encoded fields, they must not be changed.
+	*/
+	byte[] getBinaryFields() {
+		return binaryFields;
+	}
+
+}
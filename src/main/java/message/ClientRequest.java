@@ -0,0 +1,142 @@
+package message;
+
+import clientservershared.PickedCards;
+
+/**
+* This class holds a single decoded request of a client.
+* The request is decoded straight into its typed fields, by the RequestDecoder class for json requests,
+* or by the BinaryCodec class for binary requests, with no intermediate list of params.
+*
+* The message handler of a connection keeps a single ClientRequest, and reuses it for every request of the connection.
+* The values are passed on to the game when the request is handled, thus the object is free to be cleared
+* and decoded into again once the request is handled.
+*
+* @author      Keren Solomon
+*/
+public class ClientRequest {
+	private static final int INVALID_CARD_IDX = -1;
+
+	private MsgTypeEnum type;
+	private int numOfPlayers;
+	private String password;
+	private String name;
+	private String img;
+	private String victimId;
+	private String token;
+	private int lastMsgSeq;
+	private Boolean receivesDeltas;
+	private int card1;
+	private int card2;
+	private int numPickedCards;
+
+	public ClientRequest() {
+		clear();
+	}
+
+	/**
+	* This method clears the values of the previous request, it is called before a new request is decoded.
+	*/
+	void clear() {
+		type = MsgTypeEnum.UNKNOWN_TYPE;
+		numOfPlayers = 0;
+		password = null;
+		name = null;
+		img = null;
+		victimId = null;
+		token = null;
+		lastMsgSeq = 0;
+		receivesDeltas = false;
+		card1 = INVALID_CARD_IDX;
+		card2 = INVALID_CARD_IDX;
+		numPickedCards = 0;
+	}
+
+	public MsgTypeEnum getType() {
+		return type;
+	}
+
+	void setType(MsgTypeEnum type) {
+		this.type = type;
+	}
+
+	public int getNumOfPlayers() {
+		return numOfPlayers;
+	}
+
+	void setNumOfPlayers(int numOfPlayers) {
+		this.numOfPlayers = numOfPlayers;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	void setPassword(String password) {
+		this.password = password;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	void setName(String name) {
+		this.name = name;
+	}
+
+	public String getImg() {
+		return img;
+	}
+
+	void setImg(String img) {
+		this.img = img;
+	}
+
+	public String getVictimId() {
+		return victimId;
+	}
+
+	void setVictimId(String victimId) {
+		this.victimId = victimId;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	void setToken(String token) {
+		this.token = token;
+	}
+
+	public int getLastMsgSeq() {
+		return lastMsgSeq;
+	}
+
+	void setLastMsgSeq(int lastMsgSeq) {
+		this.lastMsgSeq = lastMsgSeq;
+	}
+
+	public Boolean receivesDeltas() {
+		return receivesDeltas;
+	}
+
+	void setReceivesDeltas(Boolean receivesDeltas) {
+		this.receivesDeltas = receivesDeltas;
+	}
+
+	void setPickedCards(int card1, int card2, int numPickedCards) {
+		this.card1 = card1;
+		this.card2 = card2;
+		this.numPickedCards = numPickedCards;
+	}
+
+	/**
+	* This method creates the picked cards of the request.
+	* A new object is created, since the picked cards are handled by the game after the request object is reused.
+	*
+	* @return PickedCards  	the picked cards.
+	*/
+	public PickedCards createPickedCards() {
+		return new PickedCards(card1, card2, numPickedCards);
+	}
+
+}
@@ -0,0 +1,131 @@
+package message;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+* This class represents a message that is ready to be written to the clients.
+* The EncodedMsg class holds the type and the parameters of the message, and its encoding in each wire format.
+*
+* The message is encoded in a format once it is queued to the first client that uses that format,
+* and the encoding is kept, thus the same object can be written to any number of clients, on any thread,
+* without serializing the message again per each client, and a format no client uses is never encoded.
+* The parameters of the message, such as the game models, are owned by the game thread that sends the message,
+* so the message is encoded by that thread, by calling encode, before it is handed to the writing threads,
+* which only copy the encoded bytes.
+*
+* @author      Keren Solomon
+*/
+public final class EncodedMsg {
+	private static final String LINE_END = "\n";
+	private static final MessageCreator msgCreator = MessageCreator.getInstance();
+
+	private final MsgTypeEnum type;
+	private final Object[] params;
+	private volatile String json;
+	private volatile byte[] jsonBytes;
+	private volatile byte[] binaryBytes;
+
+	public EncodedMsg(MsgTypeEnum type, Object... params) {
+		this.type = type;
+		this.params = params;
+	}
+
+	public MsgTypeEnum getType() {
+		return type;
+	}
+
+	/**
+	* This method returns the json text of the message, it is encoded on the first call.
+	*
+	* @return String  the json message.
+	*/
+	public String getJson() {
+		String msgJson = json;
+		if (msgJson == null) {
+			msgJson = msgCreator.createMsg(type, params);
+			json = msgJson;
+		}
+		return msgJson;
+	}
+
+	/**
+	* This method encodes the message in the given format, unless it is already encoded in that format.
+	* It is called by the thread that sends the message, before the message is handed to the writing threads,
+	* since the parameters may be changed by that thread once the message is sent.
+	*
+	* @param  format  the wire format of the client.
+	*/
+	public void encode(WireFormat format) {
+		getBytes(format);
+	}
+
+	/**
+	* This method returns the bytes of the message in the given format, they are encoded on the first call.
+	* Two threads may encode the same message at once, both get the same bytes.
+	*
+	* @param  format  the wire format of the client.
+	* @return byte[]  the encoded bytes, they must not be changed.
+	*/
+	private byte[] getBytes(WireFormat format) {
+		byte[] bytes;
+		if (format == WireFormat.BINARY) {
+			bytes = binaryBytes;
+			if (bytes == null) {
+				bytes = BinaryCodec.getInstance().encode(type, params);
+				binaryBytes = bytes;
+			}
+		}
+		else {
+			bytes = jsonBytes;
+			if (bytes == null) {
+				bytes = (getJson() + LINE_END).getBytes(StandardCharsets.UTF_8);
+				jsonBytes = bytes;
+			}
+		}
+		return bytes;
+	}
+
+	public int getLength(WireFormat format) {
+		return getBytes(format).length;
+	}
+
+	/**
+	* This method returns a read only buffer over the encoded bytes.
+	* Each call returns a new buffer with its own position, sharing the same bytes.
+	*
+	* @param  format  	  the wire format of the client.
+	* @return ByteBuffer  the buffer to be written to a channel.
+	*/
+	public ByteBuffer toBuffer(WireFormat format) {
+		return ByteBuffer.wrap(getBytes(format)).asReadOnlyBuffer();
+	}
+
+	/**
+	* This method copies the encoded bytes to the given array.
+	*
+	* @param  format  the wire format of the client.
+	* @param  dest    the array to copy the message to.
+	* @param  offset  the index in the array to start copying at.
+	* @return int     the number of copied bytes.
+	*/
+	public int copyTo(WireFormat format, byte[] dest, int offset) {
+		byte[] bytes = getBytes(format);
+		System.arraycopy(bytes, 0, dest, offset, bytes.length);
+		return bytes.length;
+	}
+
+	/**
+	* This method writes the encoded bytes to the given stream.
+	*
+	* @param  format  the wire format of the client.
+	* @param  out  	  the stream to write the message to.
+	* @throws      	  IOException if the write failed.
+	*/
+	public void writeTo(WireFormat format, OutputStream out) throws IOException {
+		out.write(getBytes(format));
+	}
+
+}
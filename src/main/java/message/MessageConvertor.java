@@ -1,48 +1,80 @@
 package message;
 
-import java.util.ArrayList;
-
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 import clientservershared.AttackMsg;
 import clientservershared.CardModel;
+import clientservershared.GameDelta;
 import clientservershared.GameInfo;
 import clientservershared.GameOver;
 import clientservershared.PickedCards;
+import clientservershared.PlayerModel;
+import message.adapters.AttackMsgAdapter;
+import message.adapters.CardModelAdapter;
+import message.adapters.GameDeltaAdapter;
+import message.adapters.GameInfoAdapter;
+import message.adapters.GameOverAdapter;
+import message.adapters.MessageAdapter;
+import message.adapters.PickedCardsAdapter;
+import message.adapters.PlayerModelAdapter;
 
 
-
+/**
+* This class converts the messages and the shared models to json.
+* It is a singleton class, holding a single Gson shared by all the connections, Gson is thread safe.
+*
+* Every shared model is written by its own hand written type adapter, so no reflection is used to write a message.
+*
+* @author      Keren Solomon
+*/
 public class MessageConvertor {
+	private static MessageConvertor messageConvertorInstance = null;
+
 	private Gson gson;
 	
-	public MessageConvertor() {
-		this.gson = new Gson();
+	private MessageConvertor() {
+		CardModelAdapter cardAdapter = new CardModelAdapter();
+		PlayerModelAdapter playerAdapter = new PlayerModelAdapter();
+		this.gson = new GsonBuilder()
+				.registerTypeAdapter(Message.class, new MessageAdapter())
+				.registerTypeAdapter(CardModel.class, cardAdapter)
+				.registerTypeAdapter(PlayerModel.class, playerAdapter)
+				.registerTypeAdapter(GameInfo.class, new GameInfoAdapter(playerAdapter, cardAdapter))
+				.registerTypeAdapter(GameDelta.class, new GameDeltaAdapter(cardAdapter))
+				.registerTypeAdapter(AttackMsg.class, new AttackMsgAdapter())
+				.registerTypeAdapter(GameOver.class, new GameOverAdapter())
+				.registerTypeAdapter(PickedCards.class, new PickedCardsAdapter())
+				.create();
 	}
 	
-	public Message jsonToMsg(String jsonString) {
-		return gson.fromJson(jsonString, Message.class);
+	public static synchronized MessageConvertor getInstance() {
+		if (messageConvertorInstance == null) {
+			messageConvertorInstance = new MessageConvertor();
+		}
+		return messageConvertorInstance;
 	}
 	
 	public String msgToJson(Message msg) {
-		return gson.toJson(msg);
-	}
-	
-	public String listToJson(ArrayList list) {
-		return gson.toJson(list, ArrayList.class);
-	}
-	
-	public ArrayList<Integer> jsonToList(String jsonString) {
-		return gson.fromJson(jsonString, ArrayList.class);
+		return gson.toJson(msg, Message.class);
 	}
     
 	public PickedCards jsonToPickedCards(String jsonString) {
         return gson.fromJson(jsonString, PickedCards.class);
     }
 
+	public String pickedCardsToJson(PickedCards cards) {
+		return gson.toJson(cards, PickedCards.class);
+	}
+
 	public String gameInfoToJson(GameInfo gameInfo) {
 		return gson.toJson(gameInfo, GameInfo.class);
 	}
 
+	public String gameDeltaToJson(GameDelta delta) {
+		return gson.toJson(delta, GameDelta.class);
+	}
+
 	public String cardToJson(CardModel card) {
 		return gson.toJson(card, CardModel.class);
 	}
@@ -54,4 +86,24 @@ public class MessageConvertor {
 	public String gameOverToJson(GameOver info) {
 		return gson.toJson(info, GameOver.class);
 	}
+
+	/* returns the json of a shared model, any other param is returned as is */
+	public Object modelToJson(Object param) {
+		if (param instanceof GameInfo) {
+			return gameInfoToJson((GameInfo) param);
+		}
+		if (param instanceof GameOver) {
+			return gameOverToJson((GameOver) param);
+		}
+		if (param instanceof GameDelta) {
+			return gameDeltaToJson((GameDelta) param);
+		}
+		if (param instanceof CardModel) {
+			return cardToJson((CardModel) param);
+		}
+		if (param instanceof AttackMsg) {
+			return attackMsgToJson((AttackMsg) param);
+		}
+		return param;
+	}
 }
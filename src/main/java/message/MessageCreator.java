@@ -2,14 +2,30 @@ package message;
 
 import clientservershared.AttackMsg;
 import clientservershared.CardModel;
+import clientservershared.GameDelta;
 import clientservershared.GameInfo;
 import clientservershared.GameOver;
 
+/**
+* This class creates the json messages sent to the clients.
+* It is a singleton class, shared by all the connections, it uses the shared MessageConvertor.
+*
+* @author      Keren Solomon
+*/
 public class MessageCreator {
+	private static MessageCreator messageCreatorInstance = null;
+
 	private MessageConvertor convertor;
 	
-	public MessageCreator() {
-		convertor = new MessageConvertor();
+	private MessageCreator() {
+		convertor = MessageConvertor.getInstance();
+	}
+	
+	public static synchronized MessageCreator getInstance() {
+		if (messageCreatorInstance == null) {
+			messageCreatorInstance = new MessageCreator();
+		}
+		return messageCreatorInstance;
 	}
 
 	/* make sure you get all objects as primitives for the json class */
@@ -33,8 +49,16 @@ public class MessageCreator {
 		return createJsonMsg(type, param);
 	}
 	
+	/* the shared models are sent as json strings inside the message, a message with no params gets an empty param */
 	public String createMsg(MsgTypeEnum type, Object... params) {
-		return createJsonMsg(type, params);
+		if (params.length == 0) {
+			return createMsg(type);
+		}
+		Object[] jsonParams = new Object[params.length];
+		for (int i = 0; i < params.length; i++) {
+			jsonParams[i] = convertor.modelToJson(params[i]);
+		}
+		return createJsonMsg(type, jsonParams);
 	}
 	
 	public String createMsg(MsgTypeEnum type, GameInfo param) {
@@ -47,6 +71,11 @@ public class MessageCreator {
 		return createJsonMsg(type, jsonInfo);
 	}
 	
+	public String createMsg(MsgTypeEnum type, GameDelta param) {
+		String jsonInfo = convertor.gameDeltaToJson(param);
+		return createJsonMsg(type, jsonInfo);
+	}
+	
 	public String createMsg(MsgTypeEnum type, CardModel param) {
 		String jsonInfo = convertor.cardToJson(param);
 		return createJsonMsg(type, jsonInfo);
@@ -1,11 +1,8 @@
 package message;
 
-import java.util.ArrayList;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import clientservershared.PickedCards;
 import eventnotifications.IClientRequestNotifications;
 import game.GameManager;
 
@@ -13,33 +10,59 @@ import game.GameManager;
 
 public class MessageHandler {
 	private static final Logger logger = LogManager.getLogger(MessageHandler.class);
-	private MessageConvertor convertor;
+	private RequestDecoder decoder;
+	private ClientRequest request;
 	private IClientRequestNotifications clientNotifications;
 	private String clientId;
+	private Runnable deltasRequestedHandler;
 	
 	public MessageHandler(String id) {
-		convertor = new MessageConvertor();
+		this(id, GameManager.getInstance());
+	}
+	
+	public MessageHandler(String id, IClientRequestNotifications clientNotifications) {
+		decoder = new RequestDecoder();
+		request = new ClientRequest();
 		clientId = id;
-		clientNotifications = GameManager.getInstance();
+		deltasRequestedHandler = () -> {};
+		this.clientNotifications = clientNotifications;
 	}
 	
+	public void setClientId(String id) {
+		clientId = id;
+	}
+	
+	/* called before a join or resume request that asks for game deltas is passed on, so the connection knows it before the player joins */
+	public void setDeltasRequestedHandler(Runnable handler) {
+		deltasRequestedHandler = handler;
+	}
+	
+	/* the request is decoded into the reused request object, in a single pass */
 	public void handleMsg(String jsomMsg) {
-		Message msg = convertor.jsonToMsg(jsomMsg);
-		
-		switch (msg.getMsgType()) {
+		decoder.decode(jsomMsg, request);
+		handleRequest();
+	}
+	
+	public void handleMsg(byte[] frame, int offset, int length) {
+		BinaryCodec.getInstance().decodeRequest(frame, offset, length, request);
+		handleRequest();
+	}
+	
+	private void handleRequest() {
+		switch (request.getType()) {
 		case CLIENT_REQ_NEW_GAME:
 			logger.debug("player requested to start a new game");
-			handleNewGameReq(msg.getMsgParams());
+			handleNewGameReq();
 			break;
 			
 		case CLIENT_REQ_JOIN_GAME:
 			logger.debug("player requested to join a game game");
-			handleJoinGameReq(msg.getMsgParams());
+			handleJoinGameReq();
 			break;
 			
 		case CLIENT_REQ_PICKED_CARDS:
 			logger.debug("player requested to pick cards");
-			handlePickedCardsReq(msg.getMsgParams());
+			handlePickedCardsReq();
 			break;
 			
 		case CLIENT_REQ_DEAL_CARD:
@@ -49,13 +72,18 @@ public class MessageHandler {
 			
 		case CLIENT_REQ_ATTACK_REP_VICTIM:
 			logger.debug("player replyed with id of player to attack");
-			handleAttackPlayerReq(msg.getMsgParams());
+			handleAttackPlayerReq();
 			break;
 			
 		case CLIENT_REQ_LOSE_ATTACK:
 			logger.debug("player replyed with lost attack msg");
 			handleLostAttackReq();
 			break;
+			
+		case CLIENT_REQ_RESUME_SESSION:
+			logger.debug("player requested to resume its session");
+			handleResumeSessionReq();
+			break;
 
 		default:
 			logger.debug("player requested other type of message");
@@ -63,36 +91,39 @@ public class MessageHandler {
 		}
 	}
 	
-	private void handleNewGameReq(ArrayList<Object> msgParams) {
-		Integer numPlayers = ((Double)msgParams.get(0)).intValue();
-		clientNotifications.onNewGameRequest(clientId, numPlayers);
+	private void handleNewGameReq() {
+		clientNotifications.onNewGameRequest(clientId, request.getNumOfPlayers());
 	}
 	
-	private void handleJoinGameReq(ArrayList<Object> msgParams) {
-		String password = (String) msgParams.get(0);
-		String name = (String) msgParams.get(1);
-		String img = (String) msgParams.get(2);
-		clientNotifications.onJoinGameRequest(clientId, password, name, img);
+	private void handleJoinGameReq() {
+		if (request.receivesDeltas()) {
+			deltasRequestedHandler.run();
+		}
+		clientNotifications.onJoinGameRequest(clientId, request.getPassword(), request.getName(), request.getImg());
 	}
 	
-	private void handlePickedCardsReq(ArrayList<Object> msgParams) {
-		String jsonInfo = (String) msgParams.get(0);
-		PickedCards cards = convertor.jsonToPickedCards(jsonInfo);
-		clientNotifications.onPlayerPickedCards(clientId, cards);
+	private void handlePickedCardsReq() {
+		clientNotifications.onPlayerPickedCards(clientId, request.createPickedCards());
 	}
 	
 	private void handleDealCardReq() {
 		clientNotifications.onDealCardReq(clientId);
 	}
 	
-	private void handleAttackPlayerReq(ArrayList<Object> msgParams) {
-		String victimId = (String) msgParams.get(0);
-		clientNotifications.onAttackPlayerReq(victimId);
+	private void handleAttackPlayerReq() {
+		clientNotifications.onAttackPlayerReq(clientId, request.getVictimId());
 	}
 	
 	private void handleLostAttackReq() {
 		clientNotifications.onPlayerLostAttack(clientId);
 	}
 	
+	private void handleResumeSessionReq() {
+		if (request.receivesDeltas()) {
+			deltasRequestedHandler.run();
+		}
+		clientNotifications.onResumeSessionReq(clientId, request.getToken(), request.getLastMsgSeq());
+	}
+	
 	
 }
@@ -28,6 +28,8 @@ public enum MsgTypeEnum {
      * Param-0: [string] password
      * Param-1: [string] name
      * Param-2: [string] img
+     * Param-3: [boolean] optional, true if the client handles SERVER_REP_GAME_DELTA,
+     *          otherwise the client is sent the hand, points and turns messages
      */
 	CLIENT_REQ_JOIN_GAME,
 	
@@ -52,7 +54,7 @@ public enum MsgTypeEnum {
      * Type: CLIENT_REQ_LOSE_ATTACK
      */
     CLIENT_REQ_LOSE_ATTACK,
-	
+    
 	/* **********************************************************************************
     OUT
     ********************************************************************************** */
@@ -153,6 +155,47 @@ public enum MsgTypeEnum {
 	/*
 	 * Type: UNKNOWN_TYPE
 	 */
-	UNKNOWN_TYPE
+	UNKNOWN_TYPE,
+	
+	/* **********************************************************************************
+	ADDED AFTER THE FIRST RELEASE, new types are appended here, so the ordinals used by the binary format do not change
+	********************************************************************************** */
+	
+	/*
+	 * Type: CLIENT_REQ_RESUME_SESSION
+	 * Param-0: [String] session token
+	 * Param-1: [int] number of the last message received in the session
+	 * Param-2: [boolean] optional, true if the client handles SERVER_REP_GAME_DELTA, as in CLIENT_REQ_JOIN_GAME
+	 */
+	CLIENT_REQ_RESUME_SESSION,
+	
+	/*
+	 * Type: SERVER_REP_GAME_DELTA
+	 * Param-0: [GameDelta] the changes of the game state since the previous delta
+	 */
+	SERVER_REP_GAME_DELTA,
+	
+	/*
+	 * Type: SERVER_REP_SESSION_TOKEN
+	 * Param-0: [String] session token, the messages that follow are numbered from 1
+	 */
+	SERVER_REP_SESSION_TOKEN,
+	
+	/*
+	 * Type: SERVER_REP_SESSION_RESUMED
+	 * Param-0: [int] number of the last message of the session, the messages that follow continue from it
+	 */
+	SERVER_REP_SESSION_RESUMED,
+	
+	/*
+	 * Type: SERVER_REP_RESUME_FAILED
+	 */
+	SERVER_REP_RESUME_FAILED,
+	
+	/*
+	 * Type: SERVER_REP_GAME_CLOSED
+	 * the game was closed before it started, since not all the players joined in time
+	 */
+	SERVER_REP_GAME_CLOSED
 
 }
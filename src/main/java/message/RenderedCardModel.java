@@ -0,0 +1,36 @@
+package message;
+
+import clientservershared.CardModel;
+
+/**
+* This class represents the card information of a card whose type was rendered when the cards catalog was loaded.
+* The model is written by splicing the card id into the rendered fields of its type, rather than being serialized.
+* A card keeps its model for the whole game, thus the model is created once per card,
+* and cannot be changed.
+*
+* @author      Keren Solomon
+*/
+public class RenderedCardModel extends CardModel {
+	private final CardRendering rendering;
+
+	public RenderedCardModel(int id, CardRendering rendering) {
+		super(id, rendering.getPrototype().getName(), rendering.getPrototype().getImg(),
+				rendering.getPrototype().getTxtColor(), rendering.getPrototype().getFrame(),
+				rendering.getPrototype().getBack(), rendering.getPrototype().getPoints());
+		this.rendering = rendering;
+	}
+
+	public CardRendering getRendering() {
+		return rendering;
+	}
+
+	public String toJson() {
+		return rendering.toJson(getId());
+	}
+
+	@Override
+	public void setPoints(String points) {
+		throw new UnsupportedOperationException("a rendered card cannot be changed");
+	}
+
+}
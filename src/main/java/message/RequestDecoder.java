@@ -0,0 +1,185 @@
+package message;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+* This class decodes the json requests of the clients.
+* The request is read with a single pass of a streaming JsonReader: once the type of the request is read,
+* its params are read by their position straight into the typed fields of a ClientRequest,
+* numbers are read as int values, and params the request type does not define are skipped.
+*
+* The picked cards of a CLIENT_REQ_PICKED_CARDS request are sent as a json string inside the message,
+* they are read from that string by a second reader, with no intermediate object.
+* A json object in place of the string is read as well.
+*
+* The type of the request is expected before its params, as the clients write it.
+* In case the params come first, they are kept as a tree until the type is read, and then decoded from the tree.
+*
+* @author      Keren Solomon
+*/
+public class RequestDecoder {
+	private static final String TYPE_FIELD = "msgType";
+	private static final String PARAMS_FIELD = "params";
+	private static final String CARD1_FIELD = "card1";
+	private static final String CARD2_FIELD = "card2";
+	private static final String NUM_PICKED_CARDS_FIELD = "numPickedCards";
+	private static final int INVALID_CARD_IDX = -1;
+	private static final Map<String,MsgTypeEnum> msgTypes = new HashMap<>();
+
+	static {
+		for (MsgTypeEnum type : MsgTypeEnum.values()) {
+			msgTypes.put(type.name(), type);
+		}
+	}
+
+	/**
+	* This method decodes a json request into the given request object.
+	*
+	* @param  json  	the json request line.
+	* @param  request  	the request object to decode into, its previous values are cleared.
+	* @throws       	JsonSyntaxException if the request is not valid json, or its params do not match its type.
+	*/
+	public void decode(String json, ClientRequest request) {
+		request.clear();
+		try {
+			JsonReader reader = new JsonReader(new StringReader(json));
+			reader.setLenient(true);
+			JsonElement earlyParams = null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String field = reader.nextName();
+				if (TYPE_FIELD.equals(field)) {
+					request.setType(readType(reader));
+				}
+				else if (PARAMS_FIELD.equals(field) && request.getType() == MsgTypeEnum.UNKNOWN_TYPE) {
+					earlyParams = JsonParser.parseReader(reader);
+				}
+				else if (PARAMS_FIELD.equals(field)) {
+					readParams(reader, request);
+				}
+				else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+
+			if (earlyParams != null && request.getType() != MsgTypeEnum.UNKNOWN_TYPE) {
+				readParams(new JsonReader(new StringReader(earlyParams.toString())), request);
+			}
+		} catch (IOException | IllegalStateException | NumberFormatException e) {
+			throw new JsonSyntaxException("malformed request: " + json, e);
+		}
+	}
+
+	private MsgTypeEnum readType(JsonReader reader) throws IOException {
+		MsgTypeEnum type = msgTypes.get(readString(reader));
+		return (type != null) ? type : MsgTypeEnum.UNKNOWN_TYPE;
+	}
+
+	private String readString(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextString();
+	}
+
+	private Boolean readBoolean(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return false;
+		}
+		return reader.nextBoolean();
+	}
+
+	/**
+	* This method reads the params of the request, based on the type of the request.
+	*
+	* @param  reader  	the reader, positioned at the params array.
+	* @param  request  	the request object to decode into.
+	* @throws       	IOException if the params are malformed.
+	*/
+	private void readParams(JsonReader reader, ClientRequest request) throws IOException {
+		reader.beginArray();
+		switch (request.getType()) {
+		case CLIENT_REQ_NEW_GAME:
+			request.setNumOfPlayers(reader.nextInt());
+			break;
+
+		case CLIENT_REQ_JOIN_GAME:
+			request.setPassword(readString(reader));
+			request.setName(readString(reader));
+			request.setImg(readString(reader));
+			if (reader.hasNext()) {
+				request.setReceivesDeltas(readBoolean(reader));
+			}
+			break;
+
+		case CLIENT_REQ_PICKED_CARDS:
+			readPickedCards(reader, request);
+			break;
+
+		case CLIENT_REQ_ATTACK_REP_VICTIM:
+			request.setVictimId(readString(reader));
+			break;
+
+		case CLIENT_REQ_RESUME_SESSION:
+			request.setToken(readString(reader));
+			request.setLastMsgSeq(reader.nextInt());
+			if (reader.hasNext()) {
+				request.setReceivesDeltas(readBoolean(reader));
+			}
+			break;
+
+		default:
+			break;
+		}
+		while (reader.hasNext()) {
+			reader.skipValue();
+		}
+		reader.endArray();
+	}
+
+	private void readPickedCards(JsonReader reader, ClientRequest request) throws IOException {
+		if (reader.peek() == JsonToken.STRING) {
+			readPickedCardsObject(new JsonReader(new StringReader(reader.nextString())), request);
+		}
+		else {
+			readPickedCardsObject(reader, request);
+		}
+	}
+
+	private void readPickedCardsObject(JsonReader reader, ClientRequest request) throws IOException {
+		int card1 = INVALID_CARD_IDX;
+		int card2 = INVALID_CARD_IDX;
+		int numPickedCards = 0;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String field = reader.nextName();
+			if (CARD1_FIELD.equals(field)) {
+				card1 = reader.nextInt();
+			}
+			else if (CARD2_FIELD.equals(field)) {
+				card2 = reader.nextInt();
+			}
+			else if (NUM_PICKED_CARDS_FIELD.equals(field)) {
+				numPickedCards = reader.nextInt();
+			}
+			else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		request.setPickedCards(card1, card2, numPickedCards);
+	}
+
+}
@@ -0,0 +1,20 @@
+package message;
+
+/**
+* This enum defines the formats in which messages are written to and read from a client connection.
+*
+* JSON   - each message is a line of json text, the format of every client that does not ask otherwise.
+* BINARY - each message is a frame, prefixed by its length, encoded by the BinaryCodec class.
+*
+* The format is chosen by the client when it connects: a client that sends the binary handshake byte
+* as the first byte of the connection gets the binary format, any other first byte starts a json line.
+*
+* @author      Keren Solomon
+*/
+public enum WireFormat {
+	JSON,
+	BINARY;
+
+	/* the first byte sent by a client that uses the binary format, it never starts a json line */
+	public static final int BINARY_HANDSHAKE = 0xB1;
+}
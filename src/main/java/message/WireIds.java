@@ -0,0 +1,81 @@
+package message;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* This class interns the ids of the connected clients as small numbers, used by the binary format.
+* It is a singleton class, shared by all the connections.
+*
+* A client id is a 36 characters string, and is part of many of the game messages,
+* thus the binary format writes a client id as its number, once the client learned the id behind the number
+* from the players of the game info, or from the start game message.
+* A client id that is not interned, is written as a plain string.
+*
+* @author      Keren Solomon
+*/
+public class WireIds {
+	public static final int NOT_INTERNED = -1;
+
+	private static WireIds wireIdsInstance = null;
+
+	private Map<String,Integer> idToHandle;
+	private Map<Integer,String> handleToId;
+	private AtomicInteger nextHandle;
+
+	private WireIds() {
+		idToHandle = new ConcurrentHashMap<>();
+		handleToId = new ConcurrentHashMap<>();
+		nextHandle = new AtomicInteger();
+	}
+
+	public static synchronized WireIds getInstance() {
+		if (wireIdsInstance == null) {
+			wireIdsInstance = new WireIds();
+		}
+		return wireIdsInstance;
+	}
+
+	/**
+	* This method interns the given client id, it is called once the client is connected.
+	*
+	* @param  id  	the client id.
+	* @return int  	the number the client id is written as.
+	*/
+	public int intern(String id) {
+		return idToHandle.computeIfAbsent(id, key -> {
+			int handle = nextHandle.getAndIncrement();
+			handleToId.put(handle, key);
+			return handle;
+		});
+	}
+
+	/**
+	* This method releases the given client id, it is called once the client is removed.
+	*
+	* @param  id  	the client id.
+	*/
+	public void release(String id) {
+		Integer handle = idToHandle.remove(id);
+		if (handle != null) {
+			handleToId.remove(handle);
+		}
+	}
+
+	/**
+	* This method returns the number the given string is written as, in case the string is an interned client id.
+	*
+	* @param  id  	the string to write.
+	* @return int  	the number of the client id, or NOT_INTERNED.
+	*/
+	public int getHandle(String id) {
+		Integer handle = idToHandle.get(id);
+		return (handle != null) ? handle : NOT_INTERNED;
+	}
+
+	public String getId(int handle) {
+		return handleToId.get(handle);
+	}
+
+}
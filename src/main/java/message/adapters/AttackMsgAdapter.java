@@ -0,0 +1,40 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.AttackMsg;
+
+/**
+* This class writes an AttackMsg as json, field by field, with no reflection.
+* The server only writes attack messages, reading them is not supported.
+*
+* @author      Keren Solomon
+*/
+public class AttackMsgAdapter extends TypeAdapter<AttackMsg> {
+
+	@Override
+	public void write(JsonWriter out, AttackMsg msg) throws IOException {
+		if (msg == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("msgType").value(msg.getMsgType());
+		out.name("msgString").value(msg.getMsgString());
+		out.name("list");
+		JsonLists.writeStrings(out, msg.getList());
+		out.name("mainImg").value(msg.getMainImg());
+		out.name("secImg").value(msg.getSecImg());
+		out.endObject();
+	}
+
+	@Override
+	public AttackMsg read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("attack messages are not read by the server");
+	}
+
+}
@@ -0,0 +1,47 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.CardModel;
+import message.RenderedCardModel;
+
+/**
+* This class writes a CardModel as json, field by field, with no reflection.
+* A card whose type was rendered when the catalog was loaded is written from the rendered json of its type.
+* The server only writes cards, reading a card is not supported.
+*
+* @author      Keren Solomon
+*/
+public class CardModelAdapter extends TypeAdapter<CardModel> {
+
+	@Override
+	public void write(JsonWriter out, CardModel card) throws IOException {
+		if (card == null) {
+			out.nullValue();
+			return;
+		}
+		if (card instanceof RenderedCardModel) {
+			out.jsonValue(((RenderedCardModel) card).toJson());
+			return;
+		}
+		out.beginObject();
+		out.name("id").value(card.getId());
+		out.name("name").value(card.getName());
+		out.name("img").value(card.getImg());
+		out.name("txtColor").value(card.getTxtColor());
+		out.name("frame").value(card.getFrame());
+		out.name("back").value(card.getBack());
+		out.name("points").value(card.getPoints());
+		out.endObject();
+	}
+
+	@Override
+	public CardModel read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("cards are not read by the server");
+	}
+
+}
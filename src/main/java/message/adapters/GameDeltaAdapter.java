@@ -0,0 +1,63 @@
+package message.adapters;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.GameDelta;
+
+/**
+* This class writes a GameDelta as json, field by field, with no reflection.
+* The parts of the delta that did not change are null, and are not written.
+* The server only writes deltas, reading them is not supported.
+*
+* @author      Keren Solomon
+*/
+public class GameDeltaAdapter extends TypeAdapter<GameDelta> {
+	private CardModelAdapter cardAdapter;
+
+	public GameDeltaAdapter(CardModelAdapter cardAdapter) {
+		this.cardAdapter = cardAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, GameDelta delta) throws IOException {
+		if (delta == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("version").value(delta.getVersion());
+		out.name("addedCards");
+		JsonLists.write(out, delta.getAddedCards(), cardAdapter);
+		out.name("removedCards");
+		JsonLists.writeInts(out, delta.getRemovedCards());
+		out.name("scores");
+		writeScores(out, delta.getScores());
+		out.name("currentPlayer").value(delta.getCurrentPlayer());
+		out.name("inactivePlayers");
+		JsonLists.writeStrings(out, delta.getInactivePlayers());
+		out.endObject();
+	}
+
+	private void writeScores(JsonWriter out, Map<String,Integer> scores) throws IOException {
+		if (scores == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		for (Map.Entry<String,Integer> score : scores.entrySet()) {
+			out.name(score.getKey()).value(score.getValue());
+		}
+		out.endObject();
+	}
+
+	@Override
+	public GameDelta read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("deltas are not read by the server");
+	}
+
+}
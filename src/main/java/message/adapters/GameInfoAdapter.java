@@ -0,0 +1,49 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.GameInfo;
+
+/**
+* This class writes a GameInfo as json, field by field, with no reflection.
+* The players and the cards are written by the adapters of their models.
+* The server only writes the game info, reading it is not supported.
+*
+* @author      Keren Solomon
+*/
+public class GameInfoAdapter extends TypeAdapter<GameInfo> {
+	private PlayerModelAdapter playerAdapter;
+	private CardModelAdapter cardAdapter;
+
+	public GameInfoAdapter(PlayerModelAdapter playerAdapter, CardModelAdapter cardAdapter) {
+		this.playerAdapter = playerAdapter;
+		this.cardAdapter = cardAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, GameInfo info) throws IOException {
+		if (info == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("players");
+		JsonLists.write(out, info.getPlayers(), playerAdapter);
+		out.name("cards");
+		JsonLists.write(out, info.getCards(), cardAdapter);
+		out.name("me");
+		playerAdapter.write(out, info.getMyPlayer());
+		out.name("version").value(info.getVersion());
+		out.endObject();
+	}
+
+	@Override
+	public GameInfo read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("game info is not read by the server");
+	}
+
+}
@@ -0,0 +1,39 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.GameOver;
+
+/**
+* This class writes a GameOver as json, field by field, with no reflection.
+* The win reason is written by its name.
+* The server only writes the game over info, reading it is not supported.
+*
+* @author      Keren Solomon
+*/
+public class GameOverAdapter extends TypeAdapter<GameOver> {
+
+	@Override
+	public void write(JsonWriter out, GameOver info) throws IOException {
+		if (info == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("winnerId").value(info.getWinnerId());
+		out.name("winnerName").value(info.getWinnerName());
+		out.name("winnerPoints").value(info.getWinnerPoints());
+		out.name("winReason").value((info.getWinReason() != null) ? info.getWinReason().name() : null);
+		out.endObject();
+	}
+
+	@Override
+	public GameOver read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("game over info is not read by the server");
+	}
+
+}
@@ -0,0 +1,56 @@
+package message.adapters;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+* This class writes the lists held by the shared models as json arrays.
+* A null list is written as null, and thus is not written at all as a field of a model.
+*
+* @author      Keren Solomon
+*/
+final class JsonLists {
+
+	private JsonLists() {
+	}
+
+	static <T> void write(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+		if (list == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (T item : list) {
+			adapter.write(out, item);
+		}
+		out.endArray();
+	}
+
+	static void writeStrings(JsonWriter out, List<String> list) throws IOException {
+		if (list == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (String item : list) {
+			out.value(item);
+		}
+		out.endArray();
+	}
+
+	static void writeInts(JsonWriter out, List<Integer> list) throws IOException {
+		if (list == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (Integer item : list) {
+			out.value(item);
+		}
+		out.endArray();
+	}
+
+}
@@ -0,0 +1,60 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import message.Message;
+
+/**
+* This class writes a Message as json, with no reflection.
+* The params of a message are strings, numbers or booleans, the shared models are already written as json strings.
+* The requests of the clients are read by the RequestDecoder class, thus reading a message is not supported.
+*
+* @author      Keren Solomon
+*/
+public class MessageAdapter extends TypeAdapter<Message> {
+
+	@Override
+	public void write(JsonWriter out, Message msg) throws IOException {
+		if (msg == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("msgType").value(msg.getMsgType().name());
+		out.name("params");
+		out.beginArray();
+		for (Object param : msg.getMsgParams()) {
+			writeParam(out, param);
+		}
+		out.endArray();
+		out.endObject();
+	}
+
+	private void writeParam(JsonWriter out, Object param) throws IOException {
+		if (param == null) {
+			out.nullValue();
+		}
+		else if (param instanceof String) {
+			out.value((String) param);
+		}
+		else if (param instanceof Number) {
+			out.value((Number) param);
+		}
+		else if (param instanceof Boolean) {
+			out.value((Boolean) param);
+		}
+		else {
+			throw new IllegalArgumentException("no json param encoding for " + param.getClass().getName());
+		}
+	}
+
+	@Override
+	public Message read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("messages are read by the request decoder");
+	}
+
+}
@@ -0,0 +1,64 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.PickedCards;
+
+/**
+* This class reads and writes PickedCards as json, field by field, with no reflection.
+* Only the picked cards and their number are written, unknown fields are skipped when read.
+*
+* @author      Keren Solomon
+*/
+public class PickedCardsAdapter extends TypeAdapter<PickedCards> {
+	private static final int INVALID_CARD_IDX = -1;
+
+	@Override
+	public void write(JsonWriter out, PickedCards cards) throws IOException {
+		if (cards == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("card1").value(cards.getCard1());
+		out.name("card2").value(cards.getCard2());
+		out.name("numPickedCards").value(cards.getNumOfPickedCards());
+		out.endObject();
+	}
+
+	@Override
+	public PickedCards read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		int card1 = INVALID_CARD_IDX;
+		int card2 = INVALID_CARD_IDX;
+		int numPickedCards = 0;
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "card1":
+				card1 = in.nextInt();
+				break;
+			case "card2":
+				card2 = in.nextInt();
+				break;
+			case "numPickedCards":
+				numPickedCards = in.nextInt();
+				break;
+			default:
+				in.skipValue();
+				break;
+			}
+		}
+		in.endObject();
+		return new PickedCards(card1, card2, numPickedCards);
+	}
+
+}
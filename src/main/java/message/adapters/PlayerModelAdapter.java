@@ -0,0 +1,40 @@
+package message.adapters;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import clientservershared.PlayerModel;
+
+/**
+* This class writes a PlayerModel as json, field by field, with no reflection.
+* The server only writes players, reading a player is not supported.
+*
+* @author      Keren Solomon
+*/
+public class PlayerModelAdapter extends TypeAdapter<PlayerModel> {
+
+	@Override
+	public void write(JsonWriter out, PlayerModel player) throws IOException {
+		if (player == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("playerId").value(player.getPlayerId());
+		out.name("name").value(player.getPlayerName());
+		out.name("score").value(player.getScore());
+		out.name("img").value(player.getImg());
+		out.name("isActive").value(player.getIsActive());
+		out.name("myTurn").value(player.getMyTurn());
+		out.endObject();
+	}
+
+	@Override
+	public PlayerModel read(JsonReader in) throws IOException {
+		throw new UnsupportedOperationException("players are not read by the server");
+	}
+
+}
@@ -0,0 +1,377 @@
+package serverConnections;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import clientservershared.AttackMsg;
+import clientservershared.GameDelta;
+import clientservershared.GameInfo;
+import globals.Configs;
+import globals.Constants;
+import message.EncodedMsg;
+import message.MessageHandler;
+import message.MsgTypeEnum;
+import message.WireFormat;
+
+/**
+* This class represents a client connection, regardless of the transport used to reach the client.
+* The AbstractClientHandler class defines the messages sent between this server application and the client.
+*
+* The class uses the services of the msgHandler class to handle the incoming requests.
+* The messages to be sent are created as EncodedMsg objects, encoded in the wire format of the client once queued.
+*
+* The inheriting classes are responsible for the transport itself,
+* they pass every complete request line to handleRequest, or every complete binary frame to handleBinaryRequest,
+* and implement flush and close.
+* The wire format of the client is json, unless the client sent the binary handshake when it connected.
+*
+* Messages sent to the client are added to a bounded outbound queue, and are not written right away.
+* The client is marked as pending in the pending clients of the game that sent the messages, which are flushed
+* once the game event that produced the messages is handled by the game executor,
+* thus all the messages of a single event are written together.
+* The requests are only handed to the game executors by the reading thread, so it does not flush the clients itself.
+* A client whose queue reaches the high water mark is either disconnected, or its new messages are dropped,
+* based on the overflow policy defined in the configuration file.
+*
+* The class offers a set of APIs used by the socket handler class to send messages to the client.
+* Messages shared by multiple clients are encoded once by the socket handler, and passed to sendEncodedMsg.
+*
+* Game deltas are sent as a single message only to clients that asked for them when they joined the game,
+* or resumed their session, the other clients get a message per change, as they did before the deltas were introduced.
+*
+* Once the client joins a game, a session is opened for the client, and every message sent to the client is kept in the session.
+* When the connection is lost, the client handler stays registered in the socket handler, and keeps the sent messages in the session,
+* until the player resumes the session from a new connection: the new client handler takes the id and the session of the player,
+* and sends only the messages the player missed.
+*
+* @author      Keren Solomon
+*/
+public abstract class AbstractClientHandler {
+	private static final Logger logger = LogManager.getLogger(AbstractClientHandler.class);
+
+	private volatile String clientId;
+	private Boolean isClientActive;
+	private volatile Boolean isConnected;
+	private volatile Boolean hasFallenBehind;
+	private volatile ClientSession session;
+	private volatile WireFormat wireFormat;
+	private volatile Boolean receivesDeltas;
+
+	private MessageHandler msgHandler;
+
+	/* Outgoing messages members */
+	private SocketHandler socketHandler;
+	private OutboundQueue outbound;
+	private AtomicBoolean isPending;
+	private Boolean disconnectOnOverflow;
+
+	public AbstractClientHandler(String id, SocketHandler socketHandler) {
+		Configs configs = Configs.getInstance();
+		this.clientId = id;
+		this.isClientActive = false;
+		this.isConnected = true;
+		this.hasFallenBehind = false;
+		this.wireFormat = WireFormat.JSON;
+		this.receivesDeltas = false;
+		this.socketHandler = socketHandler;
+
+		msgHandler = new MessageHandler(id);
+		msgHandler.setDeltasRequestedHandler(() -> receivesDeltas = true);
+
+		outbound = new OutboundQueue(configs.getIntProperty(Constants.OUTBOUND_HIGH_WATER_MARK));
+		isPending = new AtomicBoolean(false);
+		disconnectOnOverflow = Constants.OVERFLOW_POLICY_DISCONNECT.equals(configs.getStringProperty(Constants.OUTBOUND_OVERFLOW_POLICY));
+	}
+
+	/**
+	* This method writes the messages waiting in the outbound queue to the client.
+	* It is called once a game event is handled, and may be called from any thread.
+	* The written messages are released from the outbound queue.
+	*/
+	protected abstract void flush();
+
+	/**
+	* This method returns whether a write to the client is in progress, and blocked on the client.
+	* Transports that never block on a write keep the default.
+	*
+	* @return Boolean  true if a thread is blocked writing to the client, otherwise false.
+	*/
+	protected Boolean isWriteBlocked() {
+		return false;
+	}
+
+	/**
+	* This method closes the client connection and releases its resources.
+	* The inheriting classes call connectionClosed once the connection is closed.
+	*/
+	public abstract void close();
+
+	/**
+	* This method is called once the connection of the client is closed.
+	* A client that has no session is removed from the socket handler,
+	* while a client with a session keeps its messages in the session, until the player resumes it.
+	*/
+	protected void connectionClosed() {
+		isConnected = false;
+		socketHandler.removeClosedClient(this);
+	}
+
+	public String getClientId() {
+		return clientId;
+	}
+
+	public ClientSession getSession() {
+		return session;
+	}
+
+	public Boolean isConnected() {
+		return isConnected;
+	}
+
+	public WireFormat getWireFormat() {
+		return wireFormat;
+	}
+
+	protected void setWireFormat(WireFormat wireFormat) {
+		logger.info("client " + clientId + " uses the " + wireFormat + " format");
+		this.wireFormat = wireFormat;
+	}
+
+	/**
+	* This method returns whether messages to the client were dropped since the previous call,
+	* in which case the client missed changes of the game state, and should get the full state.
+	*
+	* @return Boolean  true if messages were dropped, otherwise false.
+	*/
+	Boolean clearFallenBehind() {
+		Boolean fallenBehind = hasFallenBehind;
+		hasFallenBehind = false;
+		return fallenBehind;
+	}
+
+	protected OutboundQueue getOutbound() {
+		return outbound;
+	}
+
+	public int getOutboundDepth() {
+		return outbound.getDepth();
+	}
+
+	/**
+	* This method is called when the pending clients of a game are flushed, or by the socket handler for a message sent outside of a game.
+	* The pending mark is cleared before the flush, so messages added during the flush mark the client again.
+	*/
+	void flushPending() {
+		isPending.set(false);
+		flush();
+	}
+
+	/**
+	* This method handles a single request line received from the client.
+	* A request that fails is logged and dropped, so it does not break the connection of the client.
+	*
+	* @param  request  the request line, without the line terminator.
+	*/
+	protected void handleRequest(String request) {
+		logger.info("Server got msg [" + clientId + "]: " + request);
+		try {
+			msgHandler.handleMsg(request);
+		} catch (RuntimeException e) {
+			logger.error("failed handling request of client " + clientId);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	* This method handles a single binary frame received from the client.
+	* A request that fails is logged and dropped, so it does not break the connection of the client.
+	*
+	* @param  frame  	the array holding the frame.
+	* @param  offset  	the index of the first byte of the frame, after its length prefix.
+	* @param  length  	the length of the frame.
+	*/
+	protected void handleBinaryRequest(byte[] frame, int offset, int length) {
+		logger.info("Server got msg [" + clientId + "]: " + length + " bytes");
+		try {
+			msgHandler.handleMsg(frame, offset, length);
+		} catch (RuntimeException e) {
+			logger.error("failed handling request of client " + clientId);
+			e.printStackTrace();
+		}
+	}
+
+	public void setActive() {
+		isClientActive = true;
+	}
+
+	public Boolean isActive() {
+		return isClientActive;
+	}
+
+	private void sendMsgToClient(MsgTypeEnum type, Object... params) {
+		sendEncodedMsg(new EncodedMsg(type, params));
+	}
+
+	/**
+	* This method sends a message to the client.
+	* In case the connection of the client is lost, the message is not queued.
+	* In case the client has a session, the message is kept in the session once it is accepted,
+	* a message dropped by the overflow policy is not kept, so it does not take a number the client never gets,
+	* the client gets the full state of the game instead.
+	*
+	* @param  msg  the encoded message to be sent.
+	*/
+	public void sendEncodedMsg(EncodedMsg msg) {
+		if (!isConnected || queueMsg(msg)) {
+			Optional.ofNullable(session).ifPresent(clientSession -> clientSession.record(msg));
+		}
+	}
+
+	/**
+	* This method adds the message to the outbound queue of the client,
+	* the message is written when the pending clients of the sending game are flushed.
+	*
+	* The message is encoded in the wire format of the client first, on the sending thread, which owns the parameters of the message,
+	* so the writing threads never read the game models the game thread keeps changing.
+	*
+	* In case the outbound queue reached its high water mark, the client is too slow to read its messages:
+	* based on the overflow policy, the client is either disconnected, or the message is dropped.
+	* A client whose write is blocked is disconnected regardless of the policy, so it does not hold the writing thread.
+	* A client that is disconnected may resume its session, thus the message is still accepted.
+	*
+	* @param  msg  		the encoded message to be sent.
+	* @return Boolean  	false if the message was dropped, otherwise true.
+	*/
+	private Boolean queueMsg(EncodedMsg msg) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("sending msg [" + clientId + "]:" + msg.getType());
+		}
+		msg.encode(wireFormat);
+		if (outbound.offer(msg)) {
+			if (isPending.compareAndSet(false, true)) {
+				socketHandler.addPendingClient(this);
+			}
+		}
+		else if (disconnectOnOverflow || isWriteBlocked()) {
+			logger.warn("client " + clientId + " reached " + outbound.getDepth() + " waiting messages, disconnecting");
+			close();
+			outbound.clear();
+		}
+		else {
+			logger.warn("client " + clientId + " reached " + outbound.getDepth() + " waiting messages, message dropped");
+			hasFallenBehind = true;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	* This method opens the session of the client, once it joined a game.
+	* The token of the session is sent to the client, the messages sent after it are kept in the session.
+	*
+	* @param  clientSession  the session of the client.
+	*/
+	void openSession(ClientSession clientSession) {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_SESSION_TOKEN, clientSession.getToken());
+		session = clientSession;
+	}
+
+	void closeSession() {
+		session = null;
+	}
+
+	/**
+	* This method makes this connection the connection of the player that owns the given session.
+	* The client takes the id of the player, and is sent the number of the last message of the session it has,
+	* followed by the messages the player missed.
+	* In case the missed messages are no longer kept, the client is sent the number of the last message of the session,
+	* and the game sends the full state of the game to the player.
+	*
+	* @param  clientSession  the session the player resumes.
+	* @param  lastMsgSeq  	 the number of the last message the player received.
+	* @return Boolean  		 true if the missed messages were sent, false if the full state of the game should be sent.
+	*/
+	Boolean resumeSession(ClientSession clientSession, int lastMsgSeq) {
+		clientId = clientSession.getClientId();
+		msgHandler.setClientId(clientId);
+		session = clientSession;
+		setActive();
+		synchronized (clientSession) {
+			Boolean isKept = clientSession.isKeptAfter(lastMsgSeq);
+			int resumedMsgSeq = isKept ? lastMsgSeq : clientSession.getLastMsgSeq();
+			queueMsg(new EncodedMsg(MsgTypeEnum.SERVER_REP_SESSION_RESUMED, resumedMsgSeq));
+			if (isKept) {
+				clientSession.forEachAfter(lastMsgSeq, this::queueMsg);
+			}
+			return isKept;
+		}
+	}
+
+	public void sendGameStart() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_START_GAME, clientId);
+	}
+
+	public void sendGameInfo(GameInfo gameInfo) {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_INFO, gameInfo);
+	}
+
+	/**
+	* This method sends the changes of the game state to the client.
+	* A client that asked for game deltas when it joined gets the delta as a single message,
+	* while any other client gets the messages it got before the deltas were introduced:
+	* a message per removed and added card, per changed score, and for the changed turn.
+	* Players that became inactive have no such message, the client learns it from the game over message.
+	*
+	* @param  delta  the changes of the game state since the previous delta.
+	*/
+	public void sendGameDelta(GameDelta delta) {
+		if (receivesDeltas) {
+			sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_DELTA, delta);
+			return;
+		}
+		Optional.ofNullable(delta.getRemovedCards()).ifPresent(cardsIds -> cardsIds.forEach(
+				cardId -> sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_HAND_REMOVE_CARD, cardId)));
+		Optional.ofNullable(delta.getAddedCards()).ifPresent(cards -> cards.forEach(
+				card -> sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_HAND_ADD_CARD, card)));
+		Optional.ofNullable(delta.getScores()).ifPresent(scores -> scores.forEach(
+				(playerId, points) -> sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_UPDATE_POINTS, points, playerId)));
+		Optional.ofNullable(delta.getCurrentPlayer()).ifPresent(
+				currentPlayer -> sendMsgToClient(MsgTypeEnum.SERVER_REP_UPDATE_TURNS, currentPlayer));
+	}
+
+	public void sendGameExist() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_EXIST);
+	}
+
+	public void sendGamePassword(String password) {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_PASS, password);
+	}
+
+	public void sendGameStart(int numOfActivePlayers) {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_WAIT_FOR_GAME_TO_START, numOfActivePlayers);
+	}
+
+	public void sendPassowrdInvalid() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_INVALID_PASS);
+	}
+
+	public void sendGameFull() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_GAME_FULL);
+	}
+
+	public void sendAttackMsg(AttackMsg attackMsg) {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_ATTACK_MSG, attackMsg);
+	}
+
+	public void sendResumeFailed() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_RESUME_FAILED);
+	}
+
+	public void sendPlayerLostGame() {
+		sendMsgToClient(MsgTypeEnum.SERVER_REP_LOST_GAME);
+	}
+
+}
@@ -1,189 +1,190 @@
 package serverConnections;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import clientservershared.AttackMsg;
-import clientservershared.CardModel;
-import clientservershared.GameInfo;
-import clientservershared.GameOver;
-import message.MessageCreator;
-import message.MessageHandler;
-import message.MsgTypeEnum;
+import globals.Configs;
+import globals.Constants;
+import message.BinaryCodec;
+import message.EncodedMsg;
+import message.WireFormat;
 
 /**
-* This class represents a client connection.
-* The ClientHandler class enables sending and receiving of messages between this server application and the client.
-* 
+* This class represents a blocking client connection.
+* The ClientHandler class enables sending and receiving of messages between this server application and the client,
+* over a blocking socket.
+*
 * This class implements the runnable interface, thus has a thread that runs in the background,
 * listens to the socket for incoming requests.
-* 
+* The first byte of the connection decides the wire format of the client:
+* the binary handshake byte starts reading length prefixed frames, any other byte starts reading json lines.
+*
 * Once created, the client handler initiates the in and out buffers, in which it will use to send and receive messages.
-* The class uses the services of the msgHandler class to handle the incoming requests.
-* The class uses the services of the msgCreator class to generate the messages to be sent.
-* 
-* The class offers a set of APIs used by the socket handler class to send messages to the client.
-* 
+* The waiting messages are written by a task of the writers executor, so the game never blocks on a slow client.
+* The writers executor is bounded, a client whose queue fills up while a write to it is blocked is disconnected,
+* closing the socket releases the blocked writer thread.
+* Each writing task copies all the waiting messages into a single write buffer, so they are sent together.
+* The writes are guarded by a ReentrantLock rather than a synchronized writer,
+* so a client running on a virtual thread does not pin its carrier thread while blocked on a write.
+*
 * @author      Keren Solomon
 */
-public class ClientHandler implements Runnable {
+public class ClientHandler extends AbstractClientHandler implements Runnable {
 	private static final Logger logger = LogManager.getLogger(ClientHandler.class);
+	private static final int WRITE_BUFFER_SIZE = 8192;
 	private Socket socket;
-	private BufferedReader in;
-	private PrintWriter out;
-	
-	private String clientId;
-	private Boolean isClientActive;
-	
-	private MessageHandler msgHandler;
-	private MessageCreator msgCreator;
+	private BufferedInputStream in;
+	private OutputStream out;
+	private byte[] writeBuffer;
+	private int writeLength;
+	private ReentrantLock writeLock;
+	private Executor writer;
+	private AtomicBoolean isFlushScheduled;
+	private int maxMsgLength;
+
 	private String request;
-	
-	public ClientHandler(Socket clientSocket, String id) {
-		this.clientId = id;
+
+	public ClientHandler(Socket clientSocket, String id, SocketHandler socketHandler, Executor writer) {
+		super(id, socketHandler);
 		this.socket = clientSocket;
-		this.isClientActive = false;
-		
+		this.writeLock = new ReentrantLock();
+		this.writeBuffer = new byte[WRITE_BUFFER_SIZE];
+		this.writeLength = 0;
+		this.writer = writer;
+		this.isFlushScheduled = new AtomicBoolean(false);
+		this.maxMsgLength = Configs.getInstance().getIntProperty(Constants.MAX_MSG_LENGTH);
+
 		try {
-			in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-			out = new PrintWriter(socket.getOutputStream(), true);
+			in = new BufferedInputStream(socket.getInputStream());
+			out = socket.getOutputStream();
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
-		
-		msgHandler = new MessageHandler(id);
-		msgCreator = new MessageCreator();
 	}
-	
+
 	@Override
 	public void run() {
 		sendAndRecv();
 	}
-	
-	public String getClientId() {
-		return clientId;
-	}
-	
+
 	private void sendAndRecv() {
 		try {
-		while (true) {
-			
-				if ((request = in.readLine()) != null) {
-					logger.info("Server got msg [" + clientId + "]: " + request);
-					msgHandler.handleMsg(request);
-				}
-
+			in.mark(1);
+			if (in.read() == WireFormat.BINARY_HANDSHAKE) {
+				setWireFormat(WireFormat.BINARY);
+				recvFrames();
+			}
+			else {
+				in.reset();
+				recvLines();
 			}
 		} catch (IOException e) {
 			e.printStackTrace();
-			out.close();
-			try {
-				in.close();
-			} catch (IOException e1) {
-				e1.printStackTrace();
-			}
-		}
-	}
-	
-	public void setActive() {
-		isClientActive = true;
-	}
-	
-	private void sendMsgToClient(String msg) {
-		if (msg != null) {
-			logger.info("sending msg [" + clientId + "]:" + msg);
-			out.println(msg);
-		}
-	}
-	
-	public void sendNumActivePlayers(int numPlayers) {
-		if (isClientActive) {
-			String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_SET_NUM_ACTIVE_PLAYERS, numPlayers);
-			sendMsgToClient(msg);
 		}
-	}
-	
-	public void sendGameStart() {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_START_GAME, clientId);
-		sendMsgToClient(msg);
+		close();
 	}
 
-	public void sendGameInfo(GameInfo gameInfo) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_INFO, gameInfo);
-		sendMsgToClient(msg);
-	}
-	
-	public void sendUpdatePoints(int points, String playerId) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_UPDATE_POINTS, points, playerId);
-		sendMsgToClient(msg);
-	}
-	
-	public void sendRemoveCard(int cardId) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_HAND_REMOVE_CARD, cardId);
-		sendMsgToClient(msg);
-	}
-	
-	public void sendAddCard(CardModel card) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_HAND_ADD_CARD, card);
-		sendMsgToClient(msg);
-	}
-	
-	public void sendUpdateTurn(String currPlayrId) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_UPDATE_TURNS, currPlayrId);
-		sendMsgToClient(msg);
-	}
-
-	public void sendGameExist() {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_EXIST);
-		sendMsgToClient(msg);
+	private void recvLines() throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		while ((request = reader.readLine()) != null) {
+			handleRequest(request);
+		}
 	}
 
-	public void sendGamePassword(String password) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_PASS, password);
-		sendMsgToClient(msg);
+	private void recvFrames() throws IOException {
+		DataInputStream frames = new DataInputStream(in);
+		byte[] frame = new byte[0];
+		int length;
+		while ((length = BinaryCodec.readFrameLength(frames)) >= 0) {
+			if (length > maxMsgLength) {
+				throw new IOException("request of client " + getClientId() + " exceeds " + maxMsgLength + " bytes");
+			}
+			if (frame.length < length) {
+				frame = new byte[length];
+			}
+			frames.readFully(frame, 0, length);
+			handleBinaryRequest(frame, 0, length);
+		}
 	}
 
-	public void sendGameStart(int numOfActivePlayers) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_WAIT_FOR_GAME_TO_START, numOfActivePlayers);
-		sendMsgToClient(msg);
+	@Override
+	protected void flush() {
+		if (isFlushScheduled.compareAndSet(false, true)) {
+			writer.execute(this::writeQueuedMsgs);
+		}
 	}
 
-	public void sendPassowrdInvalid() {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_INVALID_PASS);
-		sendMsgToClient(msg);
-	}
+	private void writeQueuedMsgs() {
+		isFlushScheduled.set(false);
+		OutboundQueue outbound = getOutbound();
+		int numOfWritten = 0;
 
-	public void sendGameFull() {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_FULL);
-		sendMsgToClient(msg);
+		writeLock.lock();
+		try {
+			EncodedMsg msg;
+			while ((msg = outbound.poll()) != null) {
+				bufferMsg(msg);
+				numOfWritten++;
+			}
+			writeBufferToSocket();
+		} catch (IOException e) {
+			logger.error("failed sending msg to client " + getClientId() + ": " + e.getMessage());
+		} finally {
+			writeLock.unlock();
+			outbound.release(numOfWritten);
+		}
 	}
 
-	public void sendAttackMsg(AttackMsg attackMsg) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_ATTACK_MSG, attackMsg);
-		sendMsgToClient(msg);
+	private void bufferMsg(EncodedMsg msg) throws IOException {
+		WireFormat format = getWireFormat();
+		int length = msg.getLength(format);
+		if (writeLength + length > writeBuffer.length) {
+			writeBufferToSocket();
+			if (length > writeBuffer.length) {
+				msg.writeTo(format, out);
+				return;
+			}
+		}
+		writeLength += msg.copyTo(format, writeBuffer, writeLength);
 	}
 
-	public void sendCardToUsedPile(CardModel card) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_CARD_USED, card);
-		sendMsgToClient(msg);
+	private void writeBufferToSocket() throws IOException {
+		if (writeLength > 0) {
+			int length = writeLength;
+			writeLength = 0;
+			out.write(writeBuffer, 0, length);
+		}
 	}
 
-	public void sendGameOver(GameOver info) {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_GAME_OVER, info);
-		sendMsgToClient(msg);
+	/**
+	* This method returns whether a writer thread holds the write lock of the client,
+	* once the queue of the client is full, it means the writer is blocked on the socket of the client.
+	*/
+	@Override
+	protected Boolean isWriteBlocked() {
+		return writeLock.isLocked();
 	}
 
-	public void sendPlayerLostGame() {
-		String msg = msgCreator.createMsg(MsgTypeEnum.SERVER_REP_LOST_GAME);
-		sendMsgToClient(msg);
+	@Override
+	public void close() {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		connectionClosed();
 	}
 
-
-
 }
@@ -0,0 +1,89 @@
+package serverConnections;
+
+import java.util.function.Consumer;
+
+import message.EncodedMsg;
+
+/**
+* This class represents the session of a player in a game, it outlives the connection of the player.
+* The session is opened once the player joins a game, and is identified by a token sent to the player,
+* the player uses the token to resume the session from a new connection, after its connection was lost.
+*
+* Every message sent to the player in the session is numbered, starting at 1,
+* and the latest messages are kept in a bounded ring, so a resumed session gets only the messages it missed.
+* The ring holds references to the encoded messages, that are shared with the outbound queues,
+* thus keeping a message costs no copy.
+*
+* The session is accessed by the game executor of its game, and rarely by the thread of the client connection,
+* so its methods are synchronized.
+*
+* @author      Keren Solomon
+*/
+public class ClientSession {
+	private final String clientId;
+	private final String token;
+	private EncodedMsg[] sentMsgs;
+	private int mask;
+	private int lastMsgSeq;
+
+	/**
+	 * Creates a ClientSession for a player that joined a game.
+	 *
+	 * @param clientId    		the string represents the id of the player.
+	 * @param token    			the string the player resumes the session with.
+	 * @param numOfKeptMsgs    	the number of latest messages kept, rounded up to a power of two.
+	 */
+	public ClientSession(String clientId, String token, int numOfKeptMsgs) {
+		int capacity = Integer.highestOneBit(Math.max(1, numOfKeptMsgs - 1)) << 1;
+		this.clientId = clientId;
+		this.token = token;
+		this.sentMsgs = new EncodedMsg[capacity];
+		this.mask = capacity - 1;
+		this.lastMsgSeq = 0;
+	}
+
+	public String getClientId() {
+		return clientId;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public synchronized int getLastMsgSeq() {
+		return lastMsgSeq;
+	}
+
+	/**
+	* This method keeps a message sent to the player, overriding the oldest kept message once the ring is full.
+	*
+	* @param  msg  the encoded message sent to the player.
+	*/
+	public synchronized void record(EncodedMsg msg) {
+		sentMsgs[++lastMsgSeq & mask] = msg;
+	}
+
+	/**
+	* This method checks whether all the messages sent after the given message are still kept.
+	*
+	* @param  msgSeq  	the number of the last message the player received.
+	* @return Boolean  	true if the missed messages can be sent again, otherwise false.
+	*/
+	public synchronized Boolean isKeptAfter(int msgSeq) {
+		return msgSeq >= 0 && msgSeq <= lastMsgSeq && lastMsgSeq - msgSeq <= sentMsgs.length;
+	}
+
+	/**
+	* This method passes each of the messages sent after the given message to the given send function, in order.
+	* It must be called only after isKeptAfter confirmed the messages are kept.
+	*
+	* @param  msgSeq  	the number of the last message the player received.
+	* @param  send  	the function that sends the message again.
+	*/
+	public synchronized void forEachAfter(int msgSeq, Consumer<EncodedMsg> send) {
+		for (int seq = msgSeq + 1; seq <= lastMsgSeq; seq++) {
+			send.accept(sentMsgs[seq & mask]);
+		}
+	}
+
+}
@@ -0,0 +1,243 @@
+package serverConnections;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import globals.Configs;
+import globals.Constants;
+import message.EncodedMsg;
+import message.WireFormat;
+
+/**
+* This class represents a non blocking client connection.
+* The NioClientHandler class enables sending and receiving of messages between this server application and the client,
+* over a socket channel registered to the selector of the socket handler.
+*
+* The class does not own a thread, the socket handler selector thread calls readRequests when the channel is readable,
+* and writeQueuedMsgs when the channel is writable.
+*
+* The first byte of the connection decides the wire format of the client:
+* the binary handshake byte starts reading length prefixed frames, any other byte starts reading json lines.
+* Incoming bytes are collected in a line buffer, each complete line, or complete frame, is handled as a single request.
+* Outgoing messages are written once the channel is ready for writing,
+* thus a client that is slow to read never blocks the thread sending the message.
+* All the messages waiting to be written are sent with a single gathering write.
+*
+* @author      Keren Solomon
+*/
+public class NioClientHandler extends AbstractClientHandler {
+	private static final Logger logger = LogManager.getLogger(NioClientHandler.class);
+	private static final byte LINE_END = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+	private static final int END_OF_STREAM = -1;
+	private static final int NO_FRAME = -1;
+	private static final int VARINT_BITS = 7;
+	private static final int VARINT_MASK = 0x7F;
+	private static final int VARINT_MORE = 0x80;
+	private static final int MAX_LENGTH_SHIFT = 28;
+	private Configs configs;
+
+	private SelectionKey key;
+	private SocketChannel channel;
+
+	/* Read members */
+	private ByteBuffer readBuffer;
+	private byte[] lineBuffer;
+	private int lineLength;
+	private int maxMsgLength;
+	private Boolean isFormatKnown;
+	private int frameLength;
+	private int frameLengthShift;
+	private int frameLengthValue;
+
+	/* Write members */
+	private Deque<ByteBuffer> inFlight;
+	private ByteBuffer[] gatherBuffers;
+
+	public NioClientHandler(SelectionKey key, String id, SocketHandler socketHandler) {
+		super(id, socketHandler);
+		configs = Configs.getInstance();
+		this.key = key;
+		this.channel = (SocketChannel) key.channel();
+
+		int readBufferSize = configs.getIntProperty(Constants.READ_BUFFER_SIZE);
+		maxMsgLength = configs.getIntProperty(Constants.MAX_MSG_LENGTH);
+		readBuffer = ByteBuffer.allocate(readBufferSize);
+		lineBuffer = new byte[readBufferSize];
+		lineLength = 0;
+		isFormatKnown = false;
+		frameLength = NO_FRAME;
+		frameLengthShift = 0;
+		frameLengthValue = 0;
+		inFlight = new ArrayDeque<>();
+		gatherBuffers = new ByteBuffer[0];
+	}
+
+	/**
+	* This method is called by the selector thread when the channel is readable.
+	* The method reads the available bytes, and handles every complete line, or complete frame, as a request.
+	*
+	* @return      false if the client closed the connection, true otherwise.
+	* @throws      IOException if the channel read failed, or a request exceeded the maximal message length.
+	*/
+	public Boolean readRequests() throws IOException {
+		if (channel.read(readBuffer) == END_OF_STREAM) {
+			return false;
+		}
+
+		readBuffer.flip();
+		while (readBuffer.hasRemaining()) {
+			byte b = readBuffer.get();
+			if (!isFormatKnown) {
+				isFormatKnown = true;
+				if ((b & 0xFF) == WireFormat.BINARY_HANDSHAKE) {
+					setWireFormat(WireFormat.BINARY);
+					continue;
+				}
+			}
+			if (getWireFormat() == WireFormat.BINARY) {
+				appendToFrame(b);
+			}
+			else if (b == LINE_END) {
+				handleLine();
+			}
+			else {
+				appendToLine(b);
+			}
+		}
+		readBuffer.clear();
+		return true;
+	}
+
+	private void appendToLine(byte b) throws IOException {
+		if (lineLength == lineBuffer.length) {
+			if (lineLength >= maxMsgLength) {
+				throw new IOException("request of client " + getClientId() + " exceeds " + maxMsgLength + " bytes");
+			}
+			lineBuffer = Arrays.copyOf(lineBuffer, Math.min(lineBuffer.length * 2, maxMsgLength));
+		}
+		lineBuffer[lineLength++] = b;
+	}
+
+	/**
+	* This method adds a byte of a binary frame.
+	* The varint length prefix of the frame is read first, then the frame is collected in the line buffer.
+	*
+	* @param  b  	the read byte.
+	* @throws       IOException if the frame length is malformed, or exceeds the maximal message length.
+	*/
+	private void appendToFrame(byte b) throws IOException {
+		if (frameLength != NO_FRAME) {
+			appendToLine(b);
+			if (lineLength == frameLength) {
+				handleFrame();
+			}
+			return;
+		}
+
+		frameLengthValue |= (b & VARINT_MASK) << frameLengthShift;
+		if ((b & VARINT_MORE) != 0) {
+			frameLengthShift += VARINT_BITS;
+			if (frameLengthShift > MAX_LENGTH_SHIFT) {
+				throw new IOException("client " + getClientId() + " sent a malformed frame length");
+			}
+			return;
+		}
+
+		frameLength = frameLengthValue;
+		frameLengthShift = 0;
+		frameLengthValue = 0;
+		if (frameLength > maxMsgLength) {
+			throw new IOException("request of client " + getClientId() + " exceeds " + maxMsgLength + " bytes");
+		}
+		if (frameLength == 0) {
+			frameLength = NO_FRAME;
+		}
+	}
+
+	private void handleFrame() {
+		int length = frameLength;
+		frameLength = NO_FRAME;
+		lineLength = 0;
+		handleBinaryRequest(lineBuffer, 0, length);
+	}
+
+	private void handleLine() {
+		int length = lineLength;
+		if (length > 0 && lineBuffer[length - 1] == CARRIAGE_RETURN) {
+			length--;
+		}
+		lineLength = 0;
+
+		if (length > 0) {
+			handleRequest(new String(lineBuffer, 0, length, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	* This method asks the selector to report when the channel is writable,
+	* the waiting messages are then written by the selector thread.
+	* It may be called from any thread.
+	*/
+	@Override
+	protected void flush() {
+		if (key.isValid()) {
+			key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+			key.selector().wakeup();
+		}
+	}
+
+	/**
+	* This method is called by the selector thread when the channel is writable.
+	* The method moves the waiting messages to the in flight buffers, and writes them all with a single gathering write.
+	* Buffers that were not fully written remain in flight until the channel is writable again.
+	*
+	* @throws      IOException if the channel write failed.
+	*/
+	public void writeQueuedMsgs() throws IOException {
+		OutboundQueue outbound = getOutbound();
+		EncodedMsg msg;
+		while ((msg = outbound.poll()) != null) {
+			inFlight.add(msg.toBuffer(getWireFormat()));
+		}
+
+		gatherBuffers = inFlight.toArray(gatherBuffers);
+		channel.write(gatherBuffers, 0, inFlight.size());
+
+		int numOfWritten = 0;
+		while (!inFlight.isEmpty() && !inFlight.peek().hasRemaining()) {
+			inFlight.poll();
+			numOfWritten++;
+		}
+		Arrays.fill(gatherBuffers, null);
+		outbound.release(numOfWritten);
+
+		if (inFlight.isEmpty()) {
+			key.interestOps(SelectionKey.OP_READ);
+			if (!outbound.isEmpty()) {
+				flush();
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		key.cancel();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		connectionClosed();
+	}
+
+}
@@ -0,0 +1,88 @@
+package serverConnections;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import message.EncodedMsg;
+
+/**
+* This class represents the outgoing messages of a single client connection.
+* The OutboundQueue class holds the messages waiting to be written to the client, up to a high water mark.
+*
+* The queue depth counts every message that was offered and was not yet fully written,
+* including messages already taken by the writer, thus a client that does not read
+* keeps its depth growing until it reaches the high water mark.
+* The writer takes messages with poll, and calls release once they are written.
+*
+* The queue may be filled from any thread, while a single writer drains it.
+*
+* @author      Keren Solomon
+*/
+public class OutboundQueue {
+	private Queue<EncodedMsg> msgs;
+	private AtomicInteger depth;
+	private AtomicInteger maxDepth;
+	private int highWaterMark;
+
+	public OutboundQueue(int highWaterMark) {
+		this.msgs = new ConcurrentLinkedQueue<>();
+		this.depth = new AtomicInteger();
+		this.maxDepth = new AtomicInteger();
+		this.highWaterMark = highWaterMark;
+	}
+
+	/**
+	* This method adds a message to the queue.
+	*
+	* @param  msg  the encoded message to be sent.
+	* @return      true if the message was added, false if the queue reached its high water mark.
+	*/
+	public Boolean offer(EncodedMsg msg) {
+		int newDepth = depth.incrementAndGet();
+		if (newDepth > highWaterMark) {
+			depth.decrementAndGet();
+			return false;
+		}
+		maxDepth.accumulateAndGet(newDepth, Math::max);
+		msgs.offer(msg);
+		return true;
+	}
+
+	/**
+	* This method takes the next message to be written.
+	* The message is still counted in the queue depth until it is released.
+	*
+	* @return EncodedMsg  the next message, or null if there are no waiting messages.
+	*/
+	public EncodedMsg poll() {
+		return msgs.poll();
+	}
+
+	/**
+	* This method is called by the writer once messages were fully written to the client.
+	*
+	* @param  numOfMsgs  the number of written messages.
+	*/
+	public void release(int numOfMsgs) {
+		depth.addAndGet(-numOfMsgs);
+	}
+
+	public Boolean isEmpty() {
+		return msgs.isEmpty();
+	}
+
+	public int getDepth() {
+		return depth.get();
+	}
+
+	public int getMaxDepth() {
+		return maxDepth.get();
+	}
+
+	public void clear() {
+		msgs.clear();
+		depth.set(0);
+	}
+
+}
@@ -0,0 +1,65 @@
+package serverConnections;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* This class represents the clients of a single game that got messages that were not written yet.
+* Each game owns its pending clients, so once a batch of the game events is handled,
+* only the clients the game sent messages to are flushed, and the batches of other games are not split.
+*
+* The game executor binds the pending clients of its game to the thread that runs the events of the game,
+* while the events are run, the clients that get a new message are added to the bound pending clients.
+* A game is run by a single thread at a time, thus the pending clients need no locks.
+*
+* @author      Keren Solomon
+*/
+public class PendingClients {
+	private static final ThreadLocal<PendingClients> boundPendingClients = new ThreadLocal<>();
+
+	private List<AbstractClientHandler> clients;
+
+	public PendingClients() {
+		this.clients = new ArrayList<>();
+	}
+
+	/**
+	* This method returns the pending clients of the game run by the calling thread.
+	*
+	* @return PendingClients  the pending clients of the running game, or null if the thread runs no game.
+	*/
+	static PendingClients current() {
+		return boundPendingClients.get();
+	}
+
+	/**
+	* This method binds the pending clients to the calling thread, it is called before the events of the game are run.
+	*/
+	public void bind() {
+		boundPendingClients.set(this);
+	}
+
+	/**
+	* This method releases the calling thread, it is called once the events of the game are run.
+	*/
+	public void unbind() {
+		boundPendingClients.remove();
+	}
+
+	void add(AbstractClientHandler client) {
+		clients.add(client);
+	}
+
+	/**
+	* This method writes the waiting messages of the clients the game sent messages to.
+	* It is called once a batch of game events is handled, so all the messages produced by the batch
+	* are written to each client together.
+	*/
+	public void flush() {
+		for (int i = 0; i < clients.size(); i++) {
+			clients.get(i).flushPending();
+		}
+		clients.clear();
+	}
+
+}
@@ -1,24 +1,38 @@
 package serverConnections;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import clientservershared.AttackMsg;
 import clientservershared.CardModel;
+import clientservershared.GameDelta;
 import clientservershared.GameInfo;
 import clientservershared.GameOver;
 import globals.Configs;
 import globals.Constants;
+import message.EncodedMsg;
+import message.MsgTypeEnum;
+import message.WireIds;
 
 /**
 * This class represents the sockets manager of the application.
@@ -27,41 +41,88 @@ import globals.Constants;
 * This class implements the runnable interface, thus has a thread that runs in the background,
 * starts a server socket and listens to clients connection on that socket.
 * 
+* The connection mode is defined in the configuration file:
+* nio  - a single selector thread accepts the connections, reads the requests and writes the queued messages of all clients,
+*        thus an idle client costs buffers, not a thread.
+* pool - a blocking server socket, each accepted client is handled by a thread of an executor service,
+*        and the messages are written by a bounded pool of writer threads.
+* virtual - a blocking server socket, each accepted client is handled by its own virtual thread,
+*        thus blocking reads do not hold platform threads. The mode requires running on Java 21 or above,
+*        the server fails to start when the running JVM does not support virtual threads.
+* 
 * Once there is a connection request, a unique string id is generated as the client id,
-* a new ClientHandler object is initiated to represent that client, and saved to the clients map with it's id.
-* Then, a new thread is created and assigned to handle that client.
+* a new client handler object is initiated to represent that client, and saved to the clients map with it's id.
+* 
+* The class maintain a ConcurrentHashMap to hold the clients connections, mapped by their clients IDs.
+* 
+* Messages are not written when sent, but added to the outbound queue of the client,
+* and the client is added to the pending clients of the game that sent the message.
+* Once the game event is handled, the game flushes its pending clients, and the messages of every client are written together.
+* A message sent outside of any game, such as a reply of the game manager, is written to its client right away.
 * 
-* The class maintain a HashMap to hold the clients connections, mapped by their clients IDs.
-* The class uses an executor service that provides a pool of threads, for each client connection.
+* The class offers a set of APIs used by the game handlers to send messages to the clients,
+* It can be sent as broadcast message to all players of a game, or to a specific client destination.
+* A message sent to multiple clients is serialized once per wire format, and the same encoded bytes are written to every recipient.
+* The id of every connected client is interned in WireIds, so binary clients get the ids as small numbers.
 * 
-* The class offers a set of APIs used by the game manager to send messages to the clients,
-* It can be sent as broadcast message to all players, or to a specific client destination.
+* Each player that joins a game gets a session, identified by a generated token.
+* A client whose connection is lost is kept registered while it has a session, so the messages sent to it are kept,
+* and a new connection that resumes the session with its token takes the place of the lost client.
+* The sessions are closed once their game is over.
 * 
 * @author      Keren Solomon
 */
 public class SocketHandler implements Runnable{
 	private static final Logger logger = LogManager.getLogger(SocketHandler.class);
+	private static final String VIRTUAL_THREADS_EXECUTOR = "newVirtualThreadPerTaskExecutor";
 	Configs configs;
 	
 	/* Clients handling members */
 	private Socket client;
-	private Map<String,ClientHandler> clients;
+	private Map<String,AbstractClientHandler> clients;
+	private WireIds wireIds;
+	
+	/* Sessions members */
+	private Map<String,ClientSession> sessions;
+	private Map<String,ClientSession> clientsSessions;
+	private int sessionBufferSize;
 	
 	/* Server socket members */
+	private String connectionMode;
 	private ServerSocket listener;
 	private ExecutorService executor;
+	private ExecutorService writersExecutor;
+	
+	/* Selector members */
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
 		
 	public SocketHandler()
 	{
 		logger.info("SOCKET HANDLER started...");
 		configs = Configs.getInstance();
-		clients = new HashMap<>();
-		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		clients = new ConcurrentHashMap<>();
+		wireIds = WireIds.getInstance();
+		sessions = new ConcurrentHashMap<>();
+		clientsSessions = new ConcurrentHashMap<>();
+		sessionBufferSize = configs.getIntProperty(Constants.SESSION_BUFFER_SIZE);
+		connectionMode = configs.getStringProperty(Constants.CONNECTION_MODE);
 	}
 
 	@Override
 	public void run() {
-		logger.debug("start listening on port " + configs.getIntProperty(Constants.PORT));
+		logger.debug("start listening on port " + configs.getIntProperty(Constants.PORT) + ", connection mode " + connectionMode);
+		if (Constants.CONNECTION_MODE_NIO.equals(connectionMode)) {
+			runSelector();
+		}
+		else {
+			runBlocking();
+		}
+	}
+	
+	private void runBlocking() {
+		executor = createClientsExecutor();
+		writersExecutor = createWritersExecutor();
 		try {
 			listener = new ServerSocket(configs.getIntProperty(Constants.PORT));
 						
@@ -79,108 +140,386 @@ public class SocketHandler implements Runnable{
 	}
 		
 	
+	private ExecutorService createClientsExecutor() {
+		if (Constants.CONNECTION_MODE_VIRTUAL.equals(connectionMode)) {
+			return createVirtualThreadsExecutor();
+		}
+		return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	* This method creates the executor that writes the messages of the clients.
+	* In the pool mode, the number of writer threads is bounded, so slow clients do not take a thread each,
+	* a client that blocks a writer thread is disconnected once its outbound queue reaches the high water mark.
+	* 
+	* @return ExecutorService  the executor used to write the messages of the clients.
+	*/
+	private ExecutorService createWritersExecutor() {
+		if (Constants.CONNECTION_MODE_VIRTUAL.equals(connectionMode)) {
+			return createVirtualThreadsExecutor();
+		}
+		int numOfThreads = configs.getIntProperty(Constants.WRITER_THREADS);
+		if (numOfThreads <= 0) {
+			numOfThreads = Runtime.getRuntime().availableProcessors();
+		}
+		logger.info("writing clients messages on " + numOfThreads + " threads");
+		return Executors.newFixedThreadPool(numOfThreads);
+	}
+	
+	/**
+	* This method creates an executor that starts a new virtual thread for each client connection.
+	* 
+	* The application is compiled for Java 8, so the virtual threads executor is looked up at runtime.
+	* In case the running JVM does not offer virtual threads, the server does not start,
+	* rather than falling back to a platform thread per connection.
+	* 
+	* @return ExecutorService  the executor used to run the client handlers.
+	* @throws IllegalStateException  in case the running JVM does not support virtual threads.
+	*/
+	private ExecutorService createVirtualThreadsExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREADS_EXECUTOR).invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			logger.error("connectionMode=" + Constants.CONNECTION_MODE_VIRTUAL + " requires Java 21 or above, running on Java "
+					+ System.getProperty("java.version"));
+			throw new IllegalStateException("virtual threads are not supported by this JVM", e);
+		}
+	}
+	
 	private void handleClientConnection() {
 		String clientId = UUID.randomUUID().toString();
-		ClientHandler clientThread = new ClientHandler(client, clientId);
+		ClientHandler clientThread = new ClientHandler(client, clientId, this, writersExecutor);
+		wireIds.intern(clientId);
 		clients.put(clientId, clientThread);
 		executor.execute(clientThread);
 	}
+	
+	private void runSelector() {
+		try {
+			selector = Selector.open();
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(new InetSocketAddress(configs.getIntProperty(Constants.PORT)));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+			
+			while (true) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handleSelectedKey(key);
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	private void handleSelectedKey(SelectionKey key) throws IOException {
+		if (!key.isValid()) {
+			return;
+		}
+		
+		if (key.isAcceptable()) {
+			acceptClientConnection();
+			return;
+		}
+		
+		NioClientHandler clientHandler = (NioClientHandler) key.attachment();
+		try {
+			if (key.isReadable() && !clientHandler.readRequests()) {
+				logger.debug("client " + clientHandler.getClientId() + " closed the connection");
+				clientHandler.close();
+				return;
+			}
+			if (key.isValid() && key.isWritable()) {
+				clientHandler.writeQueuedMsgs();
+			}
+		} catch (IOException e) {
+			logger.error("connection of client " + clientHandler.getClientId() + " failed: " + e.getMessage());
+			clientHandler.close();
+		}
+	}
+	
+	private void acceptClientConnection() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+		logger.debug("Server is connected to client.\n");
+		
+		channel.configureBlocking(false);
+		SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+		String clientId = UUID.randomUUID().toString();
+		NioClientHandler clientHandler = new NioClientHandler(key, clientId, this);
+		key.attach(clientHandler);
+		wireIds.intern(clientId);
+		clients.put(clientId, clientHandler);
+	}
 
-	public void setClientActive(String clientId) {
-		ClientHandler client = clients.get(clientId);
-		client.setActive();
+	/**
+	* This method registers a client that is not connected through the server socket,
+	* such as the clients of a game replayed offline.
+	*
+	* @param client  the client handler to register.
+	*/
+	public void addClient(AbstractClientHandler client) {
+		clients.put(client.getClientId(), client);
 	}
 
-	public void sendBroadcastNumActivePlayers(int numOfPlayers) {
-		for (ClientHandler client : clients.values()) {
-			client.sendNumActivePlayers(numOfPlayers);
+	/**
+	* This method is called once the connection of a client is closed.
+	* A client that has no session is removed, a client with a session is kept until the session is resumed or closed.
+	*
+	* @param client  the client handler whose connection is closed.
+	*/
+	void removeClosedClient(AbstractClientHandler client) {
+		if (client.getSession() == null) {
+			removeClient(client.getClientId(), client);
 		}
 	}
-	
-	public void sendBroadcastStartGame() {
-		for (ClientHandler client : clients.values()) {
-			client.sendGameStart();
+
+	private void removeClient(String clientId, AbstractClientHandler client) {
+		if (clients.remove(clientId, client)) {
+			wireIds.release(clientId);
 		}
 	}
-	
-	public void sendBroadcastUpdateTurn(String currPlayerId) {
-		for (ClientHandler client : clients.values()) {
-				client.sendUpdateTurn(currPlayerId);
+
+	/**
+	* This method opens a session for a player that joined a game, and sends the session token to the player.
+	* In case the player is not connected, such as a player of a game restored on startup,
+	* the session is kept so the player can resume it once reconnected.
+	*
+	* @param clientId  the id of the player.
+	* @param token     the token of the session.
+	*/
+	public void openSession(String clientId, String token) {
+		ClientSession session = new ClientSession(clientId, token, sessionBufferSize);
+		sessions.put(token, session);
+		clientsSessions.put(clientId, session);
+		sendToClient(clientId, client -> client.openSession(session));
+	}
+
+	/**
+	* This method returns the id of the player that owns the session with the given token.
+	*
+	* @param token    the token of the session.
+	* @return String  the id of the player, or null if there is no such session.
+	*/
+	public String getSessionClientId(String token) {
+		ClientSession session = (token != null) ? sessions.get(token) : null;
+		return (session != null) ? session.getClientId() : null;
+	}
+
+	/**
+	* This method resumes the session with the given token from a new connection.
+	* The new connection takes the id of the player, and replaces the lost connection of the player,
+	* then the messages the player missed are sent to the new connection.
+	* The session is validated before the new connection is touched: in case the session expired, or the token is unknown,
+	* the new connection stays connected under its own id, and is sent that the resume failed.
+	* It is called by the game executor of the game the player is in.
+	*
+	* @param connectionId  	the id the new connection was created with.
+	* @param token     		the token of the resumed session.
+	* @param lastMsgSeq     the number of the last message the player received.
+	* @return Boolean  		false if the missed messages are no longer kept and the full state of the game should be sent, otherwise true.
+	*/
+	public Boolean resumeSession(String connectionId, String token, int lastMsgSeq) {
+		ClientSession session = (token != null) ? sessions.get(token) : null;
+		if (session == null) {
+			logger.warn("client " + connectionId + " has no valid session token, session not resumed");
+			sendClientResumeFailed(connectionId);
+			return true;
+		}
+		AbstractClientHandler connection = clients.get(connectionId);
+		if (connection == null) {
+			logger.warn("client " + connectionId + " is gone, session not resumed");
+			return true;
+		}
+		
+		clients.remove(connectionId);
+		wireIds.release(connectionId);
+		AbstractClientHandler lostConnection = clients.put(session.getClientId(), connection);
+		if (lostConnection != null && lostConnection != connection) {
+			lostConnection.closeSession();
+			lostConnection.close();
+		}
+		logger.info("client " + connectionId + " resumed the session of player " + session.getClientId()
+				+ ", last received msg " + lastMsgSeq + " of " + session.getLastMsgSeq());
+		return connection.resumeSession(session, lastMsgSeq);
+	}
+
+	/**
+	* This method closes the sessions of the given players, it is called once their game is over.
+	* Players whose connection is lost are removed.
+	*
+	* @param clientsIds  the ids of the players of the game.
+	*/
+	public void closeSessions(List<String> clientsIds) {
+		for (String id : clientsIds) {
+			Optional.ofNullable(clientsSessions.remove(id))
+				.ifPresent(session -> sessions.remove(session.getToken()));
+			Optional.ofNullable(clients.get(id))
+				.ifPresent(client -> {
+					client.closeSession();
+					if (!client.isConnected()) {
+						removeClient(id, client);
+					}
+				});
+		}
+	}
+
+	/**
+	* This method adds a client that got a new message to the pending clients of the game run by the calling thread.
+	* In case the message is not sent by a game, the client is flushed right away, and no other client is written.
+	*
+	* @param client  the client that got a new message.
+	*/
+	void addPendingClient(AbstractClientHandler client) {
+		PendingClients pendingClients = PendingClients.current();
+		if (pendingClients != null) {
+			pendingClients.add(client);
+		}
+		else {
+			client.flushPending();
 		}
 	}
 	
-	public void sendBroadcastAddToUsedPile(CardModel card) {
-		for (ClientHandler client : clients.values()) {
-			client.sendCardToUsedPile(card);
+	/**
+	* This method returns the number of messages waiting to be written, per each connected client.
+	* 
+	* @return Map<String,Integer>  the outbound queue depth mapped by the client id.
+	*/
+	public Map<String,Integer> getOutboundQueuesDepth() {
+		Map<String,Integer> depths = new HashMap<>();
+		for (AbstractClientHandler client : clients.values()) {
+			depths.put(client.getClientId(), client.getOutboundDepth());
+		}
+		return depths;
+	}
+
+	public void setClientActive(String clientId) {
+		sendToClient(clientId, client -> client.setActive());
+	}
+
+	/**
+	* This method passes the client with the given id to the given send function.
+	* A client that is not connected, such as a player of a game restored on startup that did not reconnect yet,
+	* is skipped and its message is dropped.
+	* 
+	* @param  clientId  the id of the destination client.
+	* @param  send  	the function that sends the message to the client.
+	*/
+	private void sendToClient(String clientId, Consumer<AbstractClientHandler> send) {
+		AbstractClientHandler client = clients.get(clientId);
+		if (client != null) {
+			send.accept(client);
+		}
+		else {
+			logger.debug("client " + clientId + " is not connected, message dropped");
 		}
 	}
 
-	public void sendBroadcastGameOver(GameOver info) {
-		for (ClientHandler client : clients.values()) {
-			client.sendGameOver(info);
+	private void sendBroadcast(List<String> clientsIds, EncodedMsg msg) {
+		for (String id : clientsIds) {
+			sendToClient(id, client -> client.sendEncodedMsg(msg));
+		}
+	}
+
+	public void sendBroadcastNumActivePlayers(List<String> clientsIds, int numOfPlayers) {
+		EncodedMsg msg = new EncodedMsg(MsgTypeEnum.SERVER_REP_SET_NUM_ACTIVE_PLAYERS, numOfPlayers);
+		for (String id : clientsIds) {
+			sendToClient(id, client -> {
+				if (client.isActive()) {
+					client.sendEncodedMsg(msg);
+				}
+			});
 		}
 	}
 	
-	public void sendClientGameInfo(String clientId, GameInfo gameInfo) {
-		ClientHandler client = clients.get(clientId);
-		client.sendGameInfo(gameInfo);
+	public void sendBroadcastStartGame(List<String> clientsIds) {
+		for (String id : clientsIds) {
+			sendToClient(id, client -> client.sendGameStart());
+		}
 	}
 	
+	public void sendBroadcastAddToUsedPile(List<String> clientsIds, CardModel card) {
+		sendBroadcast(clientsIds, new EncodedMsg(MsgTypeEnum.SERVER_REP_CARD_USED, card));
+	}
+
+	public void sendBroadcastGameClosed(List<String> clientsIds) {
+		sendBroadcast(clientsIds, new EncodedMsg(MsgTypeEnum.SERVER_REP_GAME_CLOSED));
+	}
 	
-	public void sendClientAddCard(String clientId, CardModel card) {
-		ClientHandler client = clients.get(clientId);
-		client.sendAddCard(card);
+	public void sendBroadcastGameOver(List<String> clientsIds, GameOver info) {
+		sendBroadcast(clientsIds, new EncodedMsg(MsgTypeEnum.SERVER_REP_GAME_OVER, info));
 	}
 	
-	public void sendClientRemoveCard(String clientId, int cardId) {
-		ClientHandler client = clients.get(clientId);
-		client.sendRemoveCard(cardId);
+	public void sendClientGameInfo(String clientId, GameInfo gameInfo) {
+		sendToClient(clientId, client -> client.sendGameInfo(gameInfo));
 	}
 	
-	public void sendClientUpdatePoints(String clientId, int points) {
-		for (ClientHandler client : clients.values()) {
-			client.sendUpdatePoints(points, clientId);
-		}
+	
+	public void sendClientGameDelta(String clientId, GameDelta delta) {
+		sendToClient(clientId, client -> client.sendGameDelta(delta));
+	}
+	
+	/**
+	* This method returns whether messages to the given client were dropped since the previous call,
+	* since the client was too slow to read them.
+	*
+	* @param clientId  the id of the client.
+	* @return Boolean  true if the client missed messages, and should get the full game state.
+	*/
+	public Boolean hasClientFallenBehind(String clientId) {
+		AbstractClientHandler client = clients.get(clientId);
+		return client != null && client.clearFallenBehind();
 	}
 	
 	public void sendClientGameExist(String clientId) {
-		ClientHandler client = clients.get(clientId);
-		client.sendGameExist();
+		sendToClient(clientId, client -> client.sendGameExist());
 	}
 
 	public void sendClientGamePassword(String clientId, String password) {
-		ClientHandler client = clients.get(clientId);
-		client.sendGamePassword(password);
+		sendToClient(clientId, client -> client.sendGamePassword(password));
 	}
 
 	public void sendClientGameStart(String clientId, int numOfActivePlayers) {
-		ClientHandler client = clients.get(clientId);
-		client.sendGameStart(numOfActivePlayers);
+		sendToClient(clientId, client -> client.sendGameStart(numOfActivePlayers));
 	}
 
 	public void sendClientPasswordInvalid(String clientId) {
-		ClientHandler client = clients.get(clientId);
-		client.sendPassowrdInvalid();
+		sendToClient(clientId, client -> client.sendPassowrdInvalid());
 	}
 
 	public void sendClientGameFull(String clientId) {
-		ClientHandler client = clients.get(clientId);
-		client.sendGameFull();
+		sendToClient(clientId, client -> client.sendGameFull());
 	}
 
 	public void sendClientAttackMsg(String clientId, AttackMsg msg) {
-		ClientHandler client = clients.get(clientId);
-		client.sendAttackMsg(msg);
+		sendToClient(clientId, client -> client.sendAttackMsg(msg));
+	}
+	
+	public void sendClientResumeFailed(String clientId) {
+		sendToClient(clientId, client -> client.sendResumeFailed());
 	}
 	
 	public void sendClientLostGame(String clientId) {
-		ClientHandler client = clients.get(clientId);
-		client.sendPlayerLostGame();
+		sendToClient(clientId, client -> client.sendPlayerLostGame());
 	}
 	
-	public void sendMultipleClientsAttackMsg(List<String> list, AttackMsg msg) {
-		for (String id : list) {
-			sendClientAttackMsg(id, msg);
+	/**
+	* This method sends an attack message to the given clients, the message is encoded once for all of them.
+	*
+	* @param clientsIds  	the array holding the ids of the clients.
+	* @param numOfClients  	the number of ids in the array to send the message to.
+	* @param msg  			the attack message.
+	*/
+	public void sendClientsAttackMsg(String[] clientsIds, int numOfClients, AttackMsg msg) {
+		EncodedMsg encodedMsg = new EncodedMsg(MsgTypeEnum.SERVER_REP_ATTACK_MSG, msg);
+		for (int i = 0; i < numOfClients; i++) {
+			sendToClient(clientsIds[i], client -> client.sendEncodedMsg(encodedMsg));
 		}
 	}
 
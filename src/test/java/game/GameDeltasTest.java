@@ -0,0 +1,110 @@
+package game;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import clientservershared.CardModel;
+import clientservershared.GameDelta;
+
+public class GameDeltasTest {
+	private static final List<String> PLAYERS = Arrays.asList("p1", "p2");
+
+	private static CardModel card(int cardId) {
+		return new CardModel(cardId, "card", "img", 0, "frame", "back", "1");
+	}
+
+	private static Map<String,GameDelta> flush(GameDeltas deltas) {
+		Map<String,GameDelta> sent = new LinkedHashMap<>();
+		deltas.flush(sent::put);
+		return sent;
+	}
+
+	@Test
+	public void changesOfABatchAreMergedIntoASingleDeltaPerPlayer() {
+		GameDeltas deltas = new GameDeltas();
+		deltas.cardAdded("p1", card(4));
+		deltas.cardRemoved("p1", 7);
+		deltas.scoreChanged(PLAYERS, "p1", 3);
+		deltas.scoreChanged(PLAYERS, "p1", 5);
+		deltas.turnChanged(PLAYERS, "p2");
+		Map<String,GameDelta> sent = flush(deltas);
+
+		assertEquals(PLAYERS, Arrays.asList(sent.keySet().toArray()));
+		GameDelta p1 = sent.get("p1");
+		assertEquals(1, p1.getAddedCards().size());
+		assertEquals(4, p1.getAddedCards().get(0).getId());
+		assertEquals(Collections.singletonList(7), p1.getRemovedCards());
+		assertEquals(Integer.valueOf(5), p1.getScores().get("p1"));
+		assertEquals("p2", p1.getCurrentPlayer());
+
+		GameDelta p2 = sent.get("p2");
+		assertNull(p2.getAddedCards());
+		assertNull(p2.getRemovedCards());
+		assertEquals(Integer.valueOf(5), p2.getScores().get("p1"));
+		assertEquals("p2", p2.getCurrentPlayer());
+		assertTrue(deltas.isEmpty());
+	}
+
+	@Test
+	public void cardAddedAndRemovedInTheSameDeltaCancelOut() {
+		GameDeltas deltas = new GameDeltas();
+		deltas.cardAdded("p1", card(4));
+		deltas.cardAdded("p1", card(5));
+		deltas.cardRemoved("p1", 4);
+		GameDelta delta = flush(deltas).get("p1");
+		assertEquals(1, delta.getAddedCards().size());
+		assertEquals(5, delta.getAddedCards().get(0).getId());
+		assertNull(delta.getRemovedCards());
+	}
+
+	@Test
+	public void cardRemovedAndAddedAgainInTheSameDeltaCancelOut() {
+		GameDeltas deltas = new GameDeltas();
+		deltas.cardRemoved("p1", 4);
+		deltas.cardAdded("p1", card(4));
+		GameDelta delta = flush(deltas).get("p1");
+		assertNull(delta.getAddedCards());
+		assertNull(delta.getRemovedCards());
+	}
+
+	@Test
+	public void versionsFollowEachOtherPerPlayer() {
+		GameDeltas deltas = new GameDeltas();
+		deltas.turnChanged(PLAYERS, "p1");
+		Map<String,GameDelta> first = flush(deltas);
+		deltas.cardRemoved("p1", 3);
+		Map<String,GameDelta> second = flush(deltas);
+		assertEquals(1, first.get("p1").getVersion());
+		assertEquals(1, first.get("p2").getVersion());
+		assertEquals(2, second.get("p1").getVersion());
+		assertFalse(second.containsKey("p2"));
+	}
+
+	@Test
+	public void fullStateDropsThePendingDeltaAndKeepsTheVersion() {
+		GameDeltas deltas = new GameDeltas();
+		deltas.turnChanged(PLAYERS, "p1");
+		flush(deltas);
+		deltas.cardRemoved("p1", 3);
+		assertEquals(1, deltas.fullStateSent("p1"));
+		assertTrue(flush(deltas).isEmpty());
+		deltas.cardRemoved("p1", 4);
+		assertEquals(2, flush(deltas).get("p1").getVersion());
+	}
+
+	@Test
+	public void flushOfNoChangesSendsNothing() {
+		GameDeltas deltas = new GameDeltas();
+		assertTrue(deltas.isEmpty());
+		assertTrue(flush(deltas).isEmpty());
+		assertEquals(0, deltas.fullStateSent("p1"));
+	}
+
+}
@@ -0,0 +1,57 @@
+package game;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GameRandomTest {
+
+	@Test
+	public void sameSeedGeneratesTheSameSequence() {
+		GameRandom first = new GameRandom(42);
+		GameRandom second = new GameRandom(42);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(first.nextLong(), second.nextLong());
+			assertEquals(first.nextInt(52), second.nextInt(52));
+		}
+	}
+
+	@Test
+	public void differentSeedsGenerateDifferentSequences() {
+		GameRandom first = new GameRandom(42);
+		GameRandom second = new GameRandom(43);
+		assertFalse(first.nextLong() == second.nextLong());
+	}
+
+	@Test
+	public void restoredStateContinuesTheSequence() {
+		GameRandom random = new GameRandom(7);
+		random.nextInt(10);
+		long state = random.getState();
+		long next = random.nextLong();
+
+		GameRandom restored = new GameRandom(99);
+		restored.setState(state);
+		assertEquals(next, restored.nextLong());
+		assertEquals(7, random.getSeed());
+	}
+
+	@Test
+	public void nextIntStaysWithinTheBound() {
+		GameRandom random = new GameRandom(1);
+		int[] counts = new int[6];
+		for (int i = 0; i < 6000; i++) {
+			counts[random.nextInt(6)]++;
+		}
+		for (int count : counts) {
+			assertTrue(count > 0);
+		}
+		assertEquals(0, random.nextInt(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nonPositiveBoundIsRejected() {
+		new GameRandom(1).nextInt(0);
+	}
+
+}
@@ -4,12 +4,14 @@ import static org.junit.Assert.*;
 
 import org.junit.Test;
 
+import serverConnections.SocketHandler;
+
 public class GameTest {
 
 	@Test
 	public void startGame() {
 		int numOfPlayers = 2;
-		Game game = new Game();
+		Game game = new GameHandler("testGame", new SocketHandler(), new GameRegistry(), Runnable::run, null, 0L).getGame();
 		game.createNewGame(numOfPlayers);
 		fail("Failed to create a new game");
 	}
@@ -0,0 +1,120 @@
+package game.cards;
+
+import static globals.Constants.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import card.AbstractCard;
+import card.catalog.CardsCatalog;
+import database.entity.CardEntity;
+import database.entity.DecoreEntity;
+import game.GameRandom;
+
+public class DeckTest {
+	private static final int NUM_OF_PLAYERS = 3;
+	private static final int NUM_OF_CARDS = 4 * (NUM_OF_PLAYERS + 2);
+	private static CardsCatalog catalog;
+
+	@BeforeClass
+	public static void createCatalog() {
+		List<CardEntity> entities = new ArrayList<>();
+		String[] names = {"Drunk Sheep", "Baby Sheep", "Fat Sheep", "Grumpy Sheep"};
+		for (String name : names) {
+			CardEntity card = new CardEntity(TYPE_REGULAR, name, 2, 1, 2);
+			card.setDecore(new DecoreEntity("framereg", "backreg", "img", TXT_COLOR_WHITE, "points2", card));
+			entities.add(card);
+		}
+		catalog = CardsCatalog.fromEntities(entities);
+	}
+
+	private static Deck createDeck(long seed) {
+		Deck deck = new Deck(NUM_OF_PLAYERS, catalog, new GameRandom(seed), null);
+		deck.initCards();
+		return deck;
+	}
+
+	@Test
+	public void deckHoldsAllTheCardsOfTheCatalog() {
+		Deck deck = createDeck(42);
+		Boolean[] pulled = new Boolean[NUM_OF_CARDS];
+		for (int i = 0; i < NUM_OF_CARDS; i++) {
+			AbstractCard card = deck.getCardFromDeck();
+			assertNotNull(card);
+			assertNull(pulled[card.getId()]);
+			pulled[card.getId()] = true;
+		}
+		assertNull(deck.getCardFromDeck());
+	}
+
+	@Test
+	public void cardsAreFoundByTheirIds() {
+		Deck deck = createDeck(42);
+		for (int id = 0; id < NUM_OF_CARDS; id++) {
+			assertEquals(id, deck.getCard(id).getId());
+		}
+		assertNull(deck.getCard(-1));
+		assertNull(deck.getCard(NUM_OF_CARDS));
+	}
+
+	@Test
+	public void shuffleKeepsTheCardsLeftInTheDeck() {
+		Deck deck = createDeck(42);
+		AbstractCard first = deck.getCardFromDeck();
+		deck.shuffle();
+		int numOfCardsLeft = 0;
+		AbstractCard card;
+		while ((card = deck.getCardFromDeck()) != null) {
+			assertFalse(card == first);
+			numOfCardsLeft++;
+		}
+		assertEquals(NUM_OF_CARDS - 1, numOfCardsLeft);
+	}
+
+	@Test
+	public void sameSeedShufflesTheSameDeck() {
+		Deck first = createDeck(42);
+		Deck second = createDeck(42);
+		for (int i = 0; i < NUM_OF_CARDS; i++) {
+			assertEquals(first.getCardFromDeck().getId(), second.getCardFromDeck().getId());
+		}
+		assertNull(first.getCardFromDeck());
+		assertNull(second.getCardFromDeck());
+	}
+
+	@Test
+	public void differentSeedsShuffleDifferentDecks() {
+		Deck first = createDeck(42);
+		Deck second = createDeck(43);
+		Boolean sameOrder = true;
+		for (int i = 0; i < NUM_OF_CARDS; i++) {
+			sameOrder &= first.getCardFromDeck().getId() == second.getCardFromDeck().getId();
+		}
+		assertFalse(sameOrder);
+	}
+
+	@Test
+	public void restoredDeckShufflesAsTheOriginal() {
+		GameRandom random = new GameRandom(5);
+		Deck deck = new Deck(NUM_OF_PLAYERS, catalog, random, null);
+		deck.initCards();
+		deck.getCardFromDeck();
+		int[] cards = deck.getDeckCards();
+		long state = random.getState();
+
+		GameRandom restoredRandom = new GameRandom(5);
+		Deck restored = new Deck(NUM_OF_PLAYERS, catalog, restoredRandom, null);
+		restored.initCards();
+		restored.restoreDeckCards(cards);
+		restoredRandom.setState(state);
+
+		deck.shuffle();
+		restored.shuffle();
+		assertArrayEquals(deck.getDeckCards(), restored.getDeckCards());
+	}
+
+}
@@ -0,0 +1,195 @@
+package game.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import clientservershared.PickedCards;
+
+public class GameJournalTest {
+	private static final String GAME_ID = "game1";
+	private static final long SEED = 1234567890123L;
+	private static final int WAIT_MILLIS = 5000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path journalsDir;
+	private Path archiveDir;
+
+	@Before
+	public void setUp() throws IOException {
+		journalsDir = folder.newFolder("journals").toPath();
+		archiveDir = folder.getRoot().toPath().resolve("archive");
+	}
+
+	private JournalWriter createWriter(Path archiveDir, int segmentSize) {
+		return new JournalWriter(journalsDir, archiveDir, segmentSize, 100, 0);
+	}
+
+	private static List<JournalEntry> readWhenWritten(GameJournal journal, Path journalDir, int numOfEntries) throws Exception {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		List<JournalEntry> entries;
+		do {
+			journal.flush();
+			Thread.sleep(10);
+			entries = Files.isDirectory(journalDir) ? JournalReader.read(journalDir) : null;
+		} while ((entries == null || entries.size() < numOfEntries) && System.currentTimeMillis() < deadline);
+		assertNotNull(entries);
+		return entries;
+	}
+
+	private static void waitFor(Path file, Boolean exists) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (Files.exists(file) != exists && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void writtenEntriesAreReadBackInOrder() throws Exception {
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(archiveDir, 4096), 256);
+		journal.gamePassword("1234");
+		journal.onNewGameRequest("c1", 3);
+		journal.onJoinGameRequest("c2", "1234", "Dana", "sheep1");
+		journal.onPlayerPickedCards("c1", new PickedCards(4, 9, 2));
+		journal.onAttackPlayerReq("c1", "c2");
+		journal.handCardAdded("c2", 17);
+		journal.cardUsed(4);
+		journal.turnChanged("c2");
+
+		List<JournalEntry> entries = readWhenWritten(journal, journalsDir.resolve(GAME_ID), 10);
+		assertEquals(10, entries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			assertEquals(i, entries.get(i).getSeq());
+		}
+		assertEquals(10, journal.getSeq());
+
+		assertEquals(JournalEventType.GAME_CREATED, entries.get(0).getType());
+		assertEquals(GAME_ID, entries.get(0).getString(0));
+		assertEquals(SEED, entries.get(0).getLong(1));
+		assertEquals(JournalEventType.GAME_RULES, entries.get(1).getType());
+		assertEquals(GameJournal.RULES_VERSION, entries.get(1).getInt(0));
+		assertEquals("1234", entries.get(2).getString(0));
+		assertEquals(Arrays.<Object>asList("c1", 3), entries.get(3).getParams());
+		assertEquals(Arrays.<Object>asList("c2", "1234", "Dana", "sheep1"), entries.get(4).getParams());
+		assertEquals(Arrays.<Object>asList("c1", 4, 9, 2), entries.get(5).getParams());
+		assertEquals(Arrays.<Object>asList("c1", "c2"), entries.get(6).getParams());
+		assertEquals(Arrays.<Object>asList("c2", 17), entries.get(7).getParams());
+		assertEquals(JournalEventType.CARD_USED, entries.get(8).getType());
+		assertEquals(4, entries.get(8).getInt(0));
+		assertEquals(JournalEventType.TURN_CHANGED, entries.get(9).getType());
+		assertEquals("c2", entries.get(9).getString(0));
+	}
+
+	@Test
+	public void entriesRollOverToTheNextSegments() throws Exception {
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(archiveDir, 128), 64);
+		for (int i = 0; i < 200; i++) {
+			journal.cardUsed(i);
+		}
+
+		List<JournalEntry> entries = readWhenWritten(journal, journalsDir.resolve(GAME_ID), 202);
+		assertEquals(202, entries.size());
+		for (int i = 2; i < entries.size(); i++) {
+			assertEquals(i, entries.get(i).getSeq());
+			assertEquals(i - 2, entries.get(i).getInt(0));
+		}
+	}
+
+	@Test
+	public void entryLargerThanABufferIsWritten() throws Exception {
+		char[] chars = new char[1000];
+		Arrays.fill(chars, 'a');
+		String name = new String(chars);
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(archiveDir, 128), 64);
+		journal.onJoinGameRequest("c1", "1234", name, "sheep1");
+		journal.onDealCardReq("c1");
+
+		List<JournalEntry> entries = readWhenWritten(journal, journalsDir.resolve(GAME_ID), 4);
+		assertEquals(4, entries.size());
+		assertEquals(name, entries.get(2).getString(2));
+		assertEquals(JournalEventType.REQ_DEAL_CARD, entries.get(3).getType());
+	}
+
+	@Test
+	public void resumedJournalContinuesTheSequence() throws Exception {
+		JournalWriter writer = createWriter(archiveDir, 4096);
+		GameJournal journal = new GameJournal(GAME_ID, SEED, writer, 256);
+		journal.onNewGameRequest("c1", 2);
+		readWhenWritten(journal, journalsDir.resolve(GAME_ID), 3);
+
+		GameJournal resumed = GameJournal.resume(GAME_ID, journal.getSeq(), writer, 256);
+		resumed.onDealCardReq("c1");
+		List<JournalEntry> entries = readWhenWritten(resumed, journalsDir.resolve(GAME_ID), 4);
+		assertEquals(4, entries.size());
+		assertEquals(3, entries.get(3).getSeq());
+		assertEquals(JournalEventType.REQ_DEAL_CARD, entries.get(3).getType());
+	}
+
+	@Test
+	public void entriesBeforeASnapshotAreWrittenBeforeIt() throws Exception {
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(archiveDir, 4096), 256);
+		journal.onNewGameRequest("c1", 2);
+		journal.flush();
+		journal.onDealCardReq("c1");
+		journal.cardUsed(3);
+		int snapshotSeq = journal.getSeq();
+		GameSnapshot snapshot = new GameSnapshot();
+		snapshot.setJournalSeq(snapshotSeq);
+		journal.snapshot(snapshot);
+
+		Path journalDir = journalsDir.resolve(GAME_ID);
+		waitFor(journalDir.resolve(JournalSegments.SNAPSHOT_FILE), true);
+		assertEquals(snapshotSeq, GameSnapshot.readFrom(journalDir).getJournalSeq());
+		assertEquals(snapshotSeq, JournalReader.read(journalDir).size());
+	}
+
+	@Test
+	public void closedJournalIsArchived() throws Exception {
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(archiveDir, 4096), 256);
+		journal.onNewGameRequest("c1", 2);
+		journal.gameOver();
+		journal.close();
+
+		Path archived = archiveDir.resolve(GAME_ID);
+		waitFor(archived, true);
+		assertFalse(Files.exists(journalsDir.resolve(GAME_ID)));
+		List<JournalEntry> entries = JournalReader.read(archived);
+		assertEquals(4, entries.size());
+		assertEquals(JournalEventType.GAME_OVER, entries.get(3).getType());
+
+		journal.onDealCardReq("c1");
+		assertEquals(4, journal.getSeq());
+	}
+
+	@Test
+	public void closedJournalIsDeletedWithoutAnArchive() throws Exception {
+		GameJournal journal = new GameJournal(GAME_ID, SEED, createWriter(null, 4096), 256);
+		journal.onNewGameRequest("c1", 2);
+		readWhenWritten(journal, journalsDir.resolve(GAME_ID), 3);
+		journal.close();
+
+		waitFor(journalsDir.resolve(GAME_ID), false);
+		assertFalse(Files.exists(journalsDir.resolve(GAME_ID)));
+	}
+
+	@Test
+	public void disabledJournalWritesNothing() throws Exception {
+		GameJournal.DISABLED.onNewGameRequest("c1", 2);
+		GameJournal.DISABLED.flush();
+		GameJournal.DISABLED.close();
+		assertFalse(GameJournal.DISABLED.isSnapshotDue());
+		assertEquals(0, journalsDir.toFile().list().length);
+	}
+
+}
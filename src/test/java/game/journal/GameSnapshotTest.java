@@ -0,0 +1,114 @@
+package game.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameSnapshotTest {
+	private static final String GAME_ID = "game1";
+	private static final int WAIT_MILLIS = 5000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static GameSnapshot createSnapshot() {
+		GameSnapshot snapshot = new GameSnapshot();
+		snapshot.setJournalSeq(42);
+		snapshot.setRandomState(0x1234567890abcdefL);
+		snapshot.setNumOfPlayers(3);
+		snapshot.setShowCoopBtn(true);
+		snapshot.addPlayer(new GameSnapshot.PlayerState("c1", "Dana", "sheep1", true, 12, new int[] {3, 7, 9}));
+		snapshot.addPlayer(new GameSnapshot.PlayerState("c2", "\u05e9\u05d9", "sheep2", false, 0, new int[0]));
+		snapshot.setTurnsOrder(Arrays.asList("c2", "c1"));
+		snapshot.setCurrentPlayerId("c1");
+		snapshot.setNumOfTurnSkips(2);
+		snapshot.setTurnReversed(true);
+		snapshot.setDeckCards(new int[] {11, 5, 20});
+		snapshot.setSpecialCardsIds(Arrays.asList(1, 2));
+		snapshot.setCardOwner(3, "c1");
+		snapshot.setCardOwner(20, "c2");
+		return snapshot;
+	}
+
+	private static void assertSameSnapshot(GameSnapshot expected, GameSnapshot actual) {
+		assertEquals(expected.getJournalSeq(), actual.getJournalSeq());
+		assertEquals(expected.getRandomState(), actual.getRandomState());
+		assertEquals(expected.getNumOfPlayers(), actual.getNumOfPlayers());
+		assertEquals(expected.getShowCoopBtn(), actual.getShowCoopBtn());
+		assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+		for (int i = 0; i < expected.getPlayers().size(); i++) {
+			GameSnapshot.PlayerState expectedPlayer = expected.getPlayers().get(i);
+			GameSnapshot.PlayerState actualPlayer = actual.getPlayers().get(i);
+			assertEquals(expectedPlayer.getId(), actualPlayer.getId());
+			assertEquals(expectedPlayer.getName(), actualPlayer.getName());
+			assertEquals(expectedPlayer.getImg(), actualPlayer.getImg());
+			assertEquals(expectedPlayer.isActive(), actualPlayer.isActive());
+			assertEquals(expectedPlayer.getScore(), actualPlayer.getScore());
+			assertArrayEquals(expectedPlayer.getHand(), actualPlayer.getHand());
+		}
+		assertEquals(expected.getTurnsOrder(), actual.getTurnsOrder());
+		assertEquals(expected.getCurrentPlayerId(), actual.getCurrentPlayerId());
+		assertEquals(expected.getNumOfTurnSkips(), actual.getNumOfTurnSkips());
+		assertEquals(expected.isTurnReversed(), actual.isTurnReversed());
+		assertArrayEquals(expected.getDeckCards(), actual.getDeckCards());
+		assertEquals(expected.getSpecialCardsIds(), actual.getSpecialCardsIds());
+		assertEquals(expected.getCardsOwners(), actual.getCardsOwners());
+	}
+
+	@Test
+	public void encodedSnapshotIsDecodedBack() throws IOException {
+		GameSnapshot snapshot = createSnapshot();
+		assertSameSnapshot(snapshot, GameSnapshot.decode(ByteBuffer.wrap(snapshot.encode())));
+	}
+
+	@Test
+	public void emptySnapshotIsDecodedBack() throws IOException {
+		GameSnapshot snapshot = new GameSnapshot();
+		snapshot.setCurrentPlayerId("c1");
+		assertSameSnapshot(snapshot, GameSnapshot.decode(ByteBuffer.wrap(snapshot.encode())));
+	}
+
+	@Test(expected = IOException.class)
+	public void unknownVersionIsRejected() throws IOException {
+		byte[] data = createSnapshot().encode();
+		data[3] = 99;
+		GameSnapshot.decode(ByteBuffer.wrap(data));
+	}
+
+	@Test(expected = IOException.class)
+	public void truncatedSnapshotIsRejected() throws IOException {
+		byte[] data = createSnapshot().encode();
+		GameSnapshot.decode(ByteBuffer.wrap(Arrays.copyOf(data, data.length / 2)));
+	}
+
+	@Test
+	public void snapshotOfAJournalIsWrittenNextToIt() throws Exception {
+		Path journalsDir = folder.newFolder("journals").toPath();
+		Path journalDir = journalsDir.resolve(GAME_ID);
+		assertNull(GameSnapshot.readFrom(journalDir));
+
+		GameJournal journal = new GameJournal(GAME_ID, 7, new JournalWriter(journalsDir, null, 4096, 1, 0), 256);
+		journal.onNewGameRequest("c1", 3);
+		assertTrue(journal.isSnapshotDue());
+		GameSnapshot snapshot = createSnapshot();
+		snapshot.setJournalSeq(journal.getSeq());
+		journal.snapshot(snapshot);
+		assertFalse(journal.isSnapshotDue());
+
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (!Files.exists(journalDir.resolve(JournalSegments.SNAPSHOT_FILE)) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertSameSnapshot(snapshot, GameSnapshot.readFrom(journalDir));
+		assertEquals(3, JournalReader.read(journalDir).size());
+	}
+
+}
@@ -0,0 +1,118 @@
+package game.players;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import card.AbstractCard;
+import clientservershared.CardModel;
+
+public class HandTest {
+
+	private static AbstractCard card(int id) {
+		return new AbstractCard(null, id) {
+			@Override
+			public Boolean playCardFromDeck(Player player) {
+				return false;
+			}
+
+			@Override
+			public Boolean isPlayable() {
+				return false;
+			}
+
+			@Override
+			public CardModel createCardInfo() {
+				return null;
+			}
+		};
+	}
+
+	private static Hand handOf(int... cardsIds) {
+		Hand hand = new Hand();
+		for (int cardId : cardsIds) {
+			hand.add(card(cardId));
+		}
+		return hand;
+	}
+
+	@Test
+	public void addKeepsTheOrderAndIgnoresDuplicates() {
+		Hand hand = handOf(3, 70, 1);
+		assertFalse(hand.add(card(70)));
+		assertEquals(3, hand.size());
+		assertArrayEquals(new int[] {3, 70, 1}, hand.getCardsIds());
+		assertTrue(hand.contains(70));
+		assertFalse(hand.contains(2));
+	}
+
+	@Test
+	public void addGrowsBeyondTheInitialCapacity() {
+		Hand hand = new Hand();
+		for (int cardId = 0; cardId < 20; cardId++) {
+			assertTrue(hand.add(card(cardId)));
+		}
+		assertEquals(20, hand.size());
+		assertEquals(19, hand.getCard(19).getId());
+	}
+
+	@Test
+	public void removeMovesTheLastCardToTheRemovedPlace() {
+		Hand hand = handOf(1, 2, 3, 4);
+		assertTrue(hand.remove(2));
+		assertArrayEquals(new int[] {1, 4, 3}, hand.getCardsIds());
+		assertFalse(hand.contains(2));
+		assertTrue(hand.remove(3));
+		assertTrue(hand.remove(1));
+		assertArrayEquals(new int[] {4}, hand.getCardsIds());
+		assertTrue(hand.contains(4));
+	}
+
+	@Test
+	public void removeOfAMissingCardChangesNothing() {
+		Hand hand = handOf(1, 2);
+		assertFalse(hand.remove(5));
+		assertFalse(hand.remove(-1));
+		assertFalse(hand.remove(1000));
+		assertArrayEquals(new int[] {1, 2}, hand.getCardsIds());
+	}
+
+	@Test
+	public void removeAllExceptKeepsOnlyTheGivenCard() {
+		Hand hand = handOf(5, 6, 7, 8);
+		AbstractCard[] removed = new AbstractCard[hand.size()];
+		int numOfRemoved = hand.removeAllExcept(7, removed);
+		assertEquals(3, numOfRemoved);
+		int[] removedIds = new int[numOfRemoved];
+		for (int i = 0; i < numOfRemoved; i++) {
+			removedIds[i] = removed[i].getId();
+		}
+		assertArrayEquals(new int[] {5, 6, 8}, removedIds);
+		assertArrayEquals(new int[] {7}, hand.getCardsIds());
+		assertTrue(hand.contains(7));
+		assertFalse(hand.contains(5));
+		assertTrue(hand.add(card(5)));
+		assertArrayEquals(new int[] {7, 5}, hand.getCardsIds());
+	}
+
+	@Test
+	public void removeAllExceptAMissingCardEmptiesTheHand() {
+		Hand hand = handOf(5, 6);
+		AbstractCard[] removed = new AbstractCard[hand.size()];
+		assertEquals(2, hand.removeAllExcept(9, removed));
+		assertEquals(0, hand.size());
+		assertFalse(hand.contains(5));
+	}
+
+	@Test
+	public void restoreReplacesTheCards() {
+		Hand hand = handOf(1, 2, 3);
+		hand.restore(Arrays.asList(card(9), card(2)));
+		assertArrayEquals(new int[] {9, 2}, hand.getCardsIds());
+		assertFalse(hand.contains(1));
+		assertFalse(hand.contains(3));
+	}
+
+}
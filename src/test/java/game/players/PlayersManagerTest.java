@@ -0,0 +1,110 @@
+package game.players;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlayersManagerTest {
+	private PlayersManager manager;
+
+	@Before
+	public void setUp() {
+		manager = new PlayersManager();
+		manager.setNumOfPlayers(4);
+		manager.addActivePlayer("c1", "Dana", "sheep1");
+		manager.addActivePlayer("c2", "Noa", "sheep2");
+		manager.addActivePlayer("c3", "Tal", "sheep3");
+	}
+
+	private List<String> fill(String playerA, String playerB) {
+		String[] ids = new String[manager.getNumOfPlayers()];
+		int numOfIds = manager.fillActivePlayersIds(ids, playerA, playerB);
+		return Arrays.asList(ids).subList(0, numOfIds);
+	}
+
+	@Test
+	public void activeIdsExcludeTheGivenPlayer() {
+		assertEquals(Arrays.asList("c2", "c3"), manager.getActivePlayersIds("c1"));
+		assertEquals(Arrays.asList("c1", "c3"), manager.getActivePlayersIds("c2"));
+		assertEquals(Arrays.asList("c1", "c2"), manager.getActivePlayersIds("c3"));
+	}
+
+	@Test
+	public void unknownOrNullExcludedIdExcludesNoPlayer() {
+		assertEquals(Arrays.asList("c1", "c2", "c3"), manager.getActivePlayersIds("c9"));
+		assertEquals(Arrays.asList("c1", "c2", "c3"), manager.getActivePlayersIds(null));
+		assertEquals(Arrays.asList("c1", "c2", "c3"), fill("c9", null));
+		assertEquals(Arrays.asList("c1", "c2", "c3"), fill(null, null));
+	}
+
+	@Test
+	public void activeIdsAreKeptWhileNothingChanges() {
+		List<String> ids = manager.getActivePlayersIds("c1");
+		assertSame(ids, manager.getActivePlayersIds("c1"));
+		assertSame(manager.getActivePlayersIds("c9"), manager.getActivePlayersIds(null));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void activeIdsCannotBeChanged() {
+		manager.getActivePlayersIds("c1").set(0, "c9");
+	}
+
+	@Test
+	public void joiningPlayerInvalidatesTheActiveIds() {
+		List<String> ids = manager.getActivePlayersIds("c1");
+		List<String> all = manager.getActivePlayersIds(null);
+		assertTrue(manager.addActivePlayer("c4", "Gal", "sheep4"));
+		assertEquals(Arrays.asList("c2", "c3", "c4"), manager.getActivePlayersIds("c1"));
+		assertEquals(Arrays.asList("c1", "c2", "c3", "c4"), manager.getActivePlayersIds(null));
+		assertEquals(Arrays.asList("c1", "c2", "c3"), manager.getActivePlayersIds("c4"));
+		assertEquals(Arrays.asList("c2", "c3"), ids);
+		assertEquals(Arrays.asList("c1", "c2", "c3"), all);
+	}
+
+	@Test
+	public void losingPlayerInvalidatesTheActiveIds() {
+		assertEquals(Arrays.asList("c2", "c3"), manager.getActivePlayersIds("c1"));
+		manager.setPlayerNotActive(manager.getPlayer("c2"));
+		assertEquals(2, manager.getNumOfActivePlayers());
+		assertEquals(Arrays.asList("c3"), manager.getActivePlayersIds("c1"));
+		assertEquals(Arrays.asList("c1", "c3"), manager.getActivePlayersIds("c2"));
+		assertEquals(Arrays.asList("c1", "c3"), manager.getActivePlayersIds(null));
+		assertEquals(Arrays.asList(manager.getPlayer("c1"), manager.getPlayer("c3")), manager.getActivePlayers());
+		assertEquals(Arrays.asList("c1", "c2", "c3"), manager.getPlayersIds());
+
+		manager.setPlayerNotActive(manager.getPlayer("c2"));
+		assertEquals(2, manager.getNumOfActivePlayers());
+	}
+
+	@Test
+	public void fillExcludesOneOrTwoPlayers() {
+		assertEquals(Arrays.asList("c1", "c3"), fill("c2", null));
+		assertEquals(Arrays.asList("c1", "c3"), fill(null, "c2"));
+		assertEquals(Arrays.asList("c2"), fill("c1", "c3"));
+		assertEquals(Arrays.asList("c1", "c2"), fill("c3", "c3"));
+		assertEquals(Arrays.asList("c1", "c3"), fill("c2", "c9"));
+
+		manager.setPlayerNotActive(manager.getPlayer("c1"));
+		assertEquals(Arrays.asList("c3"), fill("c2", null));
+		assertEquals(Arrays.<String>asList(), fill("c2", "c3"));
+	}
+
+	@Test
+	public void fullGameRefusesAnotherPlayer() {
+		assertTrue(manager.addActivePlayer("c4", "Gal", "sheep4"));
+		assertTrue(manager.allPlayersJoined());
+		assertFalse(manager.addActivePlayer("c5", "Lee", "sheep5"));
+		assertNull(manager.getPlayer("c5"));
+		assertEquals(Arrays.asList("c1", "c2", "c3", "c4"), manager.getActivePlayersIds("c5"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void moreSeatsThanTheMaskHoldsAreRejected() {
+		new PlayersManager().setNumOfPlayers(Long.SIZE + 1);
+	}
+
+}
@@ -0,0 +1,120 @@
+package game.replay;
+
+import static globals.Constants.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import card.catalog.CardsCatalog;
+import database.entity.CardEntity;
+import database.entity.DecoreEntity;
+import game.GameHandler;
+import game.GameRegistry;
+import game.journal.GameJournal;
+import game.journal.JournalReader;
+import game.journal.JournalWriter;
+import message.MessageCreator;
+import message.MessageHandler;
+import message.MsgTypeEnum;
+import serverConnections.SocketHandler;
+
+public class GameReplayerTest {
+	private static final String GAME_ID = "game1";
+	private static final long SEED = 42;
+	private static final int NUM_OF_DEALS = 6;
+	private static final int WAIT_MILLIS = 5000;
+	private static CardsCatalog catalog;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> playedMsgs;
+	private GameRecord record;
+
+	@BeforeClass
+	public static void createCatalog() {
+		List<CardEntity> entities = new ArrayList<>();
+		String[] names = {"Drunk Sheep", "Baby Sheep", "Fat Sheep", "Grumpy Sheep"};
+		for (String name : names) {
+			CardEntity card = new CardEntity(TYPE_REGULAR, name, 2, 1, 2);
+			card.setDecore(new DecoreEntity("framereg", "backreg", "img", TXT_COLOR_WHITE, "points2", card));
+			entities.add(card);
+		}
+		catalog = CardsCatalog.fromEntities(entities);
+	}
+
+	@Before
+	public void playGame() throws Exception {
+		Path journalsDir = folder.newFolder("journals").toPath();
+		playedMsgs = new ArrayList<>();
+		SocketHandler socketHandler = new SocketHandler();
+		socketHandler.addClient(new ReplayClientHandler("c1", socketHandler, playedMsgs));
+		socketHandler.addClient(new ReplayClientHandler("c2", socketHandler, playedMsgs));
+		GameHandler gameHandler = new GameHandler(GAME_ID, socketHandler, new GameRegistry(), Runnable::run, catalog, SEED);
+		GameJournal journal = new GameJournal(GAME_ID, SEED, new JournalWriter(journalsDir, null, 4096, 100, 0), 1024);
+		gameHandler.setJournal(journal);
+
+		MessageCreator creator = MessageCreator.getInstance();
+		MessageHandler first = new MessageHandler("c1", gameHandler);
+		MessageHandler second = new MessageHandler("c2", gameHandler);
+		gameHandler.execute(() -> first.handleMsg(creator.createMsg(MsgTypeEnum.CLIENT_REQ_NEW_GAME, 2)));
+		String password = gameHandler.getPassword();
+		gameHandler.execute(() -> first.handleMsg(creator.createMsg(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, password, "Dana", "sheep1")));
+		gameHandler.execute(() -> second.handleMsg(creator.createMsg(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, password, "Noa", "sheep2")));
+		for (int i = 0; i < NUM_OF_DEALS; i++) {
+			MessageHandler player = (i % 2 == 0) ? first : second;
+			gameHandler.execute(() -> player.handleMsg(creator.createMsg(MsgTypeEnum.CLIENT_REQ_DEAL_CARD)));
+		}
+
+		Path journalDir = journalsDir.resolve(GAME_ID);
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while ((!Files.isDirectory(journalDir) || JournalReader.read(journalDir).size() < journal.getSeq())
+				&& System.currentTimeMillis() < deadline) {
+			journal.flush();
+			Thread.sleep(10);
+		}
+		record = GameRecord.readFrom(journalDir);
+	}
+
+	@Test
+	public void replayedGameSendsThePlayedMessages() {
+		assertFalse(playedMsgs.isEmpty());
+		assertEquals(playedMsgs, new GameReplayer(catalog).replay(record));
+		assertTrue(new GameReplayer(catalog).verify(record, playedMsgs));
+	}
+
+	@Test
+	public void changedOrMissingMessageFailsTheVerify() {
+		GameReplayer replayer = new GameReplayer(catalog);
+		List<String> changed = new ArrayList<>(playedMsgs);
+		changed.set(changed.size() - 1, "c1 {}");
+		assertFalse(replayer.verify(record, changed));
+		assertFalse(replayer.verify(record, playedMsgs.subList(0, playedMsgs.size() - 1)));
+	}
+
+	@Test
+	public void firstReplaySavesTheTranscriptAndNextReplaysVerifyIt() throws IOException {
+		GameReplayer replayer = new GameReplayer(catalog);
+		Path transcript = folder.getRoot().toPath().resolve("game1.transcript");
+		assertTrue(ReplayMain.checkTranscript(replayer, record, transcript));
+		assertEquals(playedMsgs, Files.readAllLines(transcript, StandardCharsets.UTF_8));
+		assertTrue(ReplayMain.checkTranscript(replayer, record, transcript));
+
+		List<String> changed = new ArrayList<>(playedMsgs);
+		changed.remove(0);
+		Files.write(transcript, changed, StandardCharsets.UTF_8);
+		assertFalse(ReplayMain.checkTranscript(replayer, record, transcript));
+	}
+
+}
@@ -0,0 +1,72 @@
+package game.timers;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTest {
+	private static final long TICK = 10;
+	private TimingWheel wheel;
+
+	@Before
+	public void startWheel() {
+		wheel = new TimingWheel(TICK, 8);
+		wheel.start();
+	}
+
+	@After
+	public void stopWheel() {
+		wheel.stop();
+	}
+
+	@Test
+	public void timeoutExpiresAfterItsDelay() throws InterruptedException {
+		CountDownLatch expired = new CountDownLatch(1);
+		long start = System.nanoTime();
+		wheel.schedule(Runnable::run, expired::countDown, 50);
+		assertTrue("timeout did not expire", expired.await(1, TimeUnit.SECONDS));
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue("timeout expired early, after " + elapsed + " ms", elapsed >= 50 - TICK);
+	}
+
+	@Test
+	public void timeoutExpiresAfterMoreThanARound() throws InterruptedException {
+		CountDownLatch expired = new CountDownLatch(1);
+		long start = System.nanoTime();
+		wheel.schedule(Runnable::run, expired::countDown, 8 * TICK * 3);
+		assertTrue("timeout did not expire", expired.await(1, TimeUnit.SECONDS));
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue("timeout expired a round early, after " + elapsed + " ms", elapsed >= 8 * TICK * 3 - TICK);
+	}
+
+	@Test
+	public void cancelledTimeoutDoesNotExpire() throws InterruptedException {
+		AtomicInteger numOfRuns = new AtomicInteger(0);
+		CountDownLatch later = new CountDownLatch(1);
+		WheelTimeout timeout = wheel.schedule(Runnable::run, numOfRuns::incrementAndGet, 30);
+		timeout.cancel();
+		wheel.schedule(Runnable::run, later::countDown, 80);
+		assertTrue("later timeout did not expire", later.await(1, TimeUnit.SECONDS));
+		assertTrue(timeout.isCancelled());
+		assertEquals(0, numOfRuns.get());
+	}
+
+	@Test
+	public void expiredTaskRunsOnTheGivenExecutor() throws InterruptedException {
+		CountDownLatch expired = new CountDownLatch(1);
+		AtomicInteger numOfHandedTasks = new AtomicInteger(0);
+		wheel.schedule(task -> {
+			numOfHandedTasks.incrementAndGet();
+			task.run();
+		}, expired::countDown, 20);
+		assertTrue("timeout did not expire", expired.await(1, TimeUnit.SECONDS));
+		assertEquals(1, numOfHandedTasks.get());
+	}
+
+}
@@ -0,0 +1,96 @@
+package game.turns;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import game.players.Player;
+
+public class TurnsSchedulerTest {
+
+	private static TurnsScheduler schedulerOf(int numOfPlayers) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < numOfPlayers; i++) {
+			players.add(new Player("p" + i, "name" + i, "img"));
+		}
+		TurnsScheduler turns = new TurnsScheduler();
+		turns.addPlayers(players);
+		return turns;
+	}
+
+	private static String nextTurn(TurnsScheduler turns) {
+		turns.nextPlayerTurn();
+		return turns.getCurrentPlayerId();
+	}
+
+	@Test
+	public void turnsWrapAroundTheRing() {
+		TurnsScheduler turns = schedulerOf(3);
+		assertEquals("p0", turns.getCurrentPlayerId());
+		assertEquals("p1", nextTurn(turns));
+		assertEquals("p2", nextTurn(turns));
+		assertEquals("p0", nextTurn(turns));
+	}
+
+	@Test
+	public void notActivePlayersAreSkipped() {
+		TurnsScheduler turns = schedulerOf(4);
+		turns.setPlayerNotActive("p1");
+		turns.setPlayerNotActive("p3");
+		assertEquals("p2", nextTurn(turns));
+		assertEquals("p0", nextTurn(turns));
+	}
+
+	@Test
+	public void reversedTurnsMoveBackwardsAndWrap() {
+		TurnsScheduler turns = schedulerOf(3);
+		turns.setReversed(true);
+		assertTrue(turns.isReversed());
+		assertEquals("p2", nextTurn(turns));
+		assertEquals("p1", nextTurn(turns));
+		assertEquals("p0", nextTurn(turns));
+		turns.setReversed(false);
+		assertEquals("p1", nextTurn(turns));
+	}
+
+	@Test
+	public void skipsAreUsedOnce() {
+		TurnsScheduler turns = schedulerOf(5);
+		turns.setNumOfSkips(2);
+		assertEquals("p3", nextTurn(turns));
+		assertEquals(0, turns.getNumOfSkips());
+		assertEquals("p4", nextTurn(turns));
+	}
+
+	@Test
+	public void blockedSkipsTheNextActivePlayer() {
+		TurnsScheduler turns = schedulerOf(3);
+		turns.setPlayerNotActive("p1");
+		turns.setBlocked(true);
+		assertTrue(turns.isBlocked());
+		assertEquals("p0", nextTurn(turns));
+		assertFalse(turns.isBlocked());
+	}
+
+	@Test
+	public void lastActivePlayerKeepsTheTurn() {
+		TurnsScheduler turns = schedulerOf(2);
+		turns.setPlayerNotActive("p1");
+		assertEquals("p0", nextTurn(turns));
+		turns.setNumOfSkips(3);
+		assertEquals("p0", nextTurn(turns));
+	}
+
+	@Test
+	public void fullRingOf64PlayersWraps() {
+		TurnsScheduler turns = schedulerOf(64);
+		turns.setCurrentPlayer("p63");
+		assertEquals("p0", nextTurn(turns));
+		turns.setReversed(true);
+		assertEquals("p63", nextTurn(turns));
+	}
+
+}
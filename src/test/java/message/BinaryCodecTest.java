@@ -0,0 +1,130 @@
+package message;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import clientservershared.PickedCards;
+
+public class BinaryCodecTest {
+	private static final int TAG_INT = 1;
+	private static final int TAG_STRING = 2;
+	private static final int TAG_PICKED_CARDS = 22;
+
+	private BinaryCodec codec;
+	private ClientRequest request;
+
+	@Before
+	public void setUp() {
+		codec = BinaryCodec.getInstance();
+		request = new ClientRequest();
+	}
+
+	private void roundTrip(MsgTypeEnum type, Object... params) throws IOException {
+		byte[] frame = codec.encode(type, params);
+		int length = BinaryCodec.readFrameLength(new ByteArrayInputStream(frame));
+		codec.decodeRequest(frame, frame.length - length, length, request);
+	}
+
+	@Test
+	public void frameIsPrefixedByItsLength() throws IOException {
+		byte[] frame = codec.encode(MsgTypeEnum.CLIENT_REQ_NEW_GAME, new Object[] {4});
+		ByteArrayInputStream in = new ByteArrayInputStream(frame);
+		int length = BinaryCodec.readFrameLength(in);
+		assertEquals(in.available(), length);
+		assertEquals(-1, BinaryCodec.readFrameLength(new ByteArrayInputStream(new byte[0])));
+	}
+
+	@Test
+	public void newGameRoundTrip() throws IOException {
+		roundTrip(MsgTypeEnum.CLIENT_REQ_NEW_GAME, 4);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_NEW_GAME, request.getType());
+		assertEquals(4, request.getNumOfPlayers());
+	}
+
+	@Test
+	public void joinGameRoundTripWithoutTheDeltasFlag() throws IOException {
+		roundTrip(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, "1234", "Dana", "sheep1");
+		assertEquals(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, request.getType());
+		assertEquals("1234", request.getPassword());
+		assertEquals("Dana", request.getName());
+		assertEquals("sheep1", request.getImg());
+		assertFalse(request.receivesDeltas());
+	}
+
+	@Test
+	public void joinGameRoundTripWithTheDeltasFlag() throws IOException {
+		roundTrip(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, "1234", "Dana", null, true);
+		assertNull(request.getImg());
+		assertTrue(request.receivesDeltas());
+	}
+
+	@Test
+	public void longStringRoundTrip() throws IOException {
+		char[] chars = new char[300];
+		Arrays.fill(chars, '\u05e9');
+		String name = new String(chars);
+		roundTrip(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, "1234", name, "sheep1");
+		assertEquals(name, request.getName());
+		assertEquals("sheep1", request.getImg());
+	}
+
+	@Test
+	public void resumeSessionRoundTrip() throws IOException {
+		roundTrip(MsgTypeEnum.CLIENT_REQ_RESUME_SESSION, "token", 1000, true);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_RESUME_SESSION, request.getType());
+		assertEquals("token", request.getToken());
+		assertEquals(1000, request.getLastMsgSeq());
+		assertTrue(request.receivesDeltas());
+	}
+
+	@Test
+	public void attackVictimRoundTrip() throws IOException {
+		roundTrip(MsgTypeEnum.CLIENT_REQ_ATTACK_REP_VICTIM, "victim");
+		assertEquals(MsgTypeEnum.CLIENT_REQ_ATTACK_REP_VICTIM, request.getType());
+		assertEquals("victim", request.getVictimId());
+	}
+
+	@Test
+	public void decodesPickedCards() {
+		byte[] frame = {
+				(byte) MsgTypeEnum.CLIENT_REQ_PICKED_CARDS.ordinal(), TAG_PICKED_CARDS,
+				TAG_INT, 6, TAG_INT, 1, TAG_INT, 4 };
+		codec.decodeRequest(frame, 0, frame.length, request);
+		PickedCards cards = request.createPickedCards();
+		assertEquals(3, cards.getCard1());
+		assertEquals(-1, cards.getCard2());
+		assertEquals(2, cards.getNumOfPickedCards());
+	}
+
+	@Test
+	public void unknownOrdinalIsDecodedAsUnknown() {
+		byte[] frame = { 0x7F };
+		codec.decodeRequest(frame, 0, frame.length, request);
+		assertEquals(MsgTypeEnum.UNKNOWN_TYPE, request.getType());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void truncatedFrameIsRejected() {
+		byte[] frame = { (byte) MsgTypeEnum.CLIENT_REQ_ATTACK_REP_VICTIM.ordinal(), TAG_STRING, 10, 'v' };
+		codec.decodeRequest(frame, 0, frame.length, request);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void valueOfTheWrongTagIsRejected() {
+		byte[] frame = { (byte) MsgTypeEnum.CLIENT_REQ_NEW_GAME.ordinal(), TAG_STRING, 1, '4' };
+		codec.decodeRequest(frame, 0, frame.length, request);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void missingValueIsRejected() {
+		byte[] frame = { (byte) MsgTypeEnum.CLIENT_REQ_NEW_GAME.ordinal() };
+		codec.decodeRequest(frame, 0, frame.length, request);
+	}
+
+}
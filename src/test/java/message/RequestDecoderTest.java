@@ -0,0 +1,115 @@
+package message;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+import clientservershared.PickedCards;
+
+public class RequestDecoderTest {
+	private RequestDecoder decoder;
+	private ClientRequest request;
+
+	@Before
+	public void setUp() {
+		decoder = new RequestDecoder();
+		request = new ClientRequest();
+	}
+
+	@Test
+	public void decodesNewGame() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_NEW_GAME\",\"params\":[4]}", request);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_NEW_GAME, request.getType());
+		assertEquals(4, request.getNumOfPlayers());
+	}
+
+	@Test
+	public void decodesJoinGameWithoutTheDeltasFlag() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_JOIN_GAME\",\"params\":[\"1234\",\"Dana\",\"sheep1\"]}", request);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_JOIN_GAME, request.getType());
+		assertEquals("1234", request.getPassword());
+		assertEquals("Dana", request.getName());
+		assertEquals("sheep1", request.getImg());
+		assertFalse(request.receivesDeltas());
+	}
+
+	@Test
+	public void decodesJoinGameWithTheDeltasFlag() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_JOIN_GAME\",\"params\":[\"1234\",\"Dana\",\"sheep1\",true]}", request);
+		assertTrue(request.receivesDeltas());
+	}
+
+	@Test
+	public void decodesResumeSession() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_RESUME_SESSION\",\"params\":[\"token\",17,true]}", request);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_RESUME_SESSION, request.getType());
+		assertEquals("token", request.getToken());
+		assertEquals(17, request.getLastMsgSeq());
+		assertTrue(request.receivesDeltas());
+	}
+
+	@Test
+	public void decodesPickedCardsSentAsAString() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_PICKED_CARDS\",\"params\":[\"{\\\"card1\\\":3,\\\"card2\\\":8,\\\"numPickedCards\\\":2}\"]}", request);
+		PickedCards cards = request.createPickedCards();
+		assertEquals(3, cards.getCard1());
+		assertEquals(8, cards.getCard2());
+		assertEquals(2, cards.getNumOfPickedCards());
+	}
+
+	@Test
+	public void decodesPickedCardsSentAsAnObject() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_PICKED_CARDS\",\"params\":[{\"card1\":5,\"numPickedCards\":1}]}", request);
+		PickedCards cards = request.createPickedCards();
+		assertEquals(5, cards.getCard1());
+		assertEquals(-1, cards.getCard2());
+		assertEquals(1, cards.getNumOfPickedCards());
+	}
+
+	@Test
+	public void decodesParamsSentBeforeTheType() {
+		decoder.decode("{\"params\":[\"victim\"],\"msgType\":\"CLIENT_REQ_ATTACK_REP_VICTIM\"}", request);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_ATTACK_REP_VICTIM, request.getType());
+		assertEquals("victim", request.getVictimId());
+	}
+
+	@Test
+	public void skipsUnknownFieldsAndExtraParams() {
+		decoder.decode("{\"id\":9,\"msgType\":\"CLIENT_REQ_NEW_GAME\",\"params\":[3,\"extra\",[1,2]]}", request);
+		assertEquals(MsgTypeEnum.CLIENT_REQ_NEW_GAME, request.getType());
+		assertEquals(3, request.getNumOfPlayers());
+	}
+
+	@Test
+	public void unknownTypeIsDecodedAsUnknown() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_NO_SUCH_TYPE\",\"params\":[1]}", request);
+		assertEquals(MsgTypeEnum.UNKNOWN_TYPE, request.getType());
+	}
+
+	@Test
+	public void previousValuesAreClearedOnReuse() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_JOIN_GAME\",\"params\":[\"1234\",\"Dana\",\"sheep1\",true]}", request);
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_NEW_GAME\",\"params\":[2]}", request);
+		assertNull(request.getName());
+		assertFalse(request.receivesDeltas());
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void truncatedJsonIsRejected() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_NEW_GAME\",\"params\":[4", request);
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void paramOfTheWrongTypeIsRejected() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_NEW_GAME\",\"params\":[\"four\"]}", request);
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void missingParamIsRejected() {
+		decoder.decode("{\"msgType\":\"CLIENT_REQ_RESUME_SESSION\",\"params\":[\"token\"]}", request);
+	}
+
+}
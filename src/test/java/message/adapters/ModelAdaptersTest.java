@@ -0,0 +1,104 @@
+package message.adapters;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+import clientservershared.AttackMsg;
+import clientservershared.CardModel;
+import clientservershared.GameInfo;
+import clientservershared.GameOver;
+import clientservershared.PlayerModel;
+import game.players.Player;
+import message.MessageConvertor;
+
+public class ModelAdaptersTest {
+	private static final String ESCAPED_TEXT = "<b>'Dana' & \"Noa\" = \u05e9</b>";
+
+	private final Gson reflectiveGson = new Gson();
+	private final MessageConvertor convertor = MessageConvertor.getInstance();
+
+	private static CardModel createCard(int id, String name) {
+		return new CardModel(id, name, "img" + id, 1, "framereg", "backreg", "points2");
+	}
+
+	private static Player createPlayer(String id, String name, int score) {
+		Player player = new Player(id, name, "sheep1");
+		player.addPointsToPlayerScore(score);
+		return player;
+	}
+
+	@Test
+	public void cardIsWrittenAsByReflection() {
+		CardModel card = createCard(7, ESCAPED_TEXT);
+		assertEquals(reflectiveGson.toJson(card), convertor.cardToJson(card));
+
+		CardModel cardWithNulls = new CardModel(0, null, "img", 0, null, "backreg", null);
+		assertEquals(reflectiveGson.toJson(cardWithNulls), convertor.cardToJson(cardWithNulls));
+	}
+
+	@Test
+	public void playerIsWrittenAsByReflection() {
+		PlayerModel player = new PlayerModel(createPlayer("c1", ESCAPED_TEXT, 12), "c1");
+		GameInfo info = new GameInfo();
+		info.setMyPlayer(player);
+		assertEquals(reflectiveGson.toJson(info), convertor.gameInfoToJson(info));
+
+		PlayerModel playerWithNulls = new PlayerModel("c2", 0, null, null, null);
+		info.setMyPlayer(playerWithNulls);
+		assertEquals(reflectiveGson.toJson(info), convertor.gameInfoToJson(info));
+	}
+
+	@Test
+	public void gameInfoIsWrittenAsByReflection() {
+		GameInfo info = new GameInfo();
+		info.setPlayers(Arrays.asList(
+				new PlayerModel(createPlayer("c1", "Dana", 3), "c2"),
+				new PlayerModel(createPlayer("c2", "Noa", 5), "c2")));
+		info.setCards(Arrays.asList(createCard(1, "Drunk Sheep"), createCard(2, "Baby Sheep")));
+		info.setMyPlayer(info.getPlayers().get(0));
+		info.setVersion(17);
+		assertEquals(reflectiveGson.toJson(info), convertor.gameInfoToJson(info));
+
+		info.setCards(new ArrayList<CardModel>());
+		assertEquals(reflectiveGson.toJson(info), convertor.gameInfoToJson(info));
+	}
+
+	@Test
+	public void emptyGameInfoIsWrittenAsByReflection() {
+		GameInfo info = new GameInfo();
+		assertEquals(reflectiveGson.toJson(info), convertor.gameInfoToJson(info));
+	}
+
+	@Test
+	public void attackMsgIsWrittenAsByReflection() {
+		AttackMsg msg = new AttackMsg(3);
+		msg.setMsgString(ESCAPED_TEXT);
+		List<String> list = Arrays.asList("c1", "Dana", ESCAPED_TEXT);
+		msg.setList(list);
+		msg.setMainImg("bomb");
+		msg.setSecImg("shield");
+		assertEquals(reflectiveGson.toJson(msg), convertor.attackMsgToJson(msg));
+
+		AttackMsg msgWithNulls = new AttackMsg(0);
+		assertEquals(reflectiveGson.toJson(msgWithNulls), convertor.attackMsgToJson(msgWithNulls));
+	}
+
+	@Test
+	public void gameOverIsWrittenAsByReflection() {
+		GameOver info = new GameOver();
+		info.setWinner(createPlayer("c1", ESCAPED_TEXT, 30));
+		info.setWinReason(GameOver.WinType.WinType_Points);
+		assertEquals(reflectiveGson.toJson(info), convertor.gameOverToJson(info));
+
+		GameOver infoWithNulls = new GameOver();
+		assertEquals(reflectiveGson.toJson(infoWithNulls), convertor.gameOverToJson(infoWithNulls));
+	}
+
+}
@@ -0,0 +1,86 @@
+package serverConnections;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import message.EncodedMsg;
+import message.MsgTypeEnum;
+
+public class ClientSessionTest {
+
+	private static EncodedMsg msg(int numOfPlayers) {
+		return new EncodedMsg(MsgTypeEnum.SERVER_REP_WAIT_FOR_GAME_TO_START, numOfPlayers);
+	}
+
+	private static List<EncodedMsg> recordAll(ClientSession session, int numOfMsgs) {
+		List<EncodedMsg> msgs = new ArrayList<>();
+		for (int i = 1; i <= numOfMsgs; i++) {
+			EncodedMsg msg = msg(i);
+			session.record(msg);
+			msgs.add(msg);
+		}
+		return msgs;
+	}
+
+	@Test
+	public void messagesAreNumberedFromOne() {
+		ClientSession session = new ClientSession("c1", "token", 8);
+		assertEquals(0, session.getLastMsgSeq());
+		recordAll(session, 3);
+		assertEquals(3, session.getLastMsgSeq());
+		assertEquals("c1", session.getClientId());
+		assertEquals("token", session.getToken());
+	}
+
+	@Test
+	public void replayAfterASeqSendsTheMissedMessagesInOrder() {
+		ClientSession session = new ClientSession("c1", "token", 8);
+		List<EncodedMsg> msgs = recordAll(session, 5);
+		assertTrue(session.isKeptAfter(2));
+		List<EncodedMsg> replayed = new ArrayList<>();
+		session.forEachAfter(2, replayed::add);
+		assertEquals(msgs.subList(2, 5), replayed);
+	}
+
+	@Test
+	public void replayAfterTheLastMessageSendsNothing() {
+		ClientSession session = new ClientSession("c1", "token", 8);
+		recordAll(session, 5);
+		assertTrue(session.isKeptAfter(5));
+		List<EncodedMsg> replayed = new ArrayList<>();
+		session.forEachAfter(5, replayed::add);
+		assertTrue(replayed.isEmpty());
+	}
+
+	@Test
+	public void ringKeepsOnlyTheLatestMessages() {
+		ClientSession session = new ClientSession("c1", "token", 4);
+		List<EncodedMsg> msgs = recordAll(session, 10);
+		assertFalse(session.isKeptAfter(5));
+		assertTrue(session.isKeptAfter(6));
+		List<EncodedMsg> replayed = new ArrayList<>();
+		session.forEachAfter(6, replayed::add);
+		assertEquals(msgs.subList(6, 10), replayed);
+	}
+
+	@Test
+	public void unknownSeqIsNotKept() {
+		ClientSession session = new ClientSession("c1", "token", 8);
+		recordAll(session, 3);
+		assertFalse(session.isKeptAfter(-1));
+		assertFalse(session.isKeptAfter(4));
+	}
+
+	@Test
+	public void capacityIsRoundedUpToAPowerOfTwo() {
+		ClientSession session = new ClientSession("c1", "token", 5);
+		recordAll(session, 16);
+		assertTrue(session.isKeptAfter(8));
+		assertFalse(session.isKeptAfter(7));
+	}
+
+}